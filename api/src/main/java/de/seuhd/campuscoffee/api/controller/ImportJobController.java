@@ -0,0 +1,115 @@
+package de.seuhd.campuscoffee.api.controller;
+
+import de.seuhd.campuscoffee.api.dtos.ImportJobDto;
+import de.seuhd.campuscoffee.api.dtos.OsmImportRequestDto;
+import de.seuhd.campuscoffee.api.exceptions.ErrorResponse;
+import de.seuhd.campuscoffee.api.mapper.ImportJobDtoMapper;
+import de.seuhd.campuscoffee.domain.model.UpsertResult;
+import de.seuhd.campuscoffee.domain.ports.ImportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import static de.seuhd.campuscoffee.api.util.ControllerUtils.getLocation;
+
+/**
+ * Controller for asynchronous imports of POS from OpenStreetMap.
+ */
+@Tag(name = "POS Import Jobs", description = "Operations for importing POS from OpenStreetMap in the background.")
+@Controller
+@RequestMapping("/api/pos/import/jobs")
+@Slf4j
+@RequiredArgsConstructor
+public class ImportJobController {
+    private final ImportJobService importJobService;
+    private final ImportJobDtoMapper importJobDtoMapper;
+
+    @Operation(
+            summary = "Start a job that imports POS from OpenStreetMap nodes.",
+            description = "The import runs in the background. Poll the URL in the Location header to " +
+                    "follow the progress and to retrieve the result of each node.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "202",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ImportJobDto.class)
+                            ),
+                            headers = @Header(
+                                    name = HttpHeaders.LOCATION,
+                                    description = "URL of the job for polling its progress."
+                            ),
+                            description = "The queued job as a JSON object."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "No node IDs or more than " + UpsertResult.MAX_BATCH_SIZE +
+                                    " node IDs were provided, or the campus is missing."
+                    ),
+                    @ApiResponse(
+                            responseCode = "503",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "Too many import jobs are queued; retry later."
+                    )
+            }
+    )
+    @PostMapping("")
+    public ResponseEntity<ImportJobDto> submit(
+            @RequestBody @Valid OsmImportRequestDto importRequest) {
+
+        ImportJobDto job = importJobDtoMapper.fromDomain(
+                importJobService.submit(importRequest.nodeIds(), importRequest.campus())
+        );
+        return ResponseEntity
+                .accepted()
+                .location(getLocation(job.id()))
+                .body(job);
+    }
+
+    @Operation(
+            summary = "Get the progress and results of an import job.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ImportJobDto.class)
+                            ),
+                            description = "The job with the provided ID as a JSON object."
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "No job with the provided ID exists (finished jobs are discarded after a while)."
+                    )
+            }
+    )
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJobDto> getById(
+            @PathVariable Long id) {
+
+        return ResponseEntity.ok(
+                importJobDtoMapper.fromDomain(importJobService.getById(id))
+        );
+    }
+}
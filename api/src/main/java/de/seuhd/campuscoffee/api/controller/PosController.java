@@ -1,11 +1,39 @@
 package de.seuhd.campuscoffee.api.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import de.seuhd.campuscoffee.api.dtos.NearbyPosDto;
+import de.seuhd.campuscoffee.api.dtos.OsmImportRequestDto;
+import de.seuhd.campuscoffee.api.dtos.OsmImportResultDto;
+import de.seuhd.campuscoffee.api.dtos.PosChangesDto;
 import de.seuhd.campuscoffee.api.dtos.PosDto;
+import de.seuhd.campuscoffee.api.dtos.PosLookupResultDto;
+import de.seuhd.campuscoffee.api.dtos.PosStatisticsDto;
+import de.seuhd.campuscoffee.api.dtos.PosSuggestionDto;
+import de.seuhd.campuscoffee.api.dtos.PosUpsertResultDto;
 import de.seuhd.campuscoffee.api.exceptions.ErrorResponse;
 import de.seuhd.campuscoffee.api.mapper.PosDtoMapper;
+import de.seuhd.campuscoffee.api.util.MergePatchReader;
 import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.CursorPage;
+import de.seuhd.campuscoffee.domain.model.GeoPoint;
+import de.seuhd.campuscoffee.domain.model.LookupResult;
+import de.seuhd.campuscoffee.domain.model.NearbyPos;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosCollectionState;
+import de.seuhd.campuscoffee.domain.model.PosField;
+import de.seuhd.campuscoffee.domain.model.PosFilter;
+import de.seuhd.campuscoffee.domain.model.PosSuggestion;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import de.seuhd.campuscoffee.domain.model.ResultPage;
+import de.seuhd.campuscoffee.domain.model.Update;
+import de.seuhd.campuscoffee.domain.model.UpsertResult;
 import de.seuhd.campuscoffee.domain.ports.PosService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,13 +41,31 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import static de.seuhd.campuscoffee.api.util.ControllerUtils.UNCHANGED_HEADER;
+import static de.seuhd.campuscoffee.api.util.ControllerUtils.getETag;
+import static de.seuhd.campuscoffee.api.util.ControllerUtils.getLastModified;
 import static de.seuhd.campuscoffee.api.util.ControllerUtils.getLocation;
+import static de.seuhd.campuscoffee.api.util.ControllerUtils.getNextPageLocation;
+import static de.seuhd.campuscoffee.api.util.ControllerUtils.getPageLocation;
+import static de.seuhd.campuscoffee.api.util.ControllerUtils.getUpdateResponse;
+import static de.seuhd.campuscoffee.api.util.ControllerUtils.resolveIfMatch;
 
 /**
  * Controller for handling POS-related API requests.
@@ -30,11 +76,23 @@ import static de.seuhd.campuscoffee.api.util.ControllerUtils.getLocation;
 @Slf4j
 @RequiredArgsConstructor
 public class PosController {
+    private static final String FIELD_NAMES = "id, createdAt, updatedAt, name, description, type, campus, street, " +
+            "houseNumber, postalCode, city, latitude, longitude";
+
     private final PosService posService;
     private final PosDtoMapper posDtoMapper;
+    private final ObjectMapper objectMapper;
+    private final MergePatchReader mergePatchReader;
 
     @Operation(
-            summary = "Get all POS.",
+            summary = "Get all POS, optionally filtered and one page at a time.",
+            description = "Without parameters, all POS are returned. The POS can be filtered by campus, type, " +
+                    "postal code, and city; each filter accepts multiple values (repeated or comma-separated) and " +
+                    "the filters are combined, e.g., all cafés and bakeries on the Altstadt campus. " +
+                    "If a limit or cursor is provided, the POS are returned in pages ordered by ID. The link to " +
+                    "the next page is provided in the Link header (rel=\"next\"); it is missing on the last page. " +
+                    "The ETag and Last-Modified headers change whenever a POS is created, updated, or deleted; " +
+                    "requests with a matching If-None-Match or If-Modified-Since header are answered with 304.",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -42,20 +100,235 @@ public class PosController {
                                     mediaType = "application/json",
                                     schema = @Schema(type = "array", implementation = PosDto.class)
                             ),
-                            description = "All POS as a JSON array."
+                            headers = {
+                                    @Header(
+                                            name = HttpHeaders.LINK,
+                                            description = "Link to the next page if the response is paginated and more POS exist."
+                                    ),
+                                    @Header(
+                                            name = HttpHeaders.ETAG,
+                                            description = "Version of the POS collection for If-None-Match."
+                                    ),
+                                    @Header(
+                                            name = HttpHeaders.LAST_MODIFIED,
+                                            description = "Time of the latest change of the POS collection for If-Modified-Since."
+                                    )
+                            },
+                            description = "All matching POS (or the requested page) as a JSON array."
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "No POS has changed since the version in the If-None-Match or If-Modified-Since header."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "A filter value or the cursor is invalid, or the limit is out of range."
                     )
             }
     )
     @GetMapping("")
-    public ResponseEntity<List<PosDto>> getAll() {
+    public ResponseEntity<List<PosDto>> getAll(
+            @Parameter(description = "Campuses to include.")
+            @RequestParam(value = "campus", required = false) Set<CampusType> campuses,
+            @Parameter(description = "POS types to include.")
+            @RequestParam(value = "type", required = false) Set<PosType> types,
+            @Parameter(description = "Postal codes to include.")
+            @RequestParam(value = "postalCode", required = false) Set<Integer> postalCodes,
+            @Parameter(description = "Cities to include (exact name).")
+            @RequestParam(value = "city", required = false) Set<String> cities,
+            @Parameter(description = "Maximum number of POS per page (1-" + CursorPage.MAX_LIMIT + ").")
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @Parameter(description = "Opaque cursor taken from the Link header of the previous page.")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            WebRequest request) {
 
-        return ResponseEntity.ok(
-                posService.getAll().stream()
+        if (isNotModified(request)) {
+            return null; // 304 Not Modified; the ETag and Last-Modified headers have been set by checkNotModified
+        }
+
+        PosFilter filter = new PosFilter(campuses, types, postalCodes, cities);
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(
+                    posService.getAll(filter).stream()
+                            .map(posDtoMapper::fromDomain)
+                            .toList()
+            );
+        }
+
+        CursorPage<Pos> page = posService.getPage(filter, cursor, limit != null ? limit : CursorPage.DEFAULT_LIMIT);
+        return withNextPageLink(page).body(
+                page.items().stream()
                         .map(posDtoMapper::fromDomain)
                         .toList()
         );
     }
 
+    @Operation(
+            summary = "Get selected fields of all POS, optionally filtered and one page at a time.",
+            description = "Like getting all POS, but each POS only contains the requested fields (and always its " +
+                    "ID), e.g., fields=name,campus for a map view. Only the columns of these fields are read from " +
+                    "the database. Supported fields: " + FIELD_NAMES + ".",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(type = "array", implementation = Object.class)
+                            ),
+                            headers = {
+                                    @Header(
+                                            name = HttpHeaders.LINK,
+                                            description = "Link to the next page if the response is paginated and more POS exist."
+                                    ),
+                                    @Header(
+                                            name = HttpHeaders.ETAG,
+                                            description = "Version of the POS collection for If-None-Match."
+                                    ),
+                                    @Header(
+                                            name = HttpHeaders.LAST_MODIFIED,
+                                            description = "Time of the latest change of the POS collection for If-Modified-Since."
+                                    )
+                            },
+                            description = "The selected fields of all matching POS (or the requested page) as a JSON array."
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "No POS has changed since the version in the If-None-Match or If-Modified-Since header."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "A field is unknown, a filter value or the cursor is invalid, or the limit is out of range."
+                    )
+            }
+    )
+    @GetMapping(value = "", params = {"fields", "!ids"}) // combined with ids, the request is rejected by getByIds
+    public ResponseEntity<List<Map<String, Object>>> getAllFields(
+            @Parameter(description = "Fields to include in each POS (repeated or comma-separated).")
+            @RequestParam("fields") Set<String> fields,
+            @Parameter(description = "Campuses to include.")
+            @RequestParam(value = "campus", required = false) Set<CampusType> campuses,
+            @Parameter(description = "POS types to include.")
+            @RequestParam(value = "type", required = false) Set<PosType> types,
+            @Parameter(description = "Postal codes to include.")
+            @RequestParam(value = "postalCode", required = false) Set<Integer> postalCodes,
+            @Parameter(description = "Cities to include (exact name).")
+            @RequestParam(value = "city", required = false) Set<String> cities,
+            @Parameter(description = "Maximum number of POS per page (1-" + CursorPage.MAX_LIMIT + ").")
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @Parameter(description = "Opaque cursor taken from the Link header of the previous page.")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            WebRequest request) {
+
+        if (isNotModified(request)) {
+            return null; // 304 Not Modified
+        }
+
+        Set<PosField> selectedFields = fields.stream()
+                .map(PosField::fromFieldName)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(PosField.class)));
+        PosFilter filter = new PosFilter(campuses, types, postalCodes, cities);
+        // the rows are serialized as they are, without creating POS objects or DTOs
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(posService.getAll(filter, selectedFields));
+        }
+
+        CursorPage<Map<String, Object>> page = posService.getPage(filter, selectedFields, cursor,
+                limit != null ? limit : CursorPage.DEFAULT_LIMIT);
+        return withNextPageLink(page).body(page.items());
+    }
+
+    @Operation(
+            summary = "Get multiple POS by their IDs.",
+            description = "Retrieves up to " + LookupResult.MAX_IDS + " POS with one request, e.g., for lists of " +
+                    "favorites. IDs without a POS are reported in missingIds instead of failing the request. " +
+                    "Other filters are ignored; selecting fields is not supported. Like for all POS, conditional " +
+                    "requests are answered with 304 if no POS has changed.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = PosLookupResultDto.class)
+                            ),
+                            description = "The POS in the order of the IDs and the IDs without a POS."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "An ID is not a number, more than " + LookupResult.MAX_IDS +
+                                    " IDs were provided, or fields were selected."
+                    )
+            }
+    )
+    @GetMapping(value = "", params = "ids")
+    public ResponseEntity<PosLookupResultDto> getByIds(
+            @Parameter(description = "IDs of the POS to retrieve (repeated or comma-separated).")
+            @RequestParam("ids") List<Long> ids,
+            @Parameter(hidden = true) // only declared to reject it
+            @RequestParam(value = "fields", required = false) Set<String> fields,
+            WebRequest request) {
+
+        if (fields != null) {
+            throw new IllegalArgumentException("Fields cannot be selected when retrieving POS by their IDs.");
+        }
+        if (isNotModified(request)) {
+            return null; // 304 Not Modified
+        }
+        return ResponseEntity.ok(
+                posDtoMapper.fromDomainLookupResult(posService.getByIds(ids))
+        );
+    }
+
+    @Operation(
+            summary = "Export all POS as newline-delimited JSON.",
+            description = "Streams all POS ordered by ID, one JSON object per line. " +
+                    "The POS are written while they are read from the database, so the export works " +
+                    "for data sets of any size.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = PosDto.class)
+                            ),
+                            description = "All POS, one JSON object per line."
+                    )
+            }
+    )
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        ObjectWriter writer = objectMapper.writerFor(PosDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // keep the response open between rows
+        StreamingResponseBody body = outputStream -> {
+            try {
+                posService.exportAll(pos -> {
+                    try {
+                        writer.writeValue(outputStream, posDtoMapper.fromDomain(pos));
+                        outputStream.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause(); // e.g., client closed the connection
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @Operation(
             summary = "Get POS by ID.",
             responses = {
@@ -65,6 +338,10 @@ public class PosController {
                                     mediaType = "application/json",
                                     schema = @Schema(implementation = PosDto.class)
                             ),
+                            headers = @Header(
+                                    name = HttpHeaders.ETAG,
+                                    description = "Version of the POS for the If-Match header of updates and deletes."
+                            ),
                             description = "The POS with the provided ID as a JSON object."
                     ),
                     @ApiResponse(
@@ -81,9 +358,7 @@ public class PosController {
     public ResponseEntity<PosDto> getById(
             @PathVariable Long id) {
 
-        return ResponseEntity.ok(
-                posDtoMapper.fromDomain(posService.getById(id))
-        );
+        return withValidators(ResponseEntity.ok(), posService.getById(id));
     }
 
     @Operation(
@@ -95,6 +370,10 @@ public class PosController {
                                     mediaType = "application/json",
                                     schema = @Schema(implementation = PosDto.class)
                             ),
+                            headers = @Header(
+                                    name = HttpHeaders.ETAG,
+                                    description = "Version of the POS for the If-Match header of updates and deletes."
+                            ),
                             description = "The POS with the provided name as a JSON object."
                     ),
                     @ApiResponse(
@@ -111,8 +390,204 @@ public class PosController {
     public ResponseEntity<PosDto> filter(
             @RequestParam("name") String name) {
 
+        return withValidators(ResponseEntity.ok(), posService.getByName(name));
+    }
+
+    @Operation(
+            summary = "Search POS by name and description.",
+            description = "Full-text search with web search syntax: all words must match unless combined with " +
+                    "\"or\", quoted words must match as a phrase, and words prefixed with \"-\" must not match. " +
+                    "English words also match their inflected forms (e.g., \"waffle\" matches \"waffles\"). " +
+                    "The results are ordered by relevance; the link to the next page is provided in the Link " +
+                    "header (rel=\"next\"); it is missing on the last page.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(type = "array", implementation = PosDto.class)
+                            ),
+                            headers = @Header(
+                                    name = HttpHeaders.LINK,
+                                    description = "Link to the next page if more POS match the query."
+                            ),
+                            description = "The matching POS on the requested page as a JSON array."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "The query is blank, the page is negative, or the size is out of range."
+                    )
+            }
+    )
+    @GetMapping("/search")
+    public ResponseEntity<List<PosDto>> search(
+            @Parameter(description = "Words to search for in the name and description.")
+            @RequestParam("q") String query,
+            @Parameter(description = "Zero-based page number.")
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @Parameter(description = "Maximum number of POS per page (1-" + ResultPage.MAX_SIZE + ").")
+            @RequestParam(value = "size", defaultValue = "" + ResultPage.DEFAULT_SIZE) int size) {
+
+        ResultPage<Pos> resultPage = posService.search(query, page, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (resultPage.hasNext()) {
+            response.header(HttpHeaders.LINK, "<" + getPageLocation(page + 1) + ">; rel=\"next\"");
+        }
+        return response.body(
+                resultPage.items().stream()
+                        .map(posDtoMapper::fromDomain)
+                        .toList()
+        );
+    }
+
+    @Operation(
+            summary = "Suggest POS names while typing (autocomplete).",
+            description = "Returns POS whose name contains words starting with the words of the query, ignoring " +
+                    "case and diacritics (e.g., \"cafe bot\" suggests \"Café Botanik\"). If there are not enough " +
+                    "such POS, names with minor typos are suggested as well. Served from memory.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(type = "array", implementation = PosSuggestionDto.class)
+                            ),
+                            description = "The suggestions, best first, as a JSON array."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "The limit is out of range."
+                    )
+            }
+    )
+    @GetMapping("/suggest")
+    public ResponseEntity<List<PosSuggestionDto>> suggest(
+            @Parameter(description = "The partial POS name typed by the user.")
+            @RequestParam("q") String query,
+            @Parameter(description = "Maximum number of suggestions (1-" + PosSuggestion.MAX_LIMIT + ").")
+            @RequestParam(value = "limit", defaultValue = "" + PosSuggestion.DEFAULT_LIMIT) int limit) {
+
+        return ResponseEntity.ok(
+                posService.suggest(query, limit).stream()
+                        .map(posDtoMapper::fromDomainSuggestion)
+                        .toList()
+        );
+    }
+
+    @Operation(
+            summary = "Get the changes of the POS since the last sync.",
+            description = "Delta sync for clients that keep a local copy of the POS: without since, all POS are " +
+                    "returned (initial sync); with the nextToken of the previous response, only the POS created " +
+                    "or updated since then and the IDs of the POS deleted since then are returned. Apply the " +
+                    "changed POS by ID first and then remove the deleted ones. No change is missed, even if its " +
+                    "transaction commits after the sync: the token refers to the oldest transaction that was " +
+                    "still in progress, so changes since then may be returned again by the next sync. Deletions " +
+                    "are only kept for a limited time (pos.sync.tombstone-retention); older tokens expire.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = PosChangesDto.class)
+                            ),
+                            description = "The changed POS, the IDs of the deleted POS, and the token for the next sync."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "The sync token is invalid."
+                    ),
+                    @ApiResponse(
+                            responseCode = "410",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "The sync token has expired; sync again without a token."
+                    )
+            }
+    )
+    @GetMapping("/changes")
+    public ResponseEntity<PosChangesDto> getChanges(
+            @Parameter(description = "The nextToken of the previous sync; omit for an initial sync.")
+            @RequestParam(value = "since", required = false) String since) {
+        return ResponseEntity.ok(
+                posDtoMapper.fromDomainChanges(posService.getChanges(since))
+        );
+    }
+
+    @Operation(
+            summary = "Get the number of POS per campus and type.",
+            description = "The counts are maintained in memory while POS are written and are periodically " +
+                    "recomputed from the database, so the response time does not depend on the number of POS.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = PosStatisticsDto.class)
+                            ),
+                            description = "The POS counts as a JSON object."
+                    )
+            }
+    )
+    @GetMapping("/stats")
+    public ResponseEntity<PosStatisticsDto> getStatistics() {
+        return ResponseEntity.ok(
+                posDtoMapper.fromDomainStatistics(posService.getStatistics())
+        );
+    }
+
+    @Operation(
+            summary = "Find the POS closest to a location.",
+            description = "Returns the POS within the radius around the location, nearest first, together with " +
+                    "their distance in meters. Only POS with a known location (e.g., imported from OpenStreetMap) " +
+                    "are considered.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(type = "array", implementation = NearbyPosDto.class)
+                            ),
+                            description = "The POS within the radius, nearest first, as a JSON array."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "The location is invalid, or the radius or the limit is out of range."
+                    )
+            }
+    )
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyPosDto>> nearby(
+            @Parameter(description = "Latitude of the location in degrees (WGS 84).")
+            @RequestParam("lat") double latitude,
+            @Parameter(description = "Longitude of the location in degrees (WGS 84).")
+            @RequestParam("lon") double longitude,
+            @Parameter(description = "Maximum distance in meters (1-" + NearbyPos.MAX_RADIUS_METERS + ").")
+            @RequestParam(value = "radius", defaultValue = "" + NearbyPos.DEFAULT_RADIUS_METERS) int radiusMeters,
+            @Parameter(description = "Maximum number of POS (1-" + NearbyPos.MAX_LIMIT + ").")
+            @RequestParam(value = "limit", defaultValue = "" + NearbyPos.DEFAULT_LIMIT) int limit) {
+
         return ResponseEntity.ok(
-                posDtoMapper.fromDomain(posService.getByName(name))
+                posService.findNearby(new GeoPoint(latitude, longitude), radiusMeters, limit).stream()
+                        .map(posDtoMapper::fromDomainNearby)
+                        .toList()
         );
     }
 
@@ -125,6 +600,10 @@ public class PosController {
                                     mediaType = "application/json",
                                     schema = @Schema(implementation = PosDto.class)
                             ),
+                            headers = @Header(
+                                    name = HttpHeaders.ETAG,
+                                    description = "Version of the POS for the If-Match header of updates and deletes."
+                            ),
                             description = "The new POS as a JSON object."
                     ),
                     @ApiResponse(
@@ -141,10 +620,48 @@ public class PosController {
     public ResponseEntity<PosDto> create(
             @RequestBody @Valid PosDto posDto) {
 
-        PosDto created = upsert(posDto);
-        return ResponseEntity
-                .created(getLocation(created.id()))
-                .body(created);
+        Pos created = posService.upsert(toDomain(posDto, null));
+        return withValidators(ResponseEntity.created(getLocation(created.id())), created);
+    }
+
+    @Operation(
+            summary = "Create or update multiple POS at once.",
+            description = "POS without an ID are created, POS with an ID are updated. All POS are written in " +
+                    "one transaction. POS that violate a rule (unknown ID or duplicate name) are skipped and " +
+                    "reported in the result with the same index as in the request; the other POS are persisted.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(type = "array", implementation = PosUpsertResultDto.class)
+                            ),
+                            description = "One result per POS in the order of the request."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "Bean validation failed for at least one POS or more than " +
+                                    UpsertResult.MAX_BATCH_SIZE + " POS were provided."
+                    )
+            }
+    )
+    @PostMapping("/bulk")
+    public ResponseEntity<List<PosUpsertResultDto>> upsertAll(
+            @RequestBody List<@Valid PosDto> posDtos) {
+
+        return ResponseEntity.ok(
+                posService.upsertAll(
+                        posDtos.stream()
+                                .map(posDtoMapper::toDomain)
+                                .toList()
+                ).stream()
+                        .map(posDtoMapper::fromDomainResult)
+                        .toList()
+        );
     }
 
     @Operation(
@@ -156,6 +673,10 @@ public class PosController {
                                     mediaType = "application/json",
                                     schema = @Schema(implementation = PosDto.class)
                             ),
+                            headers = @Header(
+                                    name = HttpHeaders.ETAG,
+                                    description = "Version of the POS for the If-Match header of updates and deletes."
+                            ),
                             description = "The new POS imported from OSM as a JSON object."
                     ),
                     @ApiResponse(
@@ -181,12 +702,44 @@ public class PosController {
             @PathVariable Long nodeId,
             @RequestBody CampusType campusType) {
 
-        PosDto createdPos = posDtoMapper.fromDomain(
-                posService.importFromOsmNode(nodeId, campusType)
+        Pos createdPos = posService.importFromOsmNode(nodeId, campusType);
+        return withValidators(ResponseEntity.created(getLocation(createdPos.id())), createdPos);
+    }
+
+    @Operation(
+            summary = "Import multiple POS from OpenStreetMap nodes.",
+            description = "The nodes are fetched in parallel and the resulting POS are persisted in one batch. " +
+                    "Nodes that cannot be imported (not found, missing fields, duplicate name) are skipped and " +
+                    "reported in the result with the same index as in the request.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(type = "array", implementation = OsmImportResultDto.class)
+                            ),
+                            description = "One result per OSM node in the order of the request."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "No node IDs or more than " + UpsertResult.MAX_BATCH_SIZE +
+                                    " node IDs were provided, or the campus is missing."
+                    )
+            }
+    )
+    @PostMapping("/import/osm")
+    public ResponseEntity<List<OsmImportResultDto>> importAll(
+            @RequestBody @Valid OsmImportRequestDto importRequest) {
+
+        return ResponseEntity.ok(
+                posService.importFromOsmNodes(importRequest.nodeIds(), importRequest.campus()).stream()
+                        .map(posDtoMapper::fromDomainImportResult)
+                        .toList()
         );
-        return ResponseEntity
-                .created(getLocation(createdPos.id()))
-                .body(createdPos);
     }
 
     @Operation(
@@ -198,6 +751,16 @@ public class PosController {
                                     mediaType = "application/json",
                                     schema = @Schema(implementation = PosDto.class)
                             ),
+                            headers = {
+                                    @Header(
+                                            name = HttpHeaders.ETAG,
+                                            description = "Version of the POS for the If-Match header of updates and deletes."
+                                    ),
+                                    @Header(
+                                            name = UNCHANGED_HEADER,
+                                            description = "\"true\" if the POS already had the new values, so nothing was written and its version and update time are kept."
+                                    )
+                            },
                             description = "The updated POS as a JSON object."
                     ),
                     @ApiResponse(
@@ -215,20 +778,101 @@ public class PosController {
                                     schema = @Schema(implementation = ErrorResponse.class)
                             ),
                             description = "No POS with the provided ID could be found."
+                    ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "The POS has been modified since the version in the If-Match header."
                     )
             }
     )
     @PutMapping("/{id}")
     public ResponseEntity<PosDto> update(
             @PathVariable Long id,
+            @Parameter(description = "ETag of the POS; the update is rejected if the POS has changed since.")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody @Valid PosDto posDto) {
 
         if (!id.equals(posDto.id())) {
             throw new IllegalArgumentException("POS ID in path and body do not match.");
         }
-        return ResponseEntity.ok(
-                upsert(posDto)
-        );
+        Update<Pos> update = posService.update(toDomain(posDto, getExpectedVersion(id, ifMatch)));
+        return withValidators(getUpdateResponse(update), update.updated());
+    }
+
+    @Operation(
+            summary = "Change some fields of an existing POS by ID.",
+            description = "The body is a JSON merge patch with the new values of the fields to change, e.g., " +
+                    "{\"description\": \"Great croissants\"}; all other fields keep their values. Only the " +
+                    "location (latitude and longitude) can be removed by setting it to null. Only the changed " +
+                    "fields are validated and written to the database.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = PosDto.class)
+                            ),
+                            headers = {
+                                    @Header(
+                                            name = HttpHeaders.ETAG,
+                                            description = "Version of the POS for the If-Match header of updates and deletes."
+                                    ),
+                                    @Header(
+                                            name = UNCHANGED_HEADER,
+                                            description = "\"true\" if the POS already had the new values, so nothing was written and its version and update time are kept."
+                                    )
+                            },
+                            description = "The changed POS as a JSON object."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "Validation failed: unknown or read-only field, removed required field, invalid value, or only one of latitude and longitude set."
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "No POS with the provided ID could be found."
+                    ),
+                    @ApiResponse(
+                            responseCode = "409",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "Another POS already has the new name."
+                    ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "The POS has been modified since the version in the If-Match header."
+                    )
+            }
+    )
+    @PatchMapping(value = "/{id}", consumes = MergePatchReader.MERGE_PATCH_JSON_VALUE)
+    public ResponseEntity<PosDto> patch(
+            @PathVariable Long id,
+            @Parameter(description = "ETag of the POS; the change is rejected if the POS has changed since.")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+
+        Map<PosField, Object> changes = mergePatchReader.read(patch, PosDto.class, PosField::fromFieldName,
+                PosField::type);
+        Update<Pos> update = posService.patch(id, changes, getExpectedVersion(id, ifMatch));
+        return withValidators(getUpdateResponse(update), update.updated());
     }
 
     @Operation(
@@ -245,27 +889,104 @@ public class PosController {
                                     schema = @Schema(implementation = ErrorResponse.class)
                             ),
                             description = "No POS with the provided ID could be found."
+                    ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "The POS has been modified since the version in the If-Match header."
                     )
             }
     )
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(
-            @PathVariable Long id) {
-        posService.delete(id); // throws NotFoundException if no POS with the provided ID exists
+            @PathVariable Long id,
+            @Parameter(description = "ETag of the POS; the deletion is rejected if the POS has changed since.")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        // throws NotFoundException if no POS with the provided ID exists
+        posService.delete(id, getExpectedVersion(id, ifMatch));
         return ResponseEntity.noContent().build();
     }
 
     /**
-     * Common upsert logic for create and update.
+     * Resolves the version of a POS that the client expects from the If-Match header.
      *
-     * @param posDto the POS DTO to map and upsert
-     * @return the upserted POS mapped back to the DTO format.
+     * @param id      the ID of the POS to write
+     * @param ifMatch the value of the If-Match header; may be null
+     * @return the expected version, or null to write regardless of the version
      */
-    private PosDto upsert(PosDto posDto) {
-        return posDtoMapper.fromDomain(
-                posService.upsert(
-                        posDtoMapper.toDomain(posDto)
-                )
-        );
+    private @Nullable Long getExpectedVersion(Long id, @Nullable String ifMatch) {
+        return resolveIfMatch(ifMatch, Pos.class, id, () -> posService.getById(id).version());
+    }
+
+    /**
+     * Common mapping logic for create and update.
+     *
+     * @param posDto  the POS DTO to map
+     * @param version the version the POS to update must have; null for creates and unconditional updates
+     * @return the POS to upsert
+     */
+    private Pos toDomain(PosDto posDto, @Nullable Long version) {
+        return posDtoMapper.toDomain(posDto).toBuilder()
+                .version(version)
+                .build();
+    }
+
+    /**
+     * Completes a response with a single POS, its version as the ETag, and its update time as Last-Modified.
+     * For GET requests, Spring answers a matching If-None-Match or If-Modified-Since header with 304 based on these
+     * headers, without serializing the POS.
+     *
+     * @param response the response to complete
+     * @param pos      the POS to return
+     * @return the response with the POS as a DTO
+     */
+    private ResponseEntity<PosDto> withValidators(ResponseEntity.BodyBuilder response, Pos pos) {
+        if (pos.updatedAt() != null) {
+            response.lastModified(getLastModified(pos.updatedAt()));
+        }
+        return response
+                .eTag(getETag(pos.version()))
+                .body(posDtoMapper.fromDomain(pos));
+    }
+
+    /**
+     * Checks whether the client's copy of the POS collection is still up to date.
+     * The cached state of the collection suffices for this, so no POS are loaded.
+     *
+     * @param request the request with the conditional headers (If-None-Match, If-Modified-Since)
+     * @return true if the response is 304 Not Modified; the ETag and Last-Modified headers are set in any case
+     */
+    private boolean isNotModified(WebRequest request) {
+        PosCollectionState state = posService.getCollectionState();
+        return request.checkNotModified(getCollectionETag(state), getLastModified(state.lastModified()));
+    }
+
+    /**
+     * Starts the response for a page of POS with a link to the next page if there is one.
+     *
+     * @param page the page to return
+     * @return the response with the Link header (rel="next") if the page is not the last one
+     */
+    private static ResponseEntity.BodyBuilder withNextPageLink(CursorPage<?> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(HttpHeaders.LINK, "<" + getNextPageLocation(page.nextCursor()) + ">; rel=\"next\"");
+        }
+        return response;
+    }
+
+    /**
+     * Builds the ETag of POS collections from the latest change position and the digest of the collection.
+     * Both are assigned by the database rather than the clocks of the application instances, so the ETag is the same
+     * on all instances. The digest changes with every write, even if a transaction with an older ID commits last.
+     *
+     * @param state the state of the POS collection
+     * @return the entity tag
+     */
+    private static String getCollectionETag(PosCollectionState state) {
+        return "\"" + state.lastChangePosition() + "-" + Long.toHexString(state.digest()) + "\"";
     }
 }
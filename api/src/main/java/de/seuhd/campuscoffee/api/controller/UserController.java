@@ -1,21 +1,32 @@
 package de.seuhd.campuscoffee.api.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import de.seuhd.campuscoffee.api.dtos.PosDto;
 import de.seuhd.campuscoffee.api.dtos.UserDto;
 import de.seuhd.campuscoffee.api.mapper.UserDtoMapper;
+import de.seuhd.campuscoffee.api.util.MergePatchReader;
+import de.seuhd.campuscoffee.domain.model.Update;
+import de.seuhd.campuscoffee.domain.model.User;
+import de.seuhd.campuscoffee.domain.model.UserField;
 import de.seuhd.campuscoffee.domain.ports.PosService;
 import de.seuhd.campuscoffee.domain.ports.UserService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
+import static de.seuhd.campuscoffee.api.util.ControllerUtils.getETag;
 import static de.seuhd.campuscoffee.api.util.ControllerUtils.getLocation;
+import static de.seuhd.campuscoffee.api.util.ControllerUtils.getUpdateResponse;
+import static de.seuhd.campuscoffee.api.util.ControllerUtils.resolveIfMatch;
 
 @Tag(name = "Users", description = "Operations related to user management.")
 @Controller
@@ -26,6 +37,7 @@ public class UserController {
     //TODO: Implement user controller
     private final UserService userService;
     private final UserDtoMapper userDtoMapper;
+    private final MergePatchReader mergePatchReader;
 
     @GetMapping("")
     public ResponseEntity<List<UserDto>> getAll() {
@@ -41,62 +53,93 @@ public class UserController {
     public ResponseEntity<UserDto> getById(
             @PathVariable Long id) {
 
-        return ResponseEntity.ok(
-                userDtoMapper.fromDomain(userService.getById(id))
-        );
+        return withETag(ResponseEntity.ok(), userService.getById(id));
     }
 
     @GetMapping("/filter")
     public ResponseEntity<UserDto> filter(
             @RequestParam("loginName") String loginName) {
 
-        return ResponseEntity.ok(
-                userDtoMapper.fromDomain(userService.getByloginName(loginName))
-        );
+        return withETag(ResponseEntity.ok(), userService.getByloginName(loginName));
     }
 
     @PostMapping("")
     public ResponseEntity<UserDto> create(
             @RequestBody @Valid UserDto userDto) {
 
-        UserDto created = upsert(userDto);
-        return ResponseEntity
-                .created(getLocation(created.id()))
-                .body(created);
+        User created = userService.upsert(toDomain(userDto, null));
+        return withETag(ResponseEntity.created(getLocation(created.id())), created);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<UserDto> update(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody @Valid UserDto userDto) {
 
         if (!id.equals(userDto.id())) {
             throw new IllegalArgumentException("User ID in path and body do not match.");
         }
-        return ResponseEntity.ok(
-                upsert(userDto)
-        );
+        Update<User> update = userService.update(toDomain(userDto, getExpectedVersion(id, ifMatch)));
+        return withETag(getUpdateResponse(update), update.updated());
+    }
+
+    @PatchMapping(value = "/{id}", consumes = MergePatchReader.MERGE_PATCH_JSON_VALUE)
+    public ResponseEntity<UserDto> patch(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+        // only the fields in the merge patch are validated and changed
+        Map<UserField, Object> changes = mergePatchReader.read(patch, UserDto.class, UserField::fromFieldName,
+                UserField::type);
+        Update<User> update = userService.patch(id, changes, getExpectedVersion(id, ifMatch));
+        return withETag(getUpdateResponse(update), update.updated());
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(
-            @PathVariable Long id) {
-        userService.delete(id); // throws NotFoundException if no POS with the provided ID exists
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        // throws NotFoundException if no user with the provided ID exists
+        userService.delete(id, getExpectedVersion(id, ifMatch));
         return ResponseEntity.noContent().build();
     }
 
     /**
-     * Common upsert logic for create and update.
+     * Resolves the version of a user that the client expects from the If-Match header.
      *
-     * @param userDto the User DTO to map and upsert
-     * @return the upserted User mapped back to the User format.
+     * @param id      the ID of the user to write
+     * @param ifMatch the value of the If-Match header; may be null
+     * @return the expected version, or null to write regardless of the version
      */
-    private UserDto upsert(UserDto userDto) {
-        return userDtoMapper.fromDomain(
-                userService.upsert(
-                        userDtoMapper.toDomain(userDto)
-                )
-        );
+    private @Nullable Long getExpectedVersion(Long id, @Nullable String ifMatch) {
+        return resolveIfMatch(ifMatch, User.class, id, () -> userService.getById(id).version());
+    }
+
+    /**
+     * Common mapping logic for create and update.
+     *
+     * @param userDto the User DTO to map
+     * @param version the version the user to update must have; null for creates and unconditional updates
+     * @return the User to upsert
+     */
+    private User toDomain(UserDto userDto, @Nullable Long version) {
+        return userDtoMapper.toDomain(userDto).toBuilder()
+                .version(version)
+                .build();
+    }
+
+    /**
+     * Completes a response with a single user and their version as the ETag.
+     *
+     * @param response the response to complete
+     * @param user     the user to return
+     * @return the response with the user as a DTO
+     */
+    private ResponseEntity<UserDto> withETag(ResponseEntity.BodyBuilder response, User user) {
+        return response
+                .eTag(getETag(user.version()))
+                .body(userDtoMapper.fromDomain(user));
     }
 
 }
@@ -0,0 +1,26 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.ImportJobStatus;
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO record for the state of an asynchronous OSM import job.
+ */
+@Builder(toBuilder = true)
+public record ImportJobDto(
+        @NonNull Long id,
+        @NonNull ImportJobStatus status,
+        @NonNull CampusType campus,
+        int totalNodes,
+        int processedNodes,
+        @NonNull List<OsmImportResultDto> results,
+        @NonNull LocalDateTime createdAt,
+        @Nullable LocalDateTime finishedAt, // is null while the job is queued or running
+        @Nullable String message // is set if the job failed
+) {}
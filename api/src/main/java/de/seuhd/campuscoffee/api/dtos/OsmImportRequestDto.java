@@ -0,0 +1,21 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+
+import java.util.List;
+
+/**
+ * DTO record for importing multiple POS from OpenStreetMap nodes.
+ */
+@Builder(toBuilder = true)
+public record OsmImportRequestDto(
+        @NotEmpty(message = "At least one OSM node ID must be provided.")
+        @NonNull List<@NotNull Long> nodeIds,
+
+        @NotNull
+        @NonNull CampusType campus
+) {}
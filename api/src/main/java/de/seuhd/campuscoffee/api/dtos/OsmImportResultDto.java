@@ -0,0 +1,17 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import de.seuhd.campuscoffee.domain.model.UpsertStatus;
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * DTO record for the result of importing a single OpenStreetMap node as part of a bulk import.
+ */
+@Builder(toBuilder = true)
+public record OsmImportResultDto(
+        @NonNull Long nodeId,
+        @NonNull UpsertStatus status,
+        @Nullable PosDto pos, // is null if the node was rejected
+        @Nullable String message // is set if the node was rejected
+) {}
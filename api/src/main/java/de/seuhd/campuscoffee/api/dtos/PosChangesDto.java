@@ -0,0 +1,16 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+
+import java.util.List;
+
+/**
+ * DTO record for the changes of the POS collection since a sync token.
+ */
+@Builder(toBuilder = true)
+public record PosChangesDto(
+        @NonNull List<PosDto> changed, // created or updated POS in update order
+        @NonNull List<Long> deletedIds, // IDs of deleted POS (tombstones)
+        @NonNull String nextToken // passed as "since" for the next sync
+) {}
@@ -2,6 +2,8 @@ package de.seuhd.campuscoffee.api.dtos;
 
 import de.seuhd.campuscoffee.domain.model.CampusType;
 import de.seuhd.campuscoffee.domain.model.PosType;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -44,5 +46,13 @@ public record PosDto(
 
         @NotNull
         @Size(min = 1, max = 255, message = "City must be between 1 and 255 characters long.")
-        @NonNull String city
+        @NonNull String city,
+
+        @DecimalMin(value = "-90", message = "Latitude must be between -90 and 90.")
+        @DecimalMax(value = "90", message = "Latitude must be between -90 and 90.")
+        @Nullable Double latitude, // latitude and longitude are either both set or both null
+
+        @DecimalMin(value = "-180", message = "Longitude must be between -180 and 180.")
+        @DecimalMax(value = "180", message = "Longitude must be between -180 and 180.")
+        @Nullable Double longitude
 ) {}
@@ -0,0 +1,15 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+
+import java.util.List;
+
+/**
+ * DTO record for the result of retrieving multiple POS by their IDs.
+ */
+@Builder(toBuilder = true)
+public record PosLookupResultDto(
+        @NonNull List<PosDto> items, // in the order of the requested IDs
+        @NonNull List<Long> missingIds // requested IDs without a POS
+) {}
@@ -0,0 +1,21 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DTO record for the number of POS per campus and type.
+ */
+@Builder(toBuilder = true)
+public record PosStatisticsDto(
+        long total,
+        @NonNull Map<CampusType, Long> byCampus,
+        @NonNull Map<PosType, Long> byType,
+        @NonNull Map<CampusType, Map<PosType, Long>> byCampusAndType,
+        @NonNull LocalDateTime reconciledAt
+) {}
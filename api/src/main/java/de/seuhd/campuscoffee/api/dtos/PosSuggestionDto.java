@@ -0,0 +1,13 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * DTO record for a POS name suggested while the user types.
+ */
+@Builder(toBuilder = true)
+public record PosSuggestionDto(
+        @NonNull Long id,
+        @NonNull String name
+) {}
@@ -0,0 +1,16 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import de.seuhd.campuscoffee.domain.model.UpsertStatus;
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * DTO record for the result of upserting a single POS as part of a bulk request.
+ */
+@Builder(toBuilder = true)
+public record PosUpsertResultDto(
+        @NonNull UpsertStatus status,
+        @Nullable PosDto value, // is null if the POS was rejected
+        @Nullable String message // is set if the POS was rejected
+) {}
@@ -1,18 +1,25 @@
 package de.seuhd.campuscoffee.api.exceptions;
 
 import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
+import de.seuhd.campuscoffee.domain.exceptions.ImportJobRejectedException;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
 import de.seuhd.campuscoffee.domain.exceptions.MissingFieldException;
+import de.seuhd.campuscoffee.domain.exceptions.OsmUnavailableException;
+import de.seuhd.campuscoffee.domain.exceptions.SyncTokenExpiredException;
 import de.seuhd.campuscoffee.domain.exceptions.ValidationException;
+import de.seuhd.campuscoffee.domain.exceptions.VersionMismatchException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.LocalDateTime;
 
@@ -62,6 +69,44 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(exception, HttpStatus.CONFLICT, request);
     }
 
+    /**
+     * Handles conditional updates and deletes of entities that have been modified in the meantime.
+     * Returns HTTP 412 (Precondition Failed) since the version in the If-Match header is outdated.
+     *
+     * @param exception the version mismatch exception that was thrown
+     * @param request the web request
+     * @return ResponseEntity with ErrorResponse and HTTP 412
+     */
+    @ExceptionHandler({
+            VersionMismatchException.class
+    })
+    public ResponseEntity<ErrorResponse> handleVersionMismatchException(
+            RuntimeException exception,
+            WebRequest request
+    ) {
+        log.warn("Precondition failed: {}", exception.getMessage());
+        return buildErrorResponse(exception, HttpStatus.PRECONDITION_FAILED, request);
+    }
+
+    /**
+     * Handles delta syncs with a token that is older than the retained deletion log.
+     * Returns HTTP 410 (Gone) so that clients sync again without a token.
+     *
+     * @param exception the expired sync token exception that was thrown
+     * @param request the web request
+     * @return ResponseEntity with ErrorResponse and HTTP 410
+     */
+    @ExceptionHandler({
+            SyncTokenExpiredException.class
+    })
+    public ResponseEntity<ErrorResponse> handleSyncTokenExpiredException(
+            RuntimeException exception,
+            WebRequest request
+    ) {
+        log.warn("Gone: {}", exception.getMessage());
+        return buildErrorResponse(exception, HttpStatus.GONE, request);
+    }
+
     /**
      * Handles validation and bad request exceptions.
      * Returns HTTP 400 (Bad Request).
@@ -72,7 +117,8 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler({
             IllegalArgumentException.class,
-            MissingFieldException.class
+            MissingFieldException.class,
+            MethodArgumentTypeMismatchException.class // e.g., unknown campus in a query parameter
     })
     public ResponseEntity<ErrorResponse> handleBadRequestException(
             RuntimeException exception,
@@ -92,7 +138,8 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler({
             ValidationException.class,
-            MethodArgumentNotValidException.class // see usages of @Valid annotation
+            MethodArgumentNotValidException.class, // see usages of @Valid annotation
+            HandlerMethodValidationException.class // see usages of @Valid on list elements
     })
     public ResponseEntity<ErrorResponse> handleDomainValidationException(
             RuntimeException exception,
@@ -102,6 +149,63 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(exception, HttpStatus.BAD_REQUEST, request);
     }
 
+    /**
+     * Handles OSM nodes that cannot be fetched because the OSM API failed.
+     * Returns HTTP 503 (Service Unavailable) so that clients retry later.
+     *
+     * @param exception the OSM unavailable exception that was thrown
+     * @param request the web request
+     * @return ResponseEntity with ErrorResponse and HTTP 503
+     */
+    @ExceptionHandler({
+            OsmUnavailableException.class
+    })
+    public ResponseEntity<ErrorResponse> handleOsmUnavailableException(
+            RuntimeException exception,
+            WebRequest request
+    ) {
+        log.warn("OSM API unavailable: {}", exception.getMessage());
+        return buildErrorResponse(exception, HttpStatus.SERVICE_UNAVAILABLE, request);
+    }
+
+    /**
+     * Handles import jobs that were rejected because too many jobs are queued.
+     * Returns HTTP 503 (Service Unavailable) so that clients retry later.
+     *
+     * @param exception the rejected import job exception that was thrown
+     * @param request the web request
+     * @return ResponseEntity with ErrorResponse and HTTP 503
+     */
+    @ExceptionHandler({
+            ImportJobRejectedException.class
+    })
+    public ResponseEntity<ErrorResponse> handleImportJobRejectedException(
+            RuntimeException exception,
+            WebRequest request
+    ) {
+        log.warn("Import job rejected: {}", exception.getMessage());
+        return buildErrorResponse(exception, HttpStatus.SERVICE_UNAVAILABLE, request);
+    }
+
+    /**
+     * Handles request bodies with an unsupported content type (e.g., a PATCH that is not a JSON merge patch).
+     * Returns HTTP 415 (Unsupported Media Type).
+     *
+     * @param exception the media type exception that was thrown
+     * @param request the web request
+     * @return ResponseEntity with ErrorResponse and HTTP 415
+     */
+    @ExceptionHandler({
+            HttpMediaTypeNotSupportedException.class
+    })
+    public ResponseEntity<ErrorResponse> handleMediaTypeNotSupportedException(
+            HttpMediaTypeNotSupportedException exception,
+            WebRequest request
+    ) {
+        log.warn("Unsupported media type: {}", exception.getMessage());
+        return buildErrorResponse(exception, HttpStatus.UNSUPPORTED_MEDIA_TYPE, request);
+    }
+
     /**
      * Fallback handler for unexpected exceptions.
      * Returns HTTP 500 (Internal Server Error).
@@ -1,8 +1,23 @@
 package de.seuhd.campuscoffee.api.mapper;
 
+import de.seuhd.campuscoffee.api.dtos.NearbyPosDto;
+import de.seuhd.campuscoffee.api.dtos.OsmImportResultDto;
+import de.seuhd.campuscoffee.api.dtos.PosChangesDto;
 import de.seuhd.campuscoffee.api.dtos.PosDto;
+import de.seuhd.campuscoffee.api.dtos.PosLookupResultDto;
+import de.seuhd.campuscoffee.api.dtos.PosStatisticsDto;
+import de.seuhd.campuscoffee.api.dtos.PosSuggestionDto;
+import de.seuhd.campuscoffee.api.dtos.PosUpsertResultDto;
+import de.seuhd.campuscoffee.domain.model.LookupResult;
+import de.seuhd.campuscoffee.domain.model.NearbyPos;
+import de.seuhd.campuscoffee.domain.model.OsmImportResult;
 import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosChanges;
+import de.seuhd.campuscoffee.domain.model.PosStatistics;
+import de.seuhd.campuscoffee.domain.model.PosSuggestion;
+import de.seuhd.campuscoffee.domain.model.UpsertResult;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 
 /**
@@ -17,5 +32,13 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 @ConditionalOnMissingBean // prevent IntelliJ warning about duplicate beans
 public interface PosDtoMapper {
     PosDto fromDomain(Pos source);
+    @Mapping(target = "version", ignore = true) // taken from the If-Match header
     Pos toDomain(PosDto source);
+    PosUpsertResultDto fromDomainResult(UpsertResult<Pos> source);
+    PosLookupResultDto fromDomainLookupResult(LookupResult<Pos> source);
+    PosChangesDto fromDomainChanges(PosChanges source);
+    OsmImportResultDto fromDomainImportResult(OsmImportResult source);
+    PosSuggestionDto fromDomainSuggestion(PosSuggestion source);
+    NearbyPosDto fromDomainNearby(NearbyPos source);
+    PosStatisticsDto fromDomainStatistics(PosStatistics source);
 }
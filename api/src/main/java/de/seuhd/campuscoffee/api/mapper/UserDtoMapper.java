@@ -5,6 +5,7 @@ import de.seuhd.campuscoffee.api.dtos.UserDto;
 import de.seuhd.campuscoffee.domain.model.Pos;
 import de.seuhd.campuscoffee.domain.model.User;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 
 @Mapper(componentModel = "spring")
@@ -12,5 +13,6 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 public interface UserDtoMapper {
     //TODO: Implement user DTO mapper
         UserDto fromDomain(User source);
+        @Mapping(target = "version", ignore = true) // taken from the If-Match header
         User toDomain(UserDto source);
 }
\ No newline at end of file
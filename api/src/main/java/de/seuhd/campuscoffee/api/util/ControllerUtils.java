@@ -1,10 +1,32 @@
 package de.seuhd.campuscoffee.api.util;
 
+import de.seuhd.campuscoffee.domain.exceptions.VersionMismatchException;
+import de.seuhd.campuscoffee.domain.model.Update;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashSet;
+import java.util.SequencedSet;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class ControllerUtils {
+    /**
+     * Response header that is set to "true" if an update did not change the resource, so nothing was written
+     * and its ETag and Last-Modified timestamp are still valid.
+     */
+    public static final String UNCHANGED_HEADER = "X-Unchanged";
+
+    // one element of an If-Match list: an optionally weak entity tag followed by a comma or the end of the header
+    private static final Pattern ENTITY_TAG_ELEMENT = Pattern.compile("\\s*(W/)?\"([^\"]*)\"\\s*(?:,|$)");
+    private static final Pattern VERSION = Pattern.compile("\\d{1,18}");
+
     /**
      * Builds the location URI for a newly created resource.
      * @param resourceId the ID of the created resource
@@ -16,4 +38,110 @@ public class ControllerUtils {
                 .buildAndExpand(resourceId)
                 .toUri();
     }
+
+    /**
+     * Builds the URI of the next page of a keyset-paginated collection.
+     * All query parameters of the current request are retained; only the cursor is replaced.
+     *
+     * @param cursor the cursor pointing to the next page
+     * @return the URI of the next page
+     */
+    public static URI getNextPageLocation(String cursor) {
+        return ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", cursor)
+                .build()
+                .toUri();
+    }
+
+    /**
+     * Builds the URI of another page of a collection that is paginated by page number.
+     * All query parameters of the current request are retained; only the page number is replaced.
+     *
+     * @param page the zero-based page number
+     * @return the URI of the page
+     */
+    public static URI getPageLocation(int page) {
+        return ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("page", page)
+                .build()
+                .toUri();
+    }
+
+    /**
+     * Builds the (strong) entity tag of a resource from its version.
+     *
+     * @param version the version of the resource
+     * @return the entity tag, e.g., {@code "3"}
+     */
+    public static String getETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Starts the response to a successful update, flagging updates that did not change the resource.
+     *
+     * @param update the previous and the updated state of the resource
+     * @return a 200 OK response builder with the {@link #UNCHANGED_HEADER} if nothing was written
+     */
+    public static ResponseEntity.BodyBuilder getUpdateResponse(Update<?> update) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (update.isUnchanged()) {
+            response.header(UNCHANGED_HEADER, "true");
+        }
+        return response;
+    }
+
+    /**
+     * Converts a timestamp of the domain model (UTC) to the epoch milliseconds used for the Last-Modified header.
+     *
+     * @param timestamp the timestamp in UTC; may be null
+     * @return the epoch milliseconds, or -1 if the timestamp is null (unknown, see {@link WebRequest#checkNotModified})
+     */
+    public static long getLastModified(@Nullable LocalDateTime timestamp) {
+        return timestamp == null ? -1 : timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * Resolves the version the client expects from an If-Match header (RFC 9110, section 13.1.1).
+     * The header matches if any of its entity tags matches the current version with strong comparison, so weak tags
+     * and tags that were not created by {@link #getETag(Long)} never match. The current version is only looked up if
+     * the header lists several versions; the write still checks the returned version atomically.
+     *
+     * @param ifMatch        the value of the If-Match header; may be null
+     * @param entityType     the type of the resource (e.g., Pos, User)
+     * @param id             the ID of the resource
+     * @param currentVersion supplies the current version of the resource
+     * @return the expected version, or null if the header is missing or "*" (any version)
+     * @throws IllegalArgumentException if the header is not a list of entity tags
+     * @throws VersionMismatchException if none of the entity tags can match the current version
+     */
+    public static @Nullable Long resolveIfMatch(@Nullable String ifMatch, Class<?> entityType, Long id,
+                                                Supplier<Long> currentVersion) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        SequencedSet<Long> versions = new LinkedHashSet<>();
+        Matcher matcher = ENTITY_TAG_ELEMENT.matcher(ifMatch);
+        int position = 0;
+        while (position < ifMatch.length()) {
+            matcher.region(position, ifMatch.length());
+            if (!matcher.lookingAt()) {
+                throw new IllegalArgumentException("If-Match must be \"*\" or a list of entity tags as provided in the "
+                        + "ETag header.");
+            }
+            if (matcher.group(1) == null && VERSION.matcher(matcher.group(2)).matches()) {
+                versions.add(Long.parseLong(matcher.group(2)));
+            }
+            position = matcher.end();
+        }
+
+        if (versions.size() == 1) {
+            return versions.getFirst();
+        }
+        Long version = versions.isEmpty() ? null : currentVersion.get();
+        if (version == null || !versions.contains(version)) {
+            throw new VersionMismatchException(entityType, id, versions);
+        }
+        return version;
+    }
 }
@@ -0,0 +1,67 @@
+package de.seuhd.campuscoffee.api.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.seuhd.campuscoffee.domain.exceptions.ValidationException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Reads JSON Merge Patch documents (RFC 7396) for partial updates of flat DTOs.
+ * Each member of the patch is the new value of a field, and null removes the value of the field.
+ * Only the fields in the patch are converted and validated against the constraints of the DTO, so clients
+ * do not need to send (and the server does not need to validate) the fields they do not change.
+ */
+@Component
+@RequiredArgsConstructor
+public class MergePatchReader {
+    public static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    /**
+     * Converts a merge patch to the new values of the changed fields.
+     *
+     * @param patch       the merge patch; must be a JSON object
+     * @param dtoType     the DTO whose constraints apply to the fields; its properties have the names of the fields
+     * @param fieldByName resolves a field by its name; throws an IllegalArgumentException for unknown fields
+     * @param fieldType   the type of the values of a field
+     * @param <F>         the enum of the fields
+     * @return the new values of the changed fields; null values remove the value
+     * @throws IllegalArgumentException if the patch is not an object, a field is unknown, or a value has the wrong type
+     * @throws ValidationException if a value violates a constraint of the DTO
+     */
+    public <F extends Enum<F>> Map<F, Object> read(JsonNode patch, Class<?> dtoType, Function<String, F> fieldByName,
+                                                   Function<F, Class<?>> fieldType) {
+        if (!patch.isObject()) {
+            throw new IllegalArgumentException("The merge patch must be a JSON object.");
+        }
+        Map<F, Object> changes = new HashMap<>();
+        Set<ConstraintViolation<?>> violations = new HashSet<>();
+        for (Map.Entry<String, JsonNode> member : patch.properties()) {
+            F field = fieldByName.apply(member.getKey());
+            Object value;
+            try {
+                value = objectMapper.treeToValue(member.getValue(), fieldType.apply(field));
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Invalid value for field '" + member.getKey() + "'.", e);
+            }
+            violations.addAll(validator.validateValue(dtoType, member.getKey(), value));
+            changes.put(field, value);
+        }
+        if (!violations.isEmpty()) {
+            throw new ValidationException(violations);
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,36 @@
+package de.seuhd.campuscoffee;
+
+import de.seuhd.campuscoffee.domain.model.BoundingBox;
+import de.seuhd.campuscoffee.domain.ports.PosService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Component that imports POS from a local OpenStreetMap extract file on startup if {@code osm.extract.file} is set.
+ * Use this to seed or refresh the POS of a campus without fetching thousands of single nodes from the OSM API.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "osm.extract", name = "file")
+class ImportOsmExtract implements ApplicationRunner {
+    private final PosService posService;
+    private final OsmExtractProperties osmExtractProperties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (osmExtractProperties.campus() == null) {
+            throw new IllegalStateException("osm.extract.campus must be set to import " + osmExtractProperties.file() + ".");
+        }
+        BoundingBox boundingBox = osmExtractProperties.boundingBox() == null
+                ? null
+                : BoundingBox.parse(osmExtractProperties.boundingBox());
+        // the summary including the throughput is logged by the service
+        posService.importFromOsmExtract(
+                Objects.requireNonNull(osmExtractProperties.file()), boundingBox, osmExtractProperties.campus());
+    }
+}
@@ -0,0 +1,21 @@
+package de.seuhd.campuscoffee;
+
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration properties for importing POS from a local OpenStreetMap extract file on startup.
+ *
+ * @param file        the extract file in OSM PBF (.pbf) or XML format; no import takes place if not set
+ * @param boundingBox the area to import as minLon,minLat,maxLon,maxLat; all nodes are imported if not set
+ * @param campus      the campus assigned to the imported POS; required if a file is set
+ */
+@ConfigurationProperties(prefix = "osm.extract")
+record OsmExtractProperties(
+        @Nullable Path file,
+        @Nullable String boundingBox,
+        @Nullable CampusType campus
+) {}
@@ -3,14 +3,18 @@ package de.seuhd.campuscoffee.tests;
 import de.seuhd.campuscoffee.api.dtos.PosDto;
 import de.seuhd.campuscoffee.api.dtos.UserDto;
 import io.restassured.http.ContentType;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.utility.DockerImageName;
 
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 
+import static de.seuhd.campuscoffee.api.util.MergePatchReader.MERGE_PATCH_JSON_VALUE;
 import static io.restassured.RestAssured.given;
 
 /**
@@ -106,6 +110,25 @@ public class SystemTestUtils {
                     .extract().as(dtoClass);
         }
 
+        /**
+         * Retrieves a resource via the API with the given query parameters and headers (e.g., conditional headers).
+         *
+         * @param path        Path relative to the base path (e.g., "/1"); empty for the base path itself
+         * @param queryParams Query parameters of the request
+         * @param headers     Headers of the request
+         * @return The response; its status code is not checked
+         */
+        public ExtractableResponse<Response> retrieveResponse(String path, Map<String, ?> queryParams,
+                                                              Map<String, String> headers) {
+            return given()
+                    .queryParams(queryParams)
+                    .headers(headers)
+                    .when()
+                    .get(basePath + path)
+                    .then()
+                    .extract();
+        }
+
         /**
          * Creates multiple entities via the API and returns their DTOs.
          *
@@ -167,6 +190,77 @@ public class SystemTestUtils {
                     .toList();
         }
 
+        /**
+         * Sends a request body to the API via POST (e.g., to create an entity or to run a bulk operation).
+         *
+         * @param path Path relative to the base path (e.g., "/bulk"); empty for the base path itself
+         * @param body Request body, serialized as JSON
+         * @return The response; its status code is not checked
+         */
+        public ExtractableResponse<Response> createResponse(String path, Object body) {
+            return given()
+                    .contentType(ContentType.JSON)
+                    .body(body)
+                    .when()
+                    .post(basePath + path)
+                    .then()
+                    .extract();
+        }
+
+        /**
+         * Replaces an entity via the API with the given headers (e.g., If-Match).
+         *
+         * @param id      ID of the entity to replace
+         * @param dto     DTO with the new state of the entity
+         * @param headers Headers of the request
+         * @return The response; its status code is not checked
+         */
+        public ExtractableResponse<Response> updateResponse(Long id, T dto, Map<String, String> headers) {
+            return given()
+                    .contentType(ContentType.JSON)
+                    .headers(headers)
+                    .body(dto)
+                    .when()
+                    .put(basePath + "/{id}", id)
+                    .then()
+                    .extract();
+        }
+
+        /**
+         * Changes the given fields of an entity via the API with a JSON merge patch.
+         *
+         * @param id         ID of the entity to patch
+         * @param mergePatch JSON merge patch document (RFC 7396)
+         * @param headers    Headers of the request
+         * @return The response; its status code is not checked
+         */
+        public ExtractableResponse<Response> patchResponse(Long id, String mergePatch, Map<String, String> headers) {
+            return given()
+                    .contentType(MERGE_PATCH_JSON_VALUE)
+                    .headers(headers)
+                    .body(mergePatch)
+                    .when()
+                    .patch(basePath + "/{id}", id)
+                    .then()
+                    .extract();
+        }
+
+        /**
+         * Deletes an entity via the API with the given headers (e.g., If-Match).
+         *
+         * @param id      ID of the entity to delete
+         * @param headers Headers of the request
+         * @return The response; its status code is not checked
+         */
+        public ExtractableResponse<Response> deleteResponse(Long id, Map<String, String> headers) {
+            return given()
+                    .headers(headers)
+                    .when()
+                    .delete(basePath + "/{id}", id)
+                    .then()
+                    .extract();
+        }
+
         /**
          * Deletes multiple entities by their IDs via the API and returns the corresponding status codes.
          *
@@ -84,25 +84,26 @@ public abstract class AbstractSysTest {
     }
 
     /**
-     * Asserts that two objects are equal, ignoring timestamp fields (createdAt, updatedAt).
+     * Asserts that two objects are equal, ignoring timestamp fields (createdAt, updatedAt) and the version.
+     * The version is not part of the DTOs (it is sent as ETag), so objects read via the API do not have it.
      *
      * @param actual   the actual object
      * @param expected the expected object
      * @param <T>      the type of the objects being compared
      */
     protected <T> void assertEqualsIgnoringTimestamps(T actual, T expected) {
-        assertEqualsIgnoringFields(actual, expected, "createdAt", "updatedAt");
+        assertEqualsIgnoringFields(actual, expected, "createdAt", "updatedAt", "version");
     }
 
     /**
-     * Asserts that two objects are equal, ignoring ID and timestamp fields.
+     * Asserts that two objects are equal, ignoring ID and timestamp fields and the version.
      *
      * @param actual   the actual object
      * @param expected the expected object
      * @param <T>      the type of the objects being compared
      */
     protected <T> void assertEqualsIgnoringIdAndTimestamps(T actual, T expected) {
-        assertEqualsIgnoringFields(actual, expected, "id", "createdAt", "updatedAt");
+        assertEqualsIgnoringFields(actual, expected, "id", "createdAt", "updatedAt", "version");
     }
 
     /**
@@ -120,14 +121,14 @@ public abstract class AbstractSysTest {
     }
 
     /**
-     * Asserts that two collections contain the same elements (in any order), ignoring timestamp fields for
-     * each element comparison.
+     * Asserts that two collections contain the same elements (in any order), ignoring timestamp fields and the
+     * version for each element comparison.
      *
      * @param actual   the actual collection
      * @param expected the expected collection
      * @param <T>      the type of elements in the collections
      */
     protected <T> void assertEqualsIgnoringTimestamps(List<T> actual, List<T> expected) {
-        assertEqualsIgnoringFields(actual, expected, "createdAt", "updatedAt");
+        assertEqualsIgnoringFields(actual, expected, "createdAt", "updatedAt", "version");
     }
 }
\ No newline at end of file
@@ -0,0 +1,144 @@
+package de.seuhd.campuscoffee.tests.system;
+
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * System tests for exchanging data changes between application instances via Postgres LISTEN/NOTIFY.
+ * Other instances are simulated by sending and receiving notifications on separate connections.
+ */
+public class DataChangeSystemTests extends AbstractSysTest {
+    private static final String CHANNEL = "campus_coffee_changes";
+    private static final String SUBSCRIBER_APPLICATION_NAME = "campus-coffee-data-changes";
+    private static final Duration TIMEOUT = Duration.ofSeconds(20);
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Test
+    void changesArePublishedToOtherInstances() throws SQLException {
+        Pos createdPos = TestFixtures.createPosFixtures(posService).getFirst();
+
+        try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+            }
+            posService.update(createdPos.toBuilder().description("Updated description").build());
+
+            // notifications about other changes (e.g., clearing the tables) may arrive as well
+            List<String> payloads = new ArrayList<>();
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            await(() -> {
+                try {
+                    PGNotification[] notifications = pgConnection.getNotifications(100);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            payloads.add(notification.getParameter());
+                        }
+                    }
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+                return payloads.stream().anyMatch(payload -> payload.contains("\"ids\":[" + createdPos.id() + "]"));
+            });
+            assertThat(payloads).anySatisfy(payload -> assertThat(payload)
+                    .contains("\"entityType\":\"POS\"")
+                    .contains("\"ids\":[" + createdPos.id() + "]")
+                    .contains(createdPos.name()));
+        }
+    }
+
+    @Test
+    void changesOfOtherInstancesEvictCachedPos() {
+        Pos createdPos = TestFixtures.createPosFixtures(posService).getFirst();
+
+        assertChangesOfOtherInstancesAreReceived(createdPos);
+    }
+
+    @Test
+    void subscriberUsesDedicatedConnectionAndReconnects() {
+        Pos createdPos = TestFixtures.createPosFixtures(posService).getFirst();
+        // other application contexts of the test run may have their own subscriber
+        List<Integer> pids = subscriberPids();
+        assertThat(pids).as("subscriber connections").isNotEmpty();
+
+        // the sessions are not shared with the pool, so terminating them only affects the subscribers
+        pids.forEach(pid -> jdbcClient.sql("SELECT pg_terminate_backend(:pid)")
+                .param("pid", pid)
+                .query(Boolean.class)
+                .single());
+
+        await(() -> {
+            List<Integer> newPids = subscriberPids();
+            return newPids.size() >= pids.size() && newPids.stream().noneMatch(pids::contains);
+        });
+        assertChangesOfOtherInstancesAreReceived(createdPos);
+    }
+
+    /**
+     * Changes the name of a POS behind the back of the application and notifies it as another instance would.
+     *
+     * @param pos the POS to change; read once before, so that it is cached
+     */
+    private void assertChangesOfOtherInstancesAreReceived(Pos pos) {
+        String newName = pos.name() + " (renamed)";
+        assertEquals(pos.name(), posService.getById(pos.id()).name());
+        jdbcClient.sql("UPDATE pos SET name = :name WHERE id = :id")
+                .param("name", newName)
+                .param("id", pos.id())
+                .update();
+
+        String payload = """
+                {"origin":"other-instance","change":{"entityType":"POS","ids":[%d],"keys":[],"all":false}}
+                """.formatted(pos.id()).strip();
+        jdbcClient.sql("SELECT pg_notify(:channel, :payload)")
+                .param("channel", CHANNEL)
+                .param("payload", payload)
+                .query(resultSet -> {});
+
+        await(() -> newName.equals(posService.getById(pos.id()).name()));
+    }
+
+    private List<Integer> subscriberPids() {
+        return jdbcClient.sql("SELECT pid FROM pg_stat_activity WHERE application_name = :applicationName")
+                .param("applicationName", SUBSCRIBER_APPLICATION_NAME)
+                .query(Integer.class)
+                .list();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met within " + TIMEOUT);
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package de.seuhd.campuscoffee.tests.system;
+
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.ImportJob;
+import de.seuhd.campuscoffee.domain.model.ImportJobStatus;
+import de.seuhd.campuscoffee.domain.model.OsmImportResult;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.UpsertStatus;
+import de.seuhd.campuscoffee.domain.ports.ImportJobDataService;
+import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * System tests for persisting the state of asynchronous import jobs.
+ * Jobs are written via the data port, so no OSM requests are needed.
+ */
+public class ImportJobSystemTests extends AbstractSysTest {
+    @Autowired
+    private ImportJobDataService importJobDataService;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @Test
+    void persistedProgressCanBePolled() {
+        Pos importedPos = TestFixtures.createPosFixtures(posService).getFirst();
+        ImportJob job = createJob();
+        ImportJob runningJob = job.toBuilder()
+                .status(ImportJobStatus.RUNNING)
+                .processedNodes(2)
+                .results(List.of(
+                        OsmImportResult.builder().nodeId(1L).status(UpsertStatus.CREATED).pos(importedPos).build(),
+                        OsmImportResult.builder().nodeId(2L).status(UpsertStatus.INVALID)
+                                .message("OSM node 2 has no address.").build()))
+                .build();
+
+        importJobDataService.update(runningJob);
+
+        assertThat(importJobDataService.getById(job.id()))
+                .usingRecursiveComparison()
+                .ignoringFields("createdAt") // stored with microsecond precision
+                .isEqualTo(runningJob);
+        given()
+                .when()
+                .get("/api/pos/import/jobs/{id}", job.id())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("status", equalTo(ImportJobStatus.RUNNING.name()))
+                .body("processedNodes", equalTo(2))
+                .body("results[0].pos.name", equalTo(importedPos.name()))
+                .body("results[1].message", equalTo("OSM node 2 has no address."));
+    }
+
+    @Test
+    void expiredAndAbandonedJobsAreDeleted() {
+        jdbcClient.sql("DELETE FROM import_jobs").update();
+        LocalDateTime now = LocalDateTime.now(ZoneId.of("UTC"));
+        ImportJob recentlyFinishedJob = createJob();
+        importJobDataService.update(recentlyFinishedJob.toBuilder()
+                .status(ImportJobStatus.COMPLETED).finishedAt(now).build());
+        ImportJob expiredJob = createJob();
+        importJobDataService.update(expiredJob.toBuilder()
+                .status(ImportJobStatus.COMPLETED).finishedAt(now.minusHours(2)).build());
+        ImportJob queuedJob = createJob();
+        ImportJob abandonedJob = createJob();
+        jdbcClient.sql("UPDATE import_jobs SET updated_at = :updatedAt WHERE id = :id")
+                .param("updatedAt", now.minusHours(2))
+                .param("id", abandonedJob.id())
+                .update();
+
+        int deleted = importJobDataService.deleteExpired(now.minusHours(1));
+
+        assertThat(deleted).isEqualTo(2);
+        assertThat(importJobDataService.getById(recentlyFinishedJob.id()).status())
+                .isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(importJobDataService.getById(queuedJob.id()).status()).isEqualTo(ImportJobStatus.QUEUED);
+        assertThatThrownBy(() -> importJobDataService.getById(expiredJob.id())).isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> importJobDataService.getById(abandonedJob.id())).isInstanceOf(NotFoundException.class);
+    }
+
+    private ImportJob createJob() {
+        return importJobDataService.create(ImportJob.builder()
+                .status(ImportJobStatus.QUEUED)
+                .campus(CampusType.ALTSTADT)
+                .totalNodes(2)
+                .processedNodes(0)
+                .results(List.of())
+                .build());
+    }
+}
@@ -1,14 +1,39 @@
 package de.seuhd.campuscoffee.tests.system;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import de.seuhd.campuscoffee.api.dtos.PosDto;
+import de.seuhd.campuscoffee.data.persistence.PosRepository;
 import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosCollectionState;
+import de.seuhd.campuscoffee.domain.model.UpsertStatus;
+import de.seuhd.campuscoffee.domain.ports.PosDataService;
 import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
-import org.springframework.http.HttpStatus;
-
+import static de.seuhd.campuscoffee.api.util.ControllerUtils.getETag;
 import static de.seuhd.campuscoffee.tests.SystemTestUtils.Requests.posRequests;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -17,6 +42,21 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 public class PosSystemTests extends AbstractSysTest {
 
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private PosDataService posDataService;
+
+    @Autowired
+    private PosRepository posRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Test
     void createPos() {
         Pos posToCreate = TestFixtures.getPosFixturesForInsertion().getFirst();
@@ -37,6 +77,33 @@ public class PosSystemTests extends AbstractSysTest {
         assertEqualsIgnoringTimestamps(retrievedPos, createdPosList);
     }
 
+    @Test
+    void exportStreamsAllPosAsNdjsonOrderedById() throws IOException {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+
+        ExtractableResponse<Response> response = posRequests.retrieveResponse("/export", Map.of(), Map.of());
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.contentType()).startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+        assertThat(response.asString()).endsWith("\n");
+        List<Pos> exportedPos = new ArrayList<>();
+        for (String line : response.asString().lines().toList()) {
+            exportedPos.add(posDtoMapper.toDomain(objectMapper.readValue(line, PosDto.class))); // one object per line
+        }
+        assertEqualsIgnoringTimestamps(exportedPos, createdPosList.stream()
+                .sorted(Comparator.comparing(Pos::id))
+                .toList());
+    }
+
+    @Test
+    void exportOfEmptyTableIsEmpty() {
+        ExtractableResponse<Response> response = posRequests.retrieveResponse("/export", Map.of(), Map.of());
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.contentType()).startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+        assertThat(response.asString()).isEmpty();
+    }
+
     @Test
     void getPosById() {
         List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
@@ -99,4 +166,324 @@ public class PosSystemTests extends AbstractSysTest {
         assertThat(remainingPosIds)
                 .doesNotContain(posToDelete.id());
     }
+
+    @Test
+    void bulkUpsertReportsReuseOfFreedNameAsDuplicate() {
+        Pos existingPos = TestFixtures.createPosFixtures(posService).getFirst();
+        Pos renamedPos = existingPos.toBuilder().name(existingPos.name() + " (Renamed)").build();
+        // a new POS that takes over the old name of the renamed POS in the same batch
+        Pos newPos = TestFixtures.getPosFixturesForInsertion().getLast().toBuilder().name(existingPos.name()).build();
+
+        ExtractableResponse<Response> response = posRequests.createResponse("/bulk",
+                List.of(posDtoMapper.fromDomain(renamedPos), posDtoMapper.fromDomain(newPos)));
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.jsonPath().getList("status", String.class))
+                .containsExactly(UpsertStatus.UPDATED.name(), UpsertStatus.DUPLICATE.name());
+        assertThat(posRequests.retrieveById(existingPos.id()).name()).isEqualTo(renamedPos.name());
+    }
+
+    @Test
+    void searchExcludesPosWithNegatedWordInNameOrDescription() {
+        Pos fixture = TestFixtures.getPosFixturesForInsertion().getFirst();
+        posService.upsert(fixture.toBuilder().name("Coffee Corner").description("Fresh bread from our own bakery").build());
+        posService.upsert(fixture.toBuilder().name("Coffee Bakery").description("Cakes and pastries").build());
+        Pos expectedPos = posService.upsert(fixture.toBuilder().name("Coffee Bar").description("Great waffles").build());
+
+        ExtractableResponse<Response> response = posRequests.retrieveResponse("/search",
+                Map.of("q", "coffees -bakeries"), Map.of());
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.jsonPath().getList("name", String.class)).containsExactly(expectedPos.name());
+    }
+
+    @Test
+    void writesDistinguishMissingPosFromStaleVersion() {
+        Pos createdPos = TestFixtures.createPosFixtures(posService).getFirst();
+        PosDto posDto = posDtoMapper.fromDomain(createdPos);
+        Map<String, String> missingIfMatch = Map.of(HttpHeaders.IF_MATCH, getETag(0L));
+        Map<String, String> staleIfMatch = Map.of(HttpHeaders.IF_MATCH, getETag(createdPos.version() + 1));
+        String mergePatch = "{\"description\": \"New\"}";
+
+        assertThat(posRequests.updateResponse(0L, posDto.toBuilder().id(0L).build(), missingIfMatch).statusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND.value());
+        assertThat(posRequests.updateResponse(createdPos.id(), posDto, staleIfMatch).statusCode())
+                .isEqualTo(HttpStatus.PRECONDITION_FAILED.value());
+        assertThat(posRequests.patchResponse(0L, mergePatch, missingIfMatch).statusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND.value());
+        assertThat(posRequests.patchResponse(createdPos.id(), mergePatch, staleIfMatch).statusCode())
+                .isEqualTo(HttpStatus.PRECONDITION_FAILED.value());
+        assertThat(posRequests.deleteResponse(0L, missingIfMatch).statusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND.value());
+        assertThat(posRequests.deleteResponse(createdPos.id(), staleIfMatch).statusCode())
+                .isEqualTo(HttpStatus.PRECONDITION_FAILED.value());
+
+        assertEqualsIgnoringTimestamps(posDtoMapper.toDomain(posRequests.retrieveById(createdPos.id())), createdPos);
+    }
+
+    @Test
+    void ifMatchComparesAllListedTagsStrongly() {
+        Pos createdPos = TestFixtures.createPosFixtures(posService).getFirst();
+        String eTag = getETag(createdPos.version());
+        String staleETag = getETag(createdPos.version() + 1);
+        String mergePatch = "{\"description\": \"New\"}";
+
+        assertThat(posRequests.patchResponse(createdPos.id(), mergePatch,
+                Map.of(HttpHeaders.IF_MATCH, "W/" + eTag)).statusCode())
+                .isEqualTo(HttpStatus.PRECONDITION_FAILED.value());
+        assertThat(posRequests.patchResponse(createdPos.id(), mergePatch,
+                Map.of(HttpHeaders.IF_MATCH, staleETag + ", \"other\"")).statusCode())
+                .isEqualTo(HttpStatus.PRECONDITION_FAILED.value());
+        assertThat(posRequests.patchResponse(createdPos.id(), mergePatch,
+                Map.of(HttpHeaders.IF_MATCH, staleETag + ", W/\"x\", " + eTag)).statusCode())
+                .isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void updateWithoutChangesKeepsVersionAndUpdateTime() {
+        Pos createdPos = TestFixtures.createPosFixtures(posService).getFirst();
+        PosDto posDto = posRequests.retrieveById(createdPos.id());
+        String eTag = getETag(createdPos.version());
+
+        ExtractableResponse<Response> response = posRequests.updateResponse(createdPos.id(), posDto,
+                Map.of(HttpHeaders.IF_MATCH, eTag));
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.header("X-Unchanged")).isEqualTo("true");
+        assertThat(response.header(HttpHeaders.ETAG)).isEqualTo(eTag);
+        assertThat(response.as(PosDto.class).updatedAt()).isEqualTo(posDto.updatedAt());
+        assertThat(posRequests.retrieveById(createdPos.id()).updatedAt()).isEqualTo(posDto.updatedAt());
+    }
+
+    @Test
+    void patchWritesOnlyGivenFields() {
+        Pos createdPos = TestFixtures.createPosFixtures(posService).getFirst();
+        // changed behind the back of the application, so a write of all columns would revert it
+        jdbcClient.sql("UPDATE pos SET description = :description WHERE id = :id")
+                .param("description", "Changed concurrently")
+                .param("id", createdPos.id())
+                .update();
+
+        ExtractableResponse<Response> response = posRequests.patchResponse(createdPos.id(),
+                "{\"name\": \"Patched name\"}", Map.of());
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.header(HttpHeaders.ETAG)).isEqualTo(getETag(createdPos.version() + 1));
+        PosDto patchedPos = response.as(PosDto.class);
+        assertThat(patchedPos.name()).isEqualTo("Patched name");
+        assertThat(patchedPos.description()).isEqualTo("Changed concurrently");
+        assertThat(patchedPos.street()).isEqualTo(createdPos.street());
+    }
+
+    @Test
+    void writesWithNameOfOtherPosAreConflicts() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+        Pos pos = createdPosList.getFirst();
+        String otherName = createdPosList.getLast().name();
+
+        assertThat(posRequests.updateResponse(pos.id(),
+                posDtoMapper.fromDomain(pos.toBuilder().name(otherName).build()), Map.of()).statusCode())
+                .isEqualTo(HttpStatus.CONFLICT.value());
+        assertThat(posRequests.patchResponse(pos.id(), "{\"name\": \"" + otherName + "\"}", Map.of()).statusCode())
+                .isEqualTo(HttpStatus.CONFLICT.value());
+
+        assertThat(posRequests.retrieveById(pos.id()).name()).isEqualTo(pos.name());
+    }
+
+    @Test
+    void deleteWritesTombstoneForDeltaSync() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+        String token = retrieveChanges(Map.of()).jsonPath().getString("nextToken");
+
+        posRequests.deleteAndReturnStatusCodes(List.of(createdPosList.getFirst().id()));
+
+        List<Long> deletedIds = retrieveChanges(Map.of("since", token)).jsonPath().getList("deletedIds", Long.class);
+        assertThat(deletedIds)
+                .contains(createdPosList.getFirst().id())
+                .doesNotContain(createdPosList.getLast().id());
+    }
+
+    @Test
+    void purgedTombstonesExpireOlderSyncTokens() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+        String token = retrieveChanges(Map.of()).jsonPath().getString("nextToken");
+        posRequests.deleteAndReturnStatusCodes(List.of(createdPosList.getFirst().id()));
+
+        assertThat(posDataService.purgeDeletedBefore(LocalDateTime.now(ZoneId.of("UTC")).plusMinutes(1))).isPositive();
+
+        assertThat(jdbcClient.sql("SELECT COUNT(*) FROM pos_deletions").query(Long.class).single()).isZero();
+        assertThat(posRequests.retrieveResponse("/changes", Map.of("since", token), Map.of()).statusCode())
+                .isEqualTo(HttpStatus.GONE.value());
+        // a new initial sync starts after the purge
+        String newToken = retrieveChanges(Map.of()).jsonPath().getString("nextToken");
+        retrieveChanges(Map.of("since", newToken));
+    }
+
+    @Test
+    void deltaSyncReturnsChangesCommittedAfterSync() throws SQLException {
+        Pos pos = TestFixtures.createPosFixtures(posService).getFirst();
+
+        // a slow transaction stamps its change long before it commits, and a sync runs in between
+        try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE pos SET description = 'Late change', updated_at = updated_at - INTERVAL '1 hour' "
+                            + "WHERE id = ?")) {
+                statement.setLong(1, Objects.requireNonNull(pos.id()));
+                statement.executeUpdate();
+            }
+            String token = retrieveChanges(Map.of()).jsonPath().getString("nextToken");
+            connection.commit();
+
+            List<PosDto> changed = retrieveChanges(Map.of("since", token)).jsonPath().getList("changed", PosDto.class);
+            assertThat(changed).anySatisfy(posDto -> {
+                assertThat(posDto.id()).isEqualTo(pos.id());
+                assertThat(posDto.description()).isEqualTo("Late change");
+            });
+        }
+    }
+
+    @Test
+    void collectionStateCountsConcurrentWritesOnce() throws Exception {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+        PosRepository.CollectionState initial = posRepository.getCollectionState();
+
+        try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE pos SET description = 'Late change' WHERE id = ?")) {
+                statement.setLong(1, Objects.requireNonNull(createdPosList.getFirst().id()));
+                statement.executeUpdate();
+            }
+            // the state row stays locked until the slow transaction commits, so the concurrent write waits for it
+            CompletableFuture<Pos> concurrentWrite = CompletableFuture.supplyAsync(() ->
+                    posService.upsert(createdPosList.getLast().toBuilder().description("Early change").build()));
+            assertThat(posRepository.getCollectionState().getDigest()).isEqualTo(initial.getDigest());
+            connection.commit();
+            concurrentWrite.get(10, TimeUnit.SECONDS);
+        }
+
+        PosRepository.CollectionState after = posRepository.getCollectionState();
+        long recomputedDigest = jdbcClient.sql(
+                        "SELECT COALESCE(BIT_XOR(hashtextextended(id || ':' || change_xid, 0)), 0) FROM pos")
+                .query(Long.class)
+                .single();
+        assertThat(after.getCount()).isEqualTo(initial.getCount());
+        assertThat(after.getDigest()).isNotEqualTo(initial.getDigest()).isEqualTo(recomputedDigest);
+    }
+
+    @Test
+    void conditionalGetsOfCollectionsAreAnsweredWithNotModified() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+        String ids = createdPosList.getFirst().id() + "," + createdPosList.getLast().id();
+
+        for (Map<String, String> queryParams : List.of(Map.<String, String>of(), Map.of("ids", ids),
+                Map.of("fields", "id,name"))) {
+            ExtractableResponse<Response> response = posRequests.retrieveResponse("", queryParams, Map.of());
+            assertThat(response.statusCode()).as("GET with %s", queryParams).isEqualTo(HttpStatus.OK.value());
+
+            Map<String, String> ifNoneMatch = Map.of(HttpHeaders.IF_NONE_MATCH, response.header(HttpHeaders.ETAG));
+            assertThat(posRequests.retrieveResponse("", queryParams, ifNoneMatch).statusCode())
+                    .as("If-None-Match with %s", queryParams)
+                    .isEqualTo(HttpStatus.NOT_MODIFIED.value());
+            Map<String, String> ifModifiedSince =
+                    Map.of(HttpHeaders.IF_MODIFIED_SINCE, response.header(HttpHeaders.LAST_MODIFIED));
+            assertThat(posRequests.retrieveResponse("", queryParams, ifModifiedSince).statusCode())
+                    .as("If-Modified-Since with %s", queryParams)
+                    .isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        }
+    }
+
+    @Test
+    void collectionETagChangesAfterWrite() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+        String eTag = posRequests.retrieveResponse("", Map.of(), Map.of()).header(HttpHeaders.ETAG);
+
+        posService.upsert(createdPosList.getFirst().toBuilder().description("Updated description").build());
+
+        ExtractableResponse<Response> response = posRequests.retrieveResponse("", Map.of(),
+                Map.of(HttpHeaders.IF_NONE_MATCH, eTag));
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.header(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void conditionalGetOfPosIsAnsweredWithNotModifiedUntilWrite() {
+        Pos createdPos = TestFixtures.createPosFixtures(posService).getFirst();
+        String path = "/" + createdPos.id();
+        ExtractableResponse<Response> response = posRequests.retrieveResponse(path, Map.of(), Map.of());
+        String eTag = response.header(HttpHeaders.ETAG);
+
+        assertThat(eTag).isEqualTo(getETag(createdPos.version()));
+        assertThat(posRequests.retrieveResponse(path, Map.of(), Map.of(HttpHeaders.IF_NONE_MATCH, eTag)).statusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(posRequests.retrieveResponse(path, Map.of(),
+                        Map.of(HttpHeaders.IF_MODIFIED_SINCE, response.header(HttpHeaders.LAST_MODIFIED))).statusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED.value());
+
+        posService.upsert(createdPos.toBuilder().description("Updated description").build());
+
+        ExtractableResponse<Response> updatedResponse = posRequests.retrieveResponse(path, Map.of(),
+                Map.of(HttpHeaders.IF_NONE_MATCH, eTag));
+        assertThat(updatedResponse.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(updatedResponse.header(HttpHeaders.ETAG)).isEqualTo(getETag(createdPos.version() + 1));
+    }
+
+    @Test
+    void collectionLastModifiedIncludesDeletions() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+        Long deletedId = createdPosList.getFirst().id();
+
+        posRequests.deleteAndReturnStatusCodes(List.of(deletedId));
+
+        LocalDateTime deletedAt = jdbcClient.sql("SELECT deleted_at FROM pos_deletions WHERE pos_id = :id")
+                .param("id", deletedId)
+                .query(LocalDateTime.class)
+                .single();
+        PosCollectionState state = posService.getCollectionState();
+        assertThat(state.count()).isEqualTo(createdPosList.size() - 1);
+        assertThat(state.lastModified()).isEqualTo(deletedAt).isAfterOrEqualTo(state.lastUpdatedAt());
+    }
+
+    @Test
+    void getByIdsRejectsFieldSelection() {
+        Pos createdPos = TestFixtures.createPosFixtures(posService).getFirst();
+
+        assertThat(posRequests.retrieveResponse("", Map.of("ids", createdPos.id(), "fields", "name"), Map.of())
+                .statusCode()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertThat(posRequests.retrieveResponse("", Map.of("ids", createdPos.id()), Map.of()).statusCode())
+                .isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void patchRejectsLocationWithOnlyOneCoordinate() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+        Pos posWithLocation = posService.update(createdPosList.getFirst().toBuilder()
+                .latitude(49.4106).longitude(8.7063).build()).updated();
+        Pos posWithoutLocation = createdPosList.getLast();
+
+        assertThat(posRequests.patchResponse(posWithLocation.id(), "{\"latitude\": null}", Map.of()).statusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertThat(posRequests.patchResponse(posWithoutLocation.id(), "{\"latitude\": 49.4}", Map.of()).statusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertThat(posRequests.patchResponse(posWithLocation.id(), "{\"latitude\": 49.4, \"longitude\": null}",
+                Map.of()).statusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST.value());
+
+        assertEqualsIgnoringTimestamps(posDtoMapper.toDomain(posRequests.retrieveById(posWithLocation.id())),
+                posWithLocation);
+        assertEqualsIgnoringTimestamps(posDtoMapper.toDomain(posRequests.retrieveById(posWithoutLocation.id())),
+                posWithoutLocation);
+    }
+
+    /**
+     * Retrieves the POS changes for delta synchronization and checks that the request succeeded.
+     */
+    private static ExtractableResponse<Response> retrieveChanges(Map<String, String> queryParams) {
+        ExtractableResponse<Response> response = posRequests.retrieveResponse("/changes", queryParams, Map.of());
+        assertThat(response.statusCode()).as("GET changes with %s", queryParams).isEqualTo(HttpStatus.OK.value());
+        return response;
+    }
 }
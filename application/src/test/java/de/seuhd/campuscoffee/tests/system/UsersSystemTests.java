@@ -1,17 +1,30 @@
 package de.seuhd.campuscoffee.tests.system;
 
+import de.seuhd.campuscoffee.api.dtos.UserDto;
 import de.seuhd.campuscoffee.domain.model.Pos;
 import de.seuhd.campuscoffee.domain.model.User;
 import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.simple.JdbcClient;
 
 import java.util.List;
+import java.util.Map;
 
+import static de.seuhd.campuscoffee.api.util.ControllerUtils.getETag;
 import static de.seuhd.campuscoffee.tests.SystemTestUtils.Requests.posRequests;
 import static de.seuhd.campuscoffee.tests.SystemTestUtils.Requests.userRequests;
+import static org.assertj.core.api.Assertions.assertThat;
 
 public class UsersSystemTests extends AbstractSysTest {
 
+    @Autowired
+    private JdbcClient jdbcClient;
+
     //TODO: Uncomment once user endpoint is implemented
 
     @Test
@@ -47,4 +60,74 @@ public class UsersSystemTests extends AbstractSysTest {
         assertEqualsIgnoringTimestamps(retrievedUser, createdUser);
     }
 
-}
\ No newline at end of file
+    @Test
+    void writesDistinguishMissingUserFromStaleVersion() {
+        User createdUser = TestFixtures.createUsers(userService).getFirst();
+        UserDto userDto = userDtoMapper.fromDomain(createdUser);
+        Map<String, String> missingIfMatch = Map.of(HttpHeaders.IF_MATCH, getETag(0L));
+        Map<String, String> staleIfMatch = Map.of(HttpHeaders.IF_MATCH, getETag(createdUser.version() + 1));
+
+        assertThat(userRequests.updateResponse(0L, userDto.toBuilder().id(0L).build(), missingIfMatch).statusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND.value());
+        assertThat(userRequests.updateResponse(createdUser.id(), userDto, staleIfMatch).statusCode())
+                .isEqualTo(HttpStatus.PRECONDITION_FAILED.value());
+        assertThat(userRequests.deleteResponse(0L, missingIfMatch).statusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND.value());
+        assertThat(userRequests.deleteResponse(createdUser.id(), staleIfMatch).statusCode())
+                .isEqualTo(HttpStatus.PRECONDITION_FAILED.value());
+
+        assertEqualsIgnoringTimestamps(userDtoMapper.toDomain(userRequests.retrieveById(createdUser.id())), createdUser);
+    }
+
+    @Test
+    void updateWithoutChangesKeepsVersionAndUpdateTime() {
+        User createdUser = TestFixtures.createUsers(userService).getFirst();
+        UserDto userDto = userRequests.retrieveById(createdUser.id());
+        String eTag = getETag(createdUser.version());
+
+        ExtractableResponse<Response> response = userRequests.updateResponse(createdUser.id(), userDto,
+                Map.of(HttpHeaders.IF_MATCH, eTag));
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.header("X-Unchanged")).isEqualTo("true");
+        assertThat(response.header(HttpHeaders.ETAG)).isEqualTo(eTag);
+        assertThat(response.as(UserDto.class).updatedAt()).isEqualTo(userDto.updatedAt());
+    }
+
+    @Test
+    void patchWritesOnlyGivenFields() {
+        User createdUser = TestFixtures.createUsers(userService).getFirst();
+        // changed behind the back of the application, so a write of all columns would revert it
+        jdbcClient.sql("UPDATE users SET last_name = :lastName WHERE id = :id")
+                .param("lastName", "Concurrent")
+                .param("id", createdUser.id())
+                .update();
+
+        ExtractableResponse<Response> response = userRequests.patchResponse(createdUser.id(),
+                "{\"firstName\": \"Patched\"}", Map.of());
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        UserDto patchedUser = response.as(UserDto.class);
+        assertThat(patchedUser.firstName()).isEqualTo("Patched");
+        assertThat(patchedUser.lastName()).isEqualTo("Concurrent");
+        assertThat(patchedUser.loginName()).isEqualTo(createdUser.loginName());
+    }
+
+    @Test
+    void writesWithLoginNameOfOtherUserAreConflicts() {
+        List<User> createdUsers = TestFixtures.createUsers(userService);
+        User user = createdUsers.getFirst();
+        String otherLoginName = createdUsers.getLast().loginName();
+
+        assertThat(userRequests.updateResponse(user.id(),
+                userDtoMapper.fromDomain(user.toBuilder().loginName(otherLoginName).build()), Map.of()).statusCode())
+                .isEqualTo(HttpStatus.CONFLICT.value());
+        assertThat(userRequests.patchResponse(user.id(), "{\"loginName\": \"" + otherLoginName + "\"}", Map.of())
+                .statusCode()).isEqualTo(HttpStatus.CONFLICT.value());
+        assertThat(userRequests.createAndReturnStatusCodes(
+                List.of(userDtoMapper.fromDomain(TestFixtures.getUserListForInsertion().getFirst()))))
+                .containsExactly(HttpStatus.CONFLICT.value());
+
+        assertThat(userRequests.retrieveById(user.id()).loginName()).isEqualTo(user.loginName());
+    }
+}
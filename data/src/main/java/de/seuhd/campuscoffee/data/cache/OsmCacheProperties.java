@@ -0,0 +1,29 @@
+package de.seuhd.campuscoffee.data.cache;
+
+import jakarta.validation.constraints.Positive;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration properties for caching OpenStreetMap nodes.
+ *
+ * @param maximumSize the maximum number of nodes kept in memory; the least recently used nodes are evicted first
+ * @param ttl         how long fetched nodes are cached
+ * @param negativeTtl how long nodes that do not exist or lack required fields are cached
+ * @param directory   directory of the on-disk tier that survives restarts; the disk tier is disabled if not set
+ * @param sweepInterval how often expired files are deleted from the disk tier (also done on startup)
+ */
+@Validated
+@ConfigurationProperties(prefix = "osm.cache")
+public record OsmCacheProperties(
+        @DefaultValue("10000") @Positive long maximumSize,
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("1h") Duration negativeTtl,
+        @Nullable Path directory,
+        @DefaultValue("1h") Duration sweepInterval
+) {}
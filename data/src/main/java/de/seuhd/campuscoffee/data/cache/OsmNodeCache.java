@@ -0,0 +1,239 @@
+package de.seuhd.campuscoffee.data.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import de.seuhd.campuscoffee.domain.exceptions.MissingFieldException;
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.model.OsmNode;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Two-tier cache for OpenStreetMap nodes.
+ * The first tier is a size-bounded in-memory cache. The optional second tier stores one JSON file per node,
+ * so that nodes fetched before a restart do not have to be fetched again.
+ * Besides fetched nodes, the cache also remembers nodes that do not exist or lack required fields
+ * (negative caching), usually with a shorter time to live.
+ * Expired files of the disk tier are deleted when they are read, on startup, and periodically
+ * (every {@code osm.cache.sweep-interval}).
+ */
+@Slf4j
+@Component
+public class OsmNodeCache {
+    private static final String FILE_SUFFIX = ".json";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    // temporary files are renamed right after writing, so older ones were left behind by a crash
+    private static final Duration TEMP_FILE_MAX_AGE = Duration.ofHours(1);
+
+    private final OsmCacheProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, Entry> memoryCache;
+
+    public OsmNodeCache(OsmCacheProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.memoryCache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfter(Expiry.writing((Long nodeId, Entry entry) -> entry.timeToLive()))
+                .build();
+        if (properties.directory() != null) {
+            try {
+                Files.createDirectories(properties.directory());
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot create OSM cache directory " + properties.directory() + ".", e);
+            }
+            sweepExpiredFiles();
+        }
+    }
+
+    /**
+     * Deletes expired and unreadable entries from the disk tier (if enabled), including temporary files left behind
+     * by interrupted writes. Entries that are never looked up again would otherwise stay on disk forever.
+     */
+    @Scheduled(initialDelayString = "${osm.cache.sweep-interval:1h}",
+            fixedDelayString = "${osm.cache.sweep-interval:1h}")
+    public void sweepExpiredFiles() {
+        if (properties.directory() == null) {
+            return;
+        }
+        int deleted = 0;
+        Instant tempFileThreshold = Instant.now().minus(TEMP_FILE_MAX_AGE);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(properties.directory())) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                if ((fileName.endsWith(FILE_SUFFIX) && !isValid(file))
+                        || (fileName.endsWith(TEMP_FILE_SUFFIX)
+                        && Files.getLastModifiedTime(file).toInstant().isBefore(tempFileThreshold))) {
+                    deleted += Files.deleteIfExists(file) ? 1 : 0;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not sweep OSM cache directory {}: {}", properties.directory(), e.getMessage());
+        }
+        log.debug("Deleted {} expired files from OSM cache directory {}", deleted, properties.directory());
+    }
+
+    private boolean isValid(@NonNull Path file) {
+        try {
+            return objectMapper.readValue(file.toFile(), Entry.class).timeToLive().isPositive();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Looks up a node in the cache.
+     *
+     * @param nodeId the OpenStreetMap node ID
+     * @return the cached node or an empty optional if the node is not cached
+     * @throws NotFoundException if the node is cached as not existing
+     * @throws MissingFieldException if the node is cached as lacking a required field
+     */
+    public @NonNull Optional<OsmNode> lookup(@NonNull Long nodeId) {
+        Entry entry = memoryCache.getIfPresent(nodeId);
+        if (entry == null) {
+            entry = readFromDisk(nodeId);
+            if (entry == null) {
+                log.debug("Cache miss for OSM node {}", nodeId);
+                return Optional.empty();
+            }
+            memoryCache.put(nodeId, entry);
+        }
+        log.debug("Cache hit for OSM node {}", nodeId);
+
+        if (entry.node() != null) {
+            return Optional.of(entry.node());
+        } else if (entry.missingField() != null) {
+            throw new MissingFieldException(OsmNode.class, nodeId, entry.missingField());
+        } else {
+            throw new NotFoundException(OsmNode.class, nodeId);
+        }
+    }
+
+    /**
+     * Caches a node that was fetched successfully.
+     *
+     * @param node the fetched node
+     */
+    public void putNode(@NonNull OsmNode node) {
+        put(node.nodeId(), new Entry(node, null, expiresAt(properties.ttl())));
+    }
+
+    /**
+     * Caches that a node does not exist.
+     *
+     * @param nodeId the OpenStreetMap node ID
+     */
+    public void putNotFound(@NonNull Long nodeId) {
+        put(nodeId, new Entry(null, null, expiresAt(properties.negativeTtl())));
+    }
+
+    /**
+     * Caches that a node lacks a field required to create a POS.
+     *
+     * @param nodeId the OpenStreetMap node ID
+     * @param fieldName the name of the missing field
+     */
+    public void putMissingField(@NonNull Long nodeId, @NonNull String fieldName) {
+        put(nodeId, new Entry(null, fieldName, expiresAt(properties.negativeTtl())));
+    }
+
+    private void put(@NonNull Long nodeId, @NonNull Entry entry) {
+        memoryCache.put(nodeId, entry);
+        writeToDisk(nodeId, entry);
+    }
+
+    private static long expiresAt(@NonNull Duration ttl) {
+        return System.currentTimeMillis() + ttl.toMillis();
+    }
+
+    /**
+     * Reads a cache entry from the disk tier.
+     * Expired entries are deleted; unreadable entries are treated as missing.
+     *
+     * @param nodeId the OpenStreetMap node ID
+     * @return the cache entry or null if the disk tier is disabled or does not contain a valid entry
+     */
+    private @Nullable Entry readFromDisk(@NonNull Long nodeId) {
+        if (properties.directory() == null) {
+            return null;
+        }
+        Path file = fileFor(nodeId);
+        try {
+            Entry entry = objectMapper.readValue(file.toFile(), Entry.class);
+            if (!entry.timeToLive().isPositive()) {
+                Files.deleteIfExists(file);
+                return null;
+            }
+            return entry;
+        } catch (NoSuchFileException | FileNotFoundException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable cache file {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes a cache entry to the disk tier (if enabled).
+     * The entry is written to a temporary file first and then moved, so readers never see partial files.
+     *
+     * @param nodeId the OpenStreetMap node ID
+     * @param entry the cache entry
+     */
+    private void writeToDisk(@NonNull Long nodeId, @NonNull Entry entry) {
+        if (properties.directory() == null) {
+            return;
+        }
+        Path file = fileFor(nodeId);
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile(properties.directory(), nodeId + "-", TEMP_FILE_SUFFIX);
+            objectMapper.writeValue(tempFile.toFile(), entry);
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write cache file {}: {}", file, e.getMessage());
+            try {
+                if (tempFile != null) {
+                    Files.deleteIfExists(tempFile);
+                }
+            } catch (IOException ignored) {
+                // the temporary file is overwritten by the next write at the latest
+            }
+        }
+    }
+
+    private @NonNull Path fileFor(@NonNull Long nodeId) {
+        return properties.directory().resolve(nodeId + FILE_SUFFIX);
+    }
+
+    /**
+     * Cached outcome of fetching a node.
+     * If neither the node nor the missing field is set, the node does not exist.
+     *
+     * @param node            the fetched node; null for negative entries
+     * @param missingField    the name of the missing required field; null unless the node lacks a required field
+     * @param expiresAtMillis the expiry time in milliseconds since the epoch
+     */
+    record Entry(@Nullable OsmNode node, @Nullable String missingField, long expiresAtMillis) {
+        Duration timeToLive() {
+            return Duration.ofMillis(expiresAtMillis - System.currentTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package de.seuhd.campuscoffee.data.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.seuhd.campuscoffee.domain.model.DataChange;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosCollectionState;
+import de.seuhd.campuscoffee.domain.ports.DataChangeListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache for POS lookups by ID, by name, for the list of all POS, and for the state of the POS collection.
+ * Entries are loaded on the first lookup and invalidated when a POS is written by this or another application instance
+ * (see {@link DataChangeListener}).
+ * Hit, miss, and eviction counts are published as metrics ({@code cache.gets}, {@code cache.evictions}, ...)
+ * tagged with the cache names {@code pos.by-id}, {@code pos.by-name}, {@code pos.all}, and {@code pos.state}.
+ * <p>
+ * A load that reads the database before a write commits must not re-seed the cache after the write is invalidated.
+ * Invalidating a single key waits for a running load of that key, but invalidating all entries and bulk loads do not.
+ * Therefore, every change increments a generation counter: POS are stored with the generation in which their load
+ * started, entries loaded before all POS were invalidated are discarded on lookup, and bulk loads are only stored
+ * if no change happened while they ran.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE) // invalidate before other listeners read the changed POS through the cache
+public class PosCache implements DataChangeListener {
+    private static final String ALL_KEY = "all";
+
+    private final Cache<Long, Loaded> byId;
+    private final Cache<String, Loaded> byName;
+    private final Cache<String, List<Pos>> all;
+    private final Cache<String, PosCollectionState> state;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile long invalidatedAllGeneration;
+
+    public PosCache(PosCacheProperties properties, MeterRegistry meterRegistry) {
+        this.byId = CaffeineCacheMetrics.monitor(meterRegistry, newCache(properties, properties.maximumSize()), "pos.by-id");
+        this.byName = CaffeineCacheMetrics.monitor(meterRegistry, newCache(properties, properties.maximumSize()), "pos.by-name");
+        this.all = CaffeineCacheMetrics.monitor(meterRegistry, newCache(properties, 1), "pos.all");
+        this.state = CaffeineCacheMetrics.monitor(meterRegistry, newCache(properties, 1), "pos.state");
+    }
+
+    private static <K, V> Cache<K, V> newCache(PosCacheProperties properties, long maximumSize) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached POS with the given ID or loads it.
+     *
+     * @param id     the POS ID
+     * @param loader loads the POS from the database; exceptions (e.g., NotFoundException) are passed on and not cached
+     * @return the POS
+     */
+    public @NonNull Pos getById(@NonNull Long id, @NonNull Function<Long, Pos> loader) {
+        return get(byId, id, loader);
+    }
+
+    /**
+     * Returns the cached POS with the given IDs and loads the others with a single call of the loader.
+     *
+     * @param ids    the POS IDs
+     * @param loader loads the POS with the given IDs from the database; IDs without a POS are omitted
+     * @return the POS found by their ID; IDs without a POS are missing and not cached
+     */
+    public @NonNull Map<Long, Pos> getByIds(@NonNull Collection<Long> ids,
+                                            @NonNull Function<Set<Long>, Map<Long, Pos>> loader) {
+        Map<Long, Pos> found = new HashMap<>();
+        byId.getAllPresent(ids).forEach((id, loaded) -> {
+            if (isCurrent(loaded)) {
+                found.put(id, loaded.pos());
+            }
+        });
+        Set<Long> missingIds = ids.stream()
+                .filter(id -> !found.containsKey(id))
+                .collect(Collectors.toUnmodifiableSet());
+        if (missingIds.isEmpty()) {
+            return found;
+        }
+        long loadGeneration = generation.get();
+        Map<Long, Pos> loadedPos = loader.apply(missingIds);
+        loadedPos.forEach((id, pos) -> {
+            // store atomically with the generation check: a later invalidation of the ID removes the entry again
+            byId.asMap().compute(id, (key, cached) ->
+                    generation.get() == loadGeneration ? new Loaded(loadGeneration, pos) : cached);
+            found.put(id, pos);
+        });
+        return found;
+    }
+
+    /**
+     * Returns the cached POS with the given name or loads it.
+     *
+     * @param name   the POS name
+     * @param loader loads the POS from the database; exceptions (e.g., NotFoundException) are passed on and not cached
+     * @return the POS
+     */
+    public @NonNull Pos getByName(@NonNull String name, @NonNull Function<String, Pos> loader) {
+        return get(byName, name, loader);
+    }
+
+    private <K> @NonNull Pos get(Cache<K, Loaded> cache, K key, Function<K, Pos> loader) {
+        while (true) {
+            long loadGeneration = generation.get();
+            Loaded loaded = cache.get(key, k -> new Loaded(loadGeneration, loader.apply(k)));
+            if (isCurrent(loaded)) {
+                return loaded.pos();
+            }
+            cache.asMap().remove(key, loaded);
+        }
+    }
+
+    private boolean isCurrent(Loaded loaded) {
+        return loaded.generation() >= invalidatedAllGeneration;
+    }
+
+    /**
+     * Returns the cached list of all POS or loads it.
+     *
+     * @param loader loads all POS from the database
+     * @return an immutable list of all POS
+     */
+    public @NonNull List<Pos> getAll(@NonNull Supplier<List<Pos>> loader) {
+        return all.get(ALL_KEY, key -> List.copyOf(loader.get()));
+    }
+
+    /**
+     * Returns the cached state of the POS collection or loads it.
+     *
+     * @param loader loads the number of POS and the times of the latest changes from the database
+     * @return the state of the POS collection
+     */
+    public @NonNull PosCollectionState getCollectionState(@NonNull Supplier<PosCollectionState> loader) {
+        return state.get(ALL_KEY, key -> loader.get());
+    }
+
+    /**
+     * Invalidates the entries of written POS, the list of all POS, and the state of the POS collection.
+     *
+     * @param change the committed change
+     */
+    @Override
+    public void onDataChange(@NonNull DataChange change) {
+        if (change.entityType() != DataChange.EntityType.POS) {
+            return;
+        }
+        long changeGeneration = generation.incrementAndGet();
+        if (change.all()) {
+            invalidatedAllGeneration = changeGeneration;
+            byId.invalidateAll();
+            byName.invalidateAll();
+            log.debug("Invalidated all cached POS");
+        } else {
+            byId.invalidateAll(change.ids());
+            byName.invalidateAll(change.keys());
+            log.debug("Invalidated cached POS with IDs {} and names {}", change.ids(), change.keys());
+        }
+        // invalidating the key (unlike invalidateAll) waits for a running load and discards its result
+        all.invalidate(ALL_KEY);
+        state.invalidate(ALL_KEY);
+    }
+
+    /**
+     * A cached POS with the generation in which its load started.
+     *
+     * @param generation the value of the generation counter before the POS was loaded
+     * @param pos        the POS
+     */
+    private record Loaded(long generation, @NonNull Pos pos) {
+    }
+}
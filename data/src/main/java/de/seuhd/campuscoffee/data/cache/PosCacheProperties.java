@@ -0,0 +1,22 @@
+package de.seuhd.campuscoffee.data.cache;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for caching POS read from the database.
+ *
+ * @param maximumSize the maximum number of POS kept per lookup key (ID and name); the least recently used are evicted first
+ * @param ttl         how long a cached POS or list of POS is used at most; bounds the staleness of changes made by
+ *                    other application instances
+ */
+@Validated
+@ConfigurationProperties(prefix = "pos.cache")
+public record PosCacheProperties(
+        @DefaultValue("10000") @Positive long maximumSize,
+        @DefaultValue("10m") Duration ttl
+) {}
@@ -0,0 +1,55 @@
+package de.seuhd.campuscoffee.data.client;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the OpenStreetMap API client.
+ * Connection pool and timeouts are configured via {@code spring.cloud.openfeign.*}.
+ *
+ * @param baseUrl   the base URL of the OSM API
+ * @param retry     the retry policy for failed requests
+ * @param rateLimit the client-side rate limit for requests
+ */
+@Validated
+@ConfigurationProperties(prefix = "osm.api")
+public record OsmApiProperties(
+        @NotBlank String baseUrl,
+        @DefaultValue @Valid Retry retry,
+        @DefaultValue @Valid RateLimit rateLimit
+) {
+    /**
+     * Retry policy for requests that failed with a network error, a server error (5xx) or rate limiting (429).
+     * The backoff grows exponentially and is randomized ("full jitter"), so that clients do not retry in lockstep.
+     *
+     * @param maxAttempts    the maximum number of attempts per request (including the first one)
+     * @param initialBackoff the upper bound of the backoff before the second attempt
+     * @param maxBackoff     the upper bound of the backoff for all attempts
+     */
+    public record Retry(
+            @DefaultValue("3") @Positive int maxAttempts,
+            @DefaultValue("200ms") Duration initialBackoff,
+            @DefaultValue("5s") Duration maxBackoff
+    ) {}
+
+    /**
+     * Adaptive client-side rate limit (token bucket) for requests to the OSM API.
+     * The rate is halved whenever the API signals overload (429 or 509) and grows again by
+     * {@code minPermitsPerSecond} with every successful response, up to {@code permitsPerSecond}.
+     *
+     * @param permitsPerSecond    the maximum number of requests per second
+     * @param burst               the maximum number of requests that may be sent at once after an idle period
+     * @param minPermitsPerSecond the lower bound of the rate when backing off
+     */
+    public record RateLimit(
+            @DefaultValue("5") @Positive double permitsPerSecond,
+            @DefaultValue("10") @Positive int burst,
+            @DefaultValue("0.5") @Positive double minPermitsPerSecond
+    ) {}
+}
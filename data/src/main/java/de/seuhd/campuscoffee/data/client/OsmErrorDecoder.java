@@ -0,0 +1,58 @@
+package de.seuhd.campuscoffee.data.client;
+
+import feign.Response;
+import feign.RetryableException;
+import feign.codec.ErrorDecoder;
+
+import java.time.Duration;
+
+/**
+ * Error decoder that marks server errors (5xx) and rate limiting (429) as retryable.
+ * Feign's default decoder only does so if the response has a Retry-After header.
+ * Rate limiting (429) and exceeded bandwidth limits (509) additionally slow down the {@link OsmRateLimiter}.
+ */
+public class OsmErrorDecoder implements ErrorDecoder {
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int BANDWIDTH_LIMIT_EXCEEDED = 509;
+
+    private final ErrorDecoder delegate = new ErrorDecoder.Default();
+    private final OsmRateLimiter rateLimiter;
+
+    public OsmErrorDecoder(OsmRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public Exception decode(String methodKey, Response response) {
+        Exception exception = delegate.decode(methodKey, response);
+        if (isThrottled(response.status())) {
+            Long retryAfter = exception instanceof RetryableException retryable ? retryable.retryAfter() : null;
+            rateLimiter.onThrottled(retryAfter != null
+                    ? Duration.ofMillis(retryAfter - System.currentTimeMillis())
+                    : null);
+        }
+        if (exception instanceof RetryableException || !isTransient(response.status())) {
+            return exception;
+        }
+        return new RetryableException(
+                response.status(),
+                exception.getMessage(),
+                response.request().httpMethod(),
+                exception,
+                (Long) null, // no Retry-After header, the retryer decides on the backoff
+                response.request()
+        );
+    }
+
+    /**
+     * @param status the HTTP status of a response
+     * @return true if the API rejected the request because the client sends too many requests or too much data
+     */
+    static boolean isThrottled(int status) {
+        return status == TOO_MANY_REQUESTS || status == BANDWIDTH_LIMIT_EXCEEDED;
+    }
+
+    private static boolean isTransient(int status) {
+        return status == TOO_MANY_REQUESTS || status >= 500;
+    }
+}
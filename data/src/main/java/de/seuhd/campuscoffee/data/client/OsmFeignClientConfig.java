@@ -1,11 +1,22 @@
 package de.seuhd.campuscoffee.data.client;
 
 import feign.RequestInterceptor;
+import feign.ResponseInterceptor;
+import feign.Retryer;
+import feign.codec.ErrorDecoder;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
  * Configuration for OSM Feign client.
+ * Requests are sent via the pooled Apache HttpClient 5 that Spring Cloud OpenFeign configures
+ * when feign-hc5 is on the classpath (see {@code spring.cloud.openfeign.httpclient.*}).
  */
 @Configuration
 public class OsmFeignClientConfig {
@@ -19,4 +30,90 @@ public class OsmFeignClientConfig {
         return requestTemplate ->
             requestTemplate.header("User-Agent", "CampusCoffee/0.0.2");
     }
+
+    /**
+     * Throttles requests to the OSM API with an adaptive token bucket.
+     *
+     * @param osmApiProperties the OSM API configuration including the rate limit
+     * @return the rate limiter shared by all OSM API requests
+     */
+    @Bean
+    public OsmRateLimiter osmRateLimiter(OsmApiProperties osmApiProperties) {
+        return new OsmRateLimiter(osmApiProperties.rateLimit());
+    }
+
+    /**
+     * Waits for the rate limiter before each request, including retries.
+     *
+     * @param osmRateLimiter the rate limiter
+     * @return RequestInterceptor that blocks until the request may be sent
+     */
+    @Bean
+    public RequestInterceptor rateLimitInterceptor(OsmRateLimiter osmRateLimiter) {
+        return requestTemplate -> osmRateLimiter.acquire();
+    }
+
+    /**
+     * Lets the rate limiter speed up again after responses that were not throttled.
+     * Throttled responses are reported by {@link OsmErrorDecoder}.
+     *
+     * @param osmRateLimiter the rate limiter
+     * @return ResponseInterceptor that reports accepted requests to the rate limiter
+     */
+    @Bean
+    public ResponseInterceptor rateLimitFeedbackInterceptor(OsmRateLimiter osmRateLimiter) {
+        return (invocationContext, chain) -> {
+            int status = invocationContext.response().status();
+            if (status < 500 && !OsmErrorDecoder.isThrottled(status)) {
+                osmRateLimiter.onSuccess();
+            }
+            return chain.next(invocationContext);
+        };
+    }
+
+    /**
+     * Retries failed OSM API requests with jittered exponential backoff.
+     *
+     * @param osmApiProperties the OSM API configuration including the retry policy
+     * @return the retryer
+     */
+    @Bean
+    public Retryer osmRetryer(OsmApiProperties osmApiProperties) {
+        return new OsmRetryer(osmApiProperties.retry());
+    }
+
+    /**
+     * Treats server errors and rate limiting as retryable and reports rate limiting to the rate limiter.
+     *
+     * @param osmRateLimiter the rate limiter
+     * @return the error decoder
+     */
+    @Bean
+    public ErrorDecoder osmErrorDecoder(OsmRateLimiter osmRateLimiter) {
+        return new OsmErrorDecoder(osmRateLimiter);
+    }
+
+    /**
+     * Disables the automatic retries of HttpClient 5 (e.g., for 503 responses), so that only {@link OsmRetryer} retries.
+     *
+     * @return the customizer of the HTTP client
+     */
+    @Bean
+    public HttpClient5FeignConfiguration.HttpClientBuilderCustomizer disableAutomaticRetries() {
+        return HttpClientBuilder::disableAutomaticRetries;
+    }
+
+    /**
+     * Publishes the usage of the HTTP connection pool (leased, available and pending connections) as metrics.
+     *
+     * @param connectionManager the connection manager configured by Spring Cloud OpenFeign
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder osmConnectionPoolMetrics(HttpClientConnectionManager connectionManager) {
+        if (connectionManager instanceof PoolingHttpClientConnectionManager pool) {
+            return new PoolingHttpClientConnectionManagerMetricsBinder(pool, "osm-api");
+        }
+        return registry -> {}; // connections are not pooled, nothing to report
+    }
 }
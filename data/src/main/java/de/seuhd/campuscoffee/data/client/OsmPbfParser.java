@@ -0,0 +1,137 @@
+package de.seuhd.campuscoffee.data.client;
+
+import crosby.binary.BinaryParser;
+import crosby.binary.Osmformat;
+import crosby.binary.file.BlockInputStream;
+import crosby.binary.file.FileFormatException;
+import org.jspecify.annotations.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Streaming parser for OSM PBF files, the compressed binary format of regional extracts (e.g., from Geofabrik).
+ * The file is decoded block by block (a few thousand entities each), so only one block is held in memory at a time.
+ * Ways and relations are skipped, and only the tags relevant for CampusCoffee are retained (see {@link OsmXmlParser}).
+ * The parser is thread-safe and meant to be reused.
+ */
+@Component
+public class OsmPbfParser {
+    private static final Set<String> SUPPORTED_FEATURES = Set.of("OsmSchema-V0.6", "DenseNodes");
+
+    /**
+     * Parses all nodes of an OSM PBF file.
+     *
+     * @param inputStream the PBF file; not closed by this method
+     * @param consumer the consumer that receives the nodes in the order of the file
+     * @return the number of parsed nodes
+     * @throws IOException if the file cannot be read, is malformed, or requires unsupported features
+     */
+    public long parseNodes(@NonNull InputStream inputStream, @NonNull Consumer<OsmResponse> consumer)
+            throws IOException {
+        NodeParser parser = new NodeParser(consumer);
+        try {
+            // not closed, since that would close the input stream
+            new BlockInputStream(inputStream, parser).process();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return parser.count;
+    }
+
+    /**
+     * Block handler that converts the nodes of each data block; the string table is specific to the current block.
+     */
+    private static final class NodeParser extends BinaryParser {
+        private final Consumer<OsmResponse> consumer;
+        private long count;
+
+        private NodeParser(Consumer<OsmResponse> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected void parse(Osmformat.HeaderBlock header) {
+            for (String feature : header.getRequiredFeaturesList()) {
+                if (!SUPPORTED_FEATURES.contains(feature)) {
+                    throw new UncheckedIOException(new FileFormatException(
+                            "OSM PBF file requires unsupported feature '" + feature + "'."));
+                }
+            }
+        }
+
+        @Override
+        protected void parseNodes(List<Osmformat.Node> nodes) {
+            for (Osmformat.Node node : nodes) {
+                Map<String, String> tags = new HashMap<>();
+                for (int i = 0; i < node.getKeysCount(); i++) {
+                    putIfRelevant(tags, node.getKeys(i), node.getVals(i));
+                }
+                accept(node.getId(), node.getLat(), node.getLon(), tags);
+            }
+        }
+
+        @Override
+        protected void parseDense(Osmformat.DenseNodes nodes) {
+            // IDs and coordinates are delta-coded; the tags of all nodes are one list of key and value indexes
+            // in the string table, with the tags of each node terminated by 0 (the list is empty if no node has tags)
+            long id = 0;
+            long lat = 0;
+            long lon = 0;
+            int keyValueIndex = 0;
+            for (int i = 0; i < nodes.getIdCount(); i++) {
+                id += nodes.getId(i);
+                lat += nodes.getLat(i);
+                lon += nodes.getLon(i);
+                Map<String, String> tags = new HashMap<>();
+                while (keyValueIndex < nodes.getKeysValsCount()) {
+                    int key = nodes.getKeysVals(keyValueIndex++);
+                    if (key == 0) {
+                        break;
+                    }
+                    putIfRelevant(tags, key, nodes.getKeysVals(keyValueIndex++));
+                }
+                accept(id, lat, lon, tags);
+            }
+        }
+
+        @Override
+        protected void parseWays(List<Osmformat.Way> ways) {
+            // not relevant
+        }
+
+        @Override
+        protected void parseRelations(List<Osmformat.Relation> relations) {
+            // not relevant
+        }
+
+        @Override
+        public void complete() {
+            // nothing to clean up
+        }
+
+        private void putIfRelevant(Map<String, String> tags, int key, int value) {
+            String keyString = getStringById(key);
+            if (OsmXmlParser.isRelevantTag(keyString)) {
+                tags.put(keyString, getStringById(value));
+            }
+        }
+
+        private void accept(long id, long lat, long lon, Map<String, String> tags) {
+            consumer.accept(OsmResponse.builder()
+                    .id(id)
+                    .lat(parseLat(lat))
+                    .lon(parseLon(lon))
+                    .tags(tags)
+                    .build());
+            count++;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package de.seuhd.campuscoffee.data.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adaptive token bucket that throttles requests to the OSM API.
+ * The bucket holds up to {@code burst} tokens and is refilled at the current rate; each request takes one token.
+ * When the API signals overload, the rate is halved and no requests are sent until the Retry-After delay has passed
+ * (additive increase, multiplicative decrease). Waiting happens outside the lock, so it does not block other callers.
+ */
+@Slf4j
+public class OsmRateLimiter {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double maxRate;
+    private final double minRate;
+    private final double burst;
+
+    private double rate;
+    private double tokens;
+    private long lastRefillNanos;
+    private long blockedUntilNanos;
+
+    public OsmRateLimiter(OsmApiProperties.RateLimit policy) {
+        this.maxRate = policy.permitsPerSecond();
+        this.minRate = Math.min(policy.minPermitsPerSecond(), maxRate);
+        this.burst = policy.burst();
+        this.rate = maxRate;
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+        this.blockedUntilNanos = lastRefillNanos;
+    }
+
+    /**
+     * Blocks until a request may be sent.
+     *
+     * @throws IllegalStateException if the thread is interrupted while waiting
+     */
+    public void acquire() {
+        long waitNanos;
+        while ((waitNanos = tryAcquire()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the OSM API rate limit.", e);
+            }
+        }
+    }
+
+    /**
+     * Halves the rate after the API rejected a request due to rate limiting (429) or bandwidth limits (509).
+     *
+     * @param retryAfter the delay requested by the API; null to wait for one token at the reduced rate
+     */
+    public synchronized void onThrottled(@Nullable Duration retryAfter) {
+        long now = System.nanoTime();
+        refill(now);
+        rate = Math.max(minRate, rate / 2);
+        tokens = Math.min(tokens, 0);
+        long delayNanos = retryAfter != null && retryAfter.isPositive()
+                ? retryAfter.toNanos()
+                : (long) (NANOS_PER_SECOND / rate);
+        blockedUntilNanos = Math.max(blockedUntilNanos, now + delayNanos);
+        lastRefillNanos = blockedUntilNanos; // no tokens accumulate while blocked
+        log.warn("OSM API is throttling requests, reducing the rate to {} requests/s", String.format("%.2f", rate));
+    }
+
+    /**
+     * Increases the rate again after a request was accepted by the API.
+     */
+    public synchronized void onSuccess() {
+        if (rate < maxRate) {
+            refill(System.nanoTime());
+            rate = Math.min(maxRate, rate + minRate);
+        }
+    }
+
+    /**
+     * @return the current rate in requests per second
+     */
+    public synchronized double getRate() {
+        return rate;
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return 0 if a token was taken, otherwise the time in nanoseconds until the next attempt
+     */
+    private synchronized long tryAcquire() {
+        long now = System.nanoTime();
+        if (now - blockedUntilNanos < 0) {
+            return blockedUntilNanos - now;
+        }
+        refill(now);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return Math.max(1, (long) ((1 - tokens) / rate * NANOS_PER_SECOND));
+    }
+
+    private void refill(long now) {
+        long elapsedNanos = now - lastRefillNanos;
+        if (elapsedNanos > 0) {
+            tokens = Math.min(burst, tokens + elapsedNanos * rate / NANOS_PER_SECOND);
+            lastRefillNanos = now;
+        }
+    }
+}
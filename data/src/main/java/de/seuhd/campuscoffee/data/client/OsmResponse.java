@@ -1,8 +1,5 @@
 package de.seuhd.campuscoffee.data.client;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
-import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
 import lombok.Builder;
 import lombok.Data;
 
@@ -11,13 +8,13 @@ import java.util.Map;
 /**
  * DTO for OSM API XML responses.
  * Combines the root osm element and nested node element into a single class.
+ * Only the tags relevant for CampusCoffee are retained (see {@link OsmXmlParser}).
  */
 @Data
 @Builder(toBuilder = true)
-@JacksonXmlRootElement(localName = "osm")
-@JsonIgnoreProperties(ignoreUnknown = true)
-@JsonDeserialize(using = OsmResponseDeserializer.class)
 public class OsmResponse {
     private Long id;
+    private Double lat; // null if the node has no location (e.g., deleted nodes)
+    private Double lon;
     private Map<String, String> tags;
 }
@@ -0,0 +1,64 @@
+package de.seuhd.campuscoffee.data.client;
+
+import feign.RetryableException;
+import feign.Retryer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Feign retryer with exponential backoff and full jitter.
+ * If the server provided a Retry-After header, the retryer waits at least until then (capped at the maximum backoff).
+ * Feign clones the retryer for each request, so the attempt counter is not shared.
+ */
+@Slf4j
+public class OsmRetryer implements Retryer {
+    private final OsmApiProperties.Retry policy;
+    private int attempt = 1;
+
+    public OsmRetryer(OsmApiProperties.Retry policy) {
+        this.policy = policy;
+    }
+
+    @Override
+    public void continueOrPropagate(RetryableException e) {
+        if (attempt >= policy.maxAttempts()) {
+            throw e;
+        }
+
+        long backoffMillis = backoffMillis(e);
+        log.debug("Retrying {} {} in {} ms (attempt {} failed with status {})",
+                e.method(), e.request().url(), backoffMillis, attempt, e.status());
+
+        try {
+            Thread.sleep(backoffMillis);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+        attempt++;
+    }
+
+    /**
+     * Computes the backoff before the next attempt.
+     *
+     * @param e the exception of the failed attempt
+     * @return a random backoff up to the exponential ceiling of the current attempt, but at least the
+     *         Retry-After delay of the exception; never more than the maximum backoff
+     */
+    long backoffMillis(RetryableException e) {
+        long maxBackoffMillis = policy.maxBackoff().toMillis();
+        long ceilingMillis = Math.min(maxBackoffMillis, policy.initialBackoff().toMillis() << Math.min(attempt - 1, 20));
+        long backoffMillis = ThreadLocalRandom.current().nextLong(ceilingMillis + 1);
+        if (e.retryAfter() != null) {
+            long retryAfterMillis = e.retryAfter() - System.currentTimeMillis();
+            backoffMillis = Math.min(maxBackoffMillis, Math.max(backoffMillis, retryAfterMillis));
+        }
+        return backoffMillis;
+    }
+
+    @Override
+    public Retryer clone() {
+        return new OsmRetryer(policy);
+    }
+}
@@ -0,0 +1,134 @@
+package de.seuhd.campuscoffee.data.client;
+
+import org.jspecify.annotations.NonNull;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Streaming (StAX) parser for OSM API XML responses.
+ * The document is read in a single pass without building a tree, and only the tags
+ * relevant for CampusCoffee are retained.
+ * The parser is thread-safe and meant to be reused.
+ */
+@Component
+public class OsmXmlParser {
+    private static final String NODE_ELEMENT = "node";
+    private static final String TAG_ELEMENT = "tag";
+    private static final Set<String> RELEVANT_TAGS = Set.of("name", "name:de", "name:en", "amenity", "description");
+    private static final String ADDRESS_TAG_PREFIX = "addr:";
+
+    private final XMLInputFactory xmlInputFactory;
+
+    public OsmXmlParser() {
+        // the factory is thread-safe once configured
+        xmlInputFactory = XMLInputFactory.newFactory();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false); // also prevents XXE attacks
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /**
+     * Parses the first node of an OSM XML document.
+     *
+     * @param xml the XML document as returned by the OSM API
+     * @return the ID and relevant tags of the node
+     * @throws XMLStreamException if the document is malformed or does not contain a node with an ID
+     */
+    public @NonNull OsmResponse parseNode(@NonNull String xml) throws XMLStreamException {
+        XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(new StringReader(xml));
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && NODE_ELEMENT.equals(reader.getLocalName())) {
+                    return readNode(reader);
+                }
+            }
+            throw new XMLStreamException("OSM XML document does not contain a node element.");
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Parses all nodes of an OSM XML document, e.g., a regional extract file.
+     * Only one node is held in memory at a time.
+     *
+     * @param inputStream the XML document; not closed by this method
+     * @param consumer the consumer that receives the nodes in the order of the document
+     * @return the number of parsed nodes
+     * @throws XMLStreamException if the document is malformed or contains a node without an ID
+     */
+    public long parseNodes(@NonNull InputStream inputStream, @NonNull Consumer<OsmResponse> consumer)
+            throws XMLStreamException {
+        XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(inputStream);
+        try {
+            long count = 0;
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && NODE_ELEMENT.equals(reader.getLocalName())) {
+                    consumer.accept(readNode(reader));
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Reads a node element including its tags.
+     *
+     * @param reader the reader positioned at the start of the node element; positioned at its end afterward
+     * @return the ID and relevant tags of the node
+     * @throws XMLStreamException if the document is malformed or the node does not have an ID
+     */
+    private @NonNull OsmResponse readNode(@NonNull XMLStreamReader reader) throws XMLStreamException {
+        String id = reader.getAttributeValue(null, "id");
+        if (id == null) {
+            throw new XMLStreamException("OSM node element does not have an id attribute.", reader.getLocation());
+        }
+        String lat = reader.getAttributeValue(null, "lat");
+        String lon = reader.getAttributeValue(null, "lon");
+
+        Map<String, String> tags = new HashMap<>();
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                if (TAG_ELEMENT.equals(reader.getLocalName())) {
+                    String key = reader.getAttributeValue(null, "k");
+                    String value = reader.getAttributeValue(null, "v");
+                    if (key != null && value != null && isRelevantTag(key)) {
+                        tags.put(key, value);
+                    }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+
+        return OsmResponse.builder()
+                .id(Long.parseLong(id))
+                .lat(lat == null ? null : Double.valueOf(lat))
+                .lon(lon == null ? null : Double.valueOf(lon))
+                .tags(tags)
+                .build();
+    }
+
+    /**
+     * @param key the key of an OSM tag
+     * @return true if the tag is retained in {@link OsmResponse#getTags()}
+     */
+    static boolean isRelevantTag(@NonNull String key) {
+        return RELEVANT_TAGS.contains(key) || key.startsWith(ADDRESS_TAG_PREFIX);
+    }
+}
@@ -0,0 +1,55 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.data.mapper.ImportJobEntityMapper;
+import de.seuhd.campuscoffee.data.persistence.ImportJobRepository;
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.model.ImportJob;
+import de.seuhd.campuscoffee.domain.ports.ImportJobDataService;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Implementation of the import job data service that the domain layer provides as a port.
+ */
+@Service
+@RequiredArgsConstructor
+class ImportJobDataServiceImpl implements ImportJobDataService {
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobEntityMapper importJobEntityMapper;
+
+    @Override
+    public @NonNull ImportJob create(@NonNull ImportJob job) {
+        return importJobEntityMapper.fromEntity(importJobRepository.saveAndFlush(importJobEntityMapper.toEntity(job)));
+    }
+
+    @Override
+    @Transactional
+    public void update(@NonNull ImportJob job) {
+        Objects.requireNonNull(job.id(), "id is required");
+        // the job may have been deleted in the meantime (e.g., by the purge of abandoned jobs)
+        importJobRepository.findById(job.id())
+                .ifPresent(entity -> importJobEntityMapper.updateEntity(job, entity));
+    }
+
+    @Override
+    public @NonNull ImportJob getById(@NonNull Long id) {
+        return importJobRepository.findById(id)
+                .map(importJobEntityMapper::fromEntity)
+                .orElseThrow(() -> new NotFoundException(ImportJob.class, id));
+    }
+
+    @Override
+    public void delete(@NonNull Long id) {
+        importJobRepository.deleteById(id);
+    }
+
+    @Override
+    public int deleteExpired(@NonNull LocalDateTime threshold) {
+        return importJobRepository.deleteExpired(threshold);
+    }
+}
@@ -1,34 +1,111 @@
 package de.seuhd.campuscoffee.data.impl;
 
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import de.seuhd.campuscoffee.data.cache.OsmNodeCache;
 import de.seuhd.campuscoffee.data.client.OsmFeignClient;
+import de.seuhd.campuscoffee.data.client.OsmPbfParser;
 import de.seuhd.campuscoffee.data.client.OsmResponse;
+import de.seuhd.campuscoffee.data.client.OsmXmlParser;
+import de.seuhd.campuscoffee.data.util.MappedFileInputStream;
 import de.seuhd.campuscoffee.domain.exceptions.MissingFieldException;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.OsmUnavailableException;
+import de.seuhd.campuscoffee.domain.model.BoundingBox;
 import de.seuhd.campuscoffee.domain.model.OsmAmenity;
+import de.seuhd.campuscoffee.domain.model.OsmExtractStatistics;
 import de.seuhd.campuscoffee.domain.model.OsmNode;
 import de.seuhd.campuscoffee.domain.ports.OsmDataService;
 import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Service;
 
+import javax.xml.stream.XMLStreamException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * OSM data service that fetches node data from the OpenStreetMap API.
+ * Concurrent fetches of the same node are coalesced into a single request.
  */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 class OsmDataServiceImpl implements OsmDataService {
     private final OsmFeignClient osmFeignClient;
+    private final OsmXmlParser osmXmlParser;
+    private final OsmPbfParser osmPbfParser;
+    private final OsmNodeCache osmNodeCache;
+    // fetches that are currently running, shared by all callers that request the same node
+    private final ConcurrentMap<Long, CompletableFuture<OsmNode>> inFlightFetches = new ConcurrentHashMap<>();
 
     @Override
     public @NonNull OsmNode fetchNode(@NonNull Long nodeId) {
+        // throws if the node is known to be missing or invalid
+        Optional<OsmNode> cachedNode = osmNodeCache.lookup(nodeId);
+        if (cachedNode.isPresent()) {
+            return cachedNode.get();
+        }
+
+        CompletableFuture<OsmNode> fetch = new CompletableFuture<>();
+        CompletableFuture<OsmNode> inFlightFetch = inFlightFetches.putIfAbsent(nodeId, fetch);
+        if (inFlightFetch != null) {
+            log.debug("Waiting for in-flight fetch of OSM node {}...", nodeId);
+            return awaitFetch(inFlightFetch);
+        }
+
+        try {
+            // another fetch may have completed between the cache lookup and the registration of this one
+            OsmNode node = osmNodeCache.lookup(nodeId).orElseGet(() -> fetchRemoteNode(nodeId));
+            fetch.complete(node);
+            return node;
+        } catch (RuntimeException e) {
+            fetch.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightFetches.remove(nodeId, fetch);
+        }
+    }
+
+    /**
+     * Waits for a fetch started by another caller.
+     *
+     * @param fetch the in-flight fetch
+     * @return the fetched node
+     * @throws RuntimeException the exception of the fetch (e.g., NotFoundException or MissingFieldException)
+     */
+    private static OsmNode awaitFetch(CompletableFuture<OsmNode> fetch) {
+        try {
+            return fetch.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Fetches a node from the OSM API and caches the result.
+     *
+     * @param nodeId the OSM node ID
+     * @return the fetched node
+     * @throws NotFoundException if the node does not exist
+     * @throws MissingFieldException if the node lacks required fields
+     * @throws OsmUnavailableException if the OSM API failed (e.g., 5xx or 429 after all retries)
+     */
+    private OsmNode fetchRemoteNode(Long nodeId) {
         try {
             log.debug("Fetching OSM node {}...", nodeId);
             String xmlResponse = osmFeignClient.fetchNode(nodeId);
@@ -39,24 +116,81 @@ class OsmDataServiceImpl implements OsmDataService {
             }
 
             OsmNode node = parseOsmXml(xmlResponse, nodeId);
+            osmNodeCache.putNode(node);
 
             log.debug("Successfully fetched and parsed OSM node {}", nodeId);
             return node;
 
         } catch (FeignException.NotFound e) {
             log.warn("OSM node {} not found", nodeId);
+            osmNodeCache.putNotFound(nodeId);
             throw new NotFoundException(OsmNode.class, nodeId);
         } catch (FeignException e) {
+            // not cached, the API may be available again for the next fetch
             log.error("HTTP error fetching OSM node {}: {} - {}",
                     nodeId, e.status(), e.getMessage());
-            throw new NotFoundException(OsmNode.class, nodeId);
+            throw new OsmUnavailableException(nodeId, e);
         } catch (MissingFieldException e) {
-            // re-throw missing fields exception as-is
+            // cache and re-throw missing fields exception as-is
+            log.warn("OSM node {} is missing required field '{}'", nodeId, e.getFieldName());
+            osmNodeCache.putMissingField(nodeId, e.getFieldName());
+            throw e;
+        } catch (NotFoundException e) {
+            // empty response
             throw e;
         } catch (Exception e) {
             log.error("Error fetching OSM node {}", nodeId, e);
-            throw new NotFoundException(OsmNode.class, nodeId);
+            throw new OsmUnavailableException(nodeId, e);
+        }
+    }
+
+    @Override
+    public @NonNull OsmExtractStatistics readExtract(@NonNull Path extractFile, @Nullable BoundingBox boundingBox,
+                                                     @NonNull Consumer<OsmNode> consumer) {
+        boolean pbf = extractFile.getFileName().toString().endsWith(".pbf");
+        log.info("Reading OSM {} extract {}...", pbf ? "PBF" : "XML", extractFile);
+
+        AtomicLong matchedNodes = new AtomicLong();
+        AtomicLong invalidNodes = new AtomicLong();
+        Consumer<OsmResponse> nodeConsumer = osmResponse -> {
+            if (!isImportCandidate(osmResponse, boundingBox)) {
+                return;
+            }
+            matchedNodes.incrementAndGet();
+            OsmNode node;
+            try {
+                node = toOsmNode(osmResponse, osmResponse.getId());
+            } catch (MissingFieldException e) {
+                invalidNodes.incrementAndGet();
+                return;
+            }
+            consumer.accept(node);
+        };
+        try (InputStream inputStream = new MappedFileInputStream(extractFile)) {
+            long scannedNodes = pbf
+                    ? osmPbfParser.parseNodes(inputStream, nodeConsumer)
+                    : osmXmlParser.parseNodes(inputStream, nodeConsumer);
+            return new OsmExtractStatistics(scannedNodes, matchedNodes.get(), invalidNodes.get());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read OSM extract " + extractFile + ".", e);
+        } catch (XMLStreamException e) {
+            throw new UncheckedIOException("Cannot parse OSM extract " + extractFile + ".", new IOException(e));
+        }
+    }
+
+    /**
+     * Checks whether a node of an extract file should be imported.
+     *
+     * @param osmResponse the parsed node
+     * @param boundingBox the area to import; null to import nodes everywhere
+     * @return true if the node has a supported amenity and lies inside the bounding box
+     */
+    private boolean isImportCandidate(OsmResponse osmResponse, @Nullable BoundingBox boundingBox) {
+        if (OsmAmenity.fromOsmValue(osmResponse.getTags().get("amenity")).isEmpty()) {
+            return false;
         }
+        return boundingBox == null || (osmResponse.getLat() != null && osmResponse.getLon() != null
+                && boundingBox.contains(osmResponse.getLat(), osmResponse.getLon()));
     }
 
     /**
@@ -65,13 +199,23 @@ class OsmDataServiceImpl implements OsmDataService {
      * @param xmlResponse the XML response from OSM API
      * @param nodeId the node ID for error reporting
      * @return parsed OsmNode object
-     * @throws IOException if XML parsing fails
+     * @throws XMLStreamException if XML parsing fails
+     * @throws MissingFieldException if required fields are missing
+     */
+    private OsmNode parseOsmXml(String xmlResponse, Long nodeId) throws XMLStreamException {
+        // parse XML in a single pass (parser ensures node element and id are present)
+        return toOsmNode(osmXmlParser.parseNode(xmlResponse), nodeId);
+    }
+
+    /**
+     * Extracts the node data from a parsed OSM node.
+     *
+     * @param osmResponse the parsed OSM node
+     * @param nodeId the node ID for error reporting
+     * @return the OsmNode object
      * @throws MissingFieldException if required fields are missing
      */
-    private OsmNode parseOsmXml(String xmlResponse, Long nodeId) throws IOException {
-        // parse XML using Jackson (deserializer ensures node element and id are present)
-        XmlMapper xmlMapper = new XmlMapper();
-        OsmResponse osmResponse = xmlMapper.readValue(xmlResponse, OsmResponse.class);
+    private OsmNode toOsmNode(OsmResponse osmResponse, Long nodeId) {
         Map<String, String> tags = osmResponse.getTags();
 
         // extract required fields
@@ -91,6 +235,8 @@ class OsmDataServiceImpl implements OsmDataService {
         Optional<String> nameDe = Optional.ofNullable(tags.get("name:de"));
         Optional<String> nameEn = Optional.ofNullable(tags.get("name:en"));
         Optional<String> description = Optional.ofNullable(tags.get("description"));
+        boolean hasLocation = osmResponse.getLat() != null && osmResponse.getLon() != null
+                && Math.abs(osmResponse.getLat()) <= 90 && Math.abs(osmResponse.getLon()) <= 180;
 
         // build and return the OsmNode
         return OsmNode.builder()
@@ -102,6 +248,8 @@ class OsmDataServiceImpl implements OsmDataService {
                 .houseNumber(houseNumber)
                 .postcode(postcode)
                 .description(description.orElse("n/a"))
+                .latitude(hasLocation ? osmResponse.getLat() : null)
+                .longitude(hasLocation ? osmResponse.getLon() : null)
                 .build();
     }
 
@@ -117,7 +265,7 @@ class OsmDataServiceImpl implements OsmDataService {
     private String getRequiredTag(Map<String, String> tags, String key, Long nodeId) {
         return Optional.ofNullable(tags.get(key))
                 .orElseThrow(() -> {
-                    log.warn("OSM node {} is missing required field: '{}'. Available tags: {}",
+                    log.debug("OSM node {} is missing required field: '{}'. Available tags: {}",
                             nodeId, key, tags.keySet());
                     return new MissingFieldException(OsmNode.class, nodeId, key);
                 });
@@ -1,95 +1,441 @@
 package de.seuhd.campuscoffee.data.impl;
 
+import de.seuhd.campuscoffee.data.cache.PosCache;
 import de.seuhd.campuscoffee.data.mapper.PosEntityMapper;
+import de.seuhd.campuscoffee.data.notification.DataChangePublisher;
 import de.seuhd.campuscoffee.data.persistence.PosEntity;
 import de.seuhd.campuscoffee.data.persistence.PosRepository;
+import de.seuhd.campuscoffee.data.persistence.PosSpecifications;
 import de.seuhd.campuscoffee.data.util.ConstraintViolationChecker;
+import de.seuhd.campuscoffee.domain.model.BoundingBox;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.DataChange;
+import de.seuhd.campuscoffee.domain.model.GeoPoint;
 import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosCollectionState;
+import de.seuhd.campuscoffee.domain.model.PosField;
+import de.seuhd.campuscoffee.domain.model.PosFilter;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import de.seuhd.campuscoffee.domain.model.Update;
+import de.seuhd.campuscoffee.domain.model.UpsertResult;
+import de.seuhd.campuscoffee.domain.model.UpsertStatus;
 import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.VersionMismatchException;
 import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the POS data service that the domain layer provides as a port.
  * This layer is responsible for data access and persistence.
  * Business logic should be in the service layer.
+ * Lookups by ID and name as well as the list of all POS are served from the {@link PosCache}.
+ * Writes are published via the {@link DataChangePublisher}, which invalidates the caches of all application instances.
  */
 @Service
 @RequiredArgsConstructor
 class PosDataServiceImpl implements PosDataService {
+    private static final Sort ORDER_BY_ID = Sort.by("id");
+    // bulk upserts that keep losing name races to concurrent transactions fail instead of retrying forever
+    private static final int MAX_UPSERT_ALL_ATTEMPTS = 3;
+
     private final PosRepository posRepository;
     private final PosEntityMapper posEntityMapper;
+    private final EntityManager entityManager;
+    private final PosCache posCache;
+    private final DataChangePublisher dataChangePublisher;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public void clear() {
-        posRepository.deleteAllInBatch();
+        posRepository.deleteAllWithTombstones();
         posRepository.flush();
-        posRepository.resetSequence(); // ensure consistent IDs after clearing (for local testing)
+        dataChangePublisher.publish(DataChange.all(DataChange.EntityType.POS));
+        // note: the POS sequence is not reset here because Hibernate's pooled optimizer still holds a block of
+        // reserved IDs in memory, which would collide with the IDs handed out after a restart of the sequence
     }
 
     @Override
     public @NonNull List<Pos> getAll() {
-        return posRepository.findAll().stream()
+        return posCache.getAll(() -> posRepository.findAll().stream()
+                .map(posEntityMapper::fromEntity)
+                .toList());
+    }
+
+    @Override
+    public @NonNull List<Pos> getAll(@NonNull PosFilter filter) {
+        return posRepository.findAll(PosSpecifications.matching(filter, null), ORDER_BY_ID).stream()
+                .map(posEntityMapper::fromEntity)
+                .toList();
+    }
+
+    @Override
+    public @NonNull List<Pos> getPage(@NonNull PosFilter filter, @Nullable Long afterId, int limit) {
+        return posRepository.findBy(PosSpecifications.matching(filter, afterId),
+                        query -> query.sortBy(ORDER_BY_ID).limit(limit).all())
+                .stream()
                 .map(posEntityMapper::fromEntity)
                 .toList();
     }
 
+    @Override
+    public @NonNull List<Map<String, Object>> getFields(@NonNull PosFilter filter, @NonNull Set<PosField> fields,
+                                                        @Nullable Long afterId, @Nullable Integer limit) {
+        // only the selected columns are read, the rows are converted without creating entities or POS objects
+        return posRepository.findAttributes(PosSpecifications.matching(filter, afterId),
+                        posEntityMapper.toAttributes(fields), limit)
+                .stream()
+                .map(tuple -> posEntityMapper.fromTuple(tuple, fields))
+                .toList();
+    }
+
+    @Override
+    public @NonNull List<Pos> search(@NonNull String query, long offset, int limit) {
+        return posRepository.search(query, offset, limit).stream()
+                .map(posEntityMapper::fromEntity)
+                .toList();
+    }
+
+    @Override
+    public @NonNull List<Pos> findNearby(@NonNull GeoPoint center, double radiusMeters, int limit) {
+        BoundingBox box = center.boundingBox(radiusMeters);
+        return posRepository.findNearby(center.latitude(), center.longitude(), radiusMeters,
+                        GeoPoint.EARTH_RADIUS_METERS, box.minLat(), box.maxLat(), box.minLon(), box.maxLon(), limit)
+                .stream()
+                .map(posEntityMapper::fromEntity)
+                .toList();
+    }
+
+    @Override
+    public @NonNull Map<CampusType, Map<PosType, Long>> countByCampusAndType() {
+        Map<CampusType, Map<PosType, Long>> counts = new EnumMap<>(CampusType.class);
+        for (PosRepository.CampusTypeCount count : posRepository.countByCampusAndType()) {
+            counts.computeIfAbsent(count.getCampus(), campus -> new EnumMap<>(PosType.class))
+                    .put(count.getType(), count.getCount());
+        }
+        return counts;
+    }
+
+    @Override
+    public @NonNull PosCollectionState getCollectionState() {
+        return posCache.getCollectionState(() -> {
+            PosRepository.CollectionState state = posRepository.getCollectionState();
+            return new PosCollectionState(state.getCount(), state.getLastUpdatedAt(), state.getLastModified(),
+                    state.getLastChangePosition(), state.getDigest());
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true) // the cursor of the stream is only kept open within a transaction
+    public void forEach(@NonNull Consumer<Pos> consumer) {
+        try (Stream<PosEntity> posEntities = posRepository.streamAllByOrderByIdAsc()) {
+            posEntities.forEach(posEntity -> {
+                Pos pos = posEntityMapper.fromEntity(posEntity);
+                // detach the entity so that the persistence context does not grow with every row
+                entityManager.detach(posEntity);
+                consumer.accept(pos);
+            });
+        }
+    }
+
     @Override
     public @NonNull Pos getByName(@NonNull String name) {
-        return posRepository.findByName(name)
+        return posCache.getByName(name, key -> posRepository.findByName(key)
                 .map(posEntityMapper::fromEntity)
-                .orElseThrow(() -> new NotFoundException(Pos.class, PosEntity.NAME_COLUMN, name));
+                .orElseThrow(() -> new NotFoundException(Pos.class, PosEntity.NAME_COLUMN, key)));
     }
 
     @Override
     public @NonNull Pos getById(@NonNull Long id) {
-        return posRepository.findById(id)
+        return posCache.getById(id, key -> posRepository.findById(key)
                 .map(posEntityMapper::fromEntity)
-                .orElseThrow(() -> new NotFoundException(Pos.class, id));
+                .orElseThrow(() -> new NotFoundException(Pos.class, key)));
+    }
+
+    @Override
+    public @NonNull Map<String, Pos> getByNames(@NonNull Collection<String> names) {
+        return posRepository.findAllByNameIn(names).stream()
+                .map(posEntityMapper::fromEntity)
+                .collect(Collectors.toMap(Pos::name, Function.identity()));
+    }
+
+    @Override
+    public @NonNull Map<Long, Pos> getByIds(@NonNull Collection<Long> ids) {
+        return posCache.getByIds(ids, missingIds -> posRepository.findAllByIdIn(missingIds.toArray(Long[]::new))
+                .stream()
+                .map(posEntityMapper::fromEntity)
+                .collect(Collectors.toMap(Pos::id, Function.identity())));
+    }
+
+    @Override
+    public long getChangePosition() {
+        return posRepository.getChangePosition();
+    }
+
+    @Override
+    public @NonNull List<Pos> getChangedSince(long position) {
+        return posRepository.findAllChangedSince(position).stream()
+                .map(posEntityMapper::fromEntity)
+                .toList();
+    }
+
+    @Override
+    public @NonNull List<Long> getDeletedSince(long position) {
+        return posRepository.findDeletedIdsSince(position);
+    }
+
+    @Override
+    public int purgeDeletedBefore(@NonNull LocalDateTime deletedBefore) {
+        return posRepository.purgeTombstones(deletedBefore);
+    }
+
+    @Override
+    public long getPurgeHorizon() {
+        return posRepository.getPurgeHorizon();
     }
 
     @Override
     public @NonNull Pos upsert(@NonNull Pos pos) {
+        if (pos.id() != null) {
+            return update(pos).updated();
+        }
         // map POS domain object to entity and save
         try {
-            if (pos.id() == null) {
-                // create new POS
-                return posEntityMapper.fromEntity(
-                        posRepository.saveAndFlush(posEntityMapper.toEntity(pos))
-                );
+            Pos createdPos = posEntityMapper.fromEntity(
+                    posRepository.saveAndFlush(posEntityMapper.toEntity(pos))
+            );
+            publishChange(List.of(createdPos.id()), List.of(createdPos.name()));
+            return createdPos;
+        } catch (DataIntegrityViolationException e) {
+            throw translateConstraintViolation(e, pos.name());
+        }
+    }
+
+    @Override
+    public @NonNull Update<Pos> update(@NonNull Pos pos) {
+        Objects.requireNonNull(pos.id(), "id is required");
+        Update<PosEntity> update;
+        try {
+            // a single statement checks the existence and version, updates the row, and returns the previous state
+            update = posRepository.updateReturningPrevious(posEntityMapper.toEntity(pos))
+                    .orElseThrow(() -> notFoundOrVersionMismatch(pos.id(), pos.version()));
+        } catch (DataIntegrityViolationException e) {
+            throw translateConstraintViolation(e, pos.name());
+        }
+        return toUpdate(update);
+    }
+
+    @Override
+    @Transactional // the changes are rolled back if the changed POS cannot be read
+    public @NonNull Update<Pos> patch(@NonNull Long id, @NonNull Map<PosField, Object> changes,
+                                      @Nullable Long version) {
+        Update<PosEntity> update;
+        try {
+            // only the changed columns are written; the statement returns the previous and the updated state
+            update = posRepository.patchReturningPrevious(id, posEntityMapper.toAttributeValues(changes), version)
+                    .orElseThrow(() -> notFoundOrVersionMismatch(id, version));
+        } catch (DataIntegrityViolationException e) {
+            throw translateConstraintViolation(e, (String) changes.get(PosField.NAME));
+        }
+        return toUpdate(update);
+    }
+
+    @Override
+    public @NonNull List<UpsertResult<Pos>> upsertAll(@NonNull List<Pos> posList) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return Objects.requireNonNull(transactionTemplate.execute(status -> upsertAllInTransaction(posList)));
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= MAX_UPSERT_ALL_ATTEMPTS
+                        || !ConstraintViolationChecker.isConstraintViolation(e, PosEntity.NAME_CONSTRAINT)) {
+                    throw translateConstraintViolation(e, posList.stream()
+                            .map(Pos::name)
+                            .collect(Collectors.joining("', '")));
+                }
+                // a concurrent transaction used one of the names after we checked them; the names are checked again
+                // in a new transaction, so the affected POS are reported as duplicates
             }
+        }
+    }
 
-            // update existing POS
-            PosEntity posEntity = posRepository.findById(pos.id())
-                    .orElseThrow(() -> new NotFoundException(Pos.class, pos.id()));
+    /**
+     * Creates or updates multiple POS within the current transaction (see {@link #upsertAll(List)}).
+     *
+     * @param posList the POS to create or update
+     * @return one result per POS in the same order as the input
+     * @throws DataIntegrityViolationException if a concurrent transaction used one of the names in the meantime
+     */
+    private List<UpsertResult<Pos>> upsertAllInTransaction(List<Pos> posList) {
+        // load the POS to update and the current owners of all names with one query each
+        Map<Long, PosEntity> existingEntities = posRepository.findAllById(
+                        posList.stream().map(Pos::id).filter(Objects::nonNull).collect(Collectors.toSet())
+                ).stream()
+                .collect(Collectors.toMap(PosEntity::getId, Function.identity()));
+        // a name is owned by the ID of an existing POS or by the entity of a POS created in this batch
+        Map<String, Object> nameOwners = posRepository.findAllByNameIn(
+                        posList.stream().map(Pos::name).collect(Collectors.toSet())
+                ).stream()
+                .collect(Collectors.toMap(PosEntity::getName, PosEntity::getId));
 
-            // use mapper to update entity fields automatically
-            // note: timestamps are managed by JPA lifecycle callbacks (@PreUpdate)
-            posEntityMapper.updateEntity(pos, posEntity);
+        // the old names of updated POS are part of the change as well
+        Set<String> writtenNames = new HashSet<>();
+        existingEntities.values().forEach(posEntity -> writtenNames.add(posEntity.getName()));
 
-            return posEntityMapper.fromEntity(posRepository.saveAndFlush(posEntity));
-        } catch (DataIntegrityViolationException e) {
-            // translate database constraint violations to domain exceptions
-            // this is the adapter's responsibility in hexagonal architecture
-            if (ConstraintViolationChecker.isConstraintViolation(e, PosEntity.NAME_CONSTRAINT)) {
-                throw new DuplicationException(Pos.class, PosEntity.NAME_COLUMN, pos.name());
+        List<PendingUpsert> pendingUpserts = new ArrayList<>(posList.size());
+        List<PosEntity> newEntities = new ArrayList<>();
+        for (Pos pos : posList) {
+            Object nameOwner = nameOwners.get(pos.name());
+            if (pos.id() != null && !existingEntities.containsKey(pos.id())) {
+                pendingUpserts.add(PendingUpsert.rejected(UpsertStatus.NOT_FOUND,
+                        new NotFoundException(Pos.class, pos.id())));
+            } else if (nameOwner != null && !nameOwner.equals(pos.id())) {
+                pendingUpserts.add(PendingUpsert.rejected(UpsertStatus.DUPLICATE,
+                        new DuplicationException(Pos.class, PosEntity.NAME_COLUMN, pos.name())));
+            } else if (pos.id() == null) {
+                PosEntity posEntity = posEntityMapper.toEntity(pos);
+                nameOwners.put(pos.name(), posEntity);
+                newEntities.add(posEntity);
+                pendingUpserts.add(new PendingUpsert(UpsertStatus.CREATED, posEntity, null, null));
+            } else {
+                PosEntity posEntity = existingEntities.get(pos.id());
+                Pos previousPos = posEntityMapper.fromEntity(posEntity);
+                // the old name stays reserved for this POS: the flush may write the statement that reuses it
+                // (e.g., the insert of a new POS) before the update that frees it, which violates the unique name
+                posEntityMapper.updateEntity(pos, posEntity);
+                nameOwners.put(pos.name(), posEntity.getId());
+                // dirty checking skips the statement for an entity without changes, so its timestamp is kept as well
+                pendingUpserts.add(new PendingUpsert(posEntityMapper.fromEntity(posEntity).equals(previousPos)
+                        ? UpsertStatus.UNCHANGED : UpsertStatus.UPDATED, posEntity, null, previousPos));
             }
-            // re-throw if it's a different constraint violation
-            throw e;
         }
+
+        // IDs come from the pooled sequence and the statements are sent in JDBC batches on flush
+        posRepository.saveAll(newEntities);
+        posRepository.flush();
+
+        List<Long> writtenIds = new ArrayList<>();
+        for (PendingUpsert pendingUpsert : pendingUpserts) {
+            if (pendingUpsert.entity() != null && pendingUpsert.status() != UpsertStatus.UNCHANGED) {
+                writtenIds.add(pendingUpsert.entity().getId());
+                writtenNames.add(pendingUpsert.entity().getName());
+            }
+        }
+        if (!writtenIds.isEmpty()) {
+            publishChange(writtenIds, writtenNames);
+        }
+
+        return pendingUpserts.stream()
+                .map(this::toUpsertResult)
+                .toList();
     }
 
     @Override
-    public void delete(@NonNull Long id) {
-        if (!posRepository.existsById(id)) {
-            throw new NotFoundException(Pos.class, id);
+    public @NonNull Pos delete(@NonNull Long id, @Nullable Long version) {
+        Pos deletedPos = posRepository.deleteReturning(id, version)
+                .map(posEntityMapper::fromEntity)
+                .orElseThrow(() -> notFoundOrVersionMismatch(id, version));
+        publishChange(List.of(id), List.of(deletedPos.name()));
+        return deletedPos;
+    }
+
+    /**
+     * Maps an update to domain objects and publishes it unless nothing was written.
+     *
+     * @param update the previous and the updated state of the entity
+     * @return the previous and the updated state of the POS
+     */
+    private Update<Pos> toUpdate(Update<PosEntity> update) {
+        Pos previousPos = posEntityMapper.fromEntity(update.previous());
+        if (update.isUnchanged()) {
+            return Update.unchanged(previousPos);
+        }
+        Pos updatedPos = posEntityMapper.fromEntity(update.updated());
+        publishChange(List.of(updatedPos.id()), List.of(previousPos.name(), updatedPos.name()));
+        return new Update<>(previousPos, updatedPos);
+    }
+
+    private void publishChange(Collection<Long> ids, Collection<String> names) {
+        dataChangePublisher.publish(DataChange.of(DataChange.EntityType.POS, ids, names));
+    }
+
+    /**
+     * Determines why a conditional write did not affect any row; only queried after the write failed.
+     *
+     * @param id      the ID of the POS that was written
+     * @param version the expected version; null if the write was unconditional
+     * @return the exception to throw
+     */
+    private RuntimeException notFoundOrVersionMismatch(Long id, @Nullable Long version) {
+        if (version != null && posRepository.existsById(id)) {
+            return new VersionMismatchException(Pos.class, id, version);
+        }
+        return new NotFoundException(Pos.class, id);
+    }
+
+    /**
+     * Translates database constraint violations to domain exceptions.
+     * This is the adapter's responsibility in hexagonal architecture.
+     *
+     * @param exception the constraint violation
+     * @param name      the name of the POS that was written
+     * @return the domain exception, or the original exception if it is not caused by a known constraint
+     */
+    private RuntimeException translateConstraintViolation(DataIntegrityViolationException exception,
+                                                          @Nullable String name) {
+        if (ConstraintViolationChecker.isConstraintViolation(exception, PosEntity.NAME_CONSTRAINT)) {
+            return new DuplicationException(Pos.class, PosEntity.NAME_COLUMN, name);
+        }
+        if (ConstraintViolationChecker.isConstraintViolation(exception, PosEntity.LOCATION_CONSTRAINT)) {
+            // e.g., a patch of one coordinate of a POS without location
+            return new IllegalArgumentException("Latitude and longitude must be provided together.", exception);
+        }
+        return exception;
+    }
+
+    private UpsertResult<Pos> toUpsertResult(PendingUpsert pendingUpsert) {
+        if (pendingUpsert.entity() == null) {
+            return new UpsertResult<>(pendingUpsert.status(), null, pendingUpsert.message());
+        }
+        Pos pos = posEntityMapper.fromEntity(pendingUpsert.entity());
+        return pendingUpsert.status() == UpsertStatus.UPDATED && pendingUpsert.previous() != null
+                ? UpsertResult.updated(pendingUpsert.previous(), pos)
+                : UpsertResult.persisted(pendingUpsert.status(), pos);
+    }
+
+    /**
+     * Outcome of a single upsert of a bulk operation before the changes have been flushed.
+     *
+     * @param status   the outcome of the upsert
+     * @param entity   the new or updated entity; null if the POS was rejected
+     * @param message  the reason for the rejection; null if the POS was accepted
+     * @param previous the POS before the update; null unless an existing POS was upserted
+     */
+    private record PendingUpsert(UpsertStatus status, @Nullable PosEntity entity, @Nullable String message,
+                                 @Nullable Pos previous) {
+        static PendingUpsert rejected(UpsertStatus status, RuntimeException reason) {
+            return new PendingUpsert(status, null, reason.getMessage(), null);
         }
-        posRepository.deleteById(id);
     }
 }
@@ -1,24 +1,33 @@
 package de.seuhd.campuscoffee.data.impl;
 
 import de.seuhd.campuscoffee.data.mapper.UserEntityMapper;
+import de.seuhd.campuscoffee.data.notification.DataChangePublisher;
 import de.seuhd.campuscoffee.data.persistence.UserEntity;
 import de.seuhd.campuscoffee.data.persistence.UserRepository;
 import de.seuhd.campuscoffee.data.util.ConstraintViolationChecker;
 import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.VersionMismatchException;
+import de.seuhd.campuscoffee.domain.model.DataChange;
+import de.seuhd.campuscoffee.domain.model.Update;
 import de.seuhd.campuscoffee.domain.model.User;
+import de.seuhd.campuscoffee.domain.model.UserField;
 import de.seuhd.campuscoffee.domain.ports.UserDataService;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Implementation of the user data service that the domain layer provides as a port.
  * This layer is responsible for data access and persistence.
  * Business logic should be in the service layer.
+ * Writes are published via the {@link DataChangePublisher}.
  */
 @Service
 @RequiredArgsConstructor
@@ -28,12 +37,14 @@ class UserDataServiceImpl implements UserDataService {
 
     private final UserRepository userRepository;
     private final UserEntityMapper userEntityMapper;
+    private final DataChangePublisher dataChangePublisher;
 
     @Override
     public void clear() {
         userRepository.deleteAllInBatch();
         userRepository.flush();
         userRepository.resetSequence(); // ensure consistent IDs after clearing (for local testing)
+        dataChangePublisher.publish(DataChange.all(DataChange.EntityType.USER));
     }
 
     @Override
@@ -63,41 +74,105 @@ class UserDataServiceImpl implements UserDataService {
     @Override
     @NonNull
     public User upsert(@NonNull User user) {
+        if (user.id() != null) {
+            return update(user).updated();
+        }
         // map User domain object to entity and save
         try {
-            if (user.id() == null) {
-                // Create a new user
-                return userEntityMapper.fromEntity(
-                        userRepository.saveAndFlush(userEntityMapper.toEntity(user))
-                );
-            }
-
-            // update an existing user
-            UserEntity userEntity = userRepository.findById(user.id())
-                    .orElseThrow(() -> new NotFoundException(User.class, user.id()));
+            User createdUser = userEntityMapper.fromEntity(
+                    userRepository.saveAndFlush(userEntityMapper.toEntity(user))
+            );
+            publishChange(createdUser.id(), List.of(createdUser.loginName()));
+            return createdUser;
+        } catch (DataIntegrityViolationException e) {
+            throw translateConstraintViolation(e, user.loginName(), user.emailAddress());
+        }
+    }
 
-            // update entity with data from domain model
-            userEntityMapper.updateEntity(user, userEntity);
+    @Override
+    @NonNull
+    public Update<User> update(@NonNull User user) {
+        Objects.requireNonNull(user.id(), "id is required");
+        try {
+            // a single statement checks the existence and version, updates the row, and returns the previous state
+            return toUpdate(userRepository.updateReturningPrevious(userEntityMapper.toEntity(user))
+                    .orElseThrow(() -> notFoundOrVersionMismatch(user.id(), user.version())));
+        } catch (DataIntegrityViolationException e) {
+            throw translateConstraintViolation(e, user.loginName(), user.emailAddress());
+        }
+    }
 
-            return userEntityMapper.fromEntity(userRepository.saveAndFlush(userEntity));
+    @Override
+    @NonNull
+    public Update<User> patch(@NonNull Long id, @NonNull Map<UserField, Object> changes, @Nullable Long version) {
+        try {
+            // only the changed columns are written; the statement returns the previous and the updated state
+            return toUpdate(userRepository.patchReturningPrevious(
+                            id, userEntityMapper.toAttributeValues(changes), version)
+                    .orElseThrow(() -> notFoundOrVersionMismatch(id, version)));
         } catch (DataIntegrityViolationException e) {
-            // translate database constraint violations to domain exceptions
-            // this is the adapter's responsibility in hexagonal architecture
-            if (ConstraintViolationChecker.isConstraintViolation(e, UserEntity.LOGIN_NAME_CONSTRAINT)) {
-                throw new DuplicationException(User.class, UserEntity.LOGIN_NAME_COLUMN, user.loginName());
-            } else if (ConstraintViolationChecker.isConstraintViolation(e, UserEntity.EMAIL_ADDRESS_CONSTRAINT)) {
-                throw new DuplicationException(User.class, UserEntity.EMAIL_ADDRESS_COLUMN, user.emailAddress());
-            }
-            // re-throw if it's a different constraint violation
-            throw e;
+            throw translateConstraintViolation(e, (String) changes.get(UserField.LOGIN_NAME),
+                    (String) changes.get(UserField.EMAIL_ADDRESS));
         }
     }
 
     @Override
-    public void delete(@NonNull Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new NotFoundException(User.class, id);
+    public void delete(@NonNull Long id, @Nullable Long version) {
+        UserEntity userEntity = userRepository.deleteReturning(id, version)
+                .orElseThrow(() -> notFoundOrVersionMismatch(id, version));
+        publishChange(id, List.of(userEntity.getLoginName()));
+    }
+
+    /**
+     * Maps an update to domain objects and publishes it unless nothing was written.
+     *
+     * @param update the previous and the updated state of the entity
+     * @return the previous and the updated state of the user
+     */
+    private Update<User> toUpdate(Update<UserEntity> update) {
+        User previousUser = userEntityMapper.fromEntity(update.previous());
+        if (update.isUnchanged()) {
+            return Update.unchanged(previousUser);
+        }
+        User updatedUser = userEntityMapper.fromEntity(update.updated());
+        publishChange(updatedUser.id(), List.of(previousUser.loginName(), updatedUser.loginName()));
+        return new Update<>(previousUser, updatedUser);
+    }
+
+    private void publishChange(Long id, List<String> loginNames) {
+        dataChangePublisher.publish(DataChange.of(DataChange.EntityType.USER, List.of(id), loginNames));
+    }
+
+    /**
+     * Translates database constraint violations to domain exceptions.
+     * This is the adapter's responsibility in hexagonal architecture.
+     *
+     * @param exception    the constraint violation
+     * @param loginName    the login name that was written
+     * @param emailAddress the email address that was written
+     * @return the domain exception, or the original exception if it is not caused by a known constraint
+     */
+    private RuntimeException translateConstraintViolation(DataIntegrityViolationException exception,
+                                                          @Nullable String loginName, @Nullable String emailAddress) {
+        if (ConstraintViolationChecker.isConstraintViolation(exception, UserEntity.LOGIN_NAME_CONSTRAINT)) {
+            return new DuplicationException(User.class, UserEntity.LOGIN_NAME_COLUMN, loginName);
+        } else if (ConstraintViolationChecker.isConstraintViolation(exception, UserEntity.EMAIL_ADDRESS_CONSTRAINT)) {
+            return new DuplicationException(User.class, UserEntity.EMAIL_ADDRESS_COLUMN, emailAddress);
+        }
+        return exception;
+    }
+
+    /**
+     * Determines why a conditional write did not affect any row; only queried after the write failed.
+     *
+     * @param id      the ID of the user that was written
+     * @param version the expected version; null if the write was unconditional
+     * @return the exception to throw
+     */
+    private RuntimeException notFoundOrVersionMismatch(Long id, @Nullable Long version) {
+        if (version != null && userRepository.existsById(id)) {
+            return new VersionMismatchException(User.class, id, version);
         }
-        userRepository.deleteById(id);
+        return new NotFoundException(User.class, id);
     }
 }
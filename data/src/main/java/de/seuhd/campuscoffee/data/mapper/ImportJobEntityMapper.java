@@ -0,0 +1,33 @@
+package de.seuhd.campuscoffee.data.mapper;
+
+import de.seuhd.campuscoffee.data.persistence.ImportJobEntity;
+import de.seuhd.campuscoffee.domain.model.ImportJob;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+
+/**
+ * MapStruct mapper for converting between the {@link ImportJob} domain model and the {@link ImportJobEntity}
+ * persistence entity.
+ */
+@Mapper(componentModel = "spring")
+@ConditionalOnMissingBean // prevent IntelliJ warning about duplicate beans
+public interface ImportJobEntityMapper {
+    ImportJob fromEntity(ImportJobEntity source);
+
+    @Mapping(target = "updatedAt", ignore = true)
+    ImportJobEntity toEntity(ImportJob source);
+
+    /**
+     * Updates an existing JPA entity with the state of the job.
+     * JPA-managed fields (id, createdAt, updatedAt) are preserved and not overwritten.
+     *
+     * @param source the new state of the job; must not be null
+     * @param target the existing JPA entity to update; must not be null
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    void updateEntity(ImportJob source, @MappingTarget ImportJobEntity target);
+}
@@ -3,9 +3,18 @@ package de.seuhd.campuscoffee.data.mapper;
 import de.seuhd.campuscoffee.data.persistence.AddressEntity;
 import de.seuhd.campuscoffee.data.persistence.PosEntity;
 import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosField;
+import jakarta.persistence.Tuple;
 import org.mapstruct.*;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * MapStruct mapper for converting between domain models and JPA entities.
  * This mapper handles the translation between the {@link Pos} domain model and the
@@ -15,7 +24,8 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
  * <ul>
  *   <li>Maps flat address fields from domain to embedded AddressEntity in JPA entity</li>
  *   <li>Handles house number parsing: splits "21a" into numeric (21) and suffix ('a') parts</li>
- *   <li>Provides update functionality that preserves JPA-managed fields (id, timestamps)</li>
+ *   <li>Provides update functionality that preserves JPA-managed fields (id, timestamps, version)</li>
+ *   <li>Maps selected fields of the domain model to entity attributes and back (sparse fieldsets)</li>
  * </ul>
  * <p>
  * This is part of the data layer adapter in the hexagonal architecture, enabling the
@@ -54,7 +64,7 @@ public interface PosEntityMapper {
     /**
      * Updates an existing JPA entity with data from the domain model.
      * This method is intended for update operations where the entity already exists.
-     * JPA-managed fields (id, createdAt, updatedAt) are preserved and not overwritten.
+     * JPA-managed fields (id, createdAt, updatedAt, version) are preserved and not overwritten.
      * The address is updated in place rather than being replaced, preserving the entity relationship.
      *
      * @param source the domain model containing the new data; must not be null
@@ -63,6 +73,7 @@ public interface PosEntityMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "address", expression = "java(splitHouseNumber(source, target.getAddress()))")
     void updateEntity(Pos source, @MappingTarget PosEntity target);
 
@@ -82,14 +93,97 @@ public interface PosEntityMapper {
      */
     @SuppressWarnings("unused")
     default String mergeHouseNumber(PosEntity source) {
-        if (source.getAddress() == null || source.getAddress().getHouseNumber() == null) {
+        if (source.getAddress() == null) {
+            return null;
+        }
+        return mergeHouseNumber(source.getAddress().getHouseNumber(), source.getAddress().getHouseNumberSuffix());
+    }
+
+    /**
+     * Merges a numeric house number and its suffix into a single string (see {@link #mergeHouseNumber(PosEntity)}).
+     *
+     * @param houseNumber the numeric house number; may be null
+     * @param suffix      the suffix; may be null
+     * @return the merged house number string, or null if there is no house number
+     */
+    default String mergeHouseNumber(Integer houseNumber, Character suffix) {
+        if (houseNumber == null) {
             return null;
         }
-        String houseNumberWithSuffix = source.getAddress().getHouseNumber().toString();
-        if (source.getAddress().getHouseNumberSuffix() != null) {
-            houseNumberWithSuffix += source.getAddress().getHouseNumberSuffix();
+        return suffix == null ? houseNumber.toString() : houseNumber.toString() + suffix;
+    }
+
+    /**
+     * Determines the entity attributes that hold the given fields of the domain model.
+     * Most fields map to a single attribute; the house number is stored as a number and a suffix.
+     *
+     * @param fields the fields of the domain model
+     * @return the attribute paths (e.g., {@code address.city}) in the order of {@link PosField}
+     */
+    default List<String> toAttributes(Set<PosField> fields) {
+        List<String> attributes = new ArrayList<>();
+        for (PosField field : EnumSet.copyOf(fields)) {
+            switch (field) {
+                case STREET, POSTAL_CODE, CITY -> attributes.add("address." + field.fieldName());
+                case HOUSE_NUMBER -> {
+                    attributes.add("address.houseNumber");
+                    attributes.add("address.houseNumberSuffix");
+                }
+                default -> attributes.add(field.fieldName());
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * Converts changed fields of the domain model to the entity attributes that store them.
+     * House numbers are split as in {@link #toEntity(Pos)}.
+     *
+     * @param values the new values of the changed fields
+     * @return the new values keyed by attribute path (e.g., {@code address.houseNumber}) in the order of
+     *         {@link PosField}
+     */
+    default Map<String, Object> toAttributeValues(Map<PosField, Object> values) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        for (PosField field : PosField.values()) {
+            if (!values.containsKey(field)) {
+                continue;
+            }
+            Object value = values.get(field);
+            switch (field) {
+                case STREET, POSTAL_CODE, CITY -> attributes.put("address." + field.fieldName(), value);
+                case HOUSE_NUMBER -> {
+                    AddressEntity address = splitHouseNumber((String) value, new AddressEntity());
+                    attributes.put("address.houseNumber", address.getHouseNumber());
+                    attributes.put("address.houseNumberSuffix", address.getHouseNumberSuffix());
+                }
+                default -> attributes.put(field.fieldName(), value);
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * Converts a row with the attributes selected via {@link #toAttributes(Set)} to a map of domain field values.
+     * House numbers are merged as in {@link #fromEntity(PosEntity)}.
+     *
+     * @param source the row whose elements are aliased with their attribute paths
+     * @param fields the fields that were selected
+     * @return the values keyed by {@link PosField#fieldName()} in the order of {@link PosField}
+     */
+    default Map<String, Object> fromTuple(Tuple source, Set<PosField> fields) {
+        Map<String, Object> values = LinkedHashMap.newLinkedHashMap(fields.size());
+        for (PosField field : EnumSet.copyOf(fields)) {
+            Object value = switch (field) {
+                case STREET, POSTAL_CODE, CITY -> source.get("address." + field.fieldName());
+                case HOUSE_NUMBER -> mergeHouseNumber(
+                        source.get("address.houseNumber", Integer.class),
+                        source.get("address.houseNumberSuffix", Character.class));
+                default -> source.get(field.fieldName());
+            };
+            values.put(field.fieldName(), value);
         }
-        return houseNumberWithSuffix;
+        return values;
     }
 
     /**
@@ -111,13 +205,23 @@ public interface PosEntityMapper {
         addressEntity.setStreet(source.street());
         addressEntity.setCity(source.city());
         addressEntity.setPostalCode(source.postalCode());
+        return splitHouseNumber(source.houseNumber(), addressEntity);
+    }
 
-        // Parse house number and suffix
-        if (source.houseNumber().isEmpty()) {
+    /**
+     * Parses a house number string into the numeric and suffix parts of the address (e.g., "21a" into 21 and 'a').
+     *
+     * @param houseNumber the house number including the suffix; must not be null
+     * @param addressEntity the AddressEntity to populate; must not be null
+     * @return the populated AddressEntity
+     */
+    @SuppressWarnings("unused")
+    default AddressEntity splitHouseNumber(String houseNumber, AddressEntity addressEntity) {
+        if (houseNumber.isEmpty()) {
             return addressEntity;
         }
-        String numericPart = source.houseNumber().replaceAll("[^0-9]", "");
-        String suffixPart = source.houseNumber().replaceAll("[0-9]", "");
+        String numericPart = houseNumber.replaceAll("[^0-9]", "");
+        String suffixPart = houseNumber.replaceAll("[0-9]", "");
         if (!numericPart.isEmpty()) {
             addressEntity.setHouseNumber(Integer.parseInt(numericPart));
         } else {
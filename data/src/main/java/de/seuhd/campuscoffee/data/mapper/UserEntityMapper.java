@@ -2,11 +2,15 @@ package de.seuhd.campuscoffee.data.mapper;
 
 import de.seuhd.campuscoffee.data.persistence.UserEntity;
 import de.seuhd.campuscoffee.domain.model.User;
+import de.seuhd.campuscoffee.domain.model.UserField;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * MapStruct mapper for converting between domain models and JPA entities.
  * This mapper handles the translation between the {@link User} domain model and the
@@ -24,7 +28,7 @@ public interface UserEntityMapper {
     /**
      * Updates an existing JPA entity with data from the domain model.
      * This method is intended for update operations where the entity already exists.
-     * JPA-managed fields (id, createdAt, updatedAt) are preserved and not overwritten.
+     * JPA-managed fields (id, createdAt, updatedAt, version) are preserved and not overwritten.
      *
      * @param source the domain model containing the new data; must not be null
      * @param target the existing JPA entity to update; must not be null
@@ -32,5 +36,22 @@ public interface UserEntityMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateEntity(User source, @MappingTarget UserEntity target);
+
+    /**
+     * Converts changed fields of the domain model to the entity attributes that store them.
+     *
+     * @param values the new values of the changed fields
+     * @return the new values keyed by attribute name in the order of {@link UserField}
+     */
+    default Map<String, Object> toAttributeValues(Map<UserField, Object> values) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        for (UserField field : UserField.values()) {
+            if (values.containsKey(field)) {
+                attributes.put(field.fieldName(), values.get(field)); // the attributes have the same names
+            }
+        }
+        return attributes;
+    }
 }
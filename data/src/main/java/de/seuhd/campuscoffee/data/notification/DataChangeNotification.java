@@ -0,0 +1,11 @@
+package de.seuhd.campuscoffee.data.notification;
+
+import de.seuhd.campuscoffee.domain.model.DataChange;
+
+/**
+ * Payload of a Postgres notification about a data change.
+ *
+ * @param origin the ID of the application instance that made the change
+ * @param change the change
+ */
+record DataChangeNotification(String origin, DataChange change) {}
@@ -0,0 +1,23 @@
+package de.seuhd.campuscoffee.data.notification;
+
+import jakarta.validation.constraints.Pattern;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for exchanging data changes between application instances via Postgres LISTEN/NOTIFY.
+ *
+ * @param enabled        whether changes are sent to and received from other instances
+ * @param channel        the name of the notification channel shared by all instances
+ * @param reconnectDelay how long to wait before listening again after the connection was lost
+ */
+@Validated
+@ConfigurationProperties(prefix = "data.changes")
+public record DataChangeProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("campus_coffee_changes") @Pattern(regexp = "[a-z_][a-z0-9_]*") String channel,
+        @DefaultValue("5s") Duration reconnectDelay
+) {}
@@ -0,0 +1,114 @@
+package de.seuhd.campuscoffee.data.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.seuhd.campuscoffee.domain.model.DataChange;
+import de.seuhd.campuscoffee.domain.ports.DataChangeListener;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Publishes data changes to the {@link DataChangeListener}s of this and of all other application instances.
+ * Local listeners are called after the current transaction completed. Other instances are notified via
+ * Postgres {@code NOTIFY}, which is part of the transaction: the notification is only delivered on commit.
+ */
+@Slf4j
+@Component
+public class DataChangePublisher {
+    // Postgres rejects payloads of 8000 bytes or more
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private final String origin = UUID.randomUUID().toString();
+    private final DataChangeProperties properties;
+    private final JdbcClient jdbcClient;
+    private final ObjectMapper objectMapper;
+    // resolved lazily, since listeners may depend on the data services that publish changes
+    private final ObjectProvider<DataChangeListener> listeners;
+
+    public DataChangePublisher(DataChangeProperties properties, JdbcClient jdbcClient, ObjectMapper objectMapper,
+                               ObjectProvider<DataChangeListener> listeners) {
+        this.properties = properties;
+        this.jdbcClient = jdbcClient;
+        this.objectMapper = objectMapper;
+        this.listeners = listeners;
+    }
+
+    /**
+     * Publishes a change made by this application instance.
+     *
+     * @param change the change
+     */
+    public void publish(@NonNull DataChange change) {
+        if (properties.enabled()) {
+            jdbcClient.sql("SELECT pg_notify(:channel, :payload)")
+                    .param("channel", properties.channel())
+                    .param("payload", toPayload(change))
+                    .query(resultSet -> {}); // pg_notify returns void
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    // also after a rollback, since listeners must not keep data read from the rolled back state
+                    if (status == STATUS_ROLLED_BACK) {
+                        dispatch(change, listener -> listener.onRollback(change));
+                    } else {
+                        dispatch(change);
+                    }
+                }
+            });
+        } else {
+            dispatch(change);
+        }
+    }
+
+    /**
+     * Calls all local listeners.
+     *
+     * @param change the change
+     */
+    void dispatch(@NonNull DataChange change) {
+        dispatch(change, listener -> listener.onDataChange(change));
+    }
+
+    private void dispatch(DataChange change, Consumer<DataChangeListener> callback) {
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                callback.accept(listener);
+            } catch (RuntimeException e) {
+                log.error("Data change listener {} failed for {}", listener.getClass().getSimpleName(), change, e);
+            }
+        });
+    }
+
+    /**
+     * @return the ID of this application instance, used to skip notifications about its own changes
+     */
+    String getOrigin() {
+        return origin;
+    }
+
+    private String toPayload(DataChange change) {
+        try {
+            String payload = objectMapper.writeValueAsString(new DataChangeNotification(origin, change));
+            if (payload.getBytes(StandardCharsets.UTF_8).length <= MAX_PAYLOAD_BYTES) {
+                return payload;
+            }
+            // too many entities for a single notification, let other instances discard everything of this type
+            return objectMapper.writeValueAsString(
+                    new DataChangeNotification(origin, DataChange.all(change.entityType())));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize data change " + change + ".", e);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package de.seuhd.campuscoffee.data.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.seuhd.campuscoffee.domain.model.DataChange;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+/**
+ * Listens for data changes made by other application instances and passes them to the local listeners.
+ * The subscriber keeps one database connection open on a dedicated thread. The connection is opened outside the
+ * connection pool, so it does not reduce the pool size, and closing it ends the session including the subscription.
+ * Notifications sent while the connection is down are lost, so after (re)connecting, the local listeners are told
+ * that all entities may have changed.
+ */
+@Slf4j
+@Component
+public class DataChangeSubscriber implements SmartLifecycle {
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+    // identifies the connection in pg_stat_activity
+    private static final String APPLICATION_NAME = "campus-coffee-data-changes";
+
+    private final DataChangeProperties properties;
+    private final DataSourceProperties dataSourceProperties;
+    private final DataChangePublisher dataChangePublisher;
+    private final ObjectMapper objectMapper;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public DataChangeSubscriber(DataChangeProperties properties, DataSourceProperties dataSourceProperties,
+                                DataChangePublisher dataChangePublisher, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.dataSourceProperties = dataSourceProperties;
+        this.dataChangePublisher = dataChangePublisher;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!properties.enabled() || running) {
+            return;
+        }
+        running = true;
+        thread = Thread.ofPlatform().name("data-change-subscriber").daemon().start(this::run);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(POLL_TIMEOUT_MILLIS * 2L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection connection = openConnection()) {
+                listen(connection);
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Lost connection for data change notifications, reconnecting in {}: {}",
+                        properties.reconnectDelay(), e.getMessage());
+                try {
+                    Thread.sleep(properties.reconnectDelay());
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens a connection that is not managed by the connection pool, using the same database and credentials.
+     *
+     * @return the new connection
+     * @throws SQLException if the database cannot be reached
+     */
+    private Connection openConnection() throws SQLException {
+        Properties connectionProperties = new Properties();
+        String username = dataSourceProperties.determineUsername();
+        if (username != null) {
+            connectionProperties.setProperty("user", username);
+        }
+        String password = dataSourceProperties.determinePassword();
+        if (password != null) {
+            connectionProperties.setProperty("password", password);
+        }
+        connectionProperties.setProperty("ApplicationName", APPLICATION_NAME);
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), connectionProperties);
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + properties.channel()); // channel name is validated as an identifier
+        }
+        log.info("Listening for data changes of other instances on channel '{}'", properties.channel());
+
+        // changes may have been missed while not listening
+        for (DataChange.EntityType entityType : DataChange.EntityType.values()) {
+            dataChangePublisher.dispatch(DataChange.all(entityType));
+        }
+
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+            if (notifications == null) {
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                handle(notification.getParameter());
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        DataChangeNotification notification;
+        try {
+            notification = objectMapper.readValue(payload, DataChangeNotification.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed data change notification: {}", payload);
+            return;
+        }
+        if (dataChangePublisher.getOrigin().equals(notification.origin())) {
+            return; // local listeners were already called by the publisher
+        }
+        log.debug("Received data change from instance {}: {}", notification.origin(), notification.change());
+        dataChangePublisher.dispatch(notification.change());
+    }
+}
@@ -0,0 +1,84 @@
+package de.seuhd.campuscoffee.data.persistence;
+
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.ImportJobStatus;
+import de.seuhd.campuscoffee.domain.model.OsmImportResult;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Database entity for the state of an asynchronous OSM import job.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "import_jobs")
+public class ImportJobEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_job_sequence_generator")
+    @SequenceGenerator(name = "import_job_sequence_generator", sequenceName = "import_job_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    /**
+     * Set on every change of the job; unfinished jobs that are not updated for a while were abandoned.
+     */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Enumerated(EnumType.STRING)
+    private ImportJobStatus status;
+
+    @Enumerated(EnumType.STRING)
+    private CampusType campus;
+
+    @Column(name = "total_nodes")
+    private Integer totalNodes;
+
+    @Column(name = "processed_nodes")
+    private Integer processedNodes;
+
+    /**
+     * The results including the imported POS are stored as a JSON array, since they are only read as a whole.
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    private List<OsmImportResult> results;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    private String message;
+
+    /**
+     * JPA lifecycle callback: set timestamps before persisting a new entity.
+     * This ensures timestamps reflect actual database operation time.
+     */
+    @PrePersist
+    protected void onCreate() {
+        LocalDateTime now = LocalDateTime.now(ZoneId.of("UTC"));
+        createdAt = now;
+        updatedAt = now;
+    }
+
+    /**
+     * JPA lifecycle callback: update the timestamp before updating an entity.
+     * This ensures timestamps reflect actual database operation time.
+     */
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now(ZoneId.of("UTC"));
+    }
+}
@@ -0,0 +1,26 @@
+package de.seuhd.campuscoffee.data.persistence;
+
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository for persisting the state of import jobs.
+ */
+public interface ImportJobRepository extends JpaRepository<ImportJobEntity, Long> {
+    /**
+     * Deletes the jobs that finished before the threshold and the unfinished jobs not updated since then.
+     *
+     * @param threshold the time (UTC) before which jobs expire
+     * @return the number of deleted jobs
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ImportJobEntity j WHERE j.finishedAt < :threshold " +
+            "OR (j.finishedAt IS NULL AND j.updatedAt < :threshold)")
+    int deleteExpired(@Param("threshold") LocalDateTime threshold);
+}
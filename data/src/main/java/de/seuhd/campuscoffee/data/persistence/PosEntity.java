@@ -23,10 +23,16 @@ import java.time.ZoneId;
 public class PosEntity {
     public static final String NAME_COLUMN = "name";
     public static final String NAME_CONSTRAINT = "pos_name_key";
+    public static final String LOCATION_CONSTRAINT = "pos_location_check";
+    /**
+     * Number of IDs reserved per sequence call; must match the increment of {@code pos_seq} (see V3 migration).
+     * Hibernate's pooled optimizer hands out the reserved IDs without further round trips.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pos_sequence_generator")
-    @SequenceGenerator(name = "pos_sequence_generator", sequenceName = "pos_seq", allocationSize = 1)
+    @SequenceGenerator(name = "pos_sequence_generator", sequenceName = "pos_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "created_at")
@@ -35,6 +41,12 @@ public class PosEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * Incremented on every update; updates and deletes that expect a different version are rejected.
+     */
+    @Version
+    private Long version;
+
     @Column(name = NAME_COLUMN, unique = true)
     private String name;
 
@@ -49,6 +61,10 @@ public class PosEntity {
     @Embedded
     private AddressEntity address;
 
+    private Double latitude;
+
+    private Double longitude;
+
     /**
      * JPA lifecycle callback: set timestamps before persisting a new entity.
      * This ensures timestamps reflect actual database operation time.
@@ -0,0 +1,26 @@
+package de.seuhd.campuscoffee.data.persistence;
+
+import jakarta.persistence.Tuple;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Repository fragment for reading only some attributes of POS entities (see {@link PosRepository}).
+ */
+public interface PosProjectionRepository {
+    /**
+     * Selects the given attributes of the POS entities that match the specification, ordered by ID.
+     * Only the columns of these attributes are read and no entities are created or added to the persistence context.
+     *
+     * @param specification the criteria the POS must match (see {@link PosSpecifications})
+     * @param attributes    the attribute paths to select, e.g., {@code name} or {@code address.city}; each path is
+     *                      the alias of its element in the tuples
+     * @param limit         the maximum number of rows to return; null to return all matching rows
+     * @return one tuple per matching POS
+     */
+    @NonNull List<Tuple> findAttributes(@NonNull Specification<PosEntity> specification,
+                                        @NonNull List<String> attributes, @Nullable Integer limit);
+}
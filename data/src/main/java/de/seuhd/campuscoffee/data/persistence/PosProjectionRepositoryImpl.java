@@ -0,0 +1,59 @@
+package de.seuhd.campuscoffee.data.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Implementation of {@link PosProjectionRepository}, picked up by Spring Data as a fragment of {@link PosRepository}.
+ */
+class PosProjectionRepositoryImpl implements PosProjectionRepository {
+    private final EntityManager entityManager;
+
+    PosProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public @NonNull List<Tuple> findAttributes(@NonNull Specification<PosEntity> specification,
+                                               @NonNull List<String> attributes, @Nullable Integer limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<PosEntity> root = query.from(PosEntity.class);
+
+        List<Selection<?>> selections = attributes.stream()
+                .<Selection<?>>map(attribute -> getPath(root, attribute).alias(attribute))
+                .toList();
+        query.multiselect(selections);
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(criteriaBuilder.asc(root.get("id")));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (limit != null) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+
+    private static Path<?> getPath(Root<PosEntity> root, String attribute) {
+        Path<?> path = root;
+        for (String name : attribute.split("\\.")) {
+            path = path.get(name);
+        }
+        return path;
+    }
+}
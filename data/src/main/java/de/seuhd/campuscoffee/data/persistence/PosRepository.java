@@ -1,25 +1,214 @@
 package de.seuhd.campuscoffee.data.persistence;
 
-import jakarta.transaction.Transactional;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for persisting point-of-sale (POS) entities.
  */
-public interface PosRepository extends JpaRepository<PosEntity, Long>, ResettableSequenceRepository {
+public interface PosRepository extends JpaRepository<PosEntity, Long>, JpaSpecificationExecutor<PosEntity>,
+        PosUpdateRepository, PosProjectionRepository {
+    /**
+     * Number of rows the JDBC driver fetches per round trip when streaming entities.
+     * Note: The Postgres driver only uses a server-side cursor inside a transaction (auto-commit disabled).
+     */
+    String STREAM_FETCH_SIZE = "500";
+
     Optional<PosEntity> findByName(String name);
 
     /**
-     * Resets the POS ID sequence to start from 1.
-     * Note: This is primarily intended for testing purposes to ensure consistent IDs after clearing the table.
+     * Retrieves the POS entities with the given IDs.
+     * In contrast to {@link #findAllById(Iterable)}, the IDs are bound as a single array parameter, so the statement
+     * is the same for any number of IDs and can be prepared once.
+     *
+     * @param ids the IDs to look up
+     * @return the POS entities with one of the IDs in no particular order
+     */
+    @Query(value = "SELECT * FROM pos WHERE id = ANY(:ids)", nativeQuery = true)
+    List<PosEntity> findAllByIdIn(@Param("ids") Long[] ids);
+
+    /**
+     * Returns the ID of the oldest transaction that may still be in progress (the xmin of the current snapshot).
+     * Every write stamps its rows with the ID of its transaction ({@code change_xid}, see V8 migration), so the
+     * changes committed after this call have this or a later ID.
+     *
+     * @return the change position
+     */
+    @Query(value = "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)", nativeQuery = true)
+    long getChangePosition();
+
+    /**
+     * Retrieves the POS entities written by a transaction with the given or a later ID, ordered by transaction ID and
+     * POS ID. The query is answered by the {@code pos_change_xid_idx} index.
+     *
+     * @param position the change position (see {@link #getChangePosition()})
+     * @return the changed POS entities
+     */
+    @Query(value = "SELECT * FROM pos WHERE change_xid >= :position ORDER BY change_xid, id", nativeQuery = true)
+    List<PosEntity> findAllChangedSince(@Param("position") long position);
+
+    /**
+     * Retrieves the IDs of the POS deleted by a transaction with the given or a later ID from the deletion log
+     * (tombstones). The query is answered by the {@code pos_deletions_change_xid_idx} index.
+     *
+     * @param position the change position (see {@link #getChangePosition()})
+     * @return the IDs of the deleted POS ordered by transaction ID and POS ID
+     */
+    @Query(value = "SELECT pos_id FROM pos_deletions WHERE change_xid >= :position ORDER BY change_xid, pos_id",
+            nativeQuery = true)
+    List<Long> findDeletedIdsSince(@Param("position") long position);
+
+    /**
+     * Returns the latest transaction ID of a tombstone that was removed from the deletion log
+     * (see {@link #purgeTombstones(LocalDateTime)}). Deletions at or before it can no longer be synced.
+     *
+     * @return the purge horizon; 0 if no tombstone was removed yet
+     */
+    @Query(value = "SELECT change_xid FROM pos_deletions_purge_horizon", nativeQuery = true)
+    long getPurgeHorizon();
+
+    /**
+     * Retrieves all POS entities that have one of the given names.
+     *
+     * @param names the names to look up
+     * @return the POS entities using one of the names
+     */
+    List<PosEntity> findAllByNameIn(Collection<String> names);
+
+    /**
+     * Number of POS entities for one combination of campus and type (see {@link #countByCampusAndType()}).
+     */
+    interface CampusTypeCount {
+        CampusType getCampus();
+
+        PosType getType();
+
+        long getCount();
+    }
+
+    /**
+     * Counts the POS entities per campus and type.
+     * The query can be answered from the {@code pos_campus_type_idx} index.
+     *
+     * @return one row per combination of campus and type that has at least one POS
+     */
+    @Query("SELECT p.campus AS campus, p.type AS type, COUNT(p) AS count FROM PosEntity p GROUP BY p.campus, p.type")
+    List<CampusTypeCount> countByCampusAndType();
+
+    /**
+     * Number of POS entities and the times and positions of the latest changes (see {@link #getCollectionState()}).
+     */
+    interface CollectionState {
+        long getCount();
+
+        LocalDateTime getLastUpdatedAt();
+
+        LocalDateTime getLastModified();
+
+        long getLastChangePosition();
+
+        long getDigest();
+    }
+
+    /**
+     * Reads the number of POS entities, the latest update time, the latest change time, the latest change position,
+     * and a digest of the collection in a single query without scanning the POS.
+     * The number and the digest are maintained by triggers in the single row of {@code pos_collection_state}
+     * (see V10 migration); the maxima are answered by indexes. The latest change includes deletions, which are
+     * recorded as tombstones (or the purge horizon once they are removed). The digest combines the ID and the change
+     * position ({@code change_xid}) of every POS with XOR, so it does not depend on the order in which transactions
+     * commit: unlike the latest change position, it also changes when a transaction with an older ID commits last.
+     * All values are read from the database, so they are the same on all application instances.
+     *
+     * @return the number of POS, the latest update time (null if there are no POS), the latest creation, update,
+     *         or deletion time (null if no POS was ever written), the latest change position (0 if no POS was ever
+     *         written), and the digest of all POS (0 if there are no POS)
+     */
+    @Query(value = """
+            SELECT s.count AS "count",
+                   p.last_updated_at AS "lastUpdatedAt",
+                   GREATEST(p.last_updated_at, (SELECT MAX(deleted_at) FROM pos_deletions)) AS "lastModified",
+                   GREATEST((SELECT MAX(change_xid) FROM pos), (SELECT MAX(change_xid) FROM pos_deletions),
+                            (SELECT change_xid FROM pos_deletions_purge_horizon)) AS "lastChangePosition",
+                   s.digest AS "digest"
+            FROM pos_collection_state s,
+                 (SELECT MAX(updated_at) AS last_updated_at FROM pos) p
+            """, nativeQuery = true)
+    CollectionState getCollectionState();
+
+    /**
+     * Streams all POS entities ordered by ID using a server-side cursor.
+     * The stream must be consumed within a transaction and closed afterward.
+     *
+     * @return a stream of all POS entities
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<PosEntity> streamAllByOrderByIdAsc();
+
+    /**
+     * Searches POS by name and description using the full-text index on the generated {@code search_vector} column.
+     * The query uses web search syntax (e.g., {@code outdoor seating}, {@code "great waffles"}, {@code coffee -bakery})
+     * and is matched with English stemming, like the indexed name and description, so that exclusions apply to both.
+     * Matches in the name rank higher than in the description.
+     *
+     * @param query  the search query
+     * @param offset the number of matches to skip
+     * @param limit  the maximum number of entities to return
+     * @return at most {@code limit} matching entities ordered by rank (best first) and ID
+     */
+    @Query(value = """
+            SELECT p.* FROM pos p
+            WHERE p.search_vector @@ websearch_to_tsquery('english', :query)
+            ORDER BY ts_rank(p.search_vector, websearch_to_tsquery('english', :query)) DESC, p.id
+            OFFSET :offset LIMIT :limit
+            """, nativeQuery = true)
+    List<PosEntity> search(@Param("query") String query, @Param("offset") long offset, @Param("limit") int limit);
+
+    /**
+     * Retrieves the POS within the given distance of a location, nearest first.
+     * The bounding box around the location is answered by the {@code pos_location_idx} index, so the exact
+     * (haversine) distance is only computed for the POS inside the box.
+     *
+     * @param latitude     the latitude of the location
+     * @param longitude    the longitude of the location
+     * @param radiusMeters the maximum distance in meters
+     * @param earthRadiusMeters the earth radius used to compute distances
+     * @param minLat       the southern boundary of the bounding box that contains all POS within the radius
+     * @param maxLat       the northern boundary of the bounding box
+     * @param minLon       the western boundary of the bounding box
+     * @param maxLon       the eastern boundary of the bounding box
+     * @param limit        the maximum number of entities to return
+     * @return at most {@code limit} entities within the radius ordered by distance and ID
      */
-    @Override
-    @Modifying
-    @Transactional
-    @Query(value = "ALTER SEQUENCE pos_seq RESTART WITH 1", nativeQuery = true)
-    void resetSequence();
+    @Query(value = """
+            SELECT p.* FROM (
+                SELECT p.*, 2 * :earthRadius * asin(least(1, sqrt(
+                        power(sin(radians(p.latitude - :latitude) / 2), 2)
+                        + cos(radians(:latitude)) * cos(radians(p.latitude))
+                        * power(sin(radians(p.longitude - :longitude) / 2), 2)))) AS distance
+                FROM pos p
+                WHERE p.latitude BETWEEN :minLat AND :maxLat AND p.longitude BETWEEN :minLon AND :maxLon
+            ) p
+            WHERE p.distance <= :radius
+            ORDER BY p.distance, p.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<PosEntity> findNearby(@Param("latitude") double latitude, @Param("longitude") double longitude,
+                               @Param("radius") double radiusMeters, @Param("earthRadius") double earthRadiusMeters,
+                               @Param("minLat") double minLat, @Param("maxLat") double maxLat,
+                               @Param("minLon") double minLon, @Param("maxLon") double maxLon,
+                               @Param("limit") int limit);
 }
@@ -0,0 +1,49 @@
+package de.seuhd.campuscoffee.data.persistence;
+
+import de.seuhd.campuscoffee.domain.model.PosFilter;
+import jakarta.persistence.criteria.Predicate;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Query criteria for POS entities used with {@link PosRepository} (JPA specifications).
+ * Every criterion is translated into a single SQL predicate (e.g., {@code campus IN (...)}), so a filter
+ * is answered by one query that can use the indexes on {@code (campus, type)} and {@code postal_code}.
+ */
+public final class PosSpecifications {
+    private PosSpecifications() {
+    }
+
+    /**
+     * Selects the POS that match the filter and, for keyset pagination, follow the given ID.
+     *
+     * @param filter  the filter criteria
+     * @param afterId the ID of the last POS of the previous page; null to start with the first POS
+     * @return the specification
+     */
+    public static @NonNull Specification<PosEntity> matching(@NonNull PosFilter filter, @Nullable Long afterId) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (!filter.campuses().isEmpty()) {
+                predicates.add(root.get("campus").in(filter.campuses()));
+            }
+            if (!filter.types().isEmpty()) {
+                predicates.add(root.get("type").in(filter.types()));
+            }
+            if (!filter.postalCodes().isEmpty()) {
+                predicates.add(root.get("address").get("postalCode").in(filter.postalCodes()));
+            }
+            if (!filter.cities().isEmpty()) {
+                predicates.add(root.get("address").get("city").in(filter.cities()));
+            }
+            if (afterId != null) {
+                predicates.add(criteriaBuilder.greaterThan(root.get("id"), afterId));
+            }
+            return criteriaBuilder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package de.seuhd.campuscoffee.data.persistence;
+
+import de.seuhd.campuscoffee.domain.model.Update;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Repository fragment for updating and deleting POS entities with single SQL statements (see {@link PosRepository}).
+ */
+public interface PosUpdateRepository {
+    /**
+     * Updates all columns of an existing POS except for the ID and the creation time and increments its version.
+     * The row is locked, updated, and returned together with its previous state in one round trip,
+     * bypassing the persistence context. If the row already has the new values, it is neither written nor are its
+     * timestamp and version changed, and both returned states are the previous state (see {@link Update#isUnchanged()}).
+     *
+     * @param posEntity the new state of the POS; the ID must be set, the timestamps are ignored; if the version is set,
+     *                  the row is only updated if it still has this version
+     * @return the previous and the updated state, or empty if no POS with the ID (and version) exists
+     * @throws org.springframework.dao.DataIntegrityViolationException if a constraint is violated (e.g., the name)
+     */
+    @NonNull Optional<Update<PosEntity>> updateReturningPrevious(@NonNull PosEntity posEntity);
+
+    /**
+     * Updates only the given attributes of an existing POS and increments its version (partial update).
+     * As for {@link #updateReturningPrevious(PosEntity)}, the row is locked, updated, and returned together with its
+     * previous state in one round trip and left untouched if it already has the new values; the statement only
+     * assigns the columns of the given attributes.
+     *
+     * @param id         the ID of the POS to update
+     * @param attributes the new values keyed by attribute path (e.g., {@code name} or {@code address.city}); must not
+     *                   be empty or contain the ID, timestamps, or version
+     * @param version    the version the POS must have to be updated; null to update it regardless of its version
+     * @return the previous and the updated state, or empty if no POS with the ID (and version) exists
+     * @throws IllegalArgumentException if an attribute cannot be updated
+     * @throws org.springframework.dao.DataIntegrityViolationException if a constraint is violated (e.g., the name)
+     */
+    @NonNull Optional<Update<PosEntity>> patchReturningPrevious(@NonNull Long id, @NonNull Map<String, Object> attributes,
+                                                                @Nullable Long version);
+
+    /**
+     * Deletes a POS and returns its last state in one round trip, bypassing the persistence context.
+     * The same statement records a tombstone for the POS in the deletion log, so clients can sync the deletion.
+     *
+     * @param id      the ID of the POS to delete
+     * @param version the version the POS must have to be deleted; null to delete it regardless of its version
+     * @return the deleted POS, or empty if no POS with the ID (and version) exists
+     */
+    @NonNull Optional<PosEntity> deleteReturning(@NonNull Long id, @Nullable Long version);
+
+    /**
+     * Deletes all POS and records a tombstone for each of them in the deletion log in one statement,
+     * bypassing the persistence context.
+     *
+     * @return the number of deleted POS
+     */
+    int deleteAllWithTombstones();
+
+    /**
+     * Removes the tombstones of POS deleted before the given time from the deletion log and advances the purge
+     * horizon to the latest transaction ID of a removed tombstone (see {@link PosRepository#getPurgeHorizon()}).
+     *
+     * @param deletedBefore the time (UTC) before which tombstones are removed
+     * @return the number of removed tombstones
+     */
+    int purgeTombstones(@NonNull LocalDateTime deletedBefore);
+}
@@ -0,0 +1,217 @@
+package de.seuhd.campuscoffee.data.persistence;
+
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import de.seuhd.campuscoffee.domain.model.Update;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of {@link PosUpdateRepository}, picked up by Spring Data as a fragment of {@link PosRepository}.
+ */
+class PosUpdateRepositoryImpl implements PosUpdateRepository {
+    private static final String[] COLUMNS = {"id", "created_at", "updated_at", "version", "name", "description",
+            "type", "campus", "street", "house_number", "house_number_suffix", "postal_code", "city", "latitude",
+            "longitude"};
+    private static final String PREVIOUS_PREFIX = "previous_";
+    // a null version matches every row
+    private static final String VERSION_CONDITION = "(CAST(:version AS bigint) IS NULL OR version = :version)";
+
+    // the columns that can be updated by their entity attribute (path)
+    private static final Map<String, String> ATTRIBUTE_COLUMNS = Map.ofEntries(
+            Map.entry("name", "name"),
+            Map.entry("description", "description"),
+            Map.entry("type", "type"),
+            Map.entry("campus", "campus"),
+            Map.entry("address.street", "street"),
+            Map.entry("address.houseNumber", "house_number"),
+            Map.entry("address.houseNumberSuffix", "house_number_suffix"),
+            Map.entry("address.postalCode", "postal_code"),
+            Map.entry("address.city", "city"),
+            Map.entry("latitude", "latitude"),
+            Map.entry("longitude", "longitude"));
+
+    // the tombstone is only written if a row was deleted
+    private static final String DELETE_RETURNING = """
+            WITH deleted AS (
+                DELETE FROM pos WHERE id = :id AND %s
+                RETURNING %s
+            ), tombstone AS (
+                INSERT INTO pos_deletions (pos_id, deleted_at) SELECT id, :deletedAt FROM deleted
+            )
+            SELECT * FROM deleted
+            """.formatted(VERSION_CONDITION, String.join(", ", COLUMNS));
+    private static final String DELETE_ALL = """
+            WITH deleted AS (
+                DELETE FROM pos RETURNING id
+            )
+            INSERT INTO pos_deletions (pos_id, deleted_at) SELECT id, :deletedAt FROM deleted
+            """;
+    // the horizon only moves forward and is updated in the same statement, so a sync never misses a purge
+    private static final String PURGE_TOMBSTONES = """
+            WITH purged AS (
+                DELETE FROM pos_deletions WHERE deleted_at < :deletedBefore
+                RETURNING change_xid
+            ), horizon AS (
+                UPDATE pos_deletions_purge_horizon
+                SET change_xid = GREATEST(change_xid, (SELECT MAX(change_xid) FROM purged))
+            )
+            SELECT COUNT(*) FROM purged
+            """;
+
+    private final JdbcClient jdbcClient;
+
+    PosUpdateRepositoryImpl(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    @Override
+    public @NonNull Optional<Update<PosEntity>> updateReturningPrevious(@NonNull PosEntity posEntity) {
+        AddressEntity address = posEntity.getAddress();
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("name", posEntity.getName());
+        attributes.put("description", posEntity.getDescription());
+        attributes.put("type", posEntity.getType());
+        attributes.put("campus", posEntity.getCampus());
+        attributes.put("address.street", address.getStreet());
+        attributes.put("address.houseNumber", address.getHouseNumber());
+        attributes.put("address.houseNumberSuffix", address.getHouseNumberSuffix());
+        attributes.put("address.postalCode", address.getPostalCode());
+        attributes.put("address.city", address.getCity());
+        attributes.put("latitude", posEntity.getLatitude());
+        attributes.put("longitude", posEntity.getLongitude());
+        return patchReturningPrevious(posEntity.getId(), attributes, posEntity.getVersion());
+    }
+
+    @Override
+    public @NonNull Optional<Update<PosEntity>> patchReturningPrevious(@NonNull Long id,
+                                                                       @NonNull Map<String, Object> attributes,
+                                                                       @Nullable Long version) {
+        if (attributes.isEmpty()) {
+            throw new IllegalArgumentException("At least one attribute must be updated.");
+        }
+        // the columns follow the order of the attributes, so the same attributes result in the same statement
+        List<String> columns = new ArrayList<>(attributes.size());
+        Map<String, Object> params = new HashMap<>();
+        attributes.forEach((attribute, value) -> {
+            String column = ATTRIBUTE_COLUMNS.get(attribute);
+            if (column == null) {
+                throw new IllegalArgumentException("Attribute '" + attribute + "' cannot be updated.");
+            }
+            columns.add(column);
+            params.put(column, switch (value) {
+                case Enum<?> enumValue -> enumValue.name();
+                case Character character -> character.toString();
+                case null, default -> value;
+            });
+        });
+        return jdbcClient.sql(updateReturningPrevious(columns))
+                .param("id", id)
+                .param("version", version)
+                .param("updatedAt", LocalDateTime.now(ZoneId.of("UTC"))) // same clock as PosEntity#onUpdate
+                .params(params)
+                .query((resultSet, rowNum) -> {
+                    PosEntity previous = mapEntity(resultSet, PREVIOUS_PREFIX);
+                    // the updated columns are null if the row already had the new values
+                    return resultSet.getObject("id") == null
+                            ? Update.unchanged(previous)
+                            : new Update<>(previous, mapEntity(resultSet, ""));
+                })
+                .optional();
+    }
+
+    @Override
+    public @NonNull Optional<PosEntity> deleteReturning(@NonNull Long id, @Nullable Long version) {
+        return jdbcClient.sql(DELETE_RETURNING)
+                .param("id", id)
+                .param("version", version)
+                .param("deletedAt", LocalDateTime.now(ZoneId.of("UTC"))) // same clock as PosEntity#onUpdate
+                .query((resultSet, rowNum) -> mapEntity(resultSet, ""))
+                .optional();
+    }
+
+    @Override
+    public int deleteAllWithTombstones() {
+        return jdbcClient.sql(DELETE_ALL)
+                .param("deletedAt", LocalDateTime.now(ZoneId.of("UTC")))
+                .update();
+    }
+
+    @Override
+    public int purgeTombstones(@NonNull LocalDateTime deletedBefore) {
+        return jdbcClient.sql(PURGE_TOMBSTONES)
+                .param("deletedBefore", deletedBefore)
+                .query(Integer.class)
+                .single();
+    }
+
+    /**
+     * Builds a statement that updates a POS unless it already has the new values, and returns its previous state and,
+     * if it was updated, its updated state. A row with only the previous state means that nothing was written, so
+     * neither the timestamp nor the version change; no row means that no POS with the ID (and version) exists.
+     * The CTE {@code previous} locks the row, so the previous state cannot be changed concurrently before the update;
+     * the version condition is re-checked against the latest row version if a concurrent update had to be awaited.
+     *
+     * @param columns the columns to update besides the timestamp and version; each is bound to the parameter with
+     *                the same name
+     * @return the SQL statement
+     */
+    private static String updateReturningPrevious(List<String> columns) {
+        return """
+                WITH previous AS (
+                    SELECT * FROM pos WHERE id = :id AND %s FOR UPDATE
+                ), updated AS (
+                    UPDATE pos p SET updated_at = :updatedAt, version = p.version + 1, %s
+                    FROM previous
+                    WHERE p.id = previous.id AND (%s)
+                    RETURNING %s
+                )
+                SELECT %s, %s
+                FROM previous LEFT JOIN updated ON true
+                """.formatted(
+                VERSION_CONDITION,
+                columns.stream().map(column -> column + " = :" + column).collect(Collectors.joining(", ")),
+                columns.stream().map(column -> "previous." + column + " IS DISTINCT FROM :" + column)
+                        .collect(Collectors.joining(" OR ")),
+                Arrays.stream(COLUMNS).map(column -> "p." + column).collect(Collectors.joining(", ")),
+                Arrays.stream(COLUMNS).map(column -> "updated." + column).collect(Collectors.joining(", ")),
+                Arrays.stream(COLUMNS).map(column -> "previous." + column + " AS " + PREVIOUS_PREFIX + column)
+                        .collect(Collectors.joining(", ")));
+    }
+
+    private static PosEntity mapEntity(ResultSet resultSet, String prefix) throws SQLException {
+        AddressEntity address = new AddressEntity();
+        address.setStreet(resultSet.getString(prefix + "street"));
+        address.setHouseNumber(resultSet.getObject(prefix + "house_number", Integer.class));
+        String houseNumberSuffix = resultSet.getString(prefix + "house_number_suffix");
+        address.setHouseNumberSuffix(houseNumberSuffix == null ? null : houseNumberSuffix.charAt(0));
+        address.setPostalCode(resultSet.getObject(prefix + "postal_code", Integer.class));
+        address.setCity(resultSet.getString(prefix + "city"));
+        return new PosEntity(
+                resultSet.getLong(prefix + "id"),
+                resultSet.getObject(prefix + "created_at", LocalDateTime.class),
+                resultSet.getObject(prefix + "updated_at", LocalDateTime.class),
+                resultSet.getLong(prefix + "version"),
+                resultSet.getString(prefix + "name"),
+                resultSet.getString(prefix + "description"),
+                PosType.valueOf(resultSet.getString(prefix + "type")),
+                CampusType.valueOf(resultSet.getString(prefix + "campus")),
+                address,
+                resultSet.getObject(prefix + "latitude", Double.class),
+                resultSet.getObject(prefix + "longitude", Double.class));
+    }
+}
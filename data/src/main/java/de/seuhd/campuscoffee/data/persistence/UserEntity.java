@@ -35,6 +35,12 @@ public class UserEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * Incremented on every update; updates and deletes that expect a different version are rejected.
+     */
+    @Version
+    private Long version;
+
     @Column(name = LOGIN_NAME_COLUMN, unique = true)
     private String loginName;
 
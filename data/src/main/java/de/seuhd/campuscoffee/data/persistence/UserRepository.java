@@ -10,7 +10,8 @@ import java.util.Optional;
 /**
  * Repository for persisting user entities.
  */
-public interface UserRepository extends JpaRepository<UserEntity, Long>, ResettableSequenceRepository {
+public interface UserRepository extends JpaRepository<UserEntity, Long>, ResettableSequenceRepository,
+        UserUpdateRepository {
     Optional<UserEntity> findByLoginName(String loginName);
 
     /**
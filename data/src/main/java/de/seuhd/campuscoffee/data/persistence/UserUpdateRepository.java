@@ -0,0 +1,53 @@
+package de.seuhd.campuscoffee.data.persistence;
+
+import de.seuhd.campuscoffee.domain.model.Update;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Repository fragment for updating and deleting user entities with single SQL statements (see {@link UserRepository}).
+ */
+public interface UserUpdateRepository {
+    /**
+     * Updates all columns of an existing user except for the ID and the creation time and increments its version.
+     * The row is locked, updated, and returned together with its previous state in one round trip,
+     * bypassing the persistence context. If the row already has the new values, it is neither written nor are its
+     * timestamp and version changed, and both returned states are the previous state (see {@link Update#isUnchanged()}).
+     *
+     * @param userEntity the new state of the user; the ID must be set, the timestamps are ignored;
+     *                   if the version is set, the row is only updated if it still has this version
+     * @return the previous and the updated state, or empty if no user with the ID (and version) exists
+     * @throws org.springframework.dao.DataIntegrityViolationException if a constraint is violated (e.g., the login name)
+     */
+    @NonNull Optional<Update<UserEntity>> updateReturningPrevious(@NonNull UserEntity userEntity);
+
+    /**
+     * Updates only the given attributes of an existing user and increments its version (partial update).
+     * As for {@link #updateReturningPrevious(UserEntity)}, the row is locked, updated, and returned together with its
+     * previous state in one round trip and left untouched if it already has the new values; the statement only
+     * assigns the columns of the given attributes.
+     *
+     * @param id         the ID of the user to update
+     * @param attributes the new values keyed by attribute name (e.g., {@code loginName}); must not be empty or
+     *                   contain the ID, timestamps, or version
+     * @param version    the version the user must have to be updated; null to update them regardless of their version
+     * @return the previous and the updated state, or empty if no user with the ID (and version) exists
+     * @throws IllegalArgumentException if an attribute cannot be updated
+     * @throws org.springframework.dao.DataIntegrityViolationException if a constraint is violated (e.g., the login name)
+     */
+    @NonNull Optional<Update<UserEntity>> patchReturningPrevious(@NonNull Long id,
+                                                                 @NonNull Map<String, Object> attributes,
+                                                                 @Nullable Long version);
+
+    /**
+     * Deletes a user and returns its last state in one round trip, bypassing the persistence context.
+     *
+     * @param id      the ID of the user to delete
+     * @param version the version the user must have to be deleted; null to delete it regardless of its version
+     * @return the deleted user, or empty if no user with the ID (and version) exists
+     */
+    @NonNull Optional<UserEntity> deleteReturning(@NonNull Long id, @Nullable Long version);
+}
@@ -0,0 +1,144 @@
+package de.seuhd.campuscoffee.data.persistence;
+
+import de.seuhd.campuscoffee.domain.model.Update;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of {@link UserUpdateRepository}, picked up by Spring Data as a fragment of {@link UserRepository}.
+ */
+class UserUpdateRepositoryImpl implements UserUpdateRepository {
+    private static final String[] COLUMNS = {"id", "created_at", "updated_at", "version", "login_name",
+            "email_address", "first_name", "last_name"};
+    private static final String PREVIOUS_PREFIX = "previous_";
+    // a null version matches every row
+    private static final String VERSION_CONDITION = "(CAST(:version AS bigint) IS NULL OR version = :version)";
+
+    // the columns that can be updated by their entity attribute
+    private static final Map<String, String> ATTRIBUTE_COLUMNS = Map.of(
+            "loginName", "login_name",
+            "emailAddress", "email_address",
+            "firstName", "first_name",
+            "lastName", "last_name");
+
+    private static final String DELETE_RETURNING = """
+            DELETE FROM users WHERE id = :id AND %s
+            RETURNING %s
+            """.formatted(VERSION_CONDITION, String.join(", ", COLUMNS));
+
+    private final JdbcClient jdbcClient;
+
+    UserUpdateRepositoryImpl(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    @Override
+    public @NonNull Optional<Update<UserEntity>> updateReturningPrevious(@NonNull UserEntity userEntity) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("loginName", userEntity.getLoginName());
+        attributes.put("emailAddress", userEntity.getEmailAddress());
+        attributes.put("firstName", userEntity.getFirstName());
+        attributes.put("lastName", userEntity.getLastName());
+        return patchReturningPrevious(userEntity.getId(), attributes, userEntity.getVersion());
+    }
+
+    @Override
+    public @NonNull Optional<Update<UserEntity>> patchReturningPrevious(@NonNull Long id,
+                                                                        @NonNull Map<String, Object> attributes,
+                                                                        @Nullable Long version) {
+        if (attributes.isEmpty()) {
+            throw new IllegalArgumentException("At least one attribute must be updated.");
+        }
+        List<String> columns = new ArrayList<>(attributes.size());
+        Map<String, Object> params = new HashMap<>();
+        attributes.forEach((attribute, value) -> {
+            String column = ATTRIBUTE_COLUMNS.get(attribute);
+            if (column == null) {
+                throw new IllegalArgumentException("Attribute '" + attribute + "' cannot be updated.");
+            }
+            columns.add(column);
+            params.put(column, value);
+        });
+        return jdbcClient.sql(updateReturningPrevious(columns))
+                .param("id", id)
+                .param("version", version)
+                .param("updatedAt", LocalDateTime.now(ZoneId.of("UTC"))) // same clock as UserEntity#onUpdate
+                .params(params)
+                .query((resultSet, rowNum) -> {
+                    UserEntity previous = mapEntity(resultSet, PREVIOUS_PREFIX);
+                    // the updated columns are null if the row already had the new values
+                    return resultSet.getObject("id") == null
+                            ? Update.unchanged(previous)
+                            : new Update<>(previous, mapEntity(resultSet, ""));
+                })
+                .optional();
+    }
+
+    @Override
+    public @NonNull Optional<UserEntity> deleteReturning(@NonNull Long id, @Nullable Long version) {
+        return jdbcClient.sql(DELETE_RETURNING)
+                .param("id", id)
+                .param("version", version)
+                .query((resultSet, rowNum) -> mapEntity(resultSet, ""))
+                .optional();
+    }
+
+    /**
+     * Builds a statement that updates a user unless they already have the new values, and returns their previous
+     * state and, if they were updated, their updated state (see {@code PosUpdateRepositoryImpl}).
+     * The CTE {@code previous} locks the row, so the previous state cannot be changed concurrently before the update;
+     * the version condition is re-checked against the latest row version if a concurrent update had to be awaited.
+     *
+     * @param columns the columns to update besides the timestamp and version; each is bound to the parameter with
+     *                the same name
+     * @return the SQL statement
+     */
+    private static String updateReturningPrevious(List<String> columns) {
+        return """
+                WITH previous AS (
+                    SELECT * FROM users WHERE id = :id AND %s FOR UPDATE
+                ), updated AS (
+                    UPDATE users u SET updated_at = :updatedAt, version = u.version + 1, %s
+                    FROM previous
+                    WHERE u.id = previous.id AND (%s)
+                    RETURNING %s
+                )
+                SELECT %s, %s
+                FROM previous LEFT JOIN updated ON true
+                """.formatted(
+                VERSION_CONDITION,
+                columns.stream().map(column -> column + " = :" + column).collect(Collectors.joining(", ")),
+                columns.stream().map(column -> "previous." + column + " IS DISTINCT FROM :" + column)
+                        .collect(Collectors.joining(" OR ")),
+                Arrays.stream(COLUMNS).map(column -> "u." + column).collect(Collectors.joining(", ")),
+                Arrays.stream(COLUMNS).map(column -> "updated." + column).collect(Collectors.joining(", ")),
+                Arrays.stream(COLUMNS).map(column -> "previous." + column + " AS " + PREVIOUS_PREFIX + column)
+                        .collect(Collectors.joining(", ")));
+    }
+
+    private static UserEntity mapEntity(ResultSet resultSet, String prefix) throws SQLException {
+        return new UserEntity(
+                resultSet.getLong(prefix + "id"),
+                resultSet.getObject(prefix + "created_at", LocalDateTime.class),
+                resultSet.getObject(prefix + "updated_at", LocalDateTime.class),
+                resultSet.getLong(prefix + "version"),
+                resultSet.getString(prefix + "login_name"),
+                resultSet.getString(prefix + "email_address"),
+                resultSet.getString(prefix + "first_name"),
+                resultSet.getString(prefix + "last_name"));
+    }
+}
@@ -0,0 +1,90 @@
+package de.seuhd.campuscoffee.data.util;
+
+import org.jspecify.annotations.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Input stream that reads a file through a sliding memory-mapped window.
+ * Only one window is mapped at a time, so files of any size can be read without loading them into the heap
+ * and without the copies of a buffered file stream. Mapped windows are released by the garbage collector.
+ */
+public final class MappedFileInputStream extends InputStream {
+    static final long WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long windowSize;
+    private long position;
+    private MappedByteBuffer window;
+
+    public MappedFileInputStream(@NonNull Path file) throws IOException {
+        this(file, WINDOW_SIZE);
+    }
+
+    /**
+     * @param file       the file to read
+     * @param windowSize the maximum number of bytes mapped at a time (smaller in tests)
+     * @throws IOException if the file cannot be opened
+     */
+    MappedFileInputStream(@NonNull Path file, long windowSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return nextWindow() ? window.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte @NonNull [] buffer, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        if (length == 0) {
+            return 0;
+        }
+        if (!nextWindow()) {
+            return -1;
+        }
+        int count = Math.min(length, window.remaining());
+        window.get(buffer, offset, count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return window == null ? 0 : window.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    /**
+     * Maps the next window of the file if the current one is exhausted.
+     *
+     * @return true if there is data left to read
+     * @throws IOException if the file cannot be mapped
+     */
+    private boolean nextWindow() throws IOException {
+        if (window != null && window.hasRemaining()) {
+            return true;
+        }
+        if (position >= size) {
+            return false;
+        }
+        long length = Math.min(windowSize, size - position);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        position += length;
+        return true;
+    }
+}
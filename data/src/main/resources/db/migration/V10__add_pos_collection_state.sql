@@ -0,0 +1,55 @@
+-- number and digest of all POS (single row), so that conditional requests for POS collections do not scan the table
+-- (see PosRepository#getCollectionState); the digest combines the ID and the change position of every POS with XOR
+CREATE TABLE pos_collection_state (
+    id boolean PRIMARY KEY DEFAULT true CHECK (id),
+    count bigint NOT NULL,
+    digest bigint NOT NULL
+);
+
+CREATE FUNCTION pos_row_digest(id bigint, change_xid bigint) RETURNS bigint AS $$
+    SELECT hashtextextended(id || ':' || change_xid, 0)
+$$ LANGUAGE sql IMMUTABLE;
+
+INSERT INTO pos_collection_state (count, digest)
+SELECT COUNT(*), COALESCE(BIT_XOR(pos_row_digest(id, change_xid)), 0) FROM pos;
+
+-- applies the rows written by a statement at once, so bulk writes update the state row only once; the row stays
+-- locked until the writing transaction commits, so concurrent writes apply their changes one after another
+CREATE FUNCTION pos_update_collection_state() RETURNS trigger AS $$
+DECLARE
+    added_count bigint := 0;
+    added_digest bigint := 0;
+    removed_count bigint := 0;
+    removed_digest bigint := 0;
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        SELECT COUNT(*), COALESCE(BIT_XOR(pos_row_digest(id, change_xid)), 0)
+        INTO added_count, added_digest
+        FROM new_rows;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        SELECT COUNT(*), COALESCE(BIT_XOR(pos_row_digest(id, change_xid)), 0)
+        INTO removed_count, removed_digest
+        FROM old_rows;
+    END IF;
+    IF added_count > 0 OR removed_count > 0 THEN
+        UPDATE pos_collection_state
+        SET count = count + added_count - removed_count,
+            digest = digest # added_digest # removed_digest;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER pos_collection_state_insert AFTER INSERT ON pos
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION pos_update_collection_state();
+CREATE TRIGGER pos_collection_state_update AFTER UPDATE ON pos
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION pos_update_collection_state();
+CREATE TRIGGER pos_collection_state_delete AFTER DELETE ON pos
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION pos_update_collection_state();
+
+-- the latest update time is read from an index instead of scanning the table
+CREATE INDEX pos_updated_at_idx ON pos (updated_at);
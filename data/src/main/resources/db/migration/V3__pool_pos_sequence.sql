@@ -0,0 +1,3 @@
+-- Reserve blocks of 50 IDs per nextval call (see PosEntity.ID_ALLOCATION_SIZE) so that bulk inserts
+-- do not need one sequence round trip per row.
+ALTER SEQUENCE pos_seq INCREMENT BY 50;
@@ -0,0 +1,10 @@
+-- full-text search over name and description (see PosRepository#search)
+-- names and descriptions are both indexed with English stemming ("waffles" -> "waffl"), so that queries use a
+-- single config: matching the query under two configs and combining the results with OR breaks exclusions
+-- ("coffee -bakery")
+ALTER TABLE pos ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', name), 'A') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'B')
+) STORED;
+
+CREATE INDEX pos_search_vector_idx ON pos USING GIN (search_vector);
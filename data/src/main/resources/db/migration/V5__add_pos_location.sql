@@ -0,0 +1,14 @@
+-- location of a POS in WGS 84 coordinates (see PosRepository#findNearby); null if unknown
+ALTER TABLE pos ADD COLUMN latitude double precision;
+ALTER TABLE pos ADD COLUMN longitude double precision;
+
+-- both coordinates are required: a check passes if its condition is null, so the range checks alone would accept a
+-- location with only one coordinate
+ALTER TABLE pos ADD CONSTRAINT pos_location_check CHECK (
+    (latitude IS NULL AND longitude IS NULL) OR
+    (latitude IS NOT NULL AND longitude IS NOT NULL
+        AND latitude BETWEEN -90 AND 90 AND longitude BETWEEN -180 AND 180)
+);
+
+-- nearby queries first select the POS within a bounding box using this index and only compute distances for those
+CREATE INDEX pos_location_idx ON pos (latitude, longitude) WHERE latitude IS NOT NULL;
@@ -0,0 +1,4 @@
+-- indexes for filtering POS by campus and type, and by postal code (see PosSpecifications)
+-- the ID is included so that filtered pages can be read in ID order (keyset pagination)
+CREATE INDEX pos_campus_type_idx ON pos (campus, type, id);
+CREATE INDEX pos_postal_code_idx ON pos (postal_code, id);
@@ -0,0 +1,3 @@
+-- version for optimistic locking, incremented on every update (see PosEntity#version and UserEntity#version)
+ALTER TABLE pos ADD COLUMN version bigint NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,33 @@
+-- delta sync reads changes by the ID of the writing transaction instead of by time (see PosRepository): a transaction
+-- that has not committed yet has an ID at or after the oldest running one, so a sync that continues from there cannot
+-- miss its changes, however long it runs before committing and whatever the clocks of the application instances say
+ALTER TABLE pos ADD COLUMN change_xid bigint NOT NULL DEFAULT CAST(CAST(pg_current_xact_id() AS text) AS bigint);
+
+-- stamps every update, including the ones written by JPA and by the UPDATE ... RETURNING statements
+CREATE FUNCTION pos_set_change_xid() RETURNS trigger AS $$
+BEGIN
+    NEW.change_xid := CAST(CAST(pg_current_xact_id() AS text) AS bigint);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+CREATE TRIGGER pos_change_xid BEFORE UPDATE ON pos FOR EACH ROW EXECUTE FUNCTION pos_set_change_xid();
+
+CREATE INDEX pos_change_xid_idx ON pos (change_xid, id);
+
+-- tombstones of deleted POS, so that clients can also remove them on delta sync (see PosUpdateRepositoryImpl)
+-- POS IDs come from a sequence and are never reused, so the ID identifies the deleted POS
+CREATE TABLE pos_deletions (
+    pos_id bigint PRIMARY KEY,
+    deleted_at timestamp NOT NULL,
+    change_xid bigint NOT NULL DEFAULT CAST(CAST(pg_current_xact_id() AS text) AS bigint)
+);
+CREATE INDEX pos_deletions_change_xid_idx ON pos_deletions (change_xid, pos_id);
+-- tombstones are purged after a retention period (see PosUpdateRepositoryImpl)
+CREATE INDEX pos_deletions_deleted_at_idx ON pos_deletions (deleted_at, pos_id);
+
+-- the latest transaction ID of a purged tombstone (single row): sync tokens at or before it may miss deletions
+CREATE TABLE pos_deletions_purge_horizon (
+    id boolean PRIMARY KEY DEFAULT true CHECK (id),
+    change_xid bigint NOT NULL
+);
+INSERT INTO pos_deletions_purge_horizon (change_xid) VALUES (0);
@@ -0,0 +1,19 @@
+CREATE SEQUENCE import_job_seq START WITH 1 INCREMENT BY 1;
+
+-- state of asynchronous OSM import jobs, so that every application instance can answer polls (see ImportJobEntity)
+CREATE TABLE import_jobs (
+    id bigint NOT NULL PRIMARY KEY,
+    created_at timestamp NOT NULL,
+    updated_at timestamp NOT NULL,
+    status varchar(16) NOT NULL,
+    campus varchar(255) NOT NULL,
+    total_nodes integer NOT NULL CHECK (total_nodes > 0),
+    processed_nodes integer NOT NULL CHECK (processed_nodes BETWEEN 0 AND total_nodes),
+    results jsonb NOT NULL, -- results of the processed nodes in the order of submission
+    finished_at timestamp, -- null while the job is queued or running
+    message text -- null unless the job failed
+);
+
+-- expired jobs are looked up by their finish time or, if they never finished, by their last update
+CREATE INDEX import_jobs_finished_at_idx ON import_jobs (finished_at);
+CREATE INDEX import_jobs_updated_at_idx ON import_jobs (updated_at) WHERE finished_at IS NULL;
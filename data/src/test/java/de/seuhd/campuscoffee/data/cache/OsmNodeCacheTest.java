@@ -0,0 +1,151 @@
+package de.seuhd.campuscoffee.data.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.seuhd.campuscoffee.domain.exceptions.MissingFieldException;
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.model.OsmAmenity;
+import de.seuhd.campuscoffee.domain.model.OsmNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OsmNodeCacheTest {
+    private static final Duration SHORT_TTL = Duration.ofMillis(200);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void nodeIsCachedUntilTtlExpires() throws InterruptedException {
+        // given
+        OsmNodeCache cache = newCache(SHORT_TTL, Duration.ofHours(1));
+        cache.putNode(node(1L));
+
+        // when, then
+        assertThat(cache.lookup(1L)).contains(node(1L));
+        Thread.sleep(SHORT_TTL.multipliedBy(2).toMillis());
+        assertThat(cache.lookup(1L)).isEmpty();
+        assertThat(directory.resolve("1.json")).doesNotExist(); // deleted on read
+    }
+
+    @Test
+    void missingNodesAreCachedNegatively() {
+        // given
+        OsmNodeCache cache = newCache(Duration.ofHours(1), Duration.ofHours(1));
+
+        // when
+        cache.putNotFound(1L);
+        cache.putMissingField(2L, "addr:street");
+
+        // then
+        assertThatThrownBy(() -> cache.lookup(1L)).isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> cache.lookup(2L))
+                .isInstanceOf(MissingFieldException.class)
+                .hasMessageContaining("addr:street");
+        assertThat(cache.lookup(3L)).isEmpty();
+    }
+
+    @Test
+    void negativeEntriesUseTheirOwnTtl() throws InterruptedException {
+        // given
+        OsmNodeCache cache = newCache(Duration.ofHours(1), SHORT_TTL);
+        cache.putNode(node(1L));
+        cache.putNotFound(2L);
+        cache.putMissingField(3L, "addr:street");
+
+        // when
+        Thread.sleep(SHORT_TTL.multipliedBy(2).toMillis());
+
+        // then
+        assertThat(cache.lookup(1L)).contains(node(1L));
+        assertThat(cache.lookup(2L)).isEmpty();
+        assertThat(cache.lookup(3L)).isEmpty();
+    }
+
+    @Test
+    void diskTierSurvivesNewInstance() {
+        // given
+        OsmNodeCache cache = newCache(Duration.ofHours(1), Duration.ofHours(1));
+        cache.putNode(node(1L));
+        cache.putNotFound(2L);
+        cache.putMissingField(3L, "addr:street");
+
+        // when
+        OsmNodeCache restartedCache = newCache(Duration.ofHours(1), Duration.ofHours(1));
+
+        // then
+        assertThat(restartedCache.lookup(1L)).contains(node(1L));
+        assertThatThrownBy(() -> restartedCache.lookup(2L)).isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> restartedCache.lookup(3L)).isInstanceOf(MissingFieldException.class);
+    }
+
+    @Test
+    void expiredAndUnreadableFilesAreSweptOnStartup() throws IOException, InterruptedException {
+        // given
+        OsmNodeCache cache = newCache(Duration.ofHours(1), SHORT_TTL);
+        cache.putNode(node(1L));
+        cache.putNotFound(2L);
+        Files.writeString(directory.resolve("3.json"), "{not json");
+        Path leftoverTempFile = Files.writeString(directory.resolve("4-123.tmp"), "{}");
+        Files.setLastModifiedTime(leftoverTempFile, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        Path recentTempFile = Files.writeString(directory.resolve("5-456.tmp"), "{}");
+        Thread.sleep(SHORT_TTL.multipliedBy(2).toMillis());
+
+        // when
+        newCache(Duration.ofHours(1), SHORT_TTL);
+
+        // then
+        assertThat(directory.resolve("1.json")).exists();
+        assertThat(directory.resolve("2.json")).doesNotExist();
+        assertThat(directory.resolve("3.json")).doesNotExist();
+        assertThat(leftoverTempFile).doesNotExist();
+        assertThat(recentTempFile).exists(); // may still be written
+    }
+
+    @Test
+    void sweepDeletesFilesThatExpiredWhileRunning() throws InterruptedException {
+        // given
+        OsmNodeCache cache = newCache(SHORT_TTL, Duration.ofHours(1));
+        cache.putNode(node(1L));
+        cache.putNotFound(2L);
+        Thread.sleep(SHORT_TTL.multipliedBy(2).toMillis());
+
+        // when
+        cache.sweepExpiredFiles();
+
+        // then
+        assertThat(directory.resolve("1.json")).doesNotExist();
+        assertThat(directory.resolve("2.json")).exists();
+    }
+
+    private OsmNodeCache newCache(Duration ttl, Duration negativeTtl) {
+        return new OsmNodeCache(new OsmCacheProperties(100, ttl, negativeTtl, directory, Duration.ofHours(1)),
+                objectMapper);
+    }
+
+    private static OsmNode node(Long nodeId) {
+        return OsmNode.builder()
+                .nodeId(nodeId)
+                .name("Rada")
+                .amenity(OsmAmenity.FAST_FOOD)
+                .street("Untere Straße")
+                .houseNumber("21")
+                .postcode("69117")
+                .city("Heidelberg")
+                .description("n/a")
+                .latitude(49.4106)
+                .longitude(8.7063)
+                .build();
+    }
+}
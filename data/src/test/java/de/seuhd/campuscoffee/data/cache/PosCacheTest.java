@@ -0,0 +1,159 @@
+package de.seuhd.campuscoffee.data.cache;
+
+import de.seuhd.campuscoffee.domain.model.DataChange;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosCollectionState;
+import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that loads which read the database before a write commits do not re-seed the cache after the write.
+ * A slow loader waits on a latch while the write is invalidated on the test thread or on a second thread.
+ */
+public class PosCacheTest {
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private final Pos stalePos = TestFixtures.getPosList().getFirst().toBuilder().id(1L).name("Stale").build();
+    private final Pos freshPos = stalePos.toBuilder().name("Fresh").build();
+
+    private PosCache posCache;
+    private ExecutorService executor;
+    private CountDownLatch loading;
+    private CountDownLatch writeCommitted;
+
+    @BeforeEach
+    void setUp() {
+        posCache = new PosCache(new PosCacheProperties(100, Duration.ofMinutes(10)), new SimpleMeterRegistry());
+        executor = Executors.newFixedThreadPool(2);
+        loading = new CountDownLatch(1);
+        writeCommitted = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getByIdReloadsPosWhenAllPosAreInvalidatedDuringLoad() throws Exception {
+        // given: the first load reads the database before the write, the retry after it
+        AtomicInteger loads = new AtomicInteger();
+        Future<Pos> slowLoad = executor.submit(() -> posCache.getById(1L, id ->
+                loads.getAndIncrement() == 0 ? slowly(stalePos) : freshPos));
+        assertTrue(loading.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // when
+        posCache.onDataChange(DataChange.all(DataChange.EntityType.POS));
+        writeCommitted.countDown();
+
+        // then
+        assertEquals(freshPos, slowLoad.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(2, loads.get());
+        assertEquals(freshPos, posCache.getById(1L, id -> stalePos));
+    }
+
+    @Test
+    void getByIdsDiscardsBulkLoadRunningWhileLoadedPosIsInvalidated() throws Exception {
+        // given
+        Future<Map<Long, Pos>> slowLoad = executor.submit(() ->
+                posCache.getByIds(List.of(1L), ids -> Map.of(1L, slowly(stalePos))));
+        assertTrue(loading.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // when
+        posCache.onDataChange(DataChange.of(DataChange.EntityType.POS, List.of(1L), List.of(stalePos.name())));
+        writeCommitted.countDown();
+        slowLoad.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(Map.of(1L, freshPos), posCache.getByIds(List.of(1L), ids -> Map.of(1L, freshPos)));
+        assertEquals(freshPos, posCache.getById(1L, id -> freshPos));
+    }
+
+    @Test
+    void getByIdsKeepsBulkLoadWithoutConcurrentWrite() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        posCache.getByIds(List.of(1L), ids -> {
+            loads.incrementAndGet();
+            return Map.of(1L, freshPos);
+        });
+
+        // then
+        assertEquals(freshPos, posCache.getById(1L, id -> stalePos));
+        assertEquals(Map.of(1L, freshPos), posCache.getByIds(List.of(1L), ids -> Map.of(1L, stalePos)));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getCollectionStateDiscardsLoadRunningWhileWriteIsInvalidated() throws Exception {
+        // given
+        PosCollectionState staleState = new PosCollectionState(1, null, null, 1, 1);
+        PosCollectionState freshState = new PosCollectionState(2, null, null, 2, 2);
+        Future<PosCollectionState> slowLoad = executor.submit(() ->
+                posCache.getCollectionState(() -> slowly(staleState)));
+        assertTrue(loading.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // when: the invalidation waits for the running load, so it must run on another thread
+        Future<?> invalidation = executor.submit(() ->
+                posCache.onDataChange(DataChange.of(DataChange.EntityType.POS, List.of(2L), List.of())));
+        assertThrows(TimeoutException.class, () -> invalidation.get(100, TimeUnit.MILLISECONDS));
+        writeCommitted.countDown();
+        slowLoad.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        invalidation.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(freshState, posCache.getCollectionState(() -> freshState));
+    }
+
+    @Test
+    void getAllDiscardsLoadRunningWhileWriteIsInvalidated() throws Exception {
+        // given
+        Future<List<Pos>> slowLoad = executor.submit(() -> posCache.getAll(() -> List.of(slowly(stalePos))));
+        assertTrue(loading.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // when
+        Future<?> invalidation = executor.submit(() ->
+                posCache.onDataChange(DataChange.all(DataChange.EntityType.POS)));
+        assertThrows(TimeoutException.class, () -> invalidation.get(100, TimeUnit.MILLISECONDS));
+        writeCommitted.countDown();
+        slowLoad.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        invalidation.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(List.of(freshPos), posCache.getAll(() -> List.of(freshPos)));
+    }
+
+    /**
+     * Simulates a load that read the database before the write committed and returns after it was invalidated.
+     */
+    private <T> T slowly(T staleValue) {
+        loading.countDown();
+        try {
+            assertTrue(writeCommitted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return staleValue;
+    }
+}
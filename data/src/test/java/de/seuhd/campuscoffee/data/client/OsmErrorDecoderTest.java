@@ -0,0 +1,98 @@
+package de.seuhd.campuscoffee.data.client;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import feign.RetryableException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class OsmErrorDecoderTest {
+    private static final double PERMITS_PER_SECOND = 8;
+
+    private final OsmRateLimiter rateLimiter =
+            new OsmRateLimiter(new OsmApiProperties.RateLimit(PERMITS_PER_SECOND, 10, 1));
+    private final OsmErrorDecoder errorDecoder = new OsmErrorDecoder(rateLimiter);
+
+    @Test
+    void serverErrorsAreRetryable() {
+        for (int status : new int[]{500, 502, 503, 504}) {
+            // when
+            Exception exception = errorDecoder.decode("OsmFeignClient#fetchNode(Long)", response(status, Map.of()));
+
+            // then
+            RetryableException retryable = assertInstanceOf(RetryableException.class, exception);
+            assertEquals(status, retryable.status());
+            assertNull(retryable.retryAfter()); // the retryer decides on the backoff
+        }
+        assertEquals(PERMITS_PER_SECOND, rateLimiter.getRate());
+    }
+
+    @Test
+    void rateLimitingIsRetryableAndSlowsDownRateLimiter() {
+        // when
+        Exception exception = errorDecoder.decode("OsmFeignClient#fetchNode(Long)", response(429, Map.of()));
+
+        // then
+        assertEquals(429, assertInstanceOf(RetryableException.class, exception).status());
+        assertEquals(PERMITS_PER_SECOND / 2, rateLimiter.getRate());
+    }
+
+    @Test
+    void exceededBandwidthLimitIsRetryableAndSlowsDownRateLimiter() {
+        // when
+        Exception exception = errorDecoder.decode("OsmFeignClient#fetchNode(Long)", response(509, Map.of()));
+
+        // then
+        assertEquals(509, assertInstanceOf(RetryableException.class, exception).status());
+        assertEquals(PERMITS_PER_SECOND / 2, rateLimiter.getRate());
+    }
+
+    @Test
+    void retryAfterHeaderIsPassedToRetryer() {
+        // given
+        long now = System.currentTimeMillis();
+
+        // when
+        Exception exception = errorDecoder.decode("OsmFeignClient#fetchNode(Long)",
+                response(429, Map.of("Retry-After", List.of("2"))));
+
+        // then
+        Long retryAfter = assertInstanceOf(RetryableException.class, exception).retryAfter();
+        assertThat(retryAfter).isBetween(now + 1000, now + 3000);
+        assertEquals(PERMITS_PER_SECOND / 2, rateLimiter.getRate());
+    }
+
+    @Test
+    void clientErrorsAreNotRetryable() {
+        for (int status : new int[]{400, 403, 404, 410}) {
+            // when
+            Exception exception = errorDecoder.decode("OsmFeignClient#fetchNode(Long)", response(status, Map.of()));
+
+            // then
+            assertEquals(status, assertInstanceOf(FeignException.class, exception).status());
+            assertThat(exception).isNotInstanceOf(RetryableException.class);
+        }
+        assertEquals(PERMITS_PER_SECOND, rateLimiter.getRate());
+    }
+
+    private static Response response(int status, Map<String, Collection<String>> headers) {
+        Request request = Request.create(Request.HttpMethod.GET, "https://api.example.org/node/1", Map.of(),
+                null, StandardCharsets.UTF_8, null);
+        return Response.builder()
+                .status(status)
+                .reason("Error " + status)
+                .request(request)
+                .headers(headers)
+                .build();
+    }
+}
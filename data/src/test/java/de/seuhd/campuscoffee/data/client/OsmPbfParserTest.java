@@ -0,0 +1,94 @@
+package de.seuhd.campuscoffee.data.client;
+
+import crosby.binary.file.FileFormatException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OsmPbfParserTest {
+
+    private final OsmPbfParser osmPbfParser = new OsmPbfParser();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void parseNodesReadsDenseAndPlainNodesOfAllBlocks() throws IOException {
+        // given: each block has its own string table
+        Path file = directory.resolve("extract.osm.pbf");
+        PbfFixtures.write(file, PbfFixtures.REQUIRED_FEATURES, List.of(
+                PbfFixtures.denseBlock(List.of(
+                        new PbfFixtures.Node(5589879349L, 49.4122362, 8.7077883, Map.of(
+                                "name", "Rada",
+                                "amenity", "cafe",
+                                "addr:street", "Untere Straße",
+                                "opening_hours", "Mo-Su 10:00-18:00")),
+                        new PbfFixtures.Node(5589879350L, 49.4100000, 8.7000000, Map.of()),
+                        new PbfFixtures.Node(5589879360L, -33.8688197, 151.2092955, Map.of("name", "Sydney")))),
+                PbfFixtures.plainBlock(List.of(
+                        new PbfFixtures.Node(1864600258L, 49.4179, 8.6761, Map.of(
+                                "name:en", "Coffee Nerd",
+                                "wheelchair", "yes"))))));
+
+        // when
+        List<OsmResponse> nodes = new ArrayList<>();
+        long count;
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            count = osmPbfParser.parseNodes(inputStream, nodes::add);
+        }
+
+        // then
+        assertEquals(4, count);
+        assertThat(nodes).extracting(OsmResponse::getId)
+                .containsExactly(5589879349L, 5589879350L, 5589879360L, 1864600258L);
+        assertThat(nodes.getFirst().getTags()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "name", "Rada",
+                "amenity", "cafe",
+                "addr:street", "Untere Straße"));
+        assertThat(nodes.getFirst().getLat()).isCloseTo(49.4122362, within(1e-7));
+        assertThat(nodes.getFirst().getLon()).isCloseTo(8.7077883, within(1e-7));
+        assertThat(nodes.get(1).getTags()).isEmpty();
+        assertThat(nodes.get(2).getLat()).isCloseTo(-33.8688197, within(1e-7));
+        assertThat(nodes.get(2).getLon()).isCloseTo(151.2092955, within(1e-7));
+        assertThat(nodes.get(3).getTags()).containsExactlyEntriesOf(Map.of("name:en", "Coffee Nerd"));
+        assertThat(nodes.get(3).getLat()).isCloseTo(49.4179, within(1e-7));
+    }
+
+    @Test
+    void parseNodesRejectsUnsupportedRequiredFeatures() throws IOException {
+        // given
+        Path file = directory.resolve("history.osh.pbf");
+        PbfFixtures.write(file, List.of("OsmSchema-V0.6", "HistoricalInformation"), List.of());
+
+        // when, then
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            IOException exception = assertThrows(IOException.class,
+                    () -> osmPbfParser.parseNodes(inputStream, node -> {}));
+            assertThat(exception).isInstanceOf(FileFormatException.class)
+                    .hasMessageContaining("HistoricalInformation");
+        }
+    }
+
+    @Test
+    void parseNodesRejectsMalformedFile() throws IOException {
+        // given: an XML file with a .pbf extension
+        Path file = Files.writeString(directory.resolve("extract.osm.pbf"), "<osm version=\"0.6\"></osm>");
+
+        // when, then
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            assertThrows(IOException.class, () -> osmPbfParser.parseNodes(inputStream, node -> {}));
+        }
+    }
+}
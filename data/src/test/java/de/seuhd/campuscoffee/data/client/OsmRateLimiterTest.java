@@ -0,0 +1,116 @@
+package de.seuhd.campuscoffee.data.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the adaptive token bucket with real time, so the bounds of the measured durations are generous.
+ */
+public class OsmRateLimiterTest {
+
+    @Test
+    void burstIsAvailableImmediatelyThenTokensRefillAtRate() {
+        // given
+        OsmRateLimiter rateLimiter = rateLimiter(10, 5, 1);
+
+        // when
+        long burstMillis = millisToAcquire(rateLimiter, 5);
+        long refillMillis = millisToAcquire(rateLimiter, 2);
+
+        // then: the bucket is empty after the burst, so each further token takes 100 ms
+        assertThat(burstMillis).isLessThan(50);
+        assertThat(refillMillis).isBetween(150L, 400L);
+    }
+
+    @Test
+    void tokensDoNotExceedBurstAfterIdlePeriod() throws InterruptedException {
+        // given
+        OsmRateLimiter rateLimiter = rateLimiter(10, 2, 1);
+        Thread.sleep(500); // would refill five tokens without the burst limit
+
+        // when
+        long burstMillis = millisToAcquire(rateLimiter, 2);
+        long refillMillis = millisToAcquire(rateLimiter, 1);
+
+        // then
+        assertThat(burstMillis).isLessThan(50);
+        assertThat(refillMillis).isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    void throttlingHalvesRateDownToMinimum() {
+        // given
+        OsmRateLimiter rateLimiter = rateLimiter(8, 10, 1);
+
+        // when, then
+        rateLimiter.onThrottled(Duration.ZERO);
+        assertEquals(4, rateLimiter.getRate());
+        rateLimiter.onThrottled(Duration.ZERO);
+        assertEquals(2, rateLimiter.getRate());
+        rateLimiter.onThrottled(Duration.ZERO);
+        assertEquals(1, rateLimiter.getRate());
+        rateLimiter.onThrottled(Duration.ZERO);
+        assertEquals(1, rateLimiter.getRate());
+    }
+
+    @Test
+    void throttlingBlocksRequestsUntilRetryAfterHasPassed() {
+        // given: a full bucket
+        OsmRateLimiter rateLimiter = rateLimiter(100, 10, 1);
+
+        // when
+        rateLimiter.onThrottled(Duration.ofMillis(300));
+        long blockedMillis = millisToAcquire(rateLimiter, 1);
+
+        // then
+        assertThat(blockedMillis).isBetween(250L, 1000L);
+        assertEquals(50, rateLimiter.getRate());
+    }
+
+    @Test
+    void throttlingWithoutRetryAfterWaitsForOneTokenAtReducedRate() {
+        // given
+        OsmRateLimiter rateLimiter = rateLimiter(10, 10, 1);
+
+        // when
+        rateLimiter.onThrottled(null);
+        long blockedMillis = millisToAcquire(rateLimiter, 1);
+
+        // then: the reduced rate of 5 requests/s yields one token after 200 ms
+        assertThat(blockedMillis).isBetween(150L, 800L);
+    }
+
+    @Test
+    void successfulRequestsIncreaseRateAdditivelyUpToMaximum() {
+        // given
+        OsmRateLimiter rateLimiter = rateLimiter(8, 10, 1.5);
+        rateLimiter.onThrottled(Duration.ZERO);
+        rateLimiter.onThrottled(Duration.ZERO);
+
+        // when, then
+        assertEquals(2, rateLimiter.getRate());
+        rateLimiter.onSuccess();
+        assertEquals(3.5, rateLimiter.getRate());
+        rateLimiter.onSuccess();
+        assertEquals(5, rateLimiter.getRate());
+        rateLimiter.onSuccess();
+        rateLimiter.onSuccess();
+        assertEquals(8, rateLimiter.getRate());
+    }
+
+    private static OsmRateLimiter rateLimiter(double permitsPerSecond, int burst, double minPermitsPerSecond) {
+        return new OsmRateLimiter(new OsmApiProperties.RateLimit(permitsPerSecond, burst, minPermitsPerSecond));
+    }
+
+    private static long millisToAcquire(OsmRateLimiter rateLimiter, int permits) {
+        long start = System.nanoTime();
+        for (int i = 0; i < permits; i++) {
+            rateLimiter.acquire();
+        }
+        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+    }
+}
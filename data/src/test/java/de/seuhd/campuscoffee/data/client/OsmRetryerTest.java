@@ -0,0 +1,107 @@
+package de.seuhd.campuscoffee.data.client;
+
+import feign.Request;
+import feign.RetryableException;
+import feign.Retryer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OsmRetryerTest {
+    private static final int SAMPLES = 200;
+
+    @Test
+    void retriesUntilMaxAttemptsAreReached() {
+        // given
+        OsmRetryer retryer = retryer(3, Duration.ofMillis(1), Duration.ofMillis(1));
+        RetryableException exception = exception(null);
+
+        // when, then: two retries after the first and second attempt, then the third failure is propagated
+        assertDoesNotThrow(() -> retryer.continueOrPropagate(exception));
+        assertDoesNotThrow(() -> retryer.continueOrPropagate(exception));
+        assertSame(exception, assertThrows(RetryableException.class, () -> retryer.continueOrPropagate(exception)));
+    }
+
+    @Test
+    void cloneStartsAtFirstAttempt() {
+        // given
+        OsmRetryer retryer = retryer(2, Duration.ofMillis(1), Duration.ofMillis(1));
+        RetryableException exception = exception(null);
+        retryer.continueOrPropagate(exception);
+
+        // when
+        Retryer clonedRetryer = retryer.clone();
+
+        // then
+        assertThrows(RetryableException.class, () -> retryer.continueOrPropagate(exception));
+        assertDoesNotThrow(() -> clonedRetryer.continueOrPropagate(exception));
+    }
+
+    @Test
+    void backoffIsRandomizedBelowExponentialCeiling() {
+        // given
+        OsmRetryer retryer = retryer(5, Duration.ofMillis(8), Duration.ofMillis(20));
+        RetryableException exception = exception(null);
+
+        // when, then: the ceiling doubles with every attempt until it reaches the maximum backoff
+        for (long ceilingMillis : new long[]{8, 16, 20, 20}) {
+            List<Long> backoffs = LongStream.range(0, SAMPLES)
+                    .mapToObj(i -> retryer.backoffMillis(exception))
+                    .toList();
+            assertThat(backoffs).allSatisfy(backoff -> assertThat(backoff).isBetween(0L, ceilingMillis));
+            assertThat(backoffs.stream().distinct().count()).isGreaterThan(1); // jittered
+            retryer.continueOrPropagate(exception);
+        }
+    }
+
+    @Test
+    void retryAfterRaisesBackoffUpToMaxBackoff() {
+        // given
+        OsmRetryer retryer = retryer(3, Duration.ofMillis(1), Duration.ofMillis(500));
+        long now = System.currentTimeMillis();
+
+        // when
+        long backoffMillis = retryer.backoffMillis(exception(now + 300));
+        long cappedBackoffMillis = retryer.backoffMillis(exception(now + Duration.ofHours(1).toMillis()));
+
+        // then
+        assertThat(backoffMillis).isBetween(250L, 300L);
+        assertThat(cappedBackoffMillis).isEqualTo(500);
+    }
+
+    @Test
+    void interruptedBackoffPropagatesException() {
+        // given
+        OsmRetryer retryer = retryer(3, Duration.ofMillis(1), Duration.ofSeconds(5));
+        RetryableException exception = exception(System.currentTimeMillis() + 1000);
+        Thread.currentThread().interrupt();
+
+        // when, then
+        assertSame(exception, assertThrows(RetryableException.class, () -> retryer.continueOrPropagate(exception)));
+        assertTrue(Thread.interrupted()); // also clears the flag for other tests
+    }
+
+    private static OsmRetryer retryer(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        return new OsmRetryer(new OsmApiProperties.Retry(maxAttempts, initialBackoff, maxBackoff));
+    }
+
+    /**
+     * @param retryAfter the epoch milliseconds of the Retry-After header; null if the response had none
+     * @return the exception of a request that failed with 503
+     */
+    private static RetryableException exception(Long retryAfter) {
+        Request request = Request.create(Request.HttpMethod.GET, "https://api.example.org/node/1", Map.of(),
+                null, StandardCharsets.UTF_8, null);
+        return new RetryableException(503, "Service Unavailable", Request.HttpMethod.GET, retryAfter, request);
+    }
+}
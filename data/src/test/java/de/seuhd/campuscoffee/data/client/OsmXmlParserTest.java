@@ -0,0 +1,113 @@
+package de.seuhd.campuscoffee.data.client;
+
+import org.junit.jupiter.api.Test;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OsmXmlParserTest {
+
+    private final OsmXmlParser osmXmlParser = new OsmXmlParser();
+
+    @Test
+    void parseNodeRetainsRelevantTagsAndLocation() throws XMLStreamException {
+        // given
+        String xml = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <osm version="0.6" generator="openstreetmap-cgimap">
+                  <node id="5589879349" visible="true" version="3" lat="49.4122362" lon="8.7077883">
+                    <tag k="name" v="Rada"/>
+                    <tag k="name:de" v="Rada Kaffeerösterei"/>
+                    <tag k="name:en" v="Rada Coffee Roastery"/>
+                    <tag k="amenity" v="cafe"/>
+                    <tag k="description" v="Coffee roastery"/>
+                    <tag k="addr:street" v="Untere Straße"/>
+                    <tag k="addr:housenumber" v="21"/>
+                    <tag k="opening_hours" v="Mo-Su 10:00-18:00"/>
+                    <tag k="wheelchair" v="yes"/>
+                  </node>
+                </osm>
+                """;
+
+        // when
+        OsmResponse response = osmXmlParser.parseNode(xml);
+
+        // then
+        assertEquals(5589879349L, response.getId());
+        assertEquals(49.4122362, response.getLat());
+        assertEquals(8.7077883, response.getLon());
+        assertThat(response.getTags()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "name", "Rada",
+                "name:de", "Rada Kaffeerösterei",
+                "name:en", "Rada Coffee Roastery",
+                "amenity", "cafe",
+                "description", "Coffee roastery",
+                "addr:street", "Untere Straße",
+                "addr:housenumber", "21"));
+    }
+
+    @Test
+    void parseNodeWithoutLocationOrTags() throws XMLStreamException {
+        // when
+        OsmResponse response = osmXmlParser.parseNode("<osm><node id=\"42\" visible=\"false\"/></osm>");
+
+        // then
+        assertEquals(42L, response.getId());
+        assertNull(response.getLat());
+        assertNull(response.getLon());
+        assertThat(response.getTags()).isEmpty();
+    }
+
+    @Test
+    void parseNodeRejectsDocumentsWithoutValidNode() {
+        // when, then
+        assertThrows(XMLStreamException.class, () -> osmXmlParser.parseNode("<osm></osm>"));
+        assertThrows(XMLStreamException.class, () -> osmXmlParser.parseNode("<osm><node lat=\"49.4\"/></osm>"));
+        assertThrows(XMLStreamException.class, () -> osmXmlParser.parseNode("<osm><node id=\"1\"><tag k=\"name\""));
+        assertThrows(XMLStreamException.class, () -> osmXmlParser.parseNode("not xml"));
+    }
+
+    @Test
+    void parseNodeDoesNotResolveExternalEntities() {
+        // given
+        String xml = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <!DOCTYPE osm [<!ENTITY xxe SYSTEM "file:///etc/hostname">]>
+                <osm><node id="1"><tag k="name" v="&xxe;"/></node></osm>
+                """;
+
+        // when, then
+        assertThrows(XMLStreamException.class, () -> osmXmlParser.parseNode(xml));
+    }
+
+    @Test
+    void parseNodesStreamsAllNodesInDocumentOrder() throws XMLStreamException {
+        // given
+        String xml = """
+                <osm>
+                  <node id="1" lat="49.41" lon="8.70"><tag k="amenity" v="cafe"/></node>
+                  <way id="100"><nd ref="1"/><tag k="name" v="Hauptstraße"/></way>
+                  <node id="2" lat="49.42" lon="8.71"/>
+                </osm>
+                """;
+        List<OsmResponse> responses = new ArrayList<>();
+
+        // when
+        long count = osmXmlParser.parseNodes(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)),
+                responses::add);
+
+        // then
+        assertEquals(2, count);
+        assertThat(responses).extracting(OsmResponse::getId).containsExactly(1L, 2L);
+        assertThat(responses.getFirst().getTags()).containsExactlyEntriesOf(Map.of("amenity", "cafe"));
+    }
+}
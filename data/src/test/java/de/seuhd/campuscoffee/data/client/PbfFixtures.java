@@ -0,0 +1,131 @@
+package de.seuhd.campuscoffee.data.client;
+
+import com.google.protobuf.ByteString;
+import crosby.binary.Osmformat;
+import crosby.binary.file.BlockOutputStream;
+import crosby.binary.file.FileBlock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes OSM PBF files for tests.
+ * Coordinates are stored with the default granularity of 100 nanodegrees.
+ */
+public final class PbfFixtures {
+    public static final List<String> REQUIRED_FEATURES = List.of("OsmSchema-V0.6", "DenseNodes");
+
+    private static final double NANO = 1e-9;
+    private static final int GRANULARITY = 100;
+
+    private PbfFixtures() {}
+
+    /**
+     * A node to write.
+     *
+     * @param id   the node ID
+     * @param lat  the latitude
+     * @param lon  the longitude
+     * @param tags all tags of the node
+     */
+    public record Node(long id, double lat, double lon, Map<String, String> tags) {}
+
+    /**
+     * Writes a PBF file with a header block followed by the data blocks.
+     *
+     * @param file             the file to write
+     * @param requiredFeatures the features a reader must support
+     * @param blocks           the data blocks
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, List<String> requiredFeatures, List<Osmformat.PrimitiveBlock> blocks)
+            throws IOException {
+        try (BlockOutputStream output = new BlockOutputStream(Files.newOutputStream(file))) {
+            output.write(FileBlock.newInstance("OSMHeader", Osmformat.HeaderBlock.newBuilder()
+                    .addAllRequiredFeatures(requiredFeatures)
+                    .build()
+                    .toByteString(), null));
+            for (Osmformat.PrimitiveBlock block : blocks) {
+                output.write(FileBlock.newInstance("OSMData", block.toByteString(), null));
+            }
+        }
+    }
+
+    /**
+     * @param nodes the nodes of the block
+     * @return a data block that stores the nodes in the compact, delta-coded dense format
+     */
+    public static Osmformat.PrimitiveBlock denseBlock(List<Node> nodes) {
+        StringTable strings = new StringTable();
+        Osmformat.DenseNodes.Builder dense = Osmformat.DenseNodes.newBuilder();
+        long previousId = 0;
+        long previousLat = 0;
+        long previousLon = 0;
+        for (Node node : nodes) {
+            dense.addId(node.id() - previousId);
+            dense.addLat(toUnits(node.lat()) - previousLat);
+            dense.addLon(toUnits(node.lon()) - previousLon);
+            previousId = node.id();
+            previousLat = toUnits(node.lat());
+            previousLon = toUnits(node.lon());
+            node.tags().forEach((key, value) -> dense.addKeysVals(strings.indexOf(key)).addKeysVals(strings.indexOf(value)));
+            dense.addKeysVals(0);
+        }
+        return block(strings, Osmformat.PrimitiveGroup.newBuilder().setDense(dense));
+    }
+
+    /**
+     * @param nodes the nodes of the block
+     * @return a data block that stores each node as a separate message
+     */
+    public static Osmformat.PrimitiveBlock plainBlock(List<Node> nodes) {
+        StringTable strings = new StringTable();
+        Osmformat.PrimitiveGroup.Builder group = Osmformat.PrimitiveGroup.newBuilder();
+        for (Node node : nodes) {
+            Osmformat.Node.Builder builder = Osmformat.Node.newBuilder()
+                    .setId(node.id())
+                    .setLat(toUnits(node.lat()))
+                    .setLon(toUnits(node.lon()));
+            node.tags().forEach((key, value) -> builder.addKeys(strings.indexOf(key)).addVals(strings.indexOf(value)));
+            group.addNodes(builder);
+        }
+        return block(strings, group);
+    }
+
+    private static Osmformat.PrimitiveBlock block(StringTable strings, Osmformat.PrimitiveGroup.Builder group) {
+        return Osmformat.PrimitiveBlock.newBuilder()
+                .setStringtable(strings.build())
+                .addPrimitivegroup(group)
+                .build();
+    }
+
+    private static long toUnits(double degrees) {
+        return Math.round(degrees / NANO / GRANULARITY);
+    }
+
+    /**
+     * String table of a block; index 0 is reserved as the delimiter of dense node tags.
+     */
+    private static final class StringTable {
+        private final List<String> strings = new ArrayList<>(List.of(""));
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        int indexOf(String string) {
+            return indexes.computeIfAbsent(string, s -> {
+                strings.add(s);
+                return strings.size() - 1;
+            });
+        }
+
+        Osmformat.StringTable build() {
+            Osmformat.StringTable.Builder builder = Osmformat.StringTable.newBuilder();
+            strings.forEach(string -> builder.addS(ByteString.copyFromUtf8(string)));
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import com.sun.net.httpserver.HttpServer;
+import de.seuhd.campuscoffee.data.cache.OsmNodeCache;
+import de.seuhd.campuscoffee.data.client.OsmApiProperties;
+import de.seuhd.campuscoffee.data.client.OsmFeignClient;
+import de.seuhd.campuscoffee.data.client.OsmFeignClientConfig;
+import de.seuhd.campuscoffee.data.client.OsmPbfParser;
+import de.seuhd.campuscoffee.data.client.OsmRateLimiter;
+import de.seuhd.campuscoffee.data.client.OsmXmlParser;
+import de.seuhd.campuscoffee.data.client.PbfFixtures;
+import de.seuhd.campuscoffee.domain.exceptions.MissingFieldException;
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.OsmUnavailableException;
+import de.seuhd.campuscoffee.domain.model.BoundingBox;
+import de.seuhd.campuscoffee.domain.model.OsmAmenity;
+import de.seuhd.campuscoffee.domain.model.OsmExtractStatistics;
+import de.seuhd.campuscoffee.domain.model.OsmNode;
+import feign.Feign;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OsmDataServiceImplTest {
+    private static final long TIMEOUT_SECONDS = 5;
+    private static final BoundingBox ALTSTADT = new BoundingBox(8.66, 49.39, 8.72, 49.42);
+
+    @Mock
+    private OsmFeignClient osmFeignClient;
+
+    @Mock
+    private OsmNodeCache osmNodeCache;
+
+    @TempDir
+    Path directory;
+
+    private OsmDataServiceImpl osmDataService;
+
+    @BeforeEach
+    void setUp() {
+        osmDataService = new OsmDataServiceImpl(osmFeignClient, new OsmXmlParser(), new OsmPbfParser(), osmNodeCache);
+        lenient().when(osmNodeCache.lookup(1L)).thenReturn(Optional.empty()); // not used when reading extracts
+    }
+
+    @Test
+    void fetchNodeMapsTagsAndLocation() {
+        // given
+        when(osmFeignClient.fetchNode(1L)).thenReturn(nodeXml("lat=\"49.4106\" lon=\"8.7063\"",
+                "<tag k=\"name\" v=\"Rada\"/><tag k=\"amenity\" v=\"fast_food\"/>"));
+
+        // when
+        OsmNode node = osmDataService.fetchNode(1L);
+
+        // then
+        assertEquals(1L, node.nodeId());
+        assertEquals("Rada", node.name());
+        assertEquals(OsmAmenity.FAST_FOOD, node.amenity());
+        assertEquals("Untere Straße", node.street());
+        assertEquals("21", node.houseNumber());
+        assertEquals("69117", node.postcode());
+        assertEquals("Heidelberg", node.city());
+        assertEquals("n/a", node.description());
+        assertEquals(49.4106, node.latitude());
+        assertEquals(8.7063, node.longitude());
+        verify(osmNodeCache).putNode(node);
+    }
+
+    @Test
+    void fetchNodePrefersEnglishThenGermanName() {
+        // given
+        when(osmFeignClient.fetchNode(1L))
+                .thenReturn(nodeXml("", "<tag k=\"name\" v=\"Rada\"/><tag k=\"name:de\" v=\"Rada Kaffee\"/>" +
+                        "<tag k=\"name:en\" v=\"Rada Coffee\"/><tag k=\"amenity\" v=\"cafe\"/>"))
+                .thenReturn(nodeXml("", "<tag k=\"name\" v=\"Rada\"/><tag k=\"name:de\" v=\"Rada Kaffee\"/>" +
+                        "<tag k=\"amenity\" v=\"cafe\"/>"));
+
+        // when, then
+        assertEquals("Rada Coffee", osmDataService.fetchNode(1L).name());
+        assertEquals("Rada Kaffee", osmDataService.fetchNode(1L).name());
+    }
+
+    @Test
+    void fetchNodeIgnoresLocationOutOfRange() {
+        // given
+        when(osmFeignClient.fetchNode(1L)).thenReturn(nodeXml("lat=\"91.0\" lon=\"8.7063\"",
+                "<tag k=\"name\" v=\"Rada\"/><tag k=\"amenity\" v=\"cafe\"/>"));
+
+        // when
+        OsmNode node = osmDataService.fetchNode(1L);
+
+        // then
+        assertNull(node.latitude());
+        assertNull(node.longitude());
+    }
+
+    @Test
+    void fetchNodeRejectsMissingOrUnsupportedFields() {
+        // given
+        when(osmFeignClient.fetchNode(1L))
+                .thenReturn(nodeXml("", "<tag k=\"name\" v=\"Rada\"/><tag k=\"amenity\" v=\"parking\"/>"))
+                .thenReturn(nodeXml("", "<tag k=\"amenity\" v=\"cafe\"/>"));
+
+        // when, then
+        assertEquals("amenity", assertThrows(MissingFieldException.class, () -> osmDataService.fetchNode(1L))
+                .getFieldName());
+        assertEquals("name", assertThrows(MissingFieldException.class, () -> osmDataService.fetchNode(1L))
+                .getFieldName());
+        verify(osmNodeCache).putMissingField(1L, "amenity");
+        verify(osmNodeCache).putMissingField(1L, "name");
+    }
+
+    @Test
+    void concurrentFetchesOfSameNodeSendOneRequest() throws Exception {
+        // given: the first fetch blocks in the request until the second one waits for it
+        CountDownLatch requestStarted = new CountDownLatch(1);
+        CountDownLatch responseReleased = new CountDownLatch(1);
+        when(osmFeignClient.fetchNode(1L)).thenAnswer(invocation -> {
+            requestStarted.countDown();
+            assertTrue(responseReleased.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            return nodeXml("", "<tag k=\"name\" v=\"Rada\"/><tag k=\"amenity\" v=\"cafe\"/>");
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<OsmNode> firstFetch = executor.submit(() -> osmDataService.fetchNode(1L));
+            assertTrue(requestStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+            // when
+            Future<OsmNode> secondFetch = executor.submit(() -> osmDataService.fetchNode(1L));
+            // two lookups by the first fetch (before and after registering), one by the second
+            verify(osmNodeCache, timeout(TIMEOUT_SECONDS * 1000).times(3)).lookup(1L);
+            assertThrows(TimeoutException.class, () -> secondFetch.get(100, TimeUnit.MILLISECONDS));
+            responseReleased.countDown();
+
+            // then
+            OsmNode node = firstFetch.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertEquals(node, secondFetch.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            verify(osmFeignClient, times(1)).fetchNode(1L);
+            verify(osmNodeCache, times(1)).putNode(node);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void fetchNodeRejectsMalformedResponse() {
+        // given
+        when(osmFeignClient.fetchNode(1L)).thenReturn("<osm><node id=\"1\"><tag k=\"name\" v=\"Rada\"");
+
+        // when, then
+        assertThrows(OsmUnavailableException.class, () -> osmDataService.fetchNode(1L));
+    }
+
+    @Test
+    void fetchNodeReportsUnavailableApiAfterRetries() throws IOException {
+        // given
+        AtomicInteger requests = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/node/1", exchange -> {
+            requests.incrementAndGet();
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            OsmDataServiceImpl service = new OsmDataServiceImpl(
+                    osmFeignClient("http://localhost:" + server.getAddress().getPort()),
+                    new OsmXmlParser(), new OsmPbfParser(), osmNodeCache);
+
+            // when, then
+            assertThrows(OsmUnavailableException.class, () -> service.fetchNode(1L));
+            assertEquals(2, requests.get());
+            verify(osmNodeCache, never()).putNotFound(any());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void readExtractFiltersNodesByAmenityAndBoundingBox() throws IOException {
+        // given
+        Path extractFile = Files.writeString(directory.resolve("extract.osm"), extractXml());
+        List<OsmNode> nodes = new ArrayList<>();
+
+        // when
+        OsmExtractStatistics statistics = osmDataService.readExtract(extractFile, ALTSTADT, nodes::add);
+
+        // then: the parking, the cafe in Karlsruhe, and the cafe without location are skipped
+        assertEquals(new OsmExtractStatistics(6, 2, 1), statistics);
+        assertThat(nodes).extracting(OsmNode::nodeId).containsExactly(1L);
+        assertEquals("Rada", nodes.getFirst().name());
+        assertEquals(49.4106, nodes.getFirst().latitude());
+    }
+
+    @Test
+    void readExtractWithoutBoundingBoxIncludesNodesWithoutLocation() throws IOException {
+        // given
+        Path extractFile = Files.writeString(directory.resolve("extract.osm"), extractXml());
+        List<OsmNode> nodes = new ArrayList<>();
+
+        // when
+        OsmExtractStatistics statistics = osmDataService.readExtract(extractFile, null, nodes::add);
+
+        // then
+        assertEquals(new OsmExtractStatistics(6, 4, 1), statistics);
+        assertThat(nodes).extracting(OsmNode::nodeId).containsExactly(1L, 2L, 5L);
+        assertNull(nodes.getLast().latitude());
+    }
+
+    @Test
+    void readExtractReadsPbfFiles() throws IOException {
+        // given
+        Path extractFile = directory.resolve("extract.osm.pbf");
+        PbfFixtures.write(extractFile, PbfFixtures.REQUIRED_FEATURES, List.of(
+                PbfFixtures.denseBlock(List.of(
+                        new PbfFixtures.Node(1, 49.4106, 8.7063, cafeTags("Rada")),
+                        new PbfFixtures.Node(2, 49.0094, 8.4044, cafeTags("Café Frisch")),
+                        new PbfFixtures.Node(3, 49.4100, 8.7000, Map.of("amenity", "parking")),
+                        new PbfFixtures.Node(4, 49.4110, 8.7010, Map.of("name", "Nameless", "amenity", "cafe")),
+                        new PbfFixtures.Node(6, 49.4120, 8.7020, Map.of()))),
+                PbfFixtures.plainBlock(List.of(
+                        new PbfFixtures.Node(5, 49.4179, 8.6761, cafeTags("Coffee Nerd"))))));
+        List<OsmNode> nodes = new ArrayList<>();
+
+        // when
+        OsmExtractStatistics statistics = osmDataService.readExtract(extractFile, ALTSTADT, nodes::add);
+
+        // then
+        assertEquals(new OsmExtractStatistics(6, 3, 1), statistics);
+        assertThat(nodes).extracting(OsmNode::nodeId).containsExactly(1L, 5L);
+        assertThat(nodes).extracting(OsmNode::name).containsExactly("Rada", "Coffee Nerd");
+        assertThat(nodes.getFirst().latitude()).isCloseTo(49.4106, within(1e-7));
+        assertThat(nodes.getFirst().longitude()).isCloseTo(8.7063, within(1e-7));
+    }
+
+    @Test
+    void readExtractReportsMalformedFile() throws IOException {
+        // given
+        Path xmlFile = Files.writeString(directory.resolve("extract.osm"), "<osm><node id=\"1\">");
+        Path pbfFile = Files.writeString(directory.resolve("extract.osm.pbf"), "<osm></osm>");
+
+        // when, then
+        assertThrows(UncheckedIOException.class, () -> osmDataService.readExtract(xmlFile, null, node -> {}));
+        assertThrows(UncheckedIOException.class, () -> osmDataService.readExtract(pbfFile, null, node -> {}));
+    }
+
+    /**
+     * Builds an OSM Feign client with the error decoder, retryer and rate limiter of the application.
+     *
+     * @param baseUrl the base URL of the OSM API
+     * @return the client; it retries once without noticeable backoff
+     */
+    private static OsmFeignClient osmFeignClient(String baseUrl) {
+        OsmFeignClientConfig config = new OsmFeignClientConfig();
+        OsmApiProperties properties = new OsmApiProperties(baseUrl,
+                new OsmApiProperties.Retry(2, Duration.ofMillis(1), Duration.ofMillis(1)),
+                new OsmApiProperties.RateLimit(100, 10, 1));
+        OsmRateLimiter rateLimiter = config.osmRateLimiter(properties);
+        return Feign.builder()
+                .contract(new SpringMvcContract())
+                .requestInterceptor(config.rateLimitInterceptor(rateLimiter))
+                .errorDecoder(config.osmErrorDecoder(rateLimiter))
+                .retryer(config.osmRetryer(properties))
+                .target(OsmFeignClient.class, baseUrl);
+    }
+
+    /**
+     * Builds an extract with a cafe inside the bounding box of the Altstadt, a cafe outside of it, a parking,
+     * a cafe without address, a cafe without location, and an untagged node (e.g., of a way).
+     *
+     * @return the XML document
+     */
+    private static String extractXml() {
+        return """
+                <osm version="0.6">
+                  <node id="1" lat="49.4106" lon="8.7063">%s</node>
+                  <node id="2" lat="49.0094" lon="8.4044">%s</node>
+                  <node id="3" lat="49.4100" lon="8.7000"><tag k="amenity" v="parking"/></node>
+                  <node id="4" lat="49.4110" lon="8.7010">
+                    <tag k="name" v="Nameless"/><tag k="amenity" v="cafe"/>
+                  </node>
+                  <node id="5">%s</node>
+                  <node id="6" lat="49.4120" lon="8.7020"/>
+                </osm>
+                """.formatted(cafeTagsXml("Rada"), cafeTagsXml("Café Frisch"), cafeTagsXml("Coffee Nerd"));
+    }
+
+    private static String cafeTagsXml(String name) {
+        StringBuilder xml = new StringBuilder();
+        cafeTags(name).forEach((key, value) -> xml.append("<tag k=\"%s\" v=\"%s\"/>".formatted(key, value)));
+        return xml.toString();
+    }
+
+    private static Map<String, String> cafeTags(String name) {
+        return Map.of(
+                "name", name,
+                "amenity", "cafe",
+                "addr:street", "Untere Straße",
+                "addr:housenumber", "21",
+                "addr:postcode", "69117",
+                "addr:city", "Heidelberg");
+    }
+
+    /**
+     * Builds an OSM API response for node 1 with a complete address.
+     *
+     * @param location the location attributes of the node element; empty for a node without location
+     * @param tags     the tag elements besides the address
+     * @return the XML document
+     */
+    private static String nodeXml(String location, String tags) {
+        return """
+                <osm version="0.6">
+                  <node id="1" %s>
+                    %s
+                    <tag k="addr:street" v="Untere Straße"/>
+                    <tag k="addr:housenumber" v="21"/>
+                    <tag k="addr:postcode" v="69117"/>
+                    <tag k="addr:city" v="Heidelberg"/>
+                  </node>
+                </osm>
+                """.formatted(location, tags);
+    }
+}
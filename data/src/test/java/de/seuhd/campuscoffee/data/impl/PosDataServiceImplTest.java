@@ -0,0 +1,105 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.data.cache.PosCache;
+import de.seuhd.campuscoffee.data.mapper.PosEntityMapper;
+import de.seuhd.campuscoffee.data.notification.DataChangePublisher;
+import de.seuhd.campuscoffee.data.persistence.PosEntity;
+import de.seuhd.campuscoffee.data.persistence.PosRepository;
+import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.UpsertResult;
+import de.seuhd.campuscoffee.domain.model.UpsertStatus;
+import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the retries of bulk upserts that lose a race for a name against a concurrent transaction.
+ * The transaction template is mocked, so each attempt fails or succeeds without a database.
+ */
+@ExtendWith(MockitoExtension.class)
+public class PosDataServiceImplTest {
+    private static final DataIntegrityViolationException NAME_CONFLICT = new DataIntegrityViolationException(
+            "duplicate key value violates unique constraint \"" + PosEntity.NAME_CONSTRAINT + "\"");
+
+    @Mock
+    private PosRepository posRepository;
+
+    @Mock
+    private PosEntityMapper posEntityMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PosCache posCache;
+
+    @Mock
+    private DataChangePublisher dataChangePublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private PosDataServiceImpl posDataService;
+
+    private final List<Pos> posList = TestFixtures.getPosList().subList(0, 2);
+
+    @BeforeEach
+    void setUp() {
+        posDataService = new PosDataServiceImpl(posRepository, posEntityMapper, entityManager, posCache,
+                dataChangePublisher, transactionTemplate);
+    }
+
+    @Test
+    void upsertAllChecksNamesAgainAfterNameConflict() {
+        // given
+        List<UpsertResult<Pos>> results = List.of(
+                new UpsertResult<>(UpsertStatus.DUPLICATE, null, "Name is already used."),
+                UpsertResult.persisted(UpsertStatus.CREATED, posList.get(1)));
+        when(transactionTemplate.execute(any()))
+                .thenThrow(NAME_CONFLICT)
+                .thenReturn(results);
+
+        // when, then
+        assertThat(posDataService.upsertAll(posList)).isEqualTo(results);
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void upsertAllFailsAfterRepeatedNameConflicts() {
+        // given
+        when(transactionTemplate.execute(any())).thenThrow(NAME_CONFLICT);
+
+        // when, then
+        assertThatThrownBy(() -> posDataService.upsertAll(posList))
+                .isInstanceOf(DuplicationException.class)
+                .hasMessageContaining(posList.get(0).name());
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+
+    @Test
+    void upsertAllDoesNotRetryOtherConstraintViolations() {
+        // given
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("value too long");
+        when(transactionTemplate.execute(any())).thenThrow(violation);
+
+        // when, then
+        assertThatThrownBy(() -> posDataService.upsertAll(posList)).isSameAs(violation);
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+}
@@ -0,0 +1,115 @@
+package de.seuhd.campuscoffee.data.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MappedFileInputStreamTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsSingleBytesAcrossWindows() throws IOException {
+        // given
+        byte[] content = content(25);
+        Path file = Files.write(directory.resolve("content.bin"), content);
+
+        // when
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        try (InputStream inputStream = new MappedFileInputStream(file, 10)) {
+            int b;
+            while ((b = inputStream.read()) != -1) {
+                read.write(b);
+            }
+        }
+
+        // then
+        assertArrayEquals(content, read.toByteArray());
+    }
+
+    @Test
+    void bulkReadsStopAtWindowBoundary() throws IOException {
+        // given
+        byte[] content = content(25);
+        Path file = Files.write(directory.resolve("content.bin"), content);
+
+        try (InputStream inputStream = new MappedFileInputStream(file, 10)) {
+            byte[] buffer = new byte[16];
+
+            // when, then: reads return at most the rest of the current window
+            assertEquals(0, inputStream.available());
+            assertEquals(8, inputStream.read(buffer, 0, 8));
+            assertEquals(2, inputStream.available());
+            assertEquals(2, inputStream.read(buffer, 8, 8));
+            assertEquals(10, inputStream.read(buffer, 0, 16));
+            assertEquals(5, inputStream.read(buffer, 10, 6));
+            assertEquals(-1, inputStream.read(buffer, 0, 16));
+            assertEquals(0, inputStream.read(buffer, 0, 0));
+        }
+    }
+
+    @Test
+    void readAllBytesReturnsWholeFile() throws IOException {
+        // given
+        byte[] content = content(1000);
+        Path file = Files.write(directory.resolve("content.bin"), content);
+
+        // when, then
+        try (InputStream inputStream = new MappedFileInputStream(file, 64)) {
+            assertArrayEquals(content, inputStream.readAllBytes());
+        }
+    }
+
+    @Test
+    void emptyFileIsAtEndOfStream() throws IOException {
+        // given
+        Path file = Files.createFile(directory.resolve("empty.bin"));
+
+        // when, then
+        try (InputStream inputStream = new MappedFileInputStream(file)) {
+            assertEquals(-1, inputStream.read());
+            assertEquals(-1, inputStream.read(new byte[8], 0, 8));
+        }
+    }
+
+    @Test
+    void readsAcrossDefaultWindowBoundary() throws IOException {
+        // given: a sparse file with a marker that spans the end of the first 64 MiB window
+        byte[] marker = content(16);
+        Path file = directory.resolve("large.bin");
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "rw")) {
+            randomAccessFile.setLength(MappedFileInputStream.WINDOW_SIZE + 8);
+            randomAccessFile.seek(MappedFileInputStream.WINDOW_SIZE - 8);
+            randomAccessFile.write(marker);
+        }
+
+        // when
+        byte[] read = new byte[16];
+        try (InputStream inputStream = new MappedFileInputStream(file)) {
+            inputStream.skipNBytes(MappedFileInputStream.WINDOW_SIZE - 8);
+            assertEquals(8, inputStream.read(read, 0, 16)); // end of the first window
+            assertEquals(8, inputStream.read(read, 8, 8));
+            assertEquals(-1, inputStream.read());
+        }
+
+        // then
+        assertArrayEquals(marker, read);
+    }
+
+    private static byte[] content(int length) {
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) (i * 7 + 1); // includes values above 127 to check the unsigned single-byte reads
+        }
+        return content;
+    }
+}
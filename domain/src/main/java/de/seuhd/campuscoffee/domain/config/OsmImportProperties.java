@@ -0,0 +1,38 @@
+package de.seuhd.campuscoffee.domain.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for importing POS from OpenStreetMap.
+ *
+ * @param maxConcurrency the maximum number of OSM nodes fetched in parallel during a bulk import
+ * @param jobs           the configuration of asynchronous import jobs
+ */
+@Validated
+@ConfigurationProperties(prefix = "osm.import")
+public record OsmImportProperties(
+        @DefaultValue("8") @Positive int maxConcurrency,
+        @DefaultValue @Valid Jobs jobs
+) {
+    /**
+     * Configuration properties for asynchronous import jobs.
+     *
+     * @param threads       the number of import jobs that run at the same time
+     * @param queueCapacity the number of submitted jobs that may wait for a free thread before new jobs are rejected
+     * @param chunkSize     the number of OSM nodes imported (and persisted) per step; progress is reported per chunk
+     * @param retention     how long finished jobs can be polled before they are discarded; unfinished jobs that were
+     *                      not updated for as long (e.g., after a crash of the instance running them) are discarded too
+     */
+    public record Jobs(
+            @DefaultValue("2") @Positive int threads,
+            @DefaultValue("20") @Positive int queueCapacity,
+            @DefaultValue("50") @Positive int chunkSize,
+            @DefaultValue("1h") Duration retention
+    ) {}
+}
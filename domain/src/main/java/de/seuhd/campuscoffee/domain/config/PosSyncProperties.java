@@ -0,0 +1,21 @@
+package de.seuhd.campuscoffee.domain.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the delta sync of POS.
+ *
+ * @param tombstoneRetention how long the tombstones of deleted POS are kept; sync tokens older than that expire
+ * @param purgeInterval      how often expired tombstones are removed
+ */
+@Validated
+@ConfigurationProperties(prefix = "pos.sync")
+public record PosSyncProperties(
+        @DefaultValue("30d") Duration tombstoneRetention,
+        @DefaultValue("1h") Duration purgeInterval
+) {
+}
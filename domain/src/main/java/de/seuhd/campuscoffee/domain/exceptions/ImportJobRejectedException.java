@@ -0,0 +1,18 @@
+package de.seuhd.campuscoffee.domain.exceptions;
+
+/**
+ * Exception thrown when an import job cannot be submitted because too many jobs are already waiting to be executed.
+ * Unlike a {@link ValidationException}, the request is valid: submitting it again later may succeed.
+ */
+public class ImportJobRejectedException extends RuntimeException {
+
+    /**
+     * Creates an exception for a rejected import job.
+     *
+     * @param queuedJobs the number of jobs that are waiting to be executed
+     * @param cause      the rejection of the job executor
+     */
+    public ImportJobRejectedException(int queuedJobs, Throwable cause) {
+        super("Too many import jobs are queued (" + queuedJobs + "); try again later.", cause);
+    }
+}
@@ -1,12 +1,18 @@
 package de.seuhd.campuscoffee.domain.exceptions;
 
+import lombok.Getter;
+
 /**
  * Generic exception thrown when an entity is missing a required field.
  * This represents a business rule violation: certain fields are mandatory.
  */
+@Getter
 public class MissingFieldException extends RuntimeException {
+    private final String fieldName;
+
     public MissingFieldException(Class<?> entityType, Long id, String fieldName) {
         super(entityType.getSimpleName() + " with ID " + id + " does not have the required fields. " +
                 "Field '" + fieldName + "' is missing.");
+        this.fieldName = fieldName;
     }
 }
@@ -0,0 +1,19 @@
+package de.seuhd.campuscoffee.domain.exceptions;
+
+/**
+ * Exception thrown when an OpenStreetMap node cannot be fetched because the OSM API failed
+ * (e.g., server errors or rate limiting after all retries, network errors, or malformed responses).
+ * Unlike {@link NotFoundException}, the failure is not final: retrying later may succeed.
+ */
+public class OsmUnavailableException extends RuntimeException {
+
+    /**
+     * Creates an exception for an OSM node that could not be fetched.
+     *
+     * @param nodeId the OSM node ID
+     * @param cause  the exception of the failed request
+     */
+    public OsmUnavailableException(Long nodeId, Throwable cause) {
+        super("OSM node with ID " + nodeId + " cannot be fetched: " + cause.getMessage(), cause);
+    }
+}
@@ -0,0 +1,17 @@
+package de.seuhd.campuscoffee.domain.exceptions;
+
+/**
+ * Exception thrown when a delta sync is requested with a token that is older than the retained deletion log,
+ * i.e., deletions since the token may no longer be known. The client has to sync again without a token.
+ */
+public class SyncTokenExpiredException extends RuntimeException {
+
+    /**
+     * Creates an exception for an expired sync token.
+     *
+     * @param token the sync token provided by the client
+     */
+    public SyncTokenExpiredException(String token) {
+        super("Sync token '" + token + "' has expired; sync again without a token.");
+    }
+}
@@ -0,0 +1,34 @@
+package de.seuhd.campuscoffee.domain.exceptions;
+
+import java.util.Collection;
+
+/**
+ * Generic exception thrown when attempting to update or delete an entity that has been modified in the meantime,
+ * i.e., the stored version differs from the version the client expects (optimistic locking).
+ */
+public class VersionMismatchException extends RuntimeException {
+
+    /**
+     * Creates an exception for an entity whose stored version differs from the expected one.
+     *
+     * @param entityType      the type of entity (e.g., "Pos", "User")
+     * @param id              the ID of the entity
+     * @param expectedVersion the version the client expected
+     */
+    public VersionMismatchException(Class<?> entityType, Long id, Long expectedVersion) {
+        super(entityType.getSimpleName() + " with ID " + id + " has been modified; expected version "
+                + expectedVersion + " is outdated.");
+    }
+
+    /**
+     * Creates an exception for an entity whose stored version is none of the expected ones.
+     *
+     * @param entityType       the type of entity (e.g., "Pos", "User")
+     * @param id               the ID of the entity
+     * @param expectedVersions the versions the client accepts; empty if the client provided none that can match
+     */
+    public VersionMismatchException(Class<?> entityType, Long id, Collection<Long> expectedVersions) {
+        super(entityType.getSimpleName() + " with ID " + id + " does not have any of the expected versions "
+                + expectedVersions + ".");
+    }
+}
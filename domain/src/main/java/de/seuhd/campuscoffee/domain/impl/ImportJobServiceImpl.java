@@ -0,0 +1,185 @@
+package de.seuhd.campuscoffee.domain.impl;
+
+import de.seuhd.campuscoffee.domain.config.OsmImportProperties;
+import de.seuhd.campuscoffee.domain.exceptions.ImportJobRejectedException;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.ImportJob;
+import de.seuhd.campuscoffee.domain.model.ImportJobStatus;
+import de.seuhd.campuscoffee.domain.model.OsmImportResult;
+import de.seuhd.campuscoffee.domain.model.UpsertResult;
+import de.seuhd.campuscoffee.domain.ports.ImportJobDataService;
+import de.seuhd.campuscoffee.domain.ports.ImportJobService;
+import de.seuhd.campuscoffee.domain.ports.PosService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of the import job service that runs OSM imports in the background.
+ * The state of every job is persisted via the {@link ImportJobDataService} after each step, so that any application
+ * instance can answer polls. Jobs run on the instance that accepted them; jobs that are still queued or running when
+ * the instance shuts down are marked as failed, so clients can submit them again.
+ */
+@Slf4j
+@Service
+public class ImportJobServiceImpl implements ImportJobService {
+    private static final String SHUTDOWN_MESSAGE = "The import job was aborted by a shutdown of the application; " +
+            "submit it again.";
+
+    private final PosService posService;
+    private final ImportJobDataService importJobDataService;
+    private final OsmImportProperties.Jobs jobProperties;
+    private final ThreadPoolExecutor executor;
+    private final Map<Long, JobState> activeJobs = new ConcurrentHashMap<>(); // queued or running on this instance
+
+    public ImportJobServiceImpl(PosService posService, ImportJobDataService importJobDataService,
+                                OsmImportProperties osmImportProperties) {
+        this.posService = posService;
+        this.importJobDataService = importJobDataService;
+        this.jobProperties = osmImportProperties.jobs();
+        // fixed number of threads and a bounded queue: bursts of jobs are rejected instead of piling up
+        this.executor = new ThreadPoolExecutor(
+                jobProperties.threads(), jobProperties.threads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(jobProperties.queueCapacity()),
+                Thread.ofPlatform().name("osm-import-", 1).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        activeJobs.values().forEach(job -> job.finish(ImportJobStatus.FAILED, SHUTDOWN_MESSAGE));
+    }
+
+    @Override
+    public @NonNull ImportJob submit(@NonNull List<Long> nodeIds, @NonNull CampusType campusType) {
+        if (nodeIds.isEmpty() || nodeIds.size() > UpsertResult.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    "Between 1 and " + UpsertResult.MAX_BATCH_SIZE + " OSM nodes can be imported at once.");
+        }
+        ImportJob queuedJob = importJobDataService.create(ImportJob.builder()
+                .status(ImportJobStatus.QUEUED)
+                .campus(campusType)
+                .totalNodes(nodeIds.size())
+                .processedNodes(0)
+                .results(List.of())
+                .build());
+        JobState job = new JobState(queuedJob, List.copyOf(nodeIds));
+        activeJobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            activeJobs.remove(job.id);
+            importJobDataService.delete(job.id);
+            int queuedJobs = executor.getQueue().size();
+            log.warn("Rejected import job for {} OSM nodes: {} jobs are already queued", nodeIds.size(), queuedJobs);
+            throw new ImportJobRejectedException(queuedJobs, e);
+        }
+        log.info("Submitted import job {} for {} OSM nodes", job.id, nodeIds.size());
+        return queuedJob;
+    }
+
+    @Override
+    public @NonNull ImportJob getById(@NonNull Long id) {
+        return importJobDataService.getById(id);
+    }
+
+    /**
+     * Removes finished jobs whose retention period has passed and unfinished jobs that were abandoned for as long.
+     * Running the purge on several application instances is harmless: the second run finds nothing to remove.
+     */
+    @Scheduled(initialDelayString = "${osm.import.jobs.retention:1h}",
+            fixedDelayString = "${osm.import.jobs.retention:1h}")
+    public void discardExpiredJobs() {
+        // same clock as the job timestamps
+        LocalDateTime threshold = LocalDateTime.now(ZoneId.of("UTC")).minus(jobProperties.retention());
+        int discarded = importJobDataService.deleteExpired(threshold);
+        log.debug("Discarded {} import jobs finished before {}", discarded, threshold);
+    }
+
+    /**
+     * Imports the nodes of a job chunk by chunk and records the results after each chunk.
+     *
+     * @param job the job to run
+     */
+    private void run(@NonNull JobState job) {
+        log.info("Starting import job {}...", job.id);
+        try {
+            job.start();
+            for (int from = 0; from < job.nodeIds.size(); from += jobProperties.chunkSize()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IllegalStateException("Import job was interrupted.");
+                }
+                List<Long> chunk = job.nodeIds.subList(from, Math.min(from + jobProperties.chunkSize(), job.nodeIds.size()));
+                job.addResults(posService.importFromOsmNodes(chunk, job.campus));
+            }
+            job.finish(ImportJobStatus.COMPLETED, null);
+            log.info("Completed import job {}", job.id);
+        } catch (RuntimeException e) {
+            log.error("Import job {} failed", job.id, e);
+            job.finish(ImportJobStatus.FAILED, e.getMessage());
+        } finally {
+            activeJobs.remove(job.id);
+        }
+    }
+
+    /**
+     * State of a job that is shared between the job thread and the shutdown of the application.
+     * Every change is persisted, so that polls (possibly answered by other application instances) see the progress.
+     */
+    private final class JobState {
+        private final Long id;
+        private final List<Long> nodeIds;
+        private final CampusType campus;
+        private final List<OsmImportResult> results = new ArrayList<>();
+        private ImportJob snapshot;
+
+        private JobState(ImportJob queuedJob, List<Long> nodeIds) {
+            this.id = queuedJob.id();
+            this.nodeIds = nodeIds;
+            this.campus = queuedJob.campus();
+            this.snapshot = queuedJob;
+        }
+
+        synchronized void start() {
+            save(snapshot.toBuilder().status(ImportJobStatus.RUNNING));
+        }
+
+        synchronized void addResults(List<OsmImportResult> chunkResults) {
+            if (snapshot.finishedAt() == null) {
+                results.addAll(chunkResults);
+                save(snapshot.toBuilder().processedNodes(results.size()).results(List.copyOf(results)));
+            }
+        }
+
+        synchronized void finish(ImportJobStatus finalStatus, @Nullable String failureMessage) {
+            if (snapshot.finishedAt() == null) {
+                save(snapshot.toBuilder()
+                        .status(finalStatus)
+                        .finishedAt(LocalDateTime.now(ZoneId.of("UTC")))
+                        .message(failureMessage));
+            }
+        }
+
+        private void save(ImportJob.ImportJobBuilder changedJob) {
+            snapshot = changedJob.build();
+            importJobDataService.update(snapshot);
+        }
+    }
+}
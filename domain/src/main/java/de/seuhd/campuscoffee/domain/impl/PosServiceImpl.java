@@ -1,22 +1,65 @@
 package de.seuhd.campuscoffee.domain.impl;
 
+import de.seuhd.campuscoffee.domain.config.OsmImportProperties;
 import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
 import de.seuhd.campuscoffee.domain.exceptions.MissingFieldException;
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.SyncTokenExpiredException;
+import de.seuhd.campuscoffee.domain.exceptions.VersionMismatchException;
+import de.seuhd.campuscoffee.domain.model.BoundingBox;
 import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.CursorPage;
+import de.seuhd.campuscoffee.domain.model.GeoPoint;
+import de.seuhd.campuscoffee.domain.model.LookupResult;
+import de.seuhd.campuscoffee.domain.model.NearbyPos;
 import de.seuhd.campuscoffee.domain.model.OsmAmenity;
+import de.seuhd.campuscoffee.domain.model.OsmExtractImportSummary;
+import de.seuhd.campuscoffee.domain.model.OsmExtractStatistics;
+import de.seuhd.campuscoffee.domain.model.OsmImportResult;
 import de.seuhd.campuscoffee.domain.model.OsmNode;
 import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosChanges;
+import de.seuhd.campuscoffee.domain.model.PosCollectionState;
+import de.seuhd.campuscoffee.domain.model.PosField;
+import de.seuhd.campuscoffee.domain.model.PosFilter;
+import de.seuhd.campuscoffee.domain.model.PosStatistics;
+import de.seuhd.campuscoffee.domain.model.PosSuggestion;
+import de.seuhd.campuscoffee.domain.model.ResultPage;
 import de.seuhd.campuscoffee.domain.model.PosType;
+import de.seuhd.campuscoffee.domain.model.Update;
+import de.seuhd.campuscoffee.domain.model.UpsertResult;
+import de.seuhd.campuscoffee.domain.model.UpsertStatus;
 import de.seuhd.campuscoffee.domain.ports.OsmDataService;
 import de.seuhd.campuscoffee.domain.ports.PosDataService;
 import de.seuhd.campuscoffee.domain.ports.PosService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the POS service that handles business logic related to POS entities.
@@ -25,13 +68,26 @@ import java.util.Objects;
 @Service
 @RequiredArgsConstructor
 public class PosServiceImpl implements PosService {
+    private static final String CURSOR_PREFIX = "pos:";
+    private static final String SYNC_TOKEN_PREFIX = "changes:";
+    private static final int EXTRACT_BATCH_SIZE = 1000;
+    // the ID and the timestamps are managed by the data store
+    private static final Set<PosField> PATCHABLE_FIELDS = EnumSet.complementOf(
+            EnumSet.of(PosField.ID, PosField.CREATED_AT, PosField.UPDATED_AT));
+    // all other fields are required
+    private static final Set<PosField> REMOVABLE_FIELDS = EnumSet.of(PosField.LATITUDE, PosField.LONGITUDE);
+
     private final PosDataService posDataService;
     private final OsmDataService osmDataService;
+    private final OsmImportProperties osmImportProperties;
+    private final PosSuggestionIndex posSuggestionIndex;
+    private final PosStatisticsCounter posStatisticsCounter;
 
     @Override
     public void clear() {
         log.warn("Clearing all POS data");
         posDataService.clear();
+        posStatisticsCounter.recordCleared();
     }
 
     @Override
@@ -40,12 +96,161 @@ public class PosServiceImpl implements PosService {
         return posDataService.getAll();
     }
 
+    @Override
+    public @NonNull List<Pos> getAll(@NonNull PosFilter filter) {
+        if (filter.isEmpty()) {
+            return getAll(); // served from the cache
+        }
+        log.debug("Retrieving all POS matching {}", filter);
+        return posDataService.getAll(filter);
+    }
+
+    @Override
+    public @NonNull CursorPage<Pos> getPage(@NonNull PosFilter filter, @Nullable String cursor, int limit) {
+        validateLimit(limit);
+        Long afterId = cursor == null ? null : decodeCursor(cursor);
+        log.debug("Retrieving up to {} POS matching {} after ID {}", limit, filter, afterId);
+
+        // fetch one additional POS to find out whether there is a next page
+        return toPage(posDataService.getPage(filter, afterId, limit + 1), limit, Pos::id);
+    }
+
+    @Override
+    public @NonNull List<Map<String, Object>> getAll(@NonNull PosFilter filter, @NonNull Set<PosField> fields) {
+        Set<PosField> selectedFields = withId(fields);
+        log.debug("Retrieving fields {} of all POS matching {}", selectedFields, filter);
+        return posDataService.getFields(filter, selectedFields, null, null);
+    }
+
+    @Override
+    public @NonNull CursorPage<Map<String, Object>> getPage(@NonNull PosFilter filter, @NonNull Set<PosField> fields,
+                                                            @Nullable String cursor, int limit) {
+        Set<PosField> selectedFields = withId(fields);
+        validateLimit(limit);
+        Long afterId = cursor == null ? null : decodeCursor(cursor);
+        log.debug("Retrieving fields {} of up to {} POS matching {} after ID {}",
+                selectedFields, limit, filter, afterId);
+
+        // fetch one additional POS to find out whether there is a next page
+        return toPage(posDataService.getFields(filter, selectedFields, afterId, limit + 1), limit,
+                row -> (Long) row.get(PosField.ID.fieldName()));
+    }
+
+    @Override
+    public @NonNull ResultPage<Pos> search(@NonNull String query, int page, int size) {
+        if (query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank.");
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative.");
+        }
+        if (size < 1 || size > ResultPage.MAX_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + ResultPage.MAX_SIZE + ".");
+        }
+        log.debug("Searching POS for '{}' (page {}, size {})", query, page, size);
+
+        // fetch one additional POS to find out whether there is a next page
+        List<Pos> posList = posDataService.search(query.strip(), (long) page * size, size + 1);
+        if (posList.size() <= size) {
+            return new ResultPage<>(posList, page, size, false);
+        }
+        return new ResultPage<>(posList.subList(0, size), page, size, true);
+    }
+
+    @Override
+    public @NonNull List<PosSuggestion> suggest(@NonNull String query, int limit) {
+        if (limit < 1 || limit > PosSuggestion.MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + PosSuggestion.MAX_LIMIT + ".");
+        }
+        return posSuggestionIndex.suggest(query, limit);
+    }
+
+    @Override
+    public @NonNull PosStatistics getStatistics() {
+        return posStatisticsCounter.getStatistics();
+    }
+
+    @Override
+    public @NonNull PosCollectionState getCollectionState() {
+        return posDataService.getCollectionState();
+    }
+
+    @Override
+    public @NonNull List<NearbyPos> findNearby(@NonNull GeoPoint center, int radiusMeters, int limit) {
+        if (radiusMeters < 1 || radiusMeters > NearbyPos.MAX_RADIUS_METERS) {
+            throw new IllegalArgumentException("Radius must be between 1 and " + NearbyPos.MAX_RADIUS_METERS + " meters.");
+        }
+        if (limit < 1 || limit > NearbyPos.MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + NearbyPos.MAX_LIMIT + ".");
+        }
+        log.debug("Finding POS within {} m of {}", radiusMeters, center);
+        return posDataService.findNearby(center, radiusMeters, limit).stream()
+                .map(pos -> new NearbyPos(pos, center.distanceTo(Objects.requireNonNull(pos.location()))))
+                .toList();
+    }
+
+    @Override
+    public void exportAll(@NonNull Consumer<Pos> consumer) {
+        log.info("Exporting all POS...");
+        AtomicLong count = new AtomicLong();
+        posDataService.forEach(pos -> {
+            consumer.accept(pos);
+            count.incrementAndGet();
+        });
+        log.info("Exported {} POS", count.get());
+    }
+
     @Override
     public @NonNull Pos getById(@NonNull Long id) {
         log.debug("Retrieving POS with ID: {}", id);
         return posDataService.getById(id);
     }
 
+    @Override
+    public @NonNull LookupResult<Pos> getByIds(@NonNull List<Long> ids) {
+        if (ids.size() > LookupResult.MAX_IDS) {
+            throw new IllegalArgumentException("At most " + LookupResult.MAX_IDS + " POS can be retrieved at once.");
+        }
+        Set<Long> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        log.debug("Retrieving {} POS by ID", distinctIds.size());
+        Map<Long, Pos> foundPos = distinctIds.isEmpty() ? Map.of() : posDataService.getByIds(distinctIds);
+
+        List<Pos> items = new ArrayList<>(foundPos.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            Pos pos = foundPos.get(id);
+            if (pos != null) {
+                items.add(pos);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new LookupResult<>(items, missingIds);
+    }
+
+    @Override
+    public @NonNull PosChanges getChanges(@Nullable String since) {
+        long sincePosition = since == null ? 0 : decodeSyncToken(since);
+        // taken before reading, so changes committed while reading are returned again by the next sync, not missed
+        String nextToken = encodeSyncToken(posDataService.getChangePosition());
+        // read from the data store rather than the cache, which may not have received the latest changes yet
+        List<Pos> changed = posDataService.getChangedSince(sincePosition);
+        if (since == null) {
+            log.debug("Retrieved all {} POS for an initial sync", changed.size());
+            return new PosChanges(changed, List.of(), nextToken);
+        }
+        log.debug("Retrieving POS changes since position {}", sincePosition);
+        // deletions are read last, so a POS deleted in between is also reported as deleted
+        List<Long> deletedIds = posDataService.getDeletedSince(sincePosition);
+        // checked after reading the deletions, so a purge that ran in between is noticed
+        if (sincePosition <= posDataService.getPurgeHorizon()) {
+            throw new SyncTokenExpiredException(since);
+        }
+        return new PosChanges(changed, deletedIds, nextToken);
+    }
+
     @Override
     public @NonNull Pos getByName(@NonNull String name) {
         log.debug("Retrieving POS with name: {}", name);
@@ -57,15 +262,72 @@ public class PosServiceImpl implements PosService {
         if (pos.id() == null) {
             // create a new POS
             log.info("Creating new POS: {}", pos.name());
-        } else {
-            // update an existing POS
-            log.info("Updating POS with ID: {}", pos.id());
-            // POS ID must be set
-            Objects.requireNonNull(pos.id());
-            // POS must exist in the database before the update
-            posDataService.getById(pos.id());
+            Pos createdPos = performUpsert(pos);
+            posStatisticsCounter.recordCreated(createdPos);
+            return createdPos;
         }
-        return performUpsert(pos);
+        return update(pos).updated();
+    }
+
+    @Override
+    public @NonNull Update<Pos> update(@NonNull Pos pos) {
+        Objects.requireNonNull(pos.id(), "id is required");
+        // the data store reports a missing POS or an outdated version (single round trip)
+        log.info("Updating POS with ID: {}", pos.id());
+        Update<Pos> update;
+        try {
+            update = posDataService.update(pos);
+        } catch (DuplicationException e) {
+            log.error("Error updating POS '{}': {}", pos.name(), e.getMessage());
+            throw e;
+        }
+        recordUpdate(update);
+        return update;
+    }
+
+    @Override
+    public @NonNull Update<Pos> patch(@NonNull Long id, @NonNull Map<PosField, Object> changes, @Nullable Long version) {
+        for (Map.Entry<PosField, Object> change : changes.entrySet()) {
+            if (!PATCHABLE_FIELDS.contains(change.getKey())) {
+                throw new IllegalArgumentException("Field '" + change.getKey().fieldName() + "' cannot be changed.");
+            }
+            if (change.getValue() == null && !REMOVABLE_FIELDS.contains(change.getKey())) {
+                throw new IllegalArgumentException("Field '" + change.getKey().fieldName() + "' cannot be removed.");
+            }
+        }
+        // a single coordinate is checked against the stored one by the database
+        if (changes.containsKey(PosField.LATITUDE) && changes.containsKey(PosField.LONGITUDE)
+                && (changes.get(PosField.LATITUDE) == null) != (changes.get(PosField.LONGITUDE) == null)) {
+            throw new IllegalArgumentException("Latitude and longitude must be provided together.");
+        }
+        if (changes.isEmpty()) {
+            // nothing to write, but the version must still match
+            Pos pos = posDataService.getById(id);
+            if (version != null && !version.equals(pos.version())) {
+                throw new VersionMismatchException(Pos.class, id, version);
+            }
+            return Update.unchanged(pos);
+        }
+
+        log.info("Changing fields {} of POS with ID: {}", changes.keySet(), id);
+        Update<Pos> update = posDataService.patch(id, changes, version);
+        recordUpdate(update);
+        return update;
+    }
+
+    @Override
+    public @NonNull List<UpsertResult<Pos>> upsertAll(@NonNull List<Pos> posList) {
+        if (posList.size() > UpsertResult.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    "At most " + UpsertResult.MAX_BATCH_SIZE + " POS can be upserted at once.");
+        }
+        log.info("Upserting {} POS...", posList.size());
+        List<UpsertResult<Pos>> results = posDataService.upsertAll(posList);
+        posStatisticsCounter.recordUpserts(results);
+        Map<UpsertStatus, Long> statusCounts = results.stream()
+                .collect(Collectors.groupingBy(UpsertResult::status, Collectors.counting()));
+        log.info("Upserted {} POS: {}", posList.size(), statusCounts);
+        return results;
     }
 
     @Override
@@ -83,12 +345,276 @@ public class PosServiceImpl implements PosService {
     }
 
     @Override
-    public void delete(@NonNull Long id) {
+    public @NonNull List<OsmImportResult> importFromOsmNodes(@NonNull List<Long> nodeIds,
+                                                             @NonNull CampusType campusType) {
+        if (nodeIds.size() > UpsertResult.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    "At most " + UpsertResult.MAX_BATCH_SIZE + " OSM nodes can be imported at once.");
+        }
+        log.info("Importing {} POS from OpenStreetMap nodes...", nodeIds.size());
+
+        // fetch the nodes on virtual threads; the semaphore limits the number of concurrent requests to the OSM API
+        Semaphore permits = new Semaphore(osmImportProperties.maxConcurrency());
+        List<Future<Pos>> fetchedPos;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            fetchedPos = nodeIds.stream()
+                    .map(nodeId -> executor.submit(() -> convertOsmNodeToPos(fetchOsmNode(nodeId, permits), campusType)))
+                    .toList();
+        } // waits for all fetches to complete
+
+        // persist all converted nodes in one batch
+        List<Pos> posList = fetchedPos.stream()
+                .filter(future -> future.state() == Future.State.SUCCESS)
+                .map(Future::resultNow)
+                .toList();
+        Iterator<UpsertResult<Pos>> upsertResults = upsertAll(posList).iterator();
+
+        List<OsmImportResult> importResults = new ArrayList<>(nodeIds.size());
+        for (int i = 0; i < nodeIds.size(); i++) {
+            Future<Pos> future = fetchedPos.get(i);
+            importResults.add(future.state() == Future.State.SUCCESS
+                    ? toImportResult(nodeIds.get(i), upsertResults.next())
+                    : toImportResult(nodeIds.get(i), future.exceptionNow()));
+        }
+        log.info("Imported {} POS from OpenStreetMap nodes", posList.size());
+        return importResults;
+    }
+
+    @Override
+    public @NonNull OsmExtractImportSummary importFromOsmExtract(@NonNull Path extractFile,
+                                                                 @Nullable BoundingBox boundingBox,
+                                                                 @NonNull CampusType campusType) {
+        log.info("Importing POS from OpenStreetMap extract {} (bounding box: {})...", extractFile, boundingBox);
+        long start = System.nanoTime();
+
+        // convert the nodes while the file is read and persist them in batches to keep the memory usage bounded
+        Map<UpsertStatus, Long> statusCounts = new EnumMap<>(UpsertStatus.class);
+        List<Pos> batch = new ArrayList<>(EXTRACT_BATCH_SIZE);
+        OsmExtractStatistics statistics = osmDataService.readExtract(extractFile, boundingBox, osmNode -> {
+            try {
+                batch.add(convertOsmNodeToPos(osmNode, campusType));
+            } catch (MissingFieldException e) {
+                statusCounts.merge(UpsertStatus.INVALID, 1L, Long::sum);
+                return;
+            }
+            if (batch.size() == EXTRACT_BATCH_SIZE) {
+                persistExtractBatch(batch, statusCounts);
+            }
+        });
+        persistExtractBatch(batch, statusCounts);
+        if (statistics.invalidNodes() > 0) {
+            statusCounts.merge(UpsertStatus.INVALID, statistics.invalidNodes(), Long::sum);
+        }
+
+        OsmExtractImportSummary summary = OsmExtractImportSummary.builder()
+                .scannedNodes(statistics.scannedNodes())
+                .matchedNodes(statistics.matchedNodes())
+                .statusCounts(statusCounts)
+                .duration(Duration.ofNanos(System.nanoTime() - start))
+                .build();
+        log.info("Imported POS from OpenStreetMap extract {}: {} nodes scanned, {} matched, {} in {} ms ({} nodes/s)",
+                extractFile, summary.scannedNodes(), summary.matchedNodes(), summary.statusCounts(),
+                summary.duration().toMillis(), Math.round(summary.nodesPerSecond()));
+        return summary;
+    }
+
+    @Override
+    public void delete(@NonNull Long id, @Nullable Long version) {
         log.info("Trying to delete POS with ID: {}", id);
-        posDataService.delete(id);
+        Pos pos = posDataService.delete(id, version);
+        posStatisticsCounter.recordDeleted(pos);
         log.info("Deleted POS with ID: {}", id);
     }
 
+    /**
+     * Records an update in the statistics unless nothing was written.
+     *
+     * @param update the previous and the updated state of the POS
+     */
+    private void recordUpdate(@NonNull Update<Pos> update) {
+        if (update.isUnchanged()) {
+            log.info("POS with ID {} already had the new values, nothing was written", update.updated().id());
+            return;
+        }
+        log.info("Successfully updated POS with ID: {}", update.updated().id());
+        posStatisticsCounter.recordUpdated(update.previous(), update.updated());
+    }
+
+    private static void validateLimit(int limit) {
+        if (limit < 1 || limit > CursorPage.MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + CursorPage.MAX_LIMIT + ".");
+        }
+    }
+
+    /**
+     * Adds the ID to the selected fields; it identifies the POS and is needed for the cursor of the next page.
+     *
+     * @param fields the fields selected by the client
+     * @return the selected fields including the ID
+     * @throws IllegalArgumentException if no field is selected
+     */
+    private static @NonNull Set<PosField> withId(@NonNull Set<PosField> fields) {
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("At least one field must be selected.");
+        }
+        Set<PosField> selectedFields = EnumSet.copyOf(fields);
+        selectedFields.add(PosField.ID);
+        return selectedFields;
+    }
+
+    /**
+     * Creates a page from a slice that was fetched with one additional item to find out whether there is a next page.
+     *
+     * @param items the items of the page plus possibly one item of the next page
+     * @param limit the maximum number of items on the page
+     * @param id    extracts the ID of an item
+     * @return the page including the cursor for the next page if the slice contained an additional item
+     */
+    private <T> @NonNull CursorPage<T> toPage(@NonNull List<T> items, int limit, @NonNull Function<T, Long> id) {
+        if (items.size() <= limit) {
+            return new CursorPage<>(items, null);
+        }
+        List<T> pageItems = items.subList(0, limit);
+        return new CursorPage<>(pageItems, encodeCursor(Objects.requireNonNull(id.apply(pageItems.getLast()))));
+    }
+
+    /**
+     * Encodes the ID of the last POS on a page as an opaque, URL-safe cursor.
+     *
+     * @param lastId the ID of the last POS on the current page
+     * @return the cursor pointing to the next page
+     */
+    private @NonNull String encodeCursor(@NonNull Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor created by {@link #encodeCursor(Long)}.
+     *
+     * @param cursor the cursor provided by the client
+     * @return the ID of the last POS on the previous page
+     * @throws IllegalArgumentException if the cursor was not created by this service
+     */
+    private @NonNull Long decodeCursor(@NonNull String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) { // also covers NumberFormatException
+            log.debug("Could not decode cursor '{}': {}", cursor, e.getMessage());
+        }
+        throw new IllegalArgumentException("Invalid cursor '" + cursor + "'.");
+    }
+
+    /**
+     * Encodes the change position from which a client has not seen all changes as an opaque sync token.
+     *
+     * @param position the change position of the data store
+     * @return the sync token
+     */
+    private @NonNull String encodeSyncToken(long position) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((SYNC_TOKEN_PREFIX + position).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a sync token created by {@link #encodeSyncToken(long)}.
+     *
+     * @param token the sync token provided by the client
+     * @return the change position from which the client has not seen all changes
+     * @throws IllegalArgumentException if the token was not created by this service
+     */
+    private long decodeSyncToken(@NonNull String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (decoded.startsWith(SYNC_TOKEN_PREFIX)) {
+                long position = Long.parseLong(decoded.substring(SYNC_TOKEN_PREFIX.length()));
+                if (position >= 0) {
+                    return position;
+                }
+            }
+        } catch (IllegalArgumentException e) { // also covers NumberFormatException
+            log.debug("Could not decode sync token '{}': {}", token, e.getMessage());
+        }
+        throw new IllegalArgumentException("Invalid sync token '" + token + "'.");
+    }
+
+    /**
+     * Persists a batch of POS converted from an extract file and counts the outcomes.
+     * POS that already exist with the same name are updated with the values from the extract; if several nodes
+     * of the batch have the same name, only the first one is used and the others are reported as duplicates.
+     *
+     * @param batch the POS to persist; cleared afterward
+     * @param statusCounts the number of POS per outcome, updated in place
+     */
+    private void persistExtractBatch(@NonNull List<Pos> batch, @NonNull Map<UpsertStatus, Long> statusCounts) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<String, Pos> existingPos = posDataService.getByNames(batch.stream().map(Pos::name).toList());
+        Set<String> refreshedNames = new HashSet<>();
+        List<Pos> posList = batch.stream()
+                .map(pos -> existingPos.containsKey(pos.name()) && refreshedNames.add(pos.name())
+                        ? pos.toBuilder().id(existingPos.get(pos.name()).id()).build()
+                        : pos)
+                .toList();
+        List<UpsertResult<Pos>> results = posDataService.upsertAll(posList);
+        results.forEach(result -> statusCounts.merge(result.status(), 1L, Long::sum));
+        posStatisticsCounter.recordUpserts(results);
+        batch.clear();
+    }
+
+    /**
+     * Fetches an OSM node while holding one of the permits for concurrent requests to the OSM API.
+     *
+     * @param nodeId the OpenStreetMap node ID
+     * @param permits the permits for concurrent requests
+     * @return the OSM node data
+     * @throws InterruptedException if the thread is interrupted while waiting for a permit
+     */
+    private @NonNull OsmNode fetchOsmNode(@NonNull Long nodeId, @NonNull Semaphore permits) throws InterruptedException {
+        permits.acquire();
+        try {
+            return osmDataService.fetchNode(nodeId);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Creates the import result for an OSM node that was converted and upserted.
+     *
+     * @param nodeId the OpenStreetMap node ID
+     * @param upsertResult the result of upserting the POS converted from the node
+     * @return the import result
+     */
+    private @NonNull OsmImportResult toImportResult(@NonNull Long nodeId, @NonNull UpsertResult<Pos> upsertResult) {
+        return new OsmImportResult(nodeId, upsertResult.status(), upsertResult.value(), upsertResult.message());
+    }
+
+    /**
+     * Creates the import result for an OSM node that could not be fetched or converted.
+     *
+     * @param nodeId the OpenStreetMap node ID
+     * @param exception the exception thrown while fetching or converting the node
+     * @return the import result; an unavailable OSM API and unexpected errors are reported as failed
+     */
+    private @NonNull OsmImportResult toImportResult(@NonNull Long nodeId, @NonNull Throwable exception) {
+        UpsertStatus status = switch (exception) {
+            case NotFoundException e -> UpsertStatus.NOT_FOUND;
+            case MissingFieldException e -> UpsertStatus.INVALID;
+            default -> UpsertStatus.FAILED; // e.g., OsmUnavailableException
+        };
+        if (status == UpsertStatus.FAILED) {
+            log.warn("Error importing OSM node {}", nodeId, exception);
+        } else {
+            log.warn("Skipping OSM node {}: {}", nodeId, exception.getMessage());
+        }
+        return new OsmImportResult(nodeId, status, null, exception.getMessage());
+    }
+
     /**
      * Converts an OSM node to a POS domain object.
      * Maps OSM amenity types to POS types and validates required fields.
@@ -121,6 +647,8 @@ public class PosServiceImpl implements PosService {
                 .houseNumber(osmNode.houseNumber())
                 .postalCode(postalCode)
                 .city(osmNode.city())
+                .latitude(osmNode.latitude())
+                .longitude(osmNode.longitude())
                 .build();
     }
 
@@ -0,0 +1,159 @@
+package de.seuhd.campuscoffee.domain.impl;
+
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosStatistics;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import de.seuhd.campuscoffee.domain.model.UpsertResult;
+import de.seuhd.campuscoffee.domain.model.UpsertStatus;
+import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Number of POS per campus and type, maintained in memory so that statistics can be served without a query.
+ * {@link PosServiceImpl} records every write it performs. Because writes of other application instances are not
+ * seen here, the counts are periodically recomputed from the data store (reconciliation, see
+ * {@code pos.stats.reconcile-interval}), which also corrects any drift caused by writes that overlapped with a
+ * reconciliation.
+ */
+@Slf4j
+@Component
+public class PosStatisticsCounter {
+    private static final CampusType[] CAMPUSES = CampusType.values();
+    private static final PosType[] TYPES = PosType.values();
+
+    private final PosDataService posDataService;
+    private final long[][] counts = new long[CAMPUSES.length][TYPES.length]; // guarded by this
+    private LocalDateTime reconciledAt = LocalDateTime.now(ZoneId.of("UTC")); // guarded by this
+
+    public PosStatisticsCounter(PosDataService posDataService) {
+        this.posDataService = posDataService;
+    }
+
+    /**
+     * Recomputes the counts from the data store.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${pos.stats.reconcile-interval:5m}",
+            fixedDelayString = "${pos.stats.reconcile-interval:5m}")
+    public void reconcile() {
+        Map<CampusType, Map<PosType, Long>> actualCounts = posDataService.countByCampusAndType();
+        synchronized (this) {
+            long drift = 0;
+            for (CampusType campus : CAMPUSES) {
+                for (PosType type : TYPES) {
+                    long actual = actualCounts.getOrDefault(campus, Map.of()).getOrDefault(type, 0L);
+                    drift += Math.abs(actual - counts[campus.ordinal()][type.ordinal()]);
+                    counts[campus.ordinal()][type.ordinal()] = actual;
+                }
+            }
+            reconciledAt = LocalDateTime.now(ZoneId.of("UTC"));
+            log.debug("Reconciled POS statistics (drift: {})", drift);
+        }
+    }
+
+    /**
+     * @return the current counts; computing them does not depend on the number of POS
+     */
+    public synchronized @NonNull PosStatistics getStatistics() {
+        long total = 0;
+        Map<CampusType, Long> byCampus = new EnumMap<>(CampusType.class);
+        Map<PosType, Long> byType = new EnumMap<>(PosType.class);
+        Map<CampusType, Map<PosType, Long>> byCampusAndType = new EnumMap<>(CampusType.class);
+        for (CampusType campus : CAMPUSES) {
+            Map<PosType, Long> campusCounts = new EnumMap<>(PosType.class);
+            for (PosType type : TYPES) {
+                long count = counts[campus.ordinal()][type.ordinal()];
+                campusCounts.put(type, count);
+                byCampus.merge(campus, count, Long::sum);
+                byType.merge(type, count, Long::sum);
+                total += count;
+            }
+            byCampusAndType.put(campus, Collections.unmodifiableMap(campusCounts));
+        }
+        return PosStatistics.builder()
+                .total(total)
+                .byCampus(Collections.unmodifiableMap(byCampus))
+                .byType(Collections.unmodifiableMap(byType))
+                .byCampusAndType(Collections.unmodifiableMap(byCampusAndType))
+                .reconciledAt(reconciledAt)
+                .build();
+    }
+
+    /**
+     * Records that a POS was created.
+     *
+     * @param pos the created POS
+     */
+    public synchronized void recordCreated(@NonNull Pos pos) {
+        counts[pos.campus().ordinal()][pos.type().ordinal()]++;
+    }
+
+    /**
+     * Records that a POS was updated; only changes of the campus or type affect the counts.
+     *
+     * @param previous the POS before the update
+     * @param updated  the POS after the update
+     */
+    public synchronized void recordUpdated(@NonNull Pos previous, @NonNull Pos updated) {
+        counts[previous.campus().ordinal()][previous.type().ordinal()]--;
+        counts[updated.campus().ordinal()][updated.type().ordinal()]++;
+    }
+
+    /**
+     * Records that a POS was deleted.
+     *
+     * @param pos the deleted POS
+     */
+    public synchronized void recordDeleted(@NonNull Pos pos) {
+        counts[pos.campus().ordinal()][pos.type().ordinal()]--;
+    }
+
+    /**
+     * Records that all POS were deleted.
+     */
+    public synchronized void recordCleared() {
+        for (long[] campusCounts : counts) {
+            Arrays.fill(campusCounts, 0);
+        }
+    }
+
+    /**
+     * Records the outcome of a bulk upsert.
+     * Created and updated POS are counted like single writes. The counts are only recomputed if the previous state
+     * of an updated POS is unknown.
+     *
+     * @param results the results of the bulk upsert
+     */
+    public void recordUpserts(@NonNull List<UpsertResult<Pos>> results) {
+        if (results.stream().anyMatch(result -> result.status() == UpsertStatus.UPDATED && result.previous() == null)) {
+            reconcile();
+            return;
+        }
+        synchronized (this) {
+            for (UpsertResult<Pos> result : results) {
+                if (result.value() == null) {
+                    continue;
+                }
+                if (result.status() == UpsertStatus.CREATED) {
+                    recordCreated(result.value());
+                } else if (result.status() == UpsertStatus.UPDATED && result.previous() != null) {
+                    recordUpdated(result.previous(), result.value());
+                }
+            }
+        }
+    }
+}
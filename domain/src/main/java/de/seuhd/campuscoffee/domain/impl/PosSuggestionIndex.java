@@ -0,0 +1,364 @@
+package de.seuhd.campuscoffee.domain.impl;
+
+import de.seuhd.campuscoffee.domain.model.DataChange;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosSuggestion;
+import de.seuhd.campuscoffee.domain.ports.DataChangeListener;
+import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory autocomplete index for POS names.
+ * Names and queries are normalized (case and diacritics are ignored, so "cafe" matches "Café Botanik") and split
+ * into words. A POS matches if every word of the query is a prefix of a word of its name. If there are not enough
+ * prefix matches, names whose words differ from the query words by one or two typos are suggested as well.
+ * <p>
+ * The index is built from all POS once the application is ready and updated whenever POS are written, by this or
+ * another application instance (see {@link DataChangeListener}). Lookups read an immutable snapshot and never block;
+ * writers replace the snapshot.
+ */
+@Slf4j
+@Component
+public class PosSuggestionIndex implements DataChangeListener {
+    // above this number of changed POS, reloading all POS is cheaper than loading them by ID
+    private static final int MAX_INCREMENTAL_UPDATES = 100;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final PosDataService posDataService;
+    private volatile Snapshot snapshot = Snapshot.of(List.of());
+
+    public PosSuggestionIndex(PosDataService posDataService) {
+        this.posDataService = posDataService;
+    }
+
+    /**
+     * (Re)builds the index from all POS.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        snapshot = Snapshot.of(posDataService.getAll().stream().map(Entry::of).toList());
+        log.info("Built POS suggestion index with {} names in {} ms",
+                snapshot.entries.length, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void onDataChange(@NonNull DataChange change) {
+        if (change.entityType() != DataChange.EntityType.POS) {
+            return;
+        }
+        if (change.all() || change.ids().size() > MAX_INCREMENTAL_UPDATES) {
+            rebuild();
+            return;
+        }
+        synchronized (this) {
+            Map<Long, Pos> changedPos = posDataService.getByIds(change.ids());
+            Map<Long, Entry> entries = new LinkedHashMap<>();
+            for (Entry entry : snapshot.entries) {
+                entries.put(entry.id(), entry);
+            }
+            for (Long id : change.ids()) {
+                Pos pos = changedPos.get(id);
+                if (pos == null) {
+                    entries.remove(id); // deleted
+                } else {
+                    entries.put(id, Entry.of(pos));
+                }
+            }
+            snapshot = Snapshot.of(entries.values());
+        }
+    }
+
+    @Override
+    public void onRollback(@NonNull DataChange change) {
+        // the index only contains committed POS, so nothing has changed
+    }
+
+    /**
+     * Suggests POS names for the given (partial) query.
+     * Prefix matches come first; names starting with the query are preferred, then shorter names.
+     * Fuzzy matches follow, ordered by the number of typos.
+     *
+     * @param query the text typed by the user
+     * @param limit the maximum number of suggestions; must be positive
+     * @return at most {@code limit} suggestions, best first; empty if the query contains no letters or digits
+     */
+    public @NonNull List<PosSuggestion> suggest(@NonNull String query, int limit) {
+        Snapshot current = snapshot;
+        String normalizedQuery = normalize(query);
+        String[] queryWords = split(normalizedQuery);
+        if (queryWords.length == 0) {
+            return List.of();
+        }
+
+        List<PosSuggestion> suggestions = new ArrayList<>(limit);
+        BitSet prefixMatches = current.findPrefixMatches(queryWords);
+        current.collect(prefixMatches, entry -> entry.normalizedName().startsWith(normalizedQuery), suggestions, limit);
+        current.collect(prefixMatches, entry -> !entry.normalizedName().startsWith(normalizedQuery), suggestions, limit);
+        if (suggestions.size() < limit) {
+            for (BitSet fuzzyMatches : current.findFuzzyMatches(queryWords, prefixMatches)) {
+                current.collect(fuzzyMatches, entry -> true, suggestions, limit);
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Normalizes text for matching: diacritics are removed, letters are lower-cased, and all characters other than
+     * letters and digits are replaced with single spaces.
+     *
+     * @param text the text to normalize
+     * @return the normalized text without leading or trailing spaces
+     */
+    static String normalize(String text) {
+        String withoutDiacritics = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(withoutDiacritics.toLowerCase(Locale.ROOT).replace("ß", "ss"))
+                .replaceAll(" ")
+                .strip();
+    }
+
+    private static String[] split(String normalizedText) {
+        return normalizedText.isEmpty() ? new String[0] : normalizedText.split(" ");
+    }
+
+    private static String longestWord(String[] words) {
+        String longestWord = words[0];
+        for (String word : words) {
+            if (word.length() > longestWord.length()) {
+                longestWord = word;
+            }
+        }
+        return longestWord;
+    }
+
+    /**
+     * Returns the number of typos tolerated in a query word. Short words are matched exactly,
+     * since a typo in them leads to too many unrelated suggestions.
+     */
+    private static int maxTypos(String queryWord) {
+        return queryWord.length() < 4 ? 0 : queryWord.length() < 8 ? 1 : 2;
+    }
+
+    /**
+     * A POS name prepared for matching.
+     */
+    private record Entry(long id, String name, String normalizedName, String[] words) {
+        static Entry of(Pos pos) {
+            String normalizedName = normalize(pos.name());
+            return new Entry(Objects.requireNonNull(pos.id()), pos.name(), normalizedName, split(normalizedName));
+        }
+
+        PosSuggestion toSuggestion() {
+            return new PosSuggestion(id, name);
+        }
+
+        boolean hasWordsStartingWith(String[] prefixes) {
+            for (String prefix : prefixes) {
+                if (!hasWordStartingWith(prefix)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean hasWordStartingWith(String prefix) {
+            for (String word : words) {
+                if (word.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Counts the typos between the query words and the most similar prefixes of the words of this name.
+         *
+         * @return the total number of typos, or -1 if a query word has more typos than tolerated
+         */
+        int countTypos(String[] queryWords) {
+            int totalTypos = 0;
+            for (String queryWord : queryWords) {
+                int maxTypos = maxTypos(queryWord);
+                int wordTypos = maxTypos + 1;
+                for (String word : words) {
+                    wordTypos = Math.min(wordTypos, prefixDistance(queryWord, word, maxTypos));
+                }
+                if (wordTypos > maxTypos) {
+                    return -1;
+                }
+                totalTypos += wordTypos;
+            }
+            return totalTypos;
+        }
+
+        /**
+         * Computes the Levenshtein distance between the query word and the most similar prefix of the word.
+         * Like most autocomplete implementations, the first letter must match.
+         *
+         * @return the distance, or {@code maxTypos + 1} if it exceeds {@code maxTypos}
+         */
+        private static int prefixDistance(String queryWord, String word, int maxTypos) {
+            if (word.charAt(0) != queryWord.charAt(0)) {
+                return maxTypos + 1;
+            }
+            // longer prefixes of the word need more than maxTypos insertions
+            int length = Math.min(word.length(), queryWord.length() + maxTypos);
+            int[] previous = new int[length + 1];
+            int[] current = new int[length + 1];
+            for (int j = 0; j <= length; j++) {
+                previous[j] = j;
+            }
+            for (int i = 1; i <= queryWord.length(); i++) {
+                current[0] = i;
+                int rowMin = i;
+                for (int j = 1; j <= length; j++) {
+                    int substitution = previous[j - 1] + (queryWord.charAt(i - 1) == word.charAt(j - 1) ? 0 : 1);
+                    current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                    rowMin = Math.min(rowMin, current[j]);
+                }
+                if (rowMin > maxTypos) {
+                    return maxTypos + 1; // distances never decrease from one row to the next
+                }
+                int[] swap = previous;
+                previous = current;
+                current = swap;
+            }
+            // the last row holds the distances to all prefixes of the word
+            int distance = maxTypos + 1;
+            for (int value : previous) {
+                distance = Math.min(distance, value);
+            }
+            return distance;
+        }
+    }
+
+    /**
+     * Immutable state of the index.
+     *
+     * @param entries     all indexed names, ordered by length and then alphabetically, i.e., by rank
+     * @param words       the words of all names, sorted, so that prefix matches form a contiguous range
+     * @param wordEntries the index of the entry of each word in {@code words}
+     */
+    private record Snapshot(Entry[] entries, String[] words, int[] wordEntries) {
+        static Snapshot of(Collection<Entry> entryCollection) {
+            Entry[] entries = entryCollection.stream()
+                    .sorted(Comparator.comparingInt((Entry entry) -> entry.name().length()).thenComparing(Entry::name))
+                    .toArray(Entry[]::new);
+
+            List<Map.Entry<String, Integer>> wordList = new ArrayList<>();
+            for (int entryIndex = 0; entryIndex < entries.length; entryIndex++) {
+                for (String word : entries[entryIndex].words()) {
+                    wordList.add(Map.entry(word, entryIndex));
+                }
+            }
+            wordList.sort(Map.Entry.comparingByKey());
+
+            String[] words = wordList.stream().map(Map.Entry::getKey).toArray(String[]::new);
+            int[] wordEntries = wordList.stream().mapToInt(Map.Entry::getValue).toArray();
+            return new Snapshot(entries, words, wordEntries);
+        }
+
+        /**
+         * Finds the entries in which every query word is the prefix of a word.
+         * Only the words in the range of the longest query word (the smallest range) are checked.
+         *
+         * @return the indexes of the matching entries
+         */
+        BitSet findPrefixMatches(String[] queryWords) {
+            String longestWord = longestWord(queryWords);
+            BitSet matches = new BitSet(entries.length);
+            for (int i = lowerBound(longestWord); i < words.length && words[i].startsWith(longestWord); i++) {
+                int entryIndex = wordEntries[i];
+                if (!matches.get(entryIndex)
+                        && (queryWords.length == 1 || entries[entryIndex].hasWordsStartingWith(queryWords))) {
+                    matches.set(entryIndex);
+                }
+            }
+            return matches;
+        }
+
+        /**
+         * Finds the entries in which every query word is the prefix of a word except for a few typos.
+         * Only the words starting with the first letter of the longest query word are checked.
+         *
+         * @param excluded the indexes of entries that are not checked (e.g., prefix matches)
+         * @return the indexes of the matching entries grouped by the number of typos, starting with the fewest
+         */
+        List<BitSet> findFuzzyMatches(String[] queryWords, BitSet excluded) {
+            String longestWord = longestWord(queryWords);
+            int maxTypos = maxTypos(longestWord);
+            if (maxTypos == 0) {
+                return List.of();
+            }
+            List<BitSet> matchesByTypos = new ArrayList<>();
+            BitSet checked = (BitSet) excluded.clone();
+            String firstLetter = longestWord.substring(0, 1);
+            int start = lowerBound(firstLetter);
+            int distance = maxTypos + 1;
+            for (int i = start; i < words.length && words[i].startsWith(firstLetter); i++) {
+                // equal words are adjacent, so the distance only has to be computed once per distinct word
+                if (i == start || !words[i].equals(words[i - 1])) {
+                    distance = Entry.prefixDistance(longestWord, words[i], maxTypos);
+                }
+                int entryIndex = wordEntries[i];
+                if (distance > maxTypos || checked.get(entryIndex)) {
+                    continue;
+                }
+                checked.set(entryIndex);
+                int typos = entries[entryIndex].countTypos(queryWords);
+                if (typos >= 0) {
+                    while (matchesByTypos.size() <= typos) {
+                        matchesByTypos.add(new BitSet(entries.length));
+                    }
+                    matchesByTypos.get(typos).set(entryIndex);
+                }
+            }
+            return matchesByTypos;
+        }
+
+        /**
+         * Adds suggestions for the matching entries in the order of their rank until the limit is reached.
+         */
+        void collect(BitSet matches, Predicate<Entry> filter, List<PosSuggestion> suggestions, int limit) {
+            for (int entryIndex = matches.nextSetBit(0);
+                 entryIndex >= 0 && suggestions.size() < limit;
+                 entryIndex = matches.nextSetBit(entryIndex + 1)) {
+                if (filter.test(entries[entryIndex])) {
+                    suggestions.add(entries[entryIndex].toSuggestion());
+                }
+            }
+        }
+
+        private int lowerBound(String prefix) {
+            int low = 0;
+            int high = words.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (words[middle].compareTo(prefix) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
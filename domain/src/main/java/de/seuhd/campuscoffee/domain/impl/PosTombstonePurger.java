@@ -0,0 +1,36 @@
+package de.seuhd.campuscoffee.domain.impl;
+
+import de.seuhd.campuscoffee.domain.config.PosSyncProperties;
+import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Periodically removes the tombstones of POS deleted longer ago than {@code pos.sync.tombstone-retention}, so that the
+ * deletion log does not grow without limit. Delta syncs with a token from before a removed tombstone are rejected
+ * (see {@link PosServiceImpl#getChanges(String)}), so clients never miss a deletion.
+ * Running the purge on several application instances is harmless: the second run finds nothing to remove.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PosTombstonePurger {
+    private final PosDataService posDataService;
+    private final PosSyncProperties posSyncProperties;
+
+    /**
+     * Removes the expired tombstones.
+     */
+    @Scheduled(initialDelayString = "${pos.sync.purge-interval:1h}", fixedDelayString = "${pos.sync.purge-interval:1h}")
+    public void purge() {
+        // same clock as the deletion times (see PosUpdateRepositoryImpl)
+        LocalDateTime threshold = LocalDateTime.now(ZoneId.of("UTC")).minus(posSyncProperties.tombstoneRetention());
+        int purged = posDataService.purgeDeletedBefore(threshold);
+        log.debug("Removed {} tombstones of POS deleted before {}", purged, threshold);
+    }
+}
@@ -1,24 +1,35 @@
 package de.seuhd.campuscoffee.domain.impl;
 
 import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
+import de.seuhd.campuscoffee.domain.exceptions.VersionMismatchException;
 import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.Update;
 import de.seuhd.campuscoffee.domain.model.User;
+import de.seuhd.campuscoffee.domain.model.UserField;
 import de.seuhd.campuscoffee.domain.ports.PosDataService;
 import de.seuhd.campuscoffee.domain.ports.UserDataService;
 import de.seuhd.campuscoffee.domain.ports.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Service;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     // TODO: Implement user service
+    // the ID and the timestamps are managed by the data store
+    private static final Set<UserField> PATCHABLE_FIELDS = EnumSet.complementOf(
+            EnumSet.of(UserField.ID, UserField.CREATED_AT, UserField.UPDATED_AT));
+
     private final UserDataService userDataService;
 
     @Override
@@ -51,20 +62,62 @@ public class UserServiceImpl implements UserService {
             // create a new User
             log.info("Creating new User: {}", user.loginName());
         } else {
-            // update an existing User
+            // update an existing User; the data store reports a missing User (single round trip)
             log.info("Updating User with ID: {}", user.id());
-            // User ID must be set
-            Objects.requireNonNull(user.id());
-            // User must exist in the database before the update
-            userDataService.getById(user.id());
         }
         return performUpsert(user);
     }
 
     @Override
-    public void delete(@NonNull Long id) {
+    public @NonNull Update<User> update(@NonNull User user) {
+        Objects.requireNonNull(user.id(), "id is required");
+        log.info("Updating User with ID: {}", user.id());
+        try {
+            Update<User> update = userDataService.update(user);
+            if (update.isUnchanged()) {
+                log.info("User with ID {} already had the new values, nothing was written", user.id());
+            } else {
+                log.info("Successfully updated User with ID: {}", user.id());
+            }
+            return update;
+        } catch (DuplicationException e) {
+            log.error("Error updating User '{}': {}", user.loginName(), e.getMessage());
+            throw e;
+        }
+    }
+
+    @Override
+    public @NonNull Update<User> patch(@NonNull Long id, @NonNull Map<UserField, Object> changes, @Nullable Long version) {
+        for (Map.Entry<UserField, Object> change : changes.entrySet()) {
+            if (!PATCHABLE_FIELDS.contains(change.getKey())) {
+                throw new IllegalArgumentException("Field '" + change.getKey().fieldName() + "' cannot be changed.");
+            }
+            if (change.getValue() == null) { // all fields of a user are required
+                throw new IllegalArgumentException("Field '" + change.getKey().fieldName() + "' cannot be removed.");
+            }
+        }
+        if (changes.isEmpty()) {
+            // nothing to write, but the version must still match
+            User user = userDataService.getById(id);
+            if (version != null && !version.equals(user.version())) {
+                throw new VersionMismatchException(User.class, id, version);
+            }
+            return Update.unchanged(user);
+        }
+
+        log.info("Changing fields {} of User with ID: {}", changes.keySet(), id);
+        try {
+            return userDataService.patch(id, changes, version);
+        } catch (DuplicationException e) {
+            log.error("Error changing User with ID {}: {}", id, e.getMessage());
+            throw e;
+        }
+    }
+
+    @Override
+    public void delete(@NonNull Long id, @Nullable Long version) {
         log.info("Trying to delete User with ID: {}", id);
-        userDataService.delete(id);
+        userDataService.delete(id, version);
         log.info("Deleted User with ID: {}", id);
     }
 
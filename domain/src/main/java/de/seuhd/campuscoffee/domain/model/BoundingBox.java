@@ -0,0 +1,54 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Geographic bounding box in WGS 84 coordinates.
+ *
+ * @param minLon the western boundary (longitude)
+ * @param minLat the southern boundary (latitude)
+ * @param maxLon the eastern boundary (longitude)
+ * @param maxLat the northern boundary (latitude)
+ */
+public record BoundingBox(double minLon, double minLat, double maxLon, double maxLat) {
+    public BoundingBox {
+        if (minLat < -90 || maxLat > 90 || minLat > maxLat) {
+            throw new IllegalArgumentException("Invalid latitude range [" + minLat + ", " + maxLat + "].");
+        }
+        if (minLon < -180 || maxLon > 180 || minLon > maxLon) {
+            throw new IllegalArgumentException("Invalid longitude range [" + minLon + ", " + maxLon + "].");
+        }
+    }
+
+    /**
+     * Parses a bounding box in the order used by OSM tools (e.g., osmium): {@code minLon,minLat,maxLon,maxLat}.
+     *
+     * @param value the comma-separated coordinates, e.g., "8.66,49.39,8.72,49.42"
+     * @return the bounding box
+     * @throws IllegalArgumentException if the value does not consist of four valid coordinates
+     */
+    public static @NonNull BoundingBox parse(@NonNull String value) {
+        String[] parts = value.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Bounding box '" + value + "' must be given as minLon,minLat,maxLon,maxLat.");
+        }
+        try {
+            return new BoundingBox(
+                    Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim()),
+                    Double.parseDouble(parts[2].trim()), Double.parseDouble(parts[3].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bounding box '" + value + "' contains an invalid coordinate.", e);
+        }
+    }
+
+    /**
+     * Checks whether a location is inside the bounding box (boundaries included).
+     *
+     * @param lat the latitude of the location
+     * @param lon the longitude of the location
+     * @return true if the location is inside the bounding box
+     */
+    public boolean contains(double lat, double lon) {
+        return lat >= minLat && lat <= maxLat && lon >= minLon && lon <= maxLon;
+    }
+}
@@ -0,0 +1,31 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A single page of a keyset-paginated result.
+ * The cursor is opaque to clients; passing it back returns the page that directly follows this one.
+ *
+ * @param items      the items on this page in a stable order
+ * @param nextCursor the cursor pointing to the next page; null if this is the last page
+ * @param <T>        the type of the items
+ */
+@Builder
+public record CursorPage<T>(
+        @NonNull List<T> items,
+        @Nullable String nextCursor // null if there are no further items
+) {
+    /**
+     * Page size used if the client requests a page without specifying a limit.
+     */
+    public static final int DEFAULT_LIMIT = 100;
+
+    /**
+     * Upper bound for the page size to keep response sizes predictable.
+     */
+    public static final int MAX_LIMIT = 1000;
+}
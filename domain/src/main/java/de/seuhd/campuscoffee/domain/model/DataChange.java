@@ -0,0 +1,58 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import org.jspecify.annotations.NonNull;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Describes a committed write of persisted data, so that derived data (e.g., caches) can be updated.
+ * Changes are published by the data layer, both to the local application instance and to all other instances.
+ *
+ * @param entityType the type of the written entities
+ * @param ids        the IDs of the created, updated, or deleted entities
+ * @param keys       the natural keys of the written entities before and after the write (POS name, user login name)
+ * @param all        true if all entities of the type may have changed (e.g., after clearing the table)
+ */
+public record DataChange(
+        @NonNull EntityType entityType,
+        @NonNull List<Long> ids,
+        @NonNull List<String> keys,
+        boolean all
+) {
+    public DataChange {
+        ids = List.copyOf(ids);
+        keys = List.copyOf(keys);
+    }
+
+    /**
+     * Creates a change of specific entities.
+     *
+     * @param entityType the type of the written entities
+     * @param ids        the IDs of the written entities
+     * @param keys       the natural keys of the written entities before and after the write
+     * @return the change
+     */
+    public static @NonNull DataChange of(@NonNull EntityType entityType, @NonNull Collection<Long> ids,
+                                         @NonNull Collection<String> keys) {
+        return new DataChange(entityType, List.copyOf(ids), List.copyOf(keys), false);
+    }
+
+    /**
+     * Creates a change that affects all entities of a type.
+     *
+     * @param entityType the type of the entities
+     * @return the change
+     */
+    public static @NonNull DataChange all(@NonNull EntityType entityType) {
+        return new DataChange(entityType, List.of(), List.of(), true);
+    }
+
+    /**
+     * Types of entities whose changes are published.
+     */
+    public enum EntityType {
+        POS,
+        USER
+    }
+}
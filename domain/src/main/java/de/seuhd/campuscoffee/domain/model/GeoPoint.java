@@ -0,0 +1,63 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Geographic location in WGS 84 coordinates.
+ *
+ * @param latitude  the latitude in degrees (-90 to 90)
+ * @param longitude the longitude in degrees (-180 to 180)
+ */
+public record GeoPoint(double latitude, double longitude) {
+    /**
+     * Mean radius of the earth used for distance calculations.
+     */
+    public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    public GeoPoint {
+        if (!(latitude >= -90 && latitude <= 90)) {
+            throw new IllegalArgumentException("Latitude " + latitude + " must be between -90 and 90.");
+        }
+        if (!(longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("Longitude " + longitude + " must be between -180 and 180.");
+        }
+    }
+
+    /**
+     * Computes the great-circle distance to another location (haversine formula).
+     *
+     * @param other the other location
+     * @return the distance in meters
+     */
+    public double distanceTo(@NonNull GeoPoint other) {
+        double deltaLat = Math.toRadians(other.latitude - latitude);
+        double deltaLon = Math.toRadians(other.longitude - longitude);
+        double a = Math.pow(Math.sin(deltaLat / 2), 2)
+                + Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(other.latitude))
+                * Math.pow(Math.sin(deltaLon / 2), 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Computes a bounding box that contains all locations within the given distance, e.g., to preselect
+     * candidates using an index before computing exact distances. Near the poles and the antimeridian,
+     * the box spans all longitudes.
+     *
+     * @param radiusMeters the distance in meters; must not be negative
+     * @return the bounding box
+     */
+    public @NonNull BoundingBox boundingBox(double radiusMeters) {
+        double deltaLat = Math.toDegrees(radiusMeters / EARTH_RADIUS_METERS);
+        double minLat = latitude - deltaLat;
+        double maxLat = latitude + deltaLat;
+        if (minLat <= -90 || maxLat >= 90) {
+            return new BoundingBox(-180, Math.max(minLat, -90), 180, Math.min(maxLat, 90));
+        }
+        // the distance between meridians shrinks with the cosine of the latitude; use the latitude closest to a pole
+        double deltaLon = deltaLat / Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        if (longitude - deltaLon < -180 || longitude + deltaLon > 180) {
+            return new BoundingBox(-180, minLat, 180, maxLat);
+        }
+        return new BoundingBox(longitude - deltaLon, minLat, longitude + deltaLon, maxLat);
+    }
+}
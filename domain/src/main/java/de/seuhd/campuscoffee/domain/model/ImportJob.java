@@ -0,0 +1,34 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Snapshot of an asynchronous job that imports POS from OpenStreetMap nodes.
+ *
+ * @param id             the unique identifier of the job; null when the job has not been created yet
+ * @param status         the current state of the job
+ * @param campus         the campus assigned to the imported POS
+ * @param totalNodes     the number of OSM nodes to import
+ * @param processedNodes the number of OSM nodes imported so far
+ * @param results        the results of the processed nodes in the order of submission
+ * @param createdAt      timestamp (UTC) set on job submission
+ * @param finishedAt     timestamp (UTC) set when the job completed or failed
+ * @param message        the reason if the job failed; null otherwise
+ */
+@Builder(toBuilder = true)
+public record ImportJob(
+        @Nullable Long id, // null when the job has not been created yet
+        @NonNull ImportJobStatus status,
+        @NonNull CampusType campus,
+        int totalNodes,
+        int processedNodes,
+        @NonNull List<OsmImportResult> results,
+        @Nullable LocalDateTime createdAt, // set on job creation
+        @Nullable LocalDateTime finishedAt, // null while the job is queued or running
+        @Nullable String message // null unless the job failed
+) {}
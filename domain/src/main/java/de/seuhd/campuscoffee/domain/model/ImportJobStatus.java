@@ -0,0 +1,11 @@
+package de.seuhd.campuscoffee.domain.model;
+
+/**
+ * Enum for the lifecycle of an asynchronous import job.
+ */
+public enum ImportJobStatus {
+    QUEUED, // waiting for a free thread
+    RUNNING,
+    COMPLETED, // all nodes were processed (single nodes may still have been rejected)
+    FAILED // the job was aborted by an unexpected error
+}
@@ -0,0 +1,25 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+
+import java.util.List;
+
+/**
+ * Result of looking up multiple entities by their IDs at once.
+ * IDs without an entity are reported instead of failing the whole lookup.
+ *
+ * @param items      the entities that were found, in the order of the requested IDs
+ * @param missingIds the requested IDs for which no entity exists, in the order of the request
+ * @param <T>        the type of the entities
+ */
+@Builder
+public record LookupResult<T>(
+        @NonNull List<T> items,
+        @NonNull List<Long> missingIds
+) {
+    /**
+     * Maximum number of IDs that can be looked up at once.
+     */
+    public static final int MAX_IDS = 500;
+}
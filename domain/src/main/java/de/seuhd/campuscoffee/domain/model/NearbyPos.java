@@ -0,0 +1,34 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * A POS found near a location.
+ *
+ * @param pos            the POS
+ * @param distanceMeters the great-circle distance between the location and the POS in meters
+ */
+public record NearbyPos(
+        @NonNull Pos pos,
+        double distanceMeters
+) {
+    /**
+     * Search radius used if the client does not specify one.
+     */
+    public static final int DEFAULT_RADIUS_METERS = 1000;
+
+    /**
+     * Upper bound for the search radius.
+     */
+    public static final int MAX_RADIUS_METERS = 50_000;
+
+    /**
+     * Number of POS returned if the client does not specify a limit.
+     */
+    public static final int DEFAULT_LIMIT = 10;
+
+    /**
+     * Upper bound for the number of POS returned.
+     */
+    public static final int MAX_LIMIT = 100;
+}
@@ -1,7 +1,11 @@
 package de.seuhd.campuscoffee.domain.model;
 
 import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Enum for OpenStreetMap amenity types relevant for CampusCoffee POS.
@@ -18,6 +22,9 @@ public enum OsmAmenity {
     RESTAURANT,
     VENDING_MACHINE;
 
+    private static final Map<String, OsmAmenity> BY_OSM_VALUE = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(amenity -> amenity.name().toLowerCase(Locale.ROOT), Function.identity()));
+
     /**
      * Parses an OpenStreetMap amenity string value to its corresponding enum constant.
      *
@@ -25,8 +32,6 @@ public enum OsmAmenity {
      * @return an Optional containing the matching enum constant, or empty if no match found
      */
     public static Optional<OsmAmenity> fromOsmValue(String osmValue) {
-        return Arrays.stream(values())
-                .filter(amenity -> amenity.name().toLowerCase().equals(osmValue))
-                .findFirst();
+        return osmValue == null ? Optional.empty() : Optional.ofNullable(BY_OSM_VALUE.get(osmValue));
     }
 }
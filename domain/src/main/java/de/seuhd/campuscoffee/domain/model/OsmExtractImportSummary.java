@@ -0,0 +1,32 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Summary of importing POS from an OpenStreetMap extract file.
+ *
+ * @param scannedNodes the number of nodes in the file
+ * @param matchedNodes the number of nodes with a supported amenity (inside the bounding box, if any)
+ * @param statusCounts the number of matched nodes per outcome (e.g., created, duplicate, invalid)
+ * @param duration     the time it took to read the file and persist the POS
+ */
+@Builder
+public record OsmExtractImportSummary(
+        long scannedNodes,
+        long matchedNodes,
+        @NonNull Map<UpsertStatus, Long> statusCounts,
+        @NonNull Duration duration
+) {
+    /**
+     * Calculates the throughput of the import.
+     *
+     * @return the number of scanned nodes per second
+     */
+    public double nodesPerSecond() {
+        return duration.isZero() ? scannedNodes : scannedNodes * 1_000_000_000.0 / duration.toNanos();
+    }
+}
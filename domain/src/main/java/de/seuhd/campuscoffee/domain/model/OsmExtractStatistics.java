@@ -0,0 +1,10 @@
+package de.seuhd.campuscoffee.domain.model;
+
+/**
+ * Statistics of reading the nodes of an OpenStreetMap extract file.
+ *
+ * @param scannedNodes  the number of nodes in the file
+ * @param matchedNodes  the number of nodes with a supported amenity (inside the bounding box, if any)
+ * @param invalidNodes  the number of matched nodes that lack fields required for creating a POS
+ */
+public record OsmExtractStatistics(long scannedNodes, long matchedNodes, long invalidNodes) {}
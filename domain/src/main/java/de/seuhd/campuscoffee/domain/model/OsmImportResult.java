@@ -0,0 +1,21 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Result of importing a single OpenStreetMap node as part of a bulk import.
+ *
+ * @param nodeId  the OpenStreetMap node ID
+ * @param status  the outcome of the import
+ * @param pos     the persisted POS; null if the node was rejected
+ * @param message a human-readable reason if the node was rejected; null otherwise
+ */
+@Builder
+public record OsmImportResult(
+        @NonNull Long nodeId,
+        @NonNull UpsertStatus status,
+        @Nullable Pos pos, // null if the node was rejected
+        @Nullable String message // null if the POS was persisted
+) {}
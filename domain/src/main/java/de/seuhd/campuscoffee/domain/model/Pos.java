@@ -18,6 +18,8 @@ import java.time.LocalDateTime;
  * @param id          the unique identifier; null when the POS has not been created yet
  * @param createdAt   timestamp set on POS creation
  * @param updatedAt   timestamp set on POS creation and update
+ * @param version     incremented on every update; when set for an update, the update only succeeds if the stored
+ *                    POS still has this version
  * @param name        the name of the POS
  * @param description a description of the POS
  * @param type        the type of POS (cafe, bakery, etc.)
@@ -26,12 +28,15 @@ import java.time.LocalDateTime;
  * @param houseNumber house number (may include suffix such as "21a")
  * @param postalCode  postal code
  * @param city        city name
+ * @param latitude    latitude of the location in degrees (WGS 84); null if the location is unknown
+ * @param longitude   longitude of the location in degrees (WGS 84); null if the location is unknown
  */
 @Builder(toBuilder = true)
 public record Pos(
         @Nullable Long id, // null when the POS has not been created yet
         @Nullable LocalDateTime createdAt, // set on POS creation
         @Nullable LocalDateTime updatedAt, // set on POS creation and update
+        @Nullable Long version, // set on POS creation and update
         @NonNull String name,
         @NonNull String description,
         @NonNull PosType type,
@@ -39,7 +44,9 @@ public record Pos(
         @NonNull String street,
         @NonNull String houseNumber,
         @NonNull Integer postalCode,
-        @NonNull String city
+        @NonNull String city,
+        @Nullable Double latitude, // set together with the longitude
+        @Nullable Double longitude // set together with the latitude
 ) implements Serializable { // serializable to allow cloning (see TestFixtures class).
     @Serial
     private static final long serialVersionUID = 1L;
@@ -54,5 +61,15 @@ public record Pos(
         java.util.Objects.requireNonNull(houseNumber, "houseNumber is required");
         java.util.Objects.requireNonNull(postalCode, "postalCode is required");
         java.util.Objects.requireNonNull(city, "city is required");
+        if ((latitude == null) != (longitude == null)) {
+            throw new IllegalArgumentException("Latitude and longitude must be provided together.");
+        }
+    }
+
+    /**
+     * @return the location of the POS, or null if it is unknown
+     */
+    public @Nullable GeoPoint location() {
+        return latitude == null || longitude == null ? null : new GeoPoint(latitude, longitude);
     }
 }
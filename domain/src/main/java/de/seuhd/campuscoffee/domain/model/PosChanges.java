@@ -0,0 +1,23 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+
+import java.util.List;
+
+/**
+ * Changes of the POS collection since a sync token, used by clients to keep a local copy up to date (delta sync).
+ * Clients apply the changed POS first and then remove the deleted ones; passing the next token back returns the
+ * changes that follow. The token is opaque to clients; it refers to a position in the change order of the data
+ * store, so changes that were still in progress when it was created are returned again rather than missed.
+ *
+ * @param changed    the POS created or updated since the token, in change order; all POS for an initial sync
+ * @param deletedIds the IDs of the POS deleted since the token (tombstones); empty for an initial sync
+ * @param nextToken  the token for the next sync
+ */
+@Builder
+public record PosChanges(
+        @NonNull List<Pos> changed,
+        @NonNull List<Long> deletedIds,
+        @NonNull String nextToken
+) {}
@@ -0,0 +1,27 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import org.jspecify.annotations.Nullable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Summary of all Points of Sale that changes whenever a POS is created, updated, or deleted.
+ * It allows answering conditional requests for POS collections without loading any POS.
+ *
+ * @param count         the number of POS
+ * @param lastUpdatedAt the time (UTC) of the latest creation or update of an existing POS; null if there are no POS
+ * @param lastModified  the time (UTC) of the latest change including deletions; not earlier than {@code lastUpdatedAt}
+ *                      and null if no POS was ever written (deletions are included via their tombstones)
+ * @param lastChangePosition the latest change position of the data store including deletions; 0 if no POS was ever
+ *                      written (see {@link de.seuhd.campuscoffee.domain.ports.PosDataService#getChangePosition()})
+ * @param digest        a hash over the IDs and change positions of all POS that changes with every write, regardless
+ *                      of the order in which concurrent writes commit; 0 if there are no POS
+ */
+public record PosCollectionState(
+        long count,
+        @Nullable LocalDateTime lastUpdatedAt,
+        @Nullable LocalDateTime lastModified,
+        long lastChangePosition,
+        long digest
+) {
+}
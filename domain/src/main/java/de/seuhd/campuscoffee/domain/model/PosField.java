@@ -0,0 +1,71 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import org.jspecify.annotations.NonNull;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Enum for the fields of a {@link Pos} that can be selected or changed individually, e.g., only the ID, name, and
+ * campus for a map view (sparse fieldsets) or only the description for a partial update. Rows with selected fields
+ * are keyed by {@link #fieldName()}, which is the name of the corresponding component of {@link Pos}.
+ */
+public enum PosField {
+    ID("id", Long.class),
+    CREATED_AT("createdAt", LocalDateTime.class),
+    UPDATED_AT("updatedAt", LocalDateTime.class),
+    NAME("name", String.class),
+    DESCRIPTION("description", String.class),
+    TYPE("type", PosType.class),
+    CAMPUS("campus", CampusType.class),
+    STREET("street", String.class),
+    HOUSE_NUMBER("houseNumber", String.class),
+    POSTAL_CODE("postalCode", Integer.class),
+    CITY("city", String.class),
+    LATITUDE("latitude", Double.class),
+    LONGITUDE("longitude", Double.class);
+
+    private static final Map<String, PosField> BY_FIELD_NAME = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(PosField::fieldName, Function.identity()));
+
+    private final String fieldName;
+    private final Class<?> type;
+
+    PosField(String fieldName, Class<?> type) {
+        this.fieldName = fieldName;
+        this.type = type;
+    }
+
+    /**
+     * @return the name of the field, e.g., "postalCode"
+     */
+    public @NonNull String fieldName() {
+        return fieldName;
+    }
+
+    /**
+     * @return the type of the field's values, e.g., {@code Integer.class} for the postal code
+     */
+    public @NonNull Class<?> type() {
+        return type;
+    }
+
+    /**
+     * Parses a field name to its corresponding enum constant.
+     *
+     * @param fieldName the name of the field (e.g., "name", "postalCode")
+     * @return the matching enum constant
+     * @throws IllegalArgumentException if there is no field with this name
+     */
+    public static @NonNull PosField fromFieldName(@NonNull String fieldName) {
+        PosField field = BY_FIELD_NAME.get(fieldName.strip());
+        if (field == null) {
+            throw new IllegalArgumentException("Unknown POS field '" + fieldName + "'; supported fields are "
+                    + String.join(", ", BY_FIELD_NAME.keySet().stream().sorted().toList()) + ".");
+        }
+        return field;
+    }
+}
@@ -0,0 +1,43 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+
+import java.util.Set;
+
+/**
+ * Criteria for selecting Points of Sale.
+ * A POS matches if it matches every criterion; a criterion matches if it is empty or contains the value of the POS.
+ *
+ * @param campuses    the campuses to include; empty to include all campuses
+ * @param types       the POS types to include; empty to include all types
+ * @param postalCodes the postal codes to include; empty to include all postal codes
+ * @param cities      the city names to include (exact match); empty to include all cities
+ */
+@Builder
+public record PosFilter(
+        @NonNull Set<CampusType> campuses,
+        @NonNull Set<PosType> types,
+        @NonNull Set<Integer> postalCodes,
+        @NonNull Set<String> cities
+) {
+    /**
+     * Filter that matches all POS.
+     */
+    public static final PosFilter NONE = new PosFilter(null, null, null, null);
+
+    public PosFilter {
+        // missing criteria (e.g., not set via the builder) match everything
+        campuses = campuses == null ? Set.of() : Set.copyOf(campuses);
+        types = types == null ? Set.of() : Set.copyOf(types);
+        postalCodes = postalCodes == null ? Set.of() : Set.copyOf(postalCodes);
+        cities = cities == null ? Set.of() : Set.copyOf(cities);
+    }
+
+    /**
+     * @return true if the filter matches all POS
+     */
+    public boolean isEmpty() {
+        return campuses.isEmpty() && types.isEmpty() && postalCodes.isEmpty() && cities.isEmpty();
+    }
+}
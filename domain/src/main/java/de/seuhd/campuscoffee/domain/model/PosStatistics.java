@@ -0,0 +1,28 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Number of Points of Sale per campus and type.
+ * All campuses and types are included, also those without any POS.
+ *
+ * @param total           the total number of POS
+ * @param byCampus        the number of POS per campus
+ * @param byType          the number of POS per type
+ * @param byCampusAndType the number of POS per campus, broken down by type
+ * @param reconciledAt    the time (UTC) the counts were last recomputed from the data store; writes since then
+ *                        are counted incrementally
+ */
+@Builder
+public record PosStatistics(
+        long total,
+        @NonNull Map<CampusType, Long> byCampus,
+        @NonNull Map<PosType, Long> byType,
+        @NonNull Map<CampusType, Map<PosType, Long>> byCampusAndType,
+        @NonNull LocalDateTime reconciledAt
+) {
+}
@@ -0,0 +1,24 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * A POS name suggested while the user types (autocomplete).
+ *
+ * @param id   the ID of the suggested POS
+ * @param name the name of the suggested POS
+ */
+public record PosSuggestion(
+        @NonNull Long id,
+        @NonNull String name
+) {
+    /**
+     * Number of suggestions returned if the client does not specify a limit.
+     */
+    public static final int DEFAULT_LIMIT = 10;
+
+    /**
+     * Upper bound for the number of suggestions.
+     */
+    public static final int MAX_LIMIT = 50;
+}
@@ -0,0 +1,33 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import org.jspecify.annotations.NonNull;
+
+import java.util.List;
+
+/**
+ * A single page of a result that is addressed by page number, e.g., ranked search results.
+ * In contrast to {@link CursorPage}, the order of the items is not stable across writes, so clients
+ * should not page deep into such results.
+ *
+ * @param items   the items on this page
+ * @param page    the zero-based number of this page
+ * @param size    the maximum number of items per page
+ * @param hasNext whether there are further items after this page
+ * @param <T>     the type of the items
+ */
+public record ResultPage<T>(
+        @NonNull List<T> items,
+        int page,
+        int size,
+        boolean hasNext
+) {
+    /**
+     * Page size used if the client requests a page without specifying a size.
+     */
+    public static final int DEFAULT_SIZE = 20;
+
+    /**
+     * Upper bound for the page size to keep response sizes predictable.
+     */
+    public static final int MAX_SIZE = 100;
+}
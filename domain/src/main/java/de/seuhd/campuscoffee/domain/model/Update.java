@@ -0,0 +1,35 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * The state of an entity before and after an update.
+ * Every write increments the version of the entity, so the previous and the updated state are only equal if the
+ * update was skipped because the entity already had the new values (see {@link #isUnchanged()}).
+ *
+ * @param previous the entity as it was stored before the update
+ * @param updated  the entity as it is stored after the update
+ * @param <T>      the type of the entity
+ */
+public record Update<T>(
+        @NonNull T previous,
+        @NonNull T updated
+) {
+    /**
+     * Creates the result of an update that was skipped because the entity already had the new values.
+     *
+     * @param current the entity as it is stored
+     * @param <T>     the type of the entity
+     * @return the update with the same previous and updated state
+     */
+    public static <T> @NonNull Update<T> unchanged(@NonNull T current) {
+        return new Update<>(current, current);
+    }
+
+    /**
+     * @return true if nothing was written because the entity already had the new values
+     */
+    public boolean isUnchanged() {
+        return previous.equals(updated);
+    }
+}
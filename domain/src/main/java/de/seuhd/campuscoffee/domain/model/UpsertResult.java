@@ -0,0 +1,67 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Result of upserting a single entity as part of a bulk operation.
+ *
+ * @param status  the outcome of the upsert
+ * @param value   the persisted entity; null if the entity was rejected
+ * @param message  a human-readable reason if the entity was rejected; null otherwise
+ * @param previous the entity before the update, e.g., to maintain derived data; null unless the entity was updated
+ * @param <T>      the type of the upserted entity
+ */
+@Builder
+public record UpsertResult<T>(
+        @NonNull UpsertStatus status,
+        @Nullable T value, // null if the entity was rejected
+        @Nullable String message, // null if the entity was persisted
+        @Nullable T previous // null unless the entity was updated
+) {
+    /**
+     * Maximum number of entities that can be upserted in one bulk operation.
+     */
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    public UpsertResult(@NonNull UpsertStatus status, @Nullable T value, @Nullable String message) {
+        this(status, value, message, null);
+    }
+
+    /**
+     * Creates a result for an entity that was persisted.
+     *
+     * @param status the outcome of the upsert (created or updated)
+     * @param value  the persisted entity
+     * @param <T>    the type of the upserted entity
+     * @return the result
+     */
+    public static <T> UpsertResult<T> persisted(@NonNull UpsertStatus status, @NonNull T value) {
+        return new UpsertResult<>(status, value, null);
+    }
+
+    /**
+     * Creates a result for an entity that was updated.
+     *
+     * @param previous the entity before the update
+     * @param value    the updated entity
+     * @param <T>      the type of the upserted entity
+     * @return the result
+     */
+    public static <T> UpsertResult<T> updated(@NonNull T previous, @NonNull T value) {
+        return new UpsertResult<>(UpsertStatus.UPDATED, value, null, previous);
+    }
+
+    /**
+     * Creates a result for an entity that was rejected.
+     *
+     * @param status the outcome of the upsert (e.g., duplicate)
+     * @param reason the exception describing why the entity was rejected
+     * @param <T>    the type of the upserted entity
+     * @return the result
+     */
+    public static <T> UpsertResult<T> rejected(@NonNull UpsertStatus status, @NonNull RuntimeException reason) {
+        return new UpsertResult<>(status, null, reason.getMessage());
+    }
+}
@@ -0,0 +1,14 @@
+package de.seuhd.campuscoffee.domain.model;
+
+/**
+ * Enum for the outcome of upserting a single entity, e.g., as part of a bulk operation.
+ */
+public enum UpsertStatus {
+    CREATED,
+    UPDATED,
+    UNCHANGED, // the entity to update already had the new values, so nothing was written
+    DUPLICATE, // a unique field (e.g., the name) is already used by another entity
+    NOT_FOUND, // the entity to update (or its source, e.g., an OSM node) does not exist
+    INVALID, // the entity could not be created from its source (e.g., an OSM node without an address)
+    FAILED // an unexpected error occurred (e.g., the OSM API was unavailable); retrying may succeed
+}
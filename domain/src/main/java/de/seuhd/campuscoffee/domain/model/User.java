@@ -18,6 +18,7 @@ public record User (
         @Nullable Long id,
         @Nullable LocalDateTime createdAt,
         @Nullable LocalDateTime updatedAt,
+        @Nullable Long version, // when set for an update, the update only succeeds if it matches the stored version
         @NonNull String loginName,
         @NonNull String emailAddress,
         @NonNull String firstName,
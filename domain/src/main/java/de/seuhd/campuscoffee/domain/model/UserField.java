@@ -0,0 +1,64 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import org.jspecify.annotations.NonNull;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Enum for the fields of a {@link User} that can be changed individually (partial updates).
+ * The {@link #fieldName()} is the name of the corresponding component of {@link User}.
+ */
+public enum UserField {
+    ID("id", Long.class),
+    CREATED_AT("createdAt", LocalDateTime.class),
+    UPDATED_AT("updatedAt", LocalDateTime.class),
+    LOGIN_NAME("loginName", String.class),
+    EMAIL_ADDRESS("emailAddress", String.class),
+    FIRST_NAME("firstName", String.class),
+    LAST_NAME("lastName", String.class);
+
+    private static final Map<String, UserField> BY_FIELD_NAME = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(UserField::fieldName, Function.identity()));
+
+    private final String fieldName;
+    private final Class<?> type;
+
+    UserField(String fieldName, Class<?> type) {
+        this.fieldName = fieldName;
+        this.type = type;
+    }
+
+    /**
+     * @return the name of the field, e.g., "loginName"
+     */
+    public @NonNull String fieldName() {
+        return fieldName;
+    }
+
+    /**
+     * @return the type of the field's values
+     */
+    public @NonNull Class<?> type() {
+        return type;
+    }
+
+    /**
+     * Parses a field name to its corresponding enum constant.
+     *
+     * @param fieldName the name of the field (e.g., "loginName")
+     * @return the matching enum constant
+     * @throws IllegalArgumentException if there is no field with this name
+     */
+    public static @NonNull UserField fromFieldName(@NonNull String fieldName) {
+        UserField field = BY_FIELD_NAME.get(fieldName.strip());
+        if (field == null) {
+            throw new IllegalArgumentException("Unknown user field '" + fieldName + "'; supported fields are "
+                    + String.join(", ", BY_FIELD_NAME.keySet().stream().sorted().toList()) + ".");
+        }
+        return field;
+    }
+}
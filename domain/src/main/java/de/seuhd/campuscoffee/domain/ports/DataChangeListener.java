@@ -0,0 +1,29 @@
+package de.seuhd.campuscoffee.domain.ports;
+
+import de.seuhd.campuscoffee.domain.model.DataChange;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Port for components that derive data from persisted entities (e.g., caches) and must be told about writes.
+ * All beans implementing this interface are notified of writes made by this application instance after the commit
+ * as well as of writes made by other instances that share the same database.
+ */
+public interface DataChangeListener {
+    /**
+     * Called after entities have been written. Implementations must be thread-safe and return quickly.
+     *
+     * @param change the committed change
+     */
+    void onDataChange(@NonNull DataChange change);
+
+    /**
+     * Called after a transaction that wrote entities was rolled back, so the entities were not changed.
+     * By default, the change is handled like a committed one, since implementations may have read the written
+     * state within the transaction (e.g., caches that were populated before the rollback).
+     *
+     * @param change the rolled back change
+     */
+    default void onRollback(@NonNull DataChange change) {
+        onDataChange(change);
+    }
+}
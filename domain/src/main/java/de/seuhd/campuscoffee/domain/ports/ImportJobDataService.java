@@ -0,0 +1,56 @@
+package de.seuhd.campuscoffee.domain.ports;
+
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.model.ImportJob;
+import org.jspecify.annotations.NonNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * Port interface for persisting the state of asynchronous import jobs.
+ * Jobs are stored in the shared data store, so that every application instance can report the progress of a job,
+ * regardless of the instance running it, and finished jobs can still be polled after a restart.
+ * This port is implemented by the data layer (adapter).
+ */
+public interface ImportJobDataService {
+    /**
+     * Creates a new job.
+     *
+     * @param job the job to create; the ID and creation time must be null
+     * @return the created job with its ID and creation time; never null
+     */
+    @NonNull ImportJob create(@NonNull ImportJob job);
+
+    /**
+     * Stores the status, progress, results, and failure message of an existing job.
+     * Jobs that were already deleted are not created again.
+     *
+     * @param job the new state of the job; the ID must be set
+     */
+    void update(@NonNull ImportJob job);
+
+    /**
+     * Retrieves a job by its unique identifier.
+     *
+     * @param id the unique identifier of the job; must not be null
+     * @return the job; never null
+     * @throws NotFoundException if no job with the given ID exists
+     */
+    @NonNull ImportJob getById(@NonNull Long id);
+
+    /**
+     * Deletes a job, e.g., if it could not be queued.
+     *
+     * @param id the unique identifier of the job; must not be null
+     */
+    void delete(@NonNull Long id);
+
+    /**
+     * Deletes the jobs that finished before the given time and the unfinished jobs that were not updated since then
+     * (e.g., because the application instance running them stopped unexpectedly).
+     *
+     * @param threshold the time (UTC) before which jobs expire
+     * @return the number of deleted jobs
+     */
+    int deleteExpired(@NonNull LocalDateTime threshold);
+}
@@ -0,0 +1,39 @@
+package de.seuhd.campuscoffee.domain.ports;
+
+import de.seuhd.campuscoffee.domain.exceptions.ImportJobRejectedException;
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.ImportJob;
+import de.seuhd.campuscoffee.domain.model.UpsertResult;
+import org.jspecify.annotations.NonNull;
+
+import java.util.List;
+
+/**
+ * Service interface for asynchronous imports of POS from OpenStreetMap.
+ * Jobs run on a bounded pool of threads separate from the request threads,
+ * so long imports neither block API requests nor starve regular traffic.
+ * The state of the jobs is persisted (see {@link ImportJobDataService}), so any application instance can report it.
+ */
+public interface ImportJobService {
+    /**
+     * Submits a job that imports POS from OpenStreetMap nodes using {@link PosService#importFromOsmNodes}.
+     * The nodes are processed in chunks, so the progress can be polled while the job is running.
+     *
+     * @param nodeIds the OpenStreetMap node IDs to import; must not be null
+     * @param campusType the campus type to assign to the imported POS; must not be null
+     * @return the queued job; never null
+     * @throws IllegalArgumentException if no or more than {@link UpsertResult#MAX_BATCH_SIZE} node IDs are provided
+     * @throws ImportJobRejectedException if too many jobs are already waiting to be executed
+     */
+    @NonNull ImportJob submit(@NonNull List<Long> nodeIds, @NonNull CampusType campusType);
+
+    /**
+     * Retrieves the current state of an import job.
+     *
+     * @param id the unique identifier of the job; must not be null
+     * @return a snapshot of the job; never null
+     * @throws NotFoundException if no job with the given ID exists (or it was already discarded)
+     */
+    @NonNull ImportJob getById(@NonNull Long id);
+}
@@ -1,8 +1,16 @@
 package de.seuhd.campuscoffee.domain.ports;
 
+import de.seuhd.campuscoffee.domain.model.BoundingBox;
+import de.seuhd.campuscoffee.domain.model.OsmExtractStatistics;
 import de.seuhd.campuscoffee.domain.model.OsmNode;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.OsmUnavailableException;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
 
 /**
  * Port for importing Point of Sale data from OpenStreetMap.
@@ -15,7 +23,23 @@ public interface OsmDataService {
      *
      * @param nodeId the OpenStreetMap node ID to fetch
      * @return the OSM node data with tags
-     * @throws NotFoundException if the node doesn't exist or can't be fetched
+     * @throws NotFoundException if the node doesn't exist
+     * @throws OsmUnavailableException if the node can't be fetched because the OSM API failed
      */
     @NonNull OsmNode fetchNode(@NonNull Long nodeId);
+
+    /**
+     * Reads the nodes of a local OpenStreetMap extract file in PBF format (.osm.pbf) or XML format (.osm).
+     * The file is streamed, so its size is not limited by the available memory.
+     * Only nodes with a supported {@link de.seuhd.campuscoffee.domain.model.OsmAmenity} that lie inside the
+     * bounding box (if provided) are passed to the consumer; nodes lacking required fields are skipped.
+     *
+     * @param extractFile the path of the extract file; files ending with .pbf are read as PBF, all others as XML
+     * @param boundingBox the area to import; null to import all nodes
+     * @param consumer the consumer that receives the nodes in the order of the file
+     * @return statistics about the scanned and matched nodes
+     * @throws UncheckedIOException if the file cannot be read or parsed
+     */
+    @NonNull OsmExtractStatistics readExtract(@NonNull Path extractFile, @Nullable BoundingBox boundingBox,
+                                              @NonNull Consumer<OsmNode> consumer);
 }
@@ -1,10 +1,26 @@
 package de.seuhd.campuscoffee.domain.ports;
 
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.GeoPoint;
 import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosCollectionState;
+import de.seuhd.campuscoffee.domain.model.PosField;
+import de.seuhd.campuscoffee.domain.model.PosFilter;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import de.seuhd.campuscoffee.domain.model.Update;
+import de.seuhd.campuscoffee.domain.model.UpsertResult;
+import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.VersionMismatchException;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Port interface for POS data operations.
@@ -15,7 +31,7 @@ import java.util.List;
  */
 public interface PosDataService {
     /**
-     * Clears all POS data from the data store.
+     * Clears all POS data from the data store; a tombstone is recorded for every deleted POS.
      * This is typically used for testing or administrative purposes.
      * Warning: This operation is destructive and cannot be undone.
      */
@@ -28,6 +44,86 @@ public interface PosDataService {
      */
     @NonNull List<Pos> getAll();
 
+    /**
+     * Retrieves all POS entities that match the filter, ordered by their ID.
+     * The filter is evaluated by the data store in a single query.
+     *
+     * @param filter the filter criteria; must not be null
+     * @return the matching POS; never null, but may be empty
+     */
+    @NonNull List<Pos> getAll(@NonNull PosFilter filter);
+
+    /**
+     * Retrieves a slice of the POS entities that match the filter, ordered by their ID using keyset pagination.
+     * Only POS with an ID greater than {@code afterId} are returned, so the cost of a query does not
+     * depend on how far the client has already paged (no OFFSET is used).
+     *
+     * @param filter  the filter criteria; must not be null
+     * @param afterId the ID of the last POS of the previous slice; null to start with the first POS
+     * @param limit   the maximum number of POS to return; must be positive
+     * @return at most {@code limit} matching POS ordered by ID; never null, but may be empty
+     */
+    @NonNull List<Pos> getPage(@NonNull PosFilter filter, @Nullable Long afterId, int limit);
+
+    /**
+     * Retrieves the selected fields of the POS entities that match the filter, ordered by their ID.
+     * Only the columns of the selected fields are read; no POS objects are created.
+     *
+     * @param filter  the filter criteria; must not be null
+     * @param fields  the fields to retrieve; must not be empty
+     * @param afterId the ID of the last POS of the previous slice; null to start with the first POS
+     * @param limit   the maximum number of POS to return; null to return all matching POS
+     * @return one map per matching POS from the {@link PosField#fieldName() field name} to its value in the order of
+     *         {@link PosField}; never null, but may be empty
+     */
+    @NonNull List<Map<String, Object>> getFields(@NonNull PosFilter filter, @NonNull Set<PosField> fields,
+                                                 @Nullable Long afterId, @Nullable Integer limit);
+
+    /**
+     * Searches POS entities by name and description using a full-text index.
+     *
+     * @param query  the search query in web search syntax (e.g., {@code outdoor seating}); must not be null
+     * @param offset the number of matches to skip; must not be negative
+     * @param limit  the maximum number of POS to return; must be positive
+     * @return at most {@code limit} matching POS ordered by relevance (best first); never null, but may be empty
+     */
+    @NonNull List<Pos> search(@NonNull String query, long offset, int limit);
+
+    /**
+     * Retrieves the POS within the given distance of a location, nearest first.
+     * POS without a location are never returned.
+     *
+     * @param center       the location to search around; must not be null
+     * @param radiusMeters the maximum distance in meters; must be positive
+     * @param limit        the maximum number of POS to return; must be positive
+     * @return at most {@code limit} POS ordered by distance (nearest first); never null, but may be empty
+     */
+    @NonNull List<Pos> findNearby(@NonNull GeoPoint center, double radiusMeters, int limit);
+
+    /**
+     * Counts the POS entities per campus and type in a single aggregate query.
+     *
+     * @return the number of POS per campus and type; combinations without POS may be missing; never null
+     */
+    @NonNull Map<CampusType, Map<PosType, Long>> countByCampusAndType();
+
+    /**
+     * Retrieves the state of the POS collection, i.e., the number of POS and the time of the latest change.
+     * The state is cached and invalidated on every write, so it is usually available without accessing the data store.
+     *
+     * @return the state of the POS collection; never null
+     */
+    @NonNull PosCollectionState getCollectionState();
+
+    /**
+     * Passes all POS entities, ordered by ID, to the given consumer one at a time.
+     * In contrast to {@link #getAll()}, the POS are read from the data store in chunks and are never
+     * collected in a list, so memory consumption stays constant regardless of the number of POS.
+     *
+     * @param consumer the consumer that is called once per POS; must not be null
+     */
+    void forEach(@NonNull Consumer<Pos> consumer);
+
     /**
      * Retrieves a single POS entity by its unique name and returns it as a domain object.
      *
@@ -37,6 +133,14 @@ public interface PosDataService {
      */
     @NonNull Pos getByName(@NonNull String name);
 
+    /**
+     * Retrieves multiple POS by their unique names with a single query.
+     *
+     * @param names the names of the POS to retrieve; must not be null
+     * @return the POS found by their name; names without a POS are missing; never null
+     */
+    @NonNull Map<String, Pos> getByNames(@NonNull Collection<String> names);
+
     /**
      * Retrieves a single POS entity by its unique identifier and returns it as a domain object.
      *
@@ -46,6 +150,59 @@ public interface PosDataService {
      */
     @NonNull Pos getById(@NonNull Long id);
 
+    /**
+     * Retrieves multiple POS by their IDs with a single query; POS found in the cache are not queried.
+     *
+     * @param ids the IDs of the POS to retrieve; must not be null
+     * @return the POS found by their ID; IDs without a POS are missing; never null
+     */
+    @NonNull Map<Long, Pos> getByIds(@NonNull Collection<Long> ids);
+
+    /**
+     * Returns the current position in the change order of the data store. All changes committed after this call
+     * are at this or a later position, regardless of when their transaction started; changes committed before
+     * may be at a later position as well, as long as an older transaction is still in progress.
+     * The position is assigned by the data store, so it does not depend on the clocks of the application instances.
+     *
+     * @return the change position; 0 precedes all changes
+     */
+    long getChangePosition();
+
+    /**
+     * Retrieves the POS created or updated at or after the given change position, in change order.
+     * The query is answered by an index on the change position, so its cost depends on the number of changes only.
+     *
+     * @param position the change position (see {@link #getChangePosition()})
+     * @return the changed POS; never null, but may be empty
+     */
+    @NonNull List<Pos> getChangedSince(long position);
+
+    /**
+     * Retrieves the IDs of the POS deleted at or after the given change position from the deletion log (tombstones),
+     * in change order.
+     *
+     * @param position the change position (see {@link #getChangePosition()})
+     * @return the IDs of the deleted POS; never null, but may be empty
+     */
+    @NonNull List<Long> getDeletedSince(long position);
+
+    /**
+     * Removes the tombstones of POS deleted before the given time from the deletion log, so that it does not grow
+     * without limit. Afterward, {@link #getDeletedSince(long)} no longer reports these deletions.
+     *
+     * @param deletedBefore the time (UTC) before which tombstones are removed; must not be null
+     * @return the number of removed tombstones
+     */
+    int purgeDeletedBefore(@NonNull LocalDateTime deletedBefore);
+
+    /**
+     * Returns the latest change position of a removed tombstone (see {@link #purgeDeletedBefore(LocalDateTime)}).
+     * Deletions since a position at or before it may have been removed from the deletion log.
+     *
+     * @return the purge horizon; 0 if no tombstone was removed yet
+     */
+    long getPurgeHorizon();
+
     /**
      * Creates a new POS or updates an existing one.
      * If the POS has an ID and exists in the data store, it will be updated.
@@ -54,14 +211,65 @@ public interface PosDataService {
      * @param pos the POS to create or update; must not be null
      * @return the persisted POS entity with updated timestamps and ID as a domain object; never null
      * @throws NotFoundException if attempting to update a POS that does not exist
+     * @throws VersionMismatchException if the version of the POS to update is set and outdated
      */
     @NonNull Pos upsert(@NonNull Pos pos);
 
     /**
-     * Deletes a POS by its unique identifier.
+     * Updates an existing POS with a single round trip to the data store.
+     * The existence and version check, the update, and reading the previous state are performed by one statement.
+     * If the stored POS already has the new values, nothing is written (see {@link Update#isUnchanged()}).
+     *
+     * @param pos the new state of the POS; the ID must be set; if the version is set, the POS is only updated if the
+     *            stored POS still has this version
+     * @return the previous and the updated state of the POS (with the incremented version unless it is unchanged);
+     *         never null
+     * @throws NotFoundException if no POS exists with the ID
+     * @throws VersionMismatchException if the version is set and the stored POS has a different version
+     * @throws DuplicationException if the name is already used by another POS
+     */
+    @NonNull Update<Pos> update(@NonNull Pos pos);
+
+    /**
+     * Changes only the given fields of an existing POS with a single round trip to the data store.
+     * Only the columns of these fields (and the timestamp and version) are written, and only if at least one of them
+     * has a new value.
+     *
+     * @param id      the ID of the POS to change; must not be null
+     * @param changes the new values of the fields to change; must not be empty or contain the ID or timestamps
+     * @param version the version the POS must have to be changed; null to change it regardless of its version
+     * @return the previous and the updated state of the POS (with the incremented version unless it is unchanged);
+     *         never null
+     * @throws IllegalArgumentException if the changed POS is invalid; nothing is changed in this case
+     * @throws NotFoundException if no POS exists with the ID
+     * @throws VersionMismatchException if the version is set and the stored POS has a different version
+     * @throws DuplicationException if the name is already used by another POS
+     */
+    @NonNull Update<Pos> patch(@NonNull Long id, @NonNull Map<PosField, Object> changes, @Nullable Long version);
+
+    /**
+     * Creates or updates multiple POS in a single transaction.
+     * Existing POS and name conflicts are looked up with one query each, and the resulting inserts and updates
+     * are sent to the data store in batches. POS that cannot be persisted (e.g., because their name is already
+     * used) are reported in the result instead of aborting the whole operation. A name that another POS of the list
+     * gives up cannot be reused within the same list, since the order of the statements is not defined.
+     *
+     * @param posList the POS to create or update; must not be null
+     * @return one result per POS in the same order as the input, including the previous state of updated POS;
+     *         never null
+     * @throws DuplicationException if concurrent transactions keep using the names of the list while it is written;
+     *         nothing is changed in this case
+     */
+    @NonNull List<UpsertResult<Pos>> upsertAll(@NonNull List<Pos> posList);
+
+    /**
+     * Deletes a POS by its unique identifier and records a tombstone for it in the same statement.
      *
-     * @param id the unique identifier of the POS to delete; must not be null
+     * @param id      the unique identifier of the POS to delete; must not be null
+     * @param version the version the POS must have to be deleted; null to delete it regardless of its version
+     * @return the deleted POS; never null
      * @throws NotFoundException if no POS exists with the given ID
+     * @throws VersionMismatchException if the version is set and the stored POS has a different version
      */
-    void delete(@NonNull Long id);
+    @NonNull Pos delete(@NonNull Long id, @Nullable Long version);
 }
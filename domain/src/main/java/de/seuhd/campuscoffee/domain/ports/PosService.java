@@ -3,11 +3,36 @@ package de.seuhd.campuscoffee.domain.ports;
 import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
 import de.seuhd.campuscoffee.domain.exceptions.MissingFieldException;
+import de.seuhd.campuscoffee.domain.exceptions.OsmUnavailableException;
+import de.seuhd.campuscoffee.domain.exceptions.SyncTokenExpiredException;
+import de.seuhd.campuscoffee.domain.exceptions.VersionMismatchException;
+import de.seuhd.campuscoffee.domain.model.BoundingBox;
 import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.CursorPage;
+import de.seuhd.campuscoffee.domain.model.GeoPoint;
+import de.seuhd.campuscoffee.domain.model.LookupResult;
+import de.seuhd.campuscoffee.domain.model.NearbyPos;
+import de.seuhd.campuscoffee.domain.model.OsmExtractImportSummary;
+import de.seuhd.campuscoffee.domain.model.OsmImportResult;
 import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosChanges;
+import de.seuhd.campuscoffee.domain.model.PosCollectionState;
+import de.seuhd.campuscoffee.domain.model.PosField;
+import de.seuhd.campuscoffee.domain.model.PosFilter;
+import de.seuhd.campuscoffee.domain.model.PosStatistics;
+import de.seuhd.campuscoffee.domain.model.PosSuggestion;
+import de.seuhd.campuscoffee.domain.model.ResultPage;
+import de.seuhd.campuscoffee.domain.model.Update;
+import de.seuhd.campuscoffee.domain.model.UpsertResult;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Service interface for POS (Point of Sale) operations.
@@ -32,6 +57,117 @@ public interface PosService {
      */
     @NonNull List<Pos> getAll();
 
+    /**
+     * Retrieves all Points of Sale that match the filter, e.g., all cafés on a given campus.
+     *
+     * @param filter the filter criteria; {@link PosFilter#NONE} to retrieve all POS
+     * @return the matching POS; never null, but may be empty
+     */
+    @NonNull List<Pos> getAll(@NonNull PosFilter filter);
+
+    /**
+     * Retrieves one page of the Points of Sale that match the filter, ordered by their ID.
+     * Pages are addressed with an opaque cursor instead of an offset, so the latency of a page
+     * stays the same no matter how many POS precede it. The same filter must be used for all pages.
+     *
+     * @param filter the filter criteria; {@link PosFilter#NONE} to page through all POS
+     * @param cursor the cursor returned with the previous page; null to retrieve the first page
+     * @param limit  the maximum number of POS on the page; must be between 1 and {@link CursorPage#MAX_LIMIT}
+     * @return the requested page including the cursor for the next page; never null
+     * @throws IllegalArgumentException if the cursor is malformed or the limit is out of range
+     */
+    @NonNull CursorPage<Pos> getPage(@NonNull PosFilter filter, @Nullable String cursor, int limit);
+
+    /**
+     * Retrieves only the selected fields of all Points of Sale that match the filter, ordered by their ID.
+     * Only the columns of the selected fields are read from the data store, e.g., for a map view that needs
+     * nothing but the ID, name, and campus.
+     *
+     * @param filter the filter criteria; {@link PosFilter#NONE} to retrieve all POS
+     * @param fields the fields to retrieve; the ID is always included
+     * @return one map per matching POS from the {@link PosField#fieldName() field name} to its value (null values
+     *         included) in the order of {@link PosField}; never null, but may be empty
+     * @throws IllegalArgumentException if no field is selected
+     */
+    @NonNull List<Map<String, Object>> getAll(@NonNull PosFilter filter, @NonNull Set<PosField> fields);
+
+    /**
+     * Retrieves only the selected fields of one page of the Points of Sale that match the filter.
+     * Apart from the selected fields, this is the same as {@link #getPage(PosFilter, String, int)}.
+     *
+     * @param filter the filter criteria; {@link PosFilter#NONE} to page through all POS
+     * @param fields the fields to retrieve; the ID is always included
+     * @param cursor the cursor returned with the previous page; null to retrieve the first page
+     * @param limit  the maximum number of POS on the page; must be between 1 and {@link CursorPage#MAX_LIMIT}
+     * @return the requested page with one map per POS (see {@link #getAll(PosFilter, Set)}); never null
+     * @throws IllegalArgumentException if no field is selected, the cursor is malformed, or the limit is out of range
+     */
+    @NonNull CursorPage<Map<String, Object>> getPage(@NonNull PosFilter filter, @NonNull Set<PosField> fields,
+                                                     @Nullable String cursor, int limit);
+
+    /**
+     * Searches Points of Sale by words in their name or description, e.g., "waffles" or "outdoor seating".
+     * The results are ranked by relevance, with matches in the name ranking higher than matches in the description.
+     *
+     * @param query the search query in web search syntax (quoted phrases, {@code or}, {@code -word}); must not be null
+     * @param page  the zero-based page number
+     * @param size  the maximum number of POS on the page; must be between 1 and {@link ResultPage#MAX_SIZE}
+     * @return the requested page of matching POS; never null
+     * @throws IllegalArgumentException if the query is blank, the page is negative, or the size is out of range
+     */
+    @NonNull ResultPage<Pos> search(@NonNull String query, int page, int size);
+
+    /**
+     * Suggests POS names for a partial name typed by the user (autocomplete).
+     * The suggestions are served from an in-memory index, so this method does not access the data store.
+     * Case and diacritics are ignored (e.g., "cafe bot" suggests "Café Botanik"), and minor typos are tolerated.
+     *
+     * @param query the partial name; must not be null
+     * @param limit the maximum number of suggestions; must be between 1 and {@link PosSuggestion#MAX_LIMIT}
+     * @return the suggestions, best first; never null, but may be empty
+     * @throws IllegalArgumentException if the limit is out of range
+     */
+    @NonNull List<PosSuggestion> suggest(@NonNull String query, int limit);
+
+    /**
+     * Retrieves the number of Points of Sale per campus and type.
+     * The counts are maintained in memory while POS are written and periodically reconciled with the data store,
+     * so this method does not access the data store. Writes by other application instances are reflected after
+     * the next reconciliation.
+     *
+     * @return the current statistics; never null
+     */
+    @NonNull PosStatistics getStatistics();
+
+    /**
+     * Retrieves the state of the POS collection, which changes whenever a POS is created, updated, or deleted.
+     * It is used to answer conditional requests for POS collections without loading any POS.
+     *
+     * @return the number of POS and the time of the latest change; never null
+     */
+    @NonNull PosCollectionState getCollectionState();
+
+    /**
+     * Finds the Points of Sale closest to a location, e.g., the current location of the user.
+     * Only POS with a known location (e.g., imported from OpenStreetMap) are considered.
+     *
+     * @param center       the location to search around; must not be null
+     * @param radiusMeters the maximum distance in meters; must be between 1 and {@link NearbyPos#MAX_RADIUS_METERS}
+     * @param limit        the maximum number of POS; must be between 1 and {@link NearbyPos#MAX_LIMIT}
+     * @return the POS within the radius with their distance, nearest first; never null, but may be empty
+     * @throws IllegalArgumentException if the radius or the limit is out of range
+     */
+    @NonNull List<NearbyPos> findNearby(@NonNull GeoPoint center, int radiusMeters, int limit);
+
+    /**
+     * Exports all Points of Sale by passing them to the given consumer one at a time, ordered by ID.
+     * The POS are never materialized as a list, which makes this method suitable for exporting
+     * data sets that do not fit into memory.
+     *
+     * @param consumer the consumer that is called once per POS; must not be null
+     */
+    void exportAll(@NonNull Consumer<Pos> consumer);
+
     /**
      * Retrieves a specific Point of Sale by its unique identifier.
      *
@@ -41,6 +177,32 @@ public interface PosService {
      */
     @NonNull Pos getById(@NonNull Long id);
 
+    /**
+     * Retrieves multiple Points of Sale by their IDs at once.
+     * In contrast to {@link #getById(Long)}, unknown IDs do not cause an exception but are reported in the result.
+     * Duplicate IDs are only looked up once.
+     *
+     * @param ids the IDs of the POS to retrieve; must not be null
+     * @return the POS in the order of the IDs and the IDs that do not exist; never null
+     * @throws IllegalArgumentException if more than {@link LookupResult#MAX_IDS} IDs are provided
+     */
+    @NonNull LookupResult<Pos> getByIds(@NonNull List<Long> ids);
+
+    /**
+     * Retrieves the changes of the POS collection since a sync token (delta sync).
+     * Without a token, all POS are returned (initial sync). With a token, only the POS created or updated since
+     * then and the IDs of the POS deleted since then are returned, so the cost depends on the number of changes
+     * rather than the number of POS. Changes shortly before a sync are returned again by the next sync, so clients
+     * must apply them idempotently (by ID). Tombstones of deleted POS are only kept for
+     * {@code pos.sync.tombstone-retention}, so older tokens expire.
+     *
+     * @param since the token returned by the previous sync; null for an initial sync
+     * @return the changed POS, the IDs of the deleted POS, and the token for the next sync; never null
+     * @throws IllegalArgumentException if the token was not created by this service
+     * @throws SyncTokenExpiredException if deletions since the token may have been purged
+     */
+    @NonNull PosChanges getChanges(@Nullable String since);
+
     /**
      * Retrieves a specific Point of Sale by its unique name.
      *
@@ -62,16 +224,68 @@ public interface PosService {
      * <ul>
      *   <li>POS names must be unique (enforced by database constraint)</li>
      *   <li>All required fields must be present and valid</li>
-     *   <li>Timestamps (createdAt, updatedAt) are managed by the {@link PosDataService}.</li>
+     *   <li>Timestamps (createdAt, updatedAt) and the version are managed by the {@link PosDataService}.</li>
+     *   <li>If the version of a POS to update is set, the update only succeeds if it matches the stored version
+     *   (optimistic locking).</li>
      * </ul>
      *
      * @param pos the POS entity to create or update; must not be null
-     * @return the persisted POS entity with populated ID and timestamps; never null
+     * @return the persisted POS entity with populated ID, timestamps, and version; never null
      * @throws NotFoundException if attempting to update a POS that does not exist
+     * @throws VersionMismatchException if the version of the POS to update is set and outdated
      * @throws DuplicationException if a POS with the same name already exists
      */
     @NonNull Pos upsert(@NonNull Pos pos);
 
+    /**
+     * Updates an existing POS like {@link #upsert(Pos)}, but also reports whether the POS actually changed.
+     * If the stored POS already has the new values, nothing is written: its update timestamp and version are kept.
+     *
+     * @param pos the new state of the POS; the ID must be set; if the version is set, the POS is only updated if the
+     *            stored POS still has this version
+     * @return the previous and the updated state of the POS; both are the stored POS if it is unchanged; never null
+     * @throws NotFoundException if no POS exists with the ID
+     * @throws VersionMismatchException if the version is set and the stored POS has a different version
+     * @throws DuplicationException if the name is already used by another POS
+     */
+    @NonNull Update<Pos> update(@NonNull Pos pos);
+
+    /**
+     * Changes only the given fields of an existing POS (partial update); all other fields keep their values.
+     * The ID and the timestamps cannot be changed, and only the location (latitude and longitude) can be removed
+     * by setting it to null. As for {@link #upsert(Pos)}, the version is checked if it is set.
+     * If no field gets a new value, nothing is written (see {@link Update#isUnchanged()}).
+     *
+     * @param id      the unique identifier of the POS to change; must not be null
+     * @param changes the new values of the fields to change, null values remove the value; must not be null
+     * @param version the version the POS must have to be changed; null to change it regardless of its version
+     * @return the previous and the changed state of the POS (with the incremented version unless it is unchanged);
+     *         never null
+     * @throws IllegalArgumentException if a field cannot be changed or removed, or if the changed POS is invalid
+     *                                  (e.g., only one of latitude and longitude is set)
+     * @throws NotFoundException if no POS exists with the given ID
+     * @throws VersionMismatchException if the version is set and the stored POS has a different version
+     * @throws DuplicationException if the name is already used by another POS
+     */
+    @NonNull Update<Pos> patch(@NonNull Long id, @NonNull Map<PosField, Object> changes, @Nullable Long version);
+
+    /**
+     * Creates or updates multiple POS in one transaction.
+     * In contrast to {@link #upsert(Pos)}, rule violations of single POS do not cause an exception.
+     * Instead, each POS gets its own result:
+     * <ul>
+     *   <li>{@code CREATED}/{@code UPDATED} if the POS was persisted</li>
+     *   <li>{@code UNCHANGED} if the POS already had the new values, so nothing was written</li>
+     *   <li>{@code DUPLICATE} if another POS (in the data store or earlier in the list) has the same name</li>
+     *   <li>{@code NOT_FOUND} if the POS has an ID that does not exist</li>
+     * </ul>
+     *
+     * @param posList the POS to create or update; must not be null
+     * @return one result per POS in the same order as the input; never null
+     * @throws IllegalArgumentException if more than {@link UpsertResult#MAX_BATCH_SIZE} POS are provided
+     */
+    @NonNull List<UpsertResult<Pos>> upsertAll(@NonNull List<Pos> posList);
+
     /**
      * Imports a Point of Sale from an OpenStreetMap node.
      * Fetches POS data from OpenStreetMap using the {@link OsmDataService}, converts it to a POS entity,
@@ -88,17 +302,54 @@ public interface PosService {
      * @param nodeId the OpenStreetMap node ID to import; must not be null
      * @param campusType the campus type to assign to the imported POS; must not be null
      * @return the created or updated POS entity; never null
-     * @throws NotFoundException if the OSM node with the given ID doesn't exist or cannot be fetched
+     * @throws NotFoundException if the OSM node with the given ID doesn't exist
+     * @throws OsmUnavailableException if the OSM node cannot be fetched because the OSM API failed
      * @throws MissingFieldException if the OSM node lacks required fields for creating a valid POS
      * @throws DuplicationException if a POS with the same name already exists
      */
     @NonNull Pos importFromOsmNode(@NonNull Long nodeId, @NonNull CampusType campusType);
 
+    /**
+     * Imports multiple Points of Sale from OpenStreetMap nodes.
+     * The nodes are fetched in parallel (at most {@code osm.import.max-concurrency} at a time) and the
+     * resulting POS are persisted in one batch using {@link #upsertAll(List)}.
+     * Nodes that cannot be fetched or converted do not cause an exception. Instead, each node gets its own result:
+     * <ul>
+     *   <li>{@code NOT_FOUND} if the OSM node doesn't exist or cannot be fetched</li>
+     *   <li>{@code INVALID} if the OSM node lacks required fields for creating a valid POS</li>
+     *   <li>otherwise, the status returned by {@link #upsertAll(List)} (e.g., {@code DUPLICATE})</li>
+     * </ul>
+     *
+     * @param nodeIds the OpenStreetMap node IDs to import; must not be null
+     * @param campusType the campus type to assign to the imported POS; must not be null
+     * @return one result per node ID in the same order as the input; never null
+     * @throws IllegalArgumentException if more than {@link UpsertResult#MAX_BATCH_SIZE} node IDs are provided
+     */
+    @NonNull List<OsmImportResult> importFromOsmNodes(@NonNull List<Long> nodeIds, @NonNull CampusType campusType);
+
+    /**
+     * Imports Points of Sale from a local OpenStreetMap extract file instead of fetching single nodes.
+     * The nodes are converted using the same rules as in {@link #importFromOsmNode(Long, CampusType)} and
+     * persisted in batches using {@link #upsertAll(List)}, so the memory usage does not depend on the file size.
+     * POS that already exist with the same name are updated, so re-running an updated extract refreshes them.
+     * Nodes that cannot be converted or persisted are counted but do not abort the import.
+     *
+     * @param extractFile the path of the extract file in OSM PBF (.pbf) or XML format; must not be null
+     * @param boundingBox the area to import; null to import all nodes of the file
+     * @param campusType the campus type to assign to the imported POS; must not be null
+     * @return a summary including the number of nodes per outcome and the throughput; never null
+     * @throws UncheckedIOException if the file cannot be read or parsed
+     */
+    @NonNull OsmExtractImportSummary importFromOsmExtract(@NonNull Path extractFile, @Nullable BoundingBox boundingBox,
+                                                          @NonNull CampusType campusType);
+
     /**
      * Deletes a Point of Sale by its unique identifier.
      *
-     * @param id the unique identifier of the POS to delete; must not be null
+     * @param id      the unique identifier of the POS to delete; must not be null
+     * @param version the version the POS must have to be deleted; null to delete it regardless of its version
      * @throws NotFoundException if no POS exists with the given ID
+     * @throws VersionMismatchException if the version is set and the stored POS has a different version
      */
-    void delete(@NonNull Long id);
+    void delete(@NonNull Long id, @Nullable Long version);
 }
@@ -1,10 +1,16 @@
 package de.seuhd.campuscoffee.domain.ports;
 
+import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.VersionMismatchException;
+import de.seuhd.campuscoffee.domain.model.Update;
 import de.seuhd.campuscoffee.domain.model.User;
+import de.seuhd.campuscoffee.domain.model.UserField;
 import lombok.NonNull;
+import org.jspecify.annotations.Nullable;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Port interface for user data operations.
@@ -60,15 +66,49 @@ public interface UserDataService {
      * @param user the user to create or update; must not be null
      * @return the persisted user entity with updated timestamps and ID as a domain object; never null
      * @throws NotFoundException if attempting to update a user that does not exist
+     * @throws VersionMismatchException if the version of the user to update is set and outdated
      */
     @NonNull
     User upsert(@NonNull User user);
 
+    /**
+     * Updates an existing user with a single round trip to the data store.
+     * If the stored user already has the new values, nothing is written (see {@link Update#isUnchanged()}).
+     *
+     * @param user the new state of the user; the ID must be set; if the version is set, the user is only updated if
+     *             the stored user still has this version
+     * @return the previous and the updated state of the user (with the incremented version unless it is unchanged);
+     *         never null
+     * @throws NotFoundException if no user exists with the ID
+     * @throws VersionMismatchException if the version is set and the stored user has a different version
+     * @throws DuplicationException if the login name or email address is already used by another user
+     */
+    @NonNull
+    Update<User> update(@NonNull User user);
+
+    /**
+     * Changes only the given fields of an existing user; only the columns of these fields are written, and only if
+     * at least one of them has a new value.
+     *
+     * @param id      the unique identifier of the user to change; must not be null
+     * @param changes the new values of the fields to change; must not be empty or contain the ID or timestamps
+     * @param version the version the user must have to be changed; null to change them regardless of their version
+     * @return the previous and the changed state of the user (with the incremented version unless it is unchanged);
+     *         never null
+     * @throws NotFoundException if no user exists with the given ID
+     * @throws VersionMismatchException if the version is set and the stored user has a different version
+     * @throws DuplicationException if the login name or email address is already used by another user
+     */
+    @NonNull
+    Update<User> patch(@NonNull Long id, @NonNull Map<UserField, Object> changes, @Nullable Long version);
+
     /**
      * Deletes a user by their unique identifier.
      *
-     * @param id the unique identifier of the user to delete; must not be null
+     * @param id      the unique identifier of the user to delete; must not be null
+     * @param version the version the user must have to be deleted; null to delete them regardless of their version
      * @throws NotFoundException if no user exists with the given ID
+     * @throws VersionMismatchException if the version is set and the stored user has a different version
      */
-    void delete(@NonNull Long id);
+    void delete(@NonNull Long id, @Nullable Long version);
 }
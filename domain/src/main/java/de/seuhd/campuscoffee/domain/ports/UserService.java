@@ -1,10 +1,14 @@
 package de.seuhd.campuscoffee.domain.ports;
 
 import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.Update;
 import de.seuhd.campuscoffee.domain.model.User;
+import de.seuhd.campuscoffee.domain.model.UserField;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 
 import java.util.List;
+import java.util.Map;
 
 public interface UserService {
     //TODO: Define user service interface
@@ -13,5 +17,7 @@ public interface UserService {
     @NonNull User getById(@NonNull Long id);
     @NonNull User getByloginName(@NonNull String loginName);
     @NonNull User upsert(@NonNull User user);
-    void delete(@NonNull Long id);
+    @NonNull Update<User> update(@NonNull User user);
+    @NonNull Update<User> patch(@NonNull Long id, @NonNull Map<UserField, Object> changes, @Nullable Long version);
+    void delete(@NonNull Long id, @Nullable Long version);
 }
@@ -0,0 +1,199 @@
+package de.seuhd.campuscoffee.domain.impl;
+
+import de.seuhd.campuscoffee.domain.config.OsmImportProperties;
+import de.seuhd.campuscoffee.domain.exceptions.ImportJobRejectedException;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.ImportJob;
+import de.seuhd.campuscoffee.domain.model.ImportJobStatus;
+import de.seuhd.campuscoffee.domain.model.OsmImportResult;
+import de.seuhd.campuscoffee.domain.model.UpsertStatus;
+import de.seuhd.campuscoffee.domain.ports.ImportJobDataService;
+import de.seuhd.campuscoffee.domain.ports.PosService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ImportJobServiceImplTest {
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    @Mock
+    private PosService posService;
+
+    @Mock
+    private ImportJobDataService importJobDataService;
+
+    private final CountDownLatch importsBlocked = new CountDownLatch(1);
+    private ImportJobServiceImpl importJobService;
+
+    @AfterEach
+    void shutdown() {
+        importsBlocked.countDown();
+        if (importJobService != null) {
+            importJobService.shutdown();
+        }
+    }
+
+    @Test
+    void submitImportsNodesInChunksAndPersistsProgress() {
+        // given
+        createImportJobService(1, 1, 2);
+        when(posService.importFromOsmNodes(anyList(), eq(CampusType.INF))).thenAnswer(invocation ->
+                results(invocation.getArgument(0)));
+
+        // when
+        ImportJob job = importJobService.submit(List.of(1L, 2L, 3L, 4L, 5L), CampusType.INF);
+
+        // then
+        assertThat(job.status()).isEqualTo(ImportJobStatus.QUEUED);
+        assertThat(job.totalNodes()).isEqualTo(5);
+        List<ImportJob> updates = captureUpdates(5); // started, three chunks, completed
+        assertThat(updates).extracting(ImportJob::processedNodes).containsExactly(0, 2, 4, 5, 5);
+        assertThat(updates.getFirst().status()).isEqualTo(ImportJobStatus.RUNNING);
+        ImportJob completedJob = updates.getLast();
+        assertThat(completedJob.status()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(completedJob.finishedAt()).isNotNull();
+        assertThat(completedJob.message()).isNull();
+        assertThat(completedJob.results()).extracting(OsmImportResult::nodeId).containsExactly(1L, 2L, 3L, 4L, 5L);
+        verify(posService).importFromOsmNodes(List.of(1L, 2L), CampusType.INF);
+        verify(posService).importFromOsmNodes(List.of(3L, 4L), CampusType.INF);
+        verify(posService).importFromOsmNodes(List.of(5L), CampusType.INF);
+    }
+
+    @Test
+    void unexpectedErrorMarksJobAsFailed() {
+        // given
+        createImportJobService(1, 1, 2);
+        when(posService.importFromOsmNodes(List.of(1L, 2L), CampusType.INF)).thenAnswer(invocation ->
+                results(invocation.getArgument(0)));
+        when(posService.importFromOsmNodes(List.of(3L), CampusType.INF))
+                .thenThrow(new IllegalStateException("Database unavailable"));
+
+        // when
+        importJobService.submit(List.of(1L, 2L, 3L), CampusType.INF);
+
+        // then
+        ImportJob failedJob = captureUpdates(3).getLast(); // started, first chunk, failed
+        assertThat(failedJob.status()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(failedJob.message()).isEqualTo("Database unavailable");
+        assertThat(failedJob.finishedAt()).isNotNull();
+        assertThat(failedJob.processedNodes()).isEqualTo(2);
+    }
+
+    @Test
+    void submitRejectsJobsWhenQueueIsFull() {
+        // given: the first job blocks the only thread and the second job fills the queue
+        createImportJobService(1, 1, 50);
+        when(posService.importFromOsmNodes(anyList(), eq(CampusType.INF))).thenAnswer(invocation -> {
+            awaitRelease();
+            return results(invocation.getArgument(0));
+        });
+        importJobService.submit(List.of(1L), CampusType.INF);
+        importJobService.submit(List.of(2L), CampusType.INF);
+
+        // when, then
+        assertThatThrownBy(() -> importJobService.submit(List.of(3L), CampusType.INF))
+                .isInstanceOf(ImportJobRejectedException.class)
+                .hasMessageContaining("Too many import jobs are queued");
+        verify(importJobDataService).delete(3L);
+    }
+
+    @Test
+    void shutdownMarksUnfinishedJobsAsFailed() {
+        // given
+        createImportJobService(1, 1, 50);
+        when(posService.importFromOsmNodes(anyList(), eq(CampusType.INF))).thenAnswer(invocation -> {
+            awaitRelease();
+            return results(invocation.getArgument(0));
+        });
+        importJobService.submit(List.of(1L), CampusType.INF);
+        importJobService.submit(List.of(2L), CampusType.INF);
+
+        // when
+        importJobService.shutdown();
+
+        // then: both the running and the queued job are reported as failed
+        ArgumentCaptor<ImportJob> updates = ArgumentCaptor.forClass(ImportJob.class);
+        verify(importJobDataService, timeout(TIMEOUT_MILLIS).atLeast(2)).update(updates.capture());
+        assertThat(updates.getAllValues())
+                .filteredOn(job -> job.status() == ImportJobStatus.FAILED)
+                .extracting(ImportJob::id)
+                .containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void discardExpiredJobsDeletesJobsOlderThanRetention() {
+        // given
+        createImportJobService(1, 1, 50);
+        LocalDateTime expectedThreshold = LocalDateTime.now(ZoneId.of("UTC")).minusHours(1);
+
+        // when
+        importJobService.discardExpiredJobs();
+
+        // then
+        ArgumentCaptor<LocalDateTime> threshold = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(importJobDataService).deleteExpired(threshold.capture());
+        assertThat(Duration.between(expectedThreshold, threshold.getValue())).isBetween(Duration.ZERO,
+                Duration.ofSeconds(5));
+    }
+
+    private void createImportJobService(int threads, int queueCapacity, int chunkSize) {
+        AtomicLong nextId = new AtomicLong(1);
+        lenient().when(importJobDataService.create(any())).thenAnswer(invocation -> invocation.<ImportJob>getArgument(0)
+                .toBuilder()
+                .id(nextId.getAndIncrement())
+                .createdAt(LocalDateTime.now(ZoneId.of("UTC")))
+                .build());
+        importJobService = new ImportJobServiceImpl(posService, importJobDataService, new OsmImportProperties(8,
+                new OsmImportProperties.Jobs(threads, queueCapacity, chunkSize, Duration.ofHours(1))));
+    }
+
+    private List<ImportJob> captureUpdates(int count) {
+        ArgumentCaptor<ImportJob> updates = ArgumentCaptor.forClass(ImportJob.class);
+        verify(importJobDataService, timeout(TIMEOUT_MILLIS).times(count)).update(updates.capture());
+        return updates.getAllValues();
+    }
+
+    /**
+     * Blocks an import until the test ends or the job thread is interrupted by a shutdown.
+     */
+    private void awaitRelease() {
+        try {
+            importsBlocked.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import was interrupted.", e);
+        }
+    }
+
+    private static List<OsmImportResult> results(List<Long> nodeIds) {
+        return nodeIds.stream()
+                .map(nodeId -> OsmImportResult.builder()
+                        .nodeId(nodeId)
+                        .status(UpsertStatus.INVALID)
+                        .message("OSM node " + nodeId + " has no address.")
+                        .build())
+                .toList();
+    }
+}
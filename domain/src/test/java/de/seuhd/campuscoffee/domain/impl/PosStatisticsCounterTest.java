@@ -0,0 +1,92 @@
+package de.seuhd.campuscoffee.domain.impl;
+
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosStatistics;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import de.seuhd.campuscoffee.domain.model.UpsertResult;
+import de.seuhd.campuscoffee.domain.model.UpsertStatus;
+import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class PosStatisticsCounterTest {
+
+    @Mock
+    private PosDataService posDataService;
+
+    private PosStatisticsCounter posStatisticsCounter;
+
+    @BeforeEach
+    void reconcile() {
+        when(posDataService.countByCampusAndType()).thenReturn(Map.of(
+                CampusType.ALTSTADT, Map.of(PosType.CAFE, 2L),
+                CampusType.INF, Map.of(PosType.BAKERY, 1L, PosType.CAFETERIA, 3L)));
+        posStatisticsCounter = new PosStatisticsCounter(posDataService);
+        posStatisticsCounter.reconcile();
+    }
+
+    @Test
+    void reconcileLoadsCountsFromDataStore() {
+        // when
+        PosStatistics statistics = posStatisticsCounter.getStatistics();
+
+        // then
+        assertThat(statistics.total()).isEqualTo(6);
+        assertThat(statistics.byCampus()).containsEntry(CampusType.INF, 4L).containsEntry(CampusType.BERGHEIM, 0L);
+        assertThat(statistics.byType()).containsEntry(PosType.CAFE, 2L).containsEntry(PosType.CAFETERIA, 3L);
+        assertThat(statistics.byCampusAndType().get(CampusType.INF)).containsEntry(PosType.BAKERY, 1L);
+    }
+
+    @Test
+    void writesAreCountedIncrementally() {
+        // given
+        Pos pos = TestFixtures.getPosList().getFirst(); // cafe on the Altstadt campus
+
+        // when
+        posStatisticsCounter.recordCreated(pos);
+        posStatisticsCounter.recordUpdated(pos, pos.toBuilder().campus(CampusType.BERGHEIM).build());
+        posStatisticsCounter.recordDeleted(pos);
+        PosStatistics statistics = posStatisticsCounter.getStatistics();
+
+        // then
+        assertThat(statistics.total()).isEqualTo(6);
+        assertThat(statistics.byCampus())
+                .containsEntry(CampusType.ALTSTADT, 1L)
+                .containsEntry(CampusType.BERGHEIM, 1L);
+        assertThat(statistics.byType()).containsEntry(PosType.CAFE, 2L);
+    }
+
+    @Test
+    void bulkUpsertsAreCountedIncrementally() {
+        // given
+        Pos pos = TestFixtures.getPosList().getFirst(); // cafe on the Altstadt campus
+        Pos movedPos = pos.toBuilder().campus(CampusType.INF).type(PosType.BAKERY).build();
+
+        // when
+        posStatisticsCounter.recordUpserts(List.of(
+                UpsertResult.persisted(UpsertStatus.CREATED, pos),
+                UpsertResult.updated(pos, movedPos),
+                UpsertResult.persisted(UpsertStatus.UNCHANGED, pos)));
+        PosStatistics statistics = posStatisticsCounter.getStatistics();
+
+        // then
+        verify(posDataService, times(1)).countByCampusAndType(); // only before the test
+        assertThat(statistics.total()).isEqualTo(7);
+        assertThat(statistics.byCampusAndType().get(CampusType.ALTSTADT)).containsEntry(PosType.CAFE, 2L);
+        assertThat(statistics.byCampusAndType().get(CampusType.INF)).containsEntry(PosType.BAKERY, 2L);
+    }
+}
@@ -0,0 +1,90 @@
+package de.seuhd.campuscoffee.domain.impl;
+
+import de.seuhd.campuscoffee.domain.model.DataChange;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosSuggestion;
+import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class PosSuggestionIndexTest {
+
+    @Mock
+    private PosDataService posDataService;
+
+    private PosSuggestionIndex posSuggestionIndex;
+
+    @BeforeEach
+    void buildIndex() {
+        List<Pos> posList = TestFixtures.getPosList();
+        List<Pos> testFixtures = IntStream.range(0, posList.size()) // fixtures share the same ID
+                .mapToObj(i -> posList.get(i).toBuilder().id(i + 1L).build())
+                .toList();
+        when(posDataService.getAll()).thenReturn(testFixtures);
+        posSuggestionIndex = new PosSuggestionIndex(posDataService);
+        posSuggestionIndex.rebuild();
+    }
+
+    @Test
+    void suggestIgnoresCaseAndDiacritics() {
+        // when, then
+        assertThat(names(posSuggestionIndex.suggest("cafe", 10))).containsExactly("Café Botanik");
+        assertThat(names(posSuggestionIndex.suggest("BOT caf", 10))).containsExactly("Café Botanik");
+        assertThat(names(posSuggestionIndex.suggest("goe", 10))).isEmpty();
+        assertThat(names(posSuggestionIndex.suggest("backer GÖ", 10))).singleElement().asString().startsWith("Bäcker");
+        assertThat(posSuggestionIndex.suggest(" - ", 10)).isEmpty();
+    }
+
+    @Test
+    void suggestToleratesTypos() {
+        // when, then
+        assertThat(names(posSuggestionIndex.suggest("schmelzp", 10))).containsExactly("Schmelzpunkt");
+        assertThat(names(posSuggestionIndex.suggest("scx", 10))).isEmpty(); // no typos tolerated in short words
+        assertThat(names(posSuggestionIndex.suggest("schmelsp", 10))).containsExactly("Schmelzpunkt");
+        assertThat(names(posSuggestionIndex.suggest("botnik", 10))).containsExactly("Café Botanik");
+    }
+
+    @Test
+    void onDataChangeUpdatesChangedPos() {
+        // given
+        Long cafeId = posSuggestionIndex.suggest("cafe", 1).getFirst().id();
+        Pos renamedPos = TestFixtures.getPosList().getFirst().toBuilder().id(cafeId).name("Café Neckar").build();
+        when(posDataService.getByIds(List.of(renamedPos.id(), 1L))).thenReturn(Map.of(renamedPos.id(), renamedPos));
+
+        // when
+        posSuggestionIndex.onDataChange(DataChange.of(DataChange.EntityType.POS,
+                List.of(renamedPos.id(), 1L), List.of()));
+
+        // then
+        assertThat(names(posSuggestionIndex.suggest("cafe", 10))).containsExactly("Café Neckar");
+        assertThat(names(posSuggestionIndex.suggest("schmelz", 10))).isEmpty();
+    }
+
+    @Test
+    void onRollbackKeepsIndex() {
+        // when
+        posSuggestionIndex.onRollback(DataChange.all(DataChange.EntityType.POS));
+
+        // then
+        verify(posDataService, times(1)).getAll(); // only when building the index
+        assertThat(names(posSuggestionIndex.suggest("cafe", 10))).containsExactly("Café Botanik");
+    }
+
+    private static List<String> names(List<PosSuggestion> suggestions) {
+        return suggestions.stream().map(PosSuggestion::name).toList();
+    }
+}
@@ -1,22 +1,61 @@
 package de.seuhd.campuscoffee.domain.ports;
 
+import de.seuhd.campuscoffee.domain.config.OsmImportProperties;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.OsmUnavailableException;
+import de.seuhd.campuscoffee.domain.exceptions.SyncTokenExpiredException;
+import de.seuhd.campuscoffee.domain.exceptions.VersionMismatchException;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.CursorPage;
+import de.seuhd.campuscoffee.domain.model.GeoPoint;
+import de.seuhd.campuscoffee.domain.model.LookupResult;
+import de.seuhd.campuscoffee.domain.model.NearbyPos;
+import de.seuhd.campuscoffee.domain.model.OsmAmenity;
+import de.seuhd.campuscoffee.domain.model.OsmExtractImportSummary;
+import de.seuhd.campuscoffee.domain.model.OsmExtractStatistics;
+import de.seuhd.campuscoffee.domain.model.OsmImportResult;
+import de.seuhd.campuscoffee.domain.model.OsmNode;
 import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosChanges;
+import de.seuhd.campuscoffee.domain.model.PosField;
+import de.seuhd.campuscoffee.domain.model.PosFilter;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import de.seuhd.campuscoffee.domain.model.ResultPage;
+import de.seuhd.campuscoffee.domain.model.Update;
+import de.seuhd.campuscoffee.domain.model.UpsertResult;
+import de.seuhd.campuscoffee.domain.model.UpsertStatus;
 import de.seuhd.campuscoffee.domain.tests.TestFixtures;
 import de.seuhd.campuscoffee.domain.impl.PosServiceImpl;
+import de.seuhd.campuscoffee.domain.impl.PosStatisticsCounter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +64,15 @@ public class PosServiceTest {
     @Mock
     private PosDataService posDataService;
 
+    @Mock
+    private OsmDataService osmDataService;
+
+    @Mock
+    private PosStatisticsCounter posStatisticsCounter;
+
+    @Spy
+    private OsmImportProperties osmImportProperties = new OsmImportProperties(2, null);
+
     @InjectMocks
     private PosServiceImpl posService;
 
@@ -45,6 +93,26 @@ public class PosServiceTest {
                 .containsExactlyInAnyOrderElementsOf(testFixtures);
     }
 
+    @Test
+    void getAllWithFilterQueriesDataStore() {
+        // given
+        PosFilter filter = PosFilter.builder()
+                .campuses(Set.of(CampusType.ALTSTADT))
+                .types(Set.of(PosType.CAFE, PosType.BAKERY))
+                .build();
+        List<Pos> matchingPos = TestFixtures.getPosList().stream()
+                .filter(pos -> pos.campus() == CampusType.ALTSTADT)
+                .toList();
+        when(posDataService.getAll(filter)).thenReturn(matchingPos);
+
+        // when
+        List<Pos> retrievedPos = posService.getAll(filter);
+
+        // then
+        assertThat(retrievedPos).containsExactlyElementsOf(matchingPos);
+        verify(posDataService, never()).getAll();
+    }
+
     @Test
     void getPosByIdNotFound() {
         // given
@@ -73,18 +141,99 @@ public class PosServiceTest {
                 .isEqualTo(pos);
     }
 
+    @Test
+    void getPosByIdsReportsMissingIds() {
+        // given
+        List<Pos> posList = TestFixtures.getPosList();
+        Pos first = posList.getFirst().toBuilder().id(1L).build();
+        Pos last = posList.getLast().toBuilder().id(2L).build();
+        when(posDataService.getByIds(Set.of(last.id(), 42L, first.id())))
+                .thenReturn(Map.of(first.id(), first, last.id(), last));
+
+        // when
+        LookupResult<Pos> result = posService.getByIds(List.of(last.id(), 42L, first.id(), last.id()));
+
+        // then: the POS are in the order of the request, duplicates are looked up once
+        assertThat(result.items()).containsExactly(last, first);
+        assertThat(result.missingIds()).containsExactly(42L);
+        verify(posDataService, never()).getById(anyLong());
+    }
+
     @Test
     void upsertPosNotFound() {
         // given
         Pos pos = TestFixtures.getPosList().getFirst();
         Objects.requireNonNull(pos.id());
-        when(posDataService.getById(pos.id())).thenThrow(new NotFoundException(Pos.class, pos.id()));
+        when(posDataService.update(pos)).thenThrow(new NotFoundException(Pos.class, pos.id()));
 
         // when, then
         assertThrows(NotFoundException.class, () -> posService.upsert(pos));
-        verify(posDataService).getById(pos.id());
+        verify(posDataService).update(pos);
+        verify(posDataService, never()).getById(anyLong()); // existence is checked by the update itself
+    }
+
+    @Test
+    void deletePosWithOutdatedVersion() {
+        // given
+        Pos pos = TestFixtures.getPosList().getFirst();
+        Objects.requireNonNull(pos.id());
+        when(posDataService.delete(pos.id(), 1L)).thenThrow(new VersionMismatchException(Pos.class, pos.id(), 1L));
+
+        // when, then
+        assertThrows(VersionMismatchException.class, () -> posService.delete(pos.id(), 1L));
+        verify(posDataService, never()).getById(anyLong()); // the deleted POS is returned by the delete itself
+        verify(posStatisticsCounter, never()).recordDeleted(any());
+    }
+
+
+    @Test
+    void patchPosWritesOnlyChangedFields() {
+        // given
+        Pos pos = TestFixtures.getPosList().getFirst();
+        Objects.requireNonNull(pos.id());
+        Pos patchedPos = pos.toBuilder().description("Best waffles").build();
+        Map<PosField, Object> changes = Map.of(PosField.DESCRIPTION, "Best waffles");
+        when(posDataService.patch(pos.id(), changes, null)).thenReturn(new Update<>(pos, patchedPos));
+
+        // when
+        Update<Pos> result = posService.patch(pos.id(), changes, null);
+
+        // then
+        assertEquals(patchedPos, result.updated());
+        verify(posDataService, never()).update(any());
+        verify(posStatisticsCounter).recordUpdated(pos, patchedPos);
     }
 
+    @Test
+    void updatePosWithoutChangesIsNotRecorded() {
+        // given
+        Pos pos = TestFixtures.getPosList().getFirst();
+        when(posDataService.update(pos)).thenReturn(Update.unchanged(pos));
+
+        // when
+        Update<Pos> result = posService.update(pos);
+
+        // then
+        assertTrue(result.isUnchanged());
+        assertEquals(pos, result.updated());
+        verify(posStatisticsCounter, never()).recordUpdated(any(), any());
+    }
+
+    @Test
+    void patchPosWithReadOnlyOrRequiredField() {
+        // given
+        Map<PosField, Object> removedName = new EnumMap<>(PosField.class);
+        removedName.put(PosField.NAME, null);
+        Map<PosField, Object> halfLocation = new EnumMap<>(PosField.class);
+        halfLocation.put(PosField.LATITUDE, 49.4106);
+        halfLocation.put(PosField.LONGITUDE, null);
+
+        // when, then
+        assertThrows(IllegalArgumentException.class, () -> posService.patch(1L, Map.of(PosField.ID, 2L), null));
+        assertThrows(IllegalArgumentException.class, () -> posService.patch(1L, removedName, null));
+        assertThrows(IllegalArgumentException.class, () -> posService.patch(1L, halfLocation, null));
+        verifyNoInteractions(posDataService);
+    }
 
     @Test
     void upsertNewPos() {
@@ -114,5 +263,224 @@ public class PosServiceTest {
                 .isEqualTo(pos);
         verify(posDataService).getByName(pos.name());
     }
-}
 
+    @Test
+    void getPageProvidesCursorForNextPage() {
+        // given
+        List<Pos> posList = TestFixtures.getPosList();
+        List<Pos> testFixtures = IntStream.range(0, posList.size()) // fixtures share the same ID
+                .mapToObj(i -> posList.get(i).toBuilder().id(i + 1L).build())
+                .toList();
+        when(posDataService.getPage(PosFilter.NONE, null, 3)).thenReturn(testFixtures.subList(0, 3));
+
+        // when
+        CursorPage<Pos> firstPage = posService.getPage(PosFilter.NONE, null, 2);
+
+        // then
+        assertThat(firstPage.items()).containsExactlyElementsOf(testFixtures.subList(0, 2));
+        assertThat(firstPage.nextCursor()).isNotNull();
+
+        // given
+        Long lastId = testFixtures.get(1).id();
+        when(posDataService.getPage(PosFilter.NONE, lastId, 3)).thenReturn(testFixtures.subList(2, 4));
+
+        // when
+        CursorPage<Pos> secondPage = posService.getPage(PosFilter.NONE, firstPage.nextCursor(), 2);
+
+        // then
+        verify(posDataService).getPage(PosFilter.NONE, lastId, 3);
+        assertThat(secondPage.items()).containsExactlyElementsOf(testFixtures.subList(2, 4));
+        assertNull(secondPage.nextCursor());
+    }
+
+    @Test
+    void getPageWithInvalidCursor() {
+        // when, then
+        assertThrows(IllegalArgumentException.class, () -> posService.getPage(PosFilter.NONE, "not-a-cursor", 10));
+        assertThrows(IllegalArgumentException.class, () -> posService.getPage(PosFilter.NONE, null, 0));
+        verifyNoInteractions(posDataService);
+    }
+
+    @Test
+    void getChangesSinceTokenOfPreviousSync() {
+        // given
+        List<Pos> posList = TestFixtures.getPosList();
+        when(posDataService.getChangePosition()).thenReturn(100L, 120L);
+        when(posDataService.getChangedSince(0)).thenReturn(posList);
+        when(posDataService.getChangedSince(100)).thenReturn(List.of(posList.getFirst()));
+        when(posDataService.getDeletedSince(100)).thenReturn(List.of(42L));
+
+        // when
+        PosChanges initialSync = posService.getChanges(null);
+        PosChanges deltaSync = posService.getChanges(initialSync.nextToken());
+
+        // then
+        assertEquals(posList, initialSync.changed());
+        assertThat(initialSync.deletedIds()).isEmpty();
+        assertEquals(List.of(posList.getFirst()), deltaSync.changed());
+        assertEquals(List.of(42L), deltaSync.deletedIds());
+        assertThat(deltaSync.nextToken()).isNotEqualTo(initialSync.nextToken());
+        // the initial sync reads from the data store, not from the cache
+        verify(posDataService, never()).getAll();
+        verify(posDataService, never()).getDeletedSince(0);
+        assertThrows(IllegalArgumentException.class, () -> posService.getChanges("not-a-token"));
+    }
+
+    @Test
+    void getChangesRejectsTokenBeforePurgedTombstones() {
+        // given
+        when(posDataService.getChangePosition()).thenReturn(100L, 120L);
+        when(posDataService.getPurgeHorizon()).thenReturn(100L);
+        String token = posService.getChanges(null).nextToken();
+
+        // when, then
+        assertThrows(SyncTokenExpiredException.class, () -> posService.getChanges(token));
+    }
+
+    @Test
+    void getPageWithFieldsSelectsIdForCursor() {
+        // given
+        Set<PosField> selectedFields = EnumSet.of(PosField.ID, PosField.NAME);
+        List<Map<String, Object>> rows = List.of(
+                Map.of("id", 1L, "name", "First"), Map.of("id", 2L, "name", "Second"));
+        when(posDataService.getFields(PosFilter.NONE, selectedFields, null, 2)).thenReturn(rows);
+
+        // when
+        CursorPage<Map<String, Object>> page = posService.getPage(PosFilter.NONE, Set.of(PosField.NAME), null, 1);
+
+        // then
+        assertThat(page.items()).containsExactly(rows.getFirst());
+        assertThat(page.nextCursor()).isNotNull();
+        assertThrows(IllegalArgumentException.class, () -> posService.getAll(PosFilter.NONE, Set.of()));
+    }
+
+    @Test
+    void searchReportsWhetherThereIsANextPage() {
+        // given
+        List<Pos> posList = TestFixtures.getPosList();
+        when(posDataService.search("waffles", 2, 3)).thenReturn(posList.subList(0, 3));
+
+        // when
+        ResultPage<Pos> resultPage = posService.search(" waffles ", 1, 2);
+
+        // then
+        verify(posDataService).search("waffles", 2, 3);
+        assertThat(resultPage.items()).containsExactlyElementsOf(posList.subList(0, 2));
+        assertThat(resultPage.hasNext()).isTrue();
+        assertThrows(IllegalArgumentException.class, () -> posService.search(" ", 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> posService.search("waffles", 0, ResultPage.MAX_SIZE + 1));
+    }
+
+    @Test
+    void findNearbyReportsDistanceToEachPos() {
+        // given
+        GeoPoint center = new GeoPoint(49.4094, 8.6937); // Bismarckplatz, Heidelberg
+        Pos pos = TestFixtures.getPosList().getFirst().toBuilder()
+                .latitude(49.4122)
+                .longitude(8.7100)
+                .build();
+        when(posDataService.findNearby(center, 2000, 10)).thenReturn(List.of(pos));
+
+        // when
+        List<NearbyPos> nearbyPos = posService.findNearby(center, 2000, 10);
+
+        // then
+        assertThat(nearbyPos).extracting(NearbyPos::pos).containsExactly(pos);
+        assertThat(nearbyPos.getFirst().distanceMeters()).isBetween(1200.0, 1250.0);
+        assertThrows(IllegalArgumentException.class,
+                () -> posService.findNearby(center, NearbyPos.MAX_RADIUS_METERS + 1, 10));
+    }
+
+    @Test
+    void upsertAllWithTooManyPos() {
+        // given
+        Pos pos = TestFixtures.getPosList().getFirst();
+        List<Pos> posList = Collections.nCopies(UpsertResult.MAX_BATCH_SIZE + 1, pos);
+
+        // when, then
+        assertThrows(IllegalArgumentException.class, () -> posService.upsertAll(posList));
+        verifyNoInteractions(posDataService);
+    }
+
+    @Test
+    void importFromOsmNodesReportsResultPerNode() {
+        // given
+        OsmNode osmNode = OsmNode.builder()
+                .nodeId(1L)
+                .name("Rada")
+                .description("Coffee roastery")
+                .amenity(OsmAmenity.CAFE)
+                .street("Untere Straße")
+                .houseNumber("21")
+                .postcode("69117")
+                .city("Heidelberg")
+                .latitude(49.4106)
+                .longitude(8.7063)
+                .build();
+        when(osmDataService.fetchNode(1L)).thenReturn(osmNode);
+        when(osmDataService.fetchNode(2L)).thenThrow(new NotFoundException(OsmNode.class, 2L));
+        OsmUnavailableException unavailable = new OsmUnavailableException(3L, new IllegalStateException("503"));
+        when(osmDataService.fetchNode(3L)).thenThrow(unavailable);
+        when(posDataService.upsertAll(anyList())).thenAnswer(invocation -> {
+            List<Pos> posList = invocation.getArgument(0);
+            return posList.stream()
+                    .map(pos -> UpsertResult.persisted(UpsertStatus.CREATED, pos.toBuilder().id(42L).build()))
+                    .toList();
+        });
+
+        // when
+        List<OsmImportResult> results = posService.importFromOsmNodes(List.of(1L, 2L, 3L), CampusType.ALTSTADT);
+
+        // then
+        assertThat(results).extracting(OsmImportResult::nodeId).containsExactly(1L, 2L, 3L);
+        assertThat(results).extracting(OsmImportResult::status)
+                .containsExactly(UpsertStatus.CREATED, UpsertStatus.NOT_FOUND, UpsertStatus.FAILED);
+        assertEquals("Rada", Objects.requireNonNull(results.getFirst().pos()).name());
+        assertEquals(new GeoPoint(49.4106, 8.7063), results.getFirst().pos().location());
+        assertNull(results.get(1).pos());
+        assertEquals(unavailable.getMessage(), results.getLast().message());
+    }
+
+    @Test
+    void importFromOsmExtractUpdatesExistingPosByName() {
+        // given
+        List<OsmNode> osmNodes = List.of(osmCafe(1L, "Rada"), osmCafe(2L, "La Fée"), osmCafe(3L, "Rada"));
+        when(osmDataService.readExtract(any(), isNull(), any())).thenAnswer(invocation -> {
+            Consumer<OsmNode> consumer = invocation.getArgument(2);
+            osmNodes.forEach(consumer);
+            return new OsmExtractStatistics(3, 3, 0);
+        });
+        Pos existingPos = TestFixtures.getPosList().getFirst().toBuilder().id(7L).name("Rada").build();
+        when(posDataService.getByNames(anyCollection())).thenReturn(Map.of("Rada", existingPos));
+        when(posDataService.upsertAll(anyList())).thenReturn(List.of(
+                UpsertResult.persisted(UpsertStatus.UPDATED, existingPos),
+                UpsertResult.persisted(UpsertStatus.CREATED, existingPos.toBuilder().id(8L).name("La Fée").build()),
+                new UpsertResult<>(UpsertStatus.DUPLICATE, null, "duplicate")));
+
+        // when
+        OsmExtractImportSummary summary = posService.importFromOsmExtract(Path.of("extract.osm"), null,
+                CampusType.ALTSTADT);
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Pos>> posListCaptor = ArgumentCaptor.forClass(List.class);
+        verify(posDataService).upsertAll(posListCaptor.capture());
+        assertThat(posListCaptor.getValue()).extracting(Pos::id).containsExactly(7L, null, null);
+        assertThat(posListCaptor.getValue()).extracting(Pos::name).containsExactly("Rada", "La Fée", "Rada");
+        assertThat(summary.statusCounts()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                UpsertStatus.UPDATED, 1L, UpsertStatus.CREATED, 1L, UpsertStatus.DUPLICATE, 1L));
+    }
+
+    private static OsmNode osmCafe(Long nodeId, String name) {
+        return OsmNode.builder()
+                .nodeId(nodeId)
+                .name(name)
+                .description("Coffee roastery")
+                .amenity(OsmAmenity.CAFE)
+                .street("Untere Straße")
+                .houseNumber("21")
+                .postcode("69117")
+                .city("Heidelberg")
+                .build();
+    }
+}